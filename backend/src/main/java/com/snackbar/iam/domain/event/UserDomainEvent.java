@@ -1,6 +1,10 @@
 package com.snackbar.iam.domain.event;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import com.snackbar.shared.id.TimeOrderedIds;
 
 /**
  * Base class for all user-related domain events in the IAM module.
@@ -13,10 +17,11 @@ public abstract class UserDomainEvent {
     private final LocalDateTime timestamp;
 
     protected UserDomainEvent(String userId, String eventType) {
-        this.id = java.util.UUID.randomUUID().toString();
+        UUID eventId = TimeOrderedIds.next();
+        this.id = eventId.toString();
         this.userId = userId;
         this.eventType = eventType;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = LocalDateTime.ofInstant(TimeOrderedIds.timeOf(eventId), ZoneId.systemDefault());
     }
 
     public String getId() {
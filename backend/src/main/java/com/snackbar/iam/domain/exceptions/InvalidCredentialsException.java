@@ -1,6 +1,8 @@
 package com.snackbar.iam.domain.exceptions;
 
-public class InvalidCredentialsException extends RuntimeException {
+import com.snackbar.shared.exceptions.ExpectedOutcomeException;
+
+public class InvalidCredentialsException extends ExpectedOutcomeException {
     public InvalidCredentialsException(String message) {
         super(message);
     }
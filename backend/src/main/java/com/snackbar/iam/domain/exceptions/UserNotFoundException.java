@@ -1,6 +1,8 @@
 package com.snackbar.iam.domain.exceptions;
 
-public class UserNotFoundException extends RuntimeException {
+import com.snackbar.shared.exceptions.ExpectedOutcomeException;
+
+public class UserNotFoundException extends ExpectedOutcomeException {
     public UserNotFoundException(String message) {
         super(message);
     }
@@ -6,6 +6,7 @@ import com.snackbar.iam.application.ports.out.IamDomainEventPublisher;
 import com.snackbar.iam.application.usecases.*;
 import com.snackbar.iam.infrastructure.gateways.UserRepositoryGateway;
 import com.snackbar.iam.infrastructure.persistence.UserRepository;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,11 +32,13 @@ public class IamConfig {
      * Creates the user gateway implementation.
      *
      * @param userRepository The Spring Data repository
+     * @param resilienceGuards The guards of the auth calls
      * @return The user gateway
      */
     @Bean
-    public UserGateway userGateway(@Qualifier("userRepository") UserRepository userRepository) {
-        return new UserRepositoryGateway(userRepository);
+    public UserGateway userGateway(@Qualifier("userRepository") UserRepository userRepository,
+                                   ResilienceGuards resilienceGuards) {
+        return new UserRepositoryGateway(userRepository, resilienceGuards);
     }
 
     /**
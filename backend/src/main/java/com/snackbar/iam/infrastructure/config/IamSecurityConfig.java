@@ -1,5 +1,6 @@
 package com.snackbar.iam.infrastructure.config;
 
+import com.snackbar.iam.infrastructure.security.AuthRateLimitFilter;
 import com.snackbar.iam.infrastructure.security.IamJwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,7 +21,7 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
  * This configuration class is responsible for setting up web security aspects of the IAM module:
  * 
  * - Configuring HTTP security settings
- * - Setting up security filters
+ * - Setting up security filters, including rate limiting of the open auth endpoints
  * - Defining URL-based access rules
  * - Configuring CSRF, CORS, and session management
  * 
@@ -34,12 +35,15 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class IamSecurityConfig {
 
     private final IamJwtAuthenticationFilter iamJwtAuthenticationFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final UserDetailsService userDetailsService;
 
     public IamSecurityConfig(
             IamJwtAuthenticationFilter iamJwtAuthenticationFilter,
+            AuthRateLimitFilter authRateLimitFilter,
             UserDetailsService userDetailsService) {
         this.iamJwtAuthenticationFilter = iamJwtAuthenticationFilter;
+        this.authRateLimitFilter = authRateLimitFilter;
         this.userDetailsService = userDetailsService;
     }
 
@@ -63,7 +67,9 @@ public class IamSecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .userDetailsService(userDetailsService)
-            .addFilterBefore(iamJwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(iamJwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Rejects floods before any token or credential is processed
+            .addFilterBefore(authRateLimitFilter, IamJwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,49 @@
+package com.snackbar.iam.infrastructure.event;
+
+import java.time.Instant;
+
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.snackbar.iam.infrastructure.persistence.UserEntity;
+import com.snackbar.infrastructure.persistence.changestream.CollectionChangeListener;
+
+/**
+ * Republishes the changes of the user collection as {@link UserRecordChangedEvent}s,
+ * so in-memory user data stays coherent across nodes without the IAM module knowing
+ * about change streams.
+ */
+@Component
+public class UserChangeStreamListener implements CollectionChangeListener {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public UserChangeStreamListener(MongoTemplate mongoTemplate, ApplicationEventPublisher applicationEventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public String collection() {
+        return mongoTemplate.getCollectionName(UserEntity.class);
+    }
+
+    @Override
+    public void onUpsert(Document document, Instant changedAt) {
+        UserEntity entity = mongoTemplate.getConverter().read(UserEntity.class, document);
+        applicationEventPublisher.publishEvent(UserRecordChangedEvent.upserted(entity.getId(), entity.getCpf()));
+    }
+
+    @Override
+    public void onDelete(String id, Instant changedAt) {
+        applicationEventPublisher.publishEvent(UserRecordChangedEvent.deleted(id));
+    }
+
+    @Override
+    public void onResync() {
+        applicationEventPublisher.publishEvent(UserRecordChangedEvent.resync());
+    }
+}
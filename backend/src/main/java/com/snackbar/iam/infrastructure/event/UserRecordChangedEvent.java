@@ -0,0 +1,52 @@
+package com.snackbar.iam.infrastructure.event;
+
+/**
+ * Application event raised when a document of the user collection changes, whether through
+ * this node, another node or a script run against the database. Components holding user data
+ * in memory listen to it to drop what went stale.
+ */
+public class UserRecordChangedEvent {
+    private final String userId;
+    private final String userCpf;
+    private final boolean deleted;
+
+    private UserRecordChangedEvent(String userId, String userCpf, boolean deleted) {
+        this.userId = userId;
+        this.userCpf = userCpf;
+        this.deleted = deleted;
+    }
+
+    public static UserRecordChangedEvent upserted(String userId, String userCpf) {
+        return new UserRecordChangedEvent(userId, userCpf, false);
+    }
+
+    /**
+     * Only the ID of a deleted document is known, so the CPF is null.
+     */
+    public static UserRecordChangedEvent deleted(String userId) {
+        return new UserRecordChangedEvent(userId, null, true);
+    }
+
+    /**
+     * Changes may have been missed, so every user must be treated as changed.
+     */
+    public static UserRecordChangedEvent resync() {
+        return new UserRecordChangedEvent(null, null, false);
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getUserCpf() {
+        return userCpf;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public boolean isResync() {
+        return userId == null;
+    }
+}
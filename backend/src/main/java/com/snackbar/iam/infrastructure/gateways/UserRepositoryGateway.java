@@ -4,81 +4,121 @@ import com.snackbar.iam.application.gateways.UserGateway;
 import com.snackbar.iam.domain.entity.User;
 import com.snackbar.iam.infrastructure.persistence.UserEntity;
 import com.snackbar.iam.infrastructure.persistence.UserRepository;
+import com.snackbar.infrastructure.concurrent.SingleFlight;
+import com.snackbar.infrastructure.resilience.OperationClass;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of the UserGateway interface that uses Spring Data MongoDB.
  * This class adapts between the domain and persistence layers.
  * Marked as @Primary to be preferred over legacy repositories.
+ * Every read goes to the primary: they back authentication and must see the latest credentials and roles.
+ * Calls go through the auth {@link ResilienceGuards}, so a slow database cannot take every request thread.
+ * Concurrent lookups of the same user are collapsed into one query with a {@link SingleFlight};
+ * each caller still gets a User of its own, as callers change the users they load.
  */
 @Component("userRepositoryGateway")
 @Primary
 public class UserRepositoryGateway implements UserGateway {
     private static final Logger logger = LoggerFactory.getLogger(UserRepositoryGateway.class);
     
+    private record LookupKey(String field, String value) {
+    }
+    
     private final UserRepository userRepository;
+    private final ResilienceGuards guards;
+    private final SingleFlight<LookupKey, Optional<UserEntity>> lookups = new SingleFlight<>();
+    
+    public UserRepositoryGateway(UserRepository userRepository) {
+        this(userRepository, ResilienceGuards.unguarded());
+    }
     
-    public UserRepositoryGateway(@Qualifier("userRepository") UserRepository userRepository) {
+    @Autowired
+    public UserRepositoryGateway(@Qualifier("userRepository") UserRepository userRepository, ResilienceGuards guards) {
         this.userRepository = userRepository;
+        this.guards = guards;
         logger.info("UserRepositoryGateway initialized");
     }
     
     @Override
     public User createUser(User user) {
         UserEntity entity = UserEntityMapper.toEntity(user);
-        UserEntity savedEntity = userRepository.save(entity);
+        UserEntity savedEntity = write(() -> guards.call(OperationClass.AUTH, () -> userRepository.save(entity)));
         return UserEntityMapper.toDomain(savedEntity);
     }
     
     @Override
     public User updateUser(User user) {
         // Find the existing entity to ensure it exists
-        Optional<UserEntity> existingEntity = userRepository.findById(user.getId());
+        Optional<UserEntity> existingEntity = guards.call(OperationClass.AUTH, () -> userRepository.findById(user.getId()));
         if (existingEntity.isEmpty()) {
             throw new IllegalArgumentException("User not found with ID: " + user.getId());
         }
         
         // Update the entity
         UserEntity entityToUpdate = UserEntityMapper.toEntity(user);
-        UserEntity savedEntity = userRepository.save(entityToUpdate);
+        UserEntity savedEntity = write(() -> guards.call(OperationClass.AUTH, () -> userRepository.save(entityToUpdate)));
         return UserEntityMapper.toDomain(savedEntity);
     }
     
     @Override
     public Optional<User> findByCpf(String cpf) {
-        return userRepository.findByCpf(cpf)
-                .map(UserEntityMapper::toDomain);
+        return lookup("cpf", cpf, () -> userRepository.findByCpf(cpf));
     }
     
     @Override
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .map(UserEntityMapper::toDomain);
+        return lookup("email", email, () -> userRepository.findByEmail(email));
     }
     
     @Override
     public Optional<User> findById(String id) {
-        return userRepository.findById(id)
-                .map(UserEntityMapper::toDomain);
+        return lookup("id", id, () -> userRepository.findById(id));
     }
     
     @Override
     public List<User> findAll() {
-        return userRepository.findAll().stream()
+        return guards.call(OperationClass.AUTH, userRepository::findAll).stream()
                 .map(UserEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
     
     @Override
     public void deleteById(String id) {
-        userRepository.deleteById(id);
+        write(() -> {
+            guards.run(OperationClass.AUTH, () -> userRepository.deleteById(id));
+            return null;
+        });
+    }
+    
+    private Optional<User> lookup(String field, String value, Supplier<Optional<UserEntity>> query) {
+        // Entities are only read by the mapper, so they can be shared by the callers of a lookup
+        return lookups.execute(new LookupKey(field, value), () -> guards.call(OperationClass.AUTH, query))
+                .map(UserEntityMapper::toDomain);
+    }
+    
+    /**
+     * Makes a write, then forgets the lookups in flight, which may have read the users before it,
+     * so lookups made once the write is over read them again. Users are written rarely, so every
+     * lookup is forgotten, whichever user it is for; failed writes may have been applied, so they
+     * forget them too.
+     */
+    private <T> T write(Supplier<T> write) {
+        try {
+            return write.get();
+        } finally {
+            lookups.forget(key -> true);
+        }
     }
 }
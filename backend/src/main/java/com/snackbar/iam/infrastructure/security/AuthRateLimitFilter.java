@@ -0,0 +1,301 @@
+package com.snackbar.iam.infrastructure.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.iam.infrastructure.controllers.dto.IamErrorResponseDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limits and sheds load on the login and signup endpoints, which are open to anyone and
+ * run BCrypt and database lookups on every call.
+ * <p>
+ * Requests are limited per client address and, when the body carries one, per CPF, each with
+ * its own token bucket; requests over the limit get 429 with Retry-After. Bodies too large to
+ * inspect get 413, so padding a body cannot get a CPF past its limit. Requests that pass
+ * are also capped in how many may run at once, so a burst spread over many addresses cannot
+ * monopolise the node either; requests over that cap get 503 right away instead of queueing.
+ * Runs ahead of {@link IamJwtAuthenticationFilter}.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimitFilter.class);
+
+    private static final String LOGIN_PATH = "/api/user/auth/login";
+    private static final String SIGNUP_PATH = "/api/user/auth/signup";
+    // Credentials are small; larger bodies are rejected, as their CPF could not be limited
+    private static final int MAX_INSPECTED_BODY_BYTES = 4096;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final TokenBucketRateLimiter addressLimiter;
+    private final TokenBucketRateLimiter cpfLimiter;
+    private final Semaphore concurrentRequests;
+    // Rejections are what a flood gets back, so their bodies are serialized once
+    private final byte[] rateLimitedBody;
+    private final byte[] busyBody;
+    private final byte[] tooLargeBody;
+
+    private final LongAdder rejectedByAddress = new LongAdder();
+    private final LongAdder rejectedByCpf = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder rejectedAsTooLarge = new LongAdder();
+
+    @Autowired
+    public AuthRateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${iam.rate-limit.enabled:true}") boolean enabled,
+            @Value("${iam.rate-limit.address.capacity:60}") int addressCapacity,
+            @Value("${iam.rate-limit.address.refill-per-minute:60}") double addressRefillPerMinute,
+            @Value("${iam.rate-limit.cpf.capacity:5}") int cpfCapacity,
+            @Value("${iam.rate-limit.cpf.refill-per-minute:5}") double cpfRefillPerMinute,
+            @Value("${iam.rate-limit.buckets:16384}") int buckets,
+            @Value("${iam.rate-limit.max-concurrent:0}") int maxConcurrent) {
+        this(objectMapper, enabled,
+                new TokenBucketRateLimiter(addressCapacity, addressRefillPerMinute, buckets),
+                new TokenBucketRateLimiter(cpfCapacity, cpfRefillPerMinute, buckets),
+                // BCrypt is CPU bound, so by default twice the cores may hash at once
+                maxConcurrent > 0 ? maxConcurrent : 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    AuthRateLimitFilter(ObjectMapper objectMapper, boolean enabled, TokenBucketRateLimiter addressLimiter,
+                        TokenBucketRateLimiter cpfLimiter, int maxConcurrent) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.addressLimiter = addressLimiter;
+        this.cpfLimiter = cpfLimiter;
+        this.concurrentRequests = new Semaphore(maxConcurrent);
+        try {
+            this.rateLimitedBody = objectMapper.writeValueAsBytes(IamErrorResponseDTO.error("Too many requests. Try again later."));
+            this.busyBody = objectMapper.writeValueAsBytes(IamErrorResponseDTO.error("Server busy. Try again later."));
+            this.tooLargeBody = objectMapper.writeValueAsBytes(IamErrorResponseDTO.error("Request body too large."));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize rate limit responses", e);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !LOGIN_PATH.equals(path) && !SIGNUP_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        // The container's view of the client; honours X-Forwarded-For only if server.forward-headers-strategy is set
+        long wait = addressLimiter.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            rejectedByAddress.increment();
+            // Debug only: a flood would otherwise flood the logs too; the metrics count rejections
+            logger.debug("Auth request from {} rate limited", request.getRemoteAddr());
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, rateLimitedBody);
+            return;
+        }
+
+        BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request);
+        if (!bufferedRequest.isComplete()) {
+            rejectedAsTooLarge.increment();
+            logger.debug("Auth request from {} rejected as too large", request.getRemoteAddr());
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, 0, tooLargeBody);
+            return;
+        }
+        String cpf = extractCpf(bufferedRequest.body());
+        if (cpf != null) {
+            wait = cpfLimiter.tryAcquire(cpf);
+            if (wait > 0) {
+                rejectedByCpf.increment();
+                logger.debug("Auth request for a CPF rate limited");
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, rateLimitedBody);
+                return;
+            }
+        }
+
+        if (!concurrentRequests.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1000, busyBody);
+            return;
+        }
+        try {
+            filterChain.doFilter(bufferedRequest, response);
+        } finally {
+            concurrentRequests.release();
+        }
+    }
+
+    private String extractCpf(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode cpf = objectMapper.readTree(body).path("cpf");
+            if (!cpf.isTextual()) {
+                return null;
+            }
+            // Formatted and unformatted CPFs share a bucket
+            String digits = cpf.asText().replaceAll("\\D", "");
+            return digits.isEmpty() ? null : digits;
+        } catch (IOException e) {
+            // Malformed bodies are left for the controller to reject
+            return null;
+        }
+    }
+
+    // A wait of 0 sends no Retry-After, as retrying the same request will not help
+    private void reject(HttpServletResponse response, HttpStatus status, long waitMs, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        if (waitMs > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((waitMs + 999) / 1000));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    public long getRejectedByAddress() {
+        return rejectedByAddress.sum();
+    }
+
+    public long getRejectedByCpf() {
+        return rejectedByCpf.sum();
+    }
+
+    public long getShed() {
+        return shed.sum();
+    }
+
+    public long getRejectedAsTooLarge() {
+        return rejectedAsTooLarge.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("iam.auth.rejected", this, AuthRateLimitFilter::getRejectedByAddress)
+                .tag("reason", "address")
+                .description("Auth requests rejected by the per-address rate limit")
+                .register(registry);
+        FunctionCounter.builder("iam.auth.rejected", this, AuthRateLimitFilter::getRejectedByCpf)
+                .tag("reason", "cpf")
+                .description("Auth requests rejected by the per-CPF rate limit")
+                .register(registry);
+        FunctionCounter.builder("iam.auth.rejected", this, AuthRateLimitFilter::getShed)
+                .tag("reason", "overload")
+                .description("Auth requests shed because too many were in progress")
+                .register(registry);
+        FunctionCounter.builder("iam.auth.rejected", this, AuthRateLimitFilter::getRejectedAsTooLarge)
+                .tag("reason", "too-large")
+                .description("Auth requests rejected because their body was too large to inspect")
+                .register(registry);
+        Gauge.builder("iam.auth.permits.available", concurrentRequests, Semaphore::availablePermits)
+                .description("Auth requests that may still start right away")
+                .register(registry);
+    }
+
+    /**
+     * Request whose body is read ahead, up to the inspection limit, so it can be inspected;
+     * the controller still reads it. Bodies over the limit are only read far enough to tell.
+     */
+    static class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] head;
+        private final boolean complete;
+        private ServletInputStream inputStream;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            InputStream body = request.getInputStream();
+            byte[] read = body.readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+            this.complete = read.length <= MAX_INSPECTED_BODY_BYTES;
+            this.head = read;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        byte[] body() {
+            return head;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                InputStream remaining = new ByteArrayInputStream(head);
+                inputStream = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        return remaining.read();
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        return remaining.read(buffer, offset, length);
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        try {
+                            return remaining.available() == 0;
+                        } catch (IOException e) {
+                            return true;
+                        }
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener readListener) {
+                        throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                    }
+                };
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
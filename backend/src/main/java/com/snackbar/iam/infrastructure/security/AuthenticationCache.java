@@ -0,0 +1,159 @@
+package com.snackbar.iam.infrastructure.security;
+
+import com.snackbar.iam.domain.event.UserDeletedEvent;
+import com.snackbar.iam.domain.event.UserUpdatedEvent;
+import com.snackbar.iam.infrastructure.event.UserRecordChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, short-lived cache of the authentications built from bearer tokens, so a client
+ * calling several endpoints in a row with the same token has it parsed, verified and its user
+ * loaded once.
+ * <p>
+ * Entries are keyed by a SHA-256 fingerprint of the whole token, signature included, so only
+ * the exact token that was validated hits, and tokens themselves are not kept in memory. An
+ * entry is served until the token expires, and no longer than the TTL. A user's entries are
+ * dropped right away when this node updates or deletes the user, and when change streams report
+ * a change made by another node through {@link UserRecordChangedEvent}s; with change streams off,
+ * other nodes' changes are picked up within the TTL. Least recently used entries are evicted first.
+ */
+@Component
+public class AuthenticationCache {
+
+    private record Entry(Authentication authentication, String userId, String userCpf, long expiresAtMillis) {
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    public AuthenticationCache(
+            @Value("${iam.auth-cache.enabled:true}") boolean enabled,
+            @Value("${iam.auth-cache.max-entries:10000}") int maxEntries,
+            @Value("${iam.auth-cache.ttl-ms:30000}") long ttlMillis) {
+        this(enabled, maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    AuthenticationCache(boolean enabled, int maxEntries, long ttlMillis, LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Authentication cache size must be at least 1");
+        }
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("Authentication cache TTL must be positive");
+        }
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AuthenticationCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param token The bearer token
+     * @return The authentication built from the token, or null if it is not cached, the token
+     *         has expired or the entry has outlived the TTL
+     */
+    public Authentication get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String fingerprint = fingerprint(token);
+        synchronized (this) {
+            Entry entry = entries.get(fingerprint);
+            if (entry == null) {
+                return null;
+            }
+            if (clock.getAsLong() >= entry.expiresAtMillis()) {
+                entries.remove(fingerprint);
+                return null;
+            }
+            return entry.authentication();
+        }
+    }
+
+    /**
+     * Caches the authentication built from a token that has just been validated.
+     *
+     * @param token The bearer token
+     * @param tokenExpiresAtMillis When the token expires, in epoch milliseconds
+     * @param authentication The authentication built from it
+     */
+    public void put(String token, long tokenExpiresAtMillis, Authentication authentication) {
+        if (!enabled) {
+            return;
+        }
+        String userId = authentication.getPrincipal() instanceof UserDetailsAdapter user ? user.getUser().getId() : null;
+        String fingerprint = fingerprint(token);
+        synchronized (this) {
+            long now = clock.getAsLong();
+            // A token is accepted up to its expiry instant, so the entry stops being served there
+            long expiresAt = Math.min(tokenExpiresAtMillis, now + ttlMillis);
+            if (expiresAt > now) {
+                entries.put(fingerprint, new Entry(authentication, userId, authentication.getName(), expiresAt));
+            }
+        }
+    }
+
+    @EventListener
+    public void onUserRecordChanged(UserRecordChangedEvent event) {
+        if (event.isResync()) {
+            clear();
+        } else {
+            invalidateUser(event.getUserId(), event.getUserCpf());
+        }
+    }
+
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        invalidateUser(event.getUserId(), event.getUserCpf());
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        invalidateUser(event.getUserId(), event.getUserCpf());
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void invalidateUser(String userId, String userCpf) {
+        // Matching on the ID as well catches entries made under a CPF the user no longer has
+        entries.values().removeIf(entry -> userId.equals(entry.userId()) || Objects.equals(userCpf, entry.userCpf()));
+    }
+
+    private static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.snackbar.iam.infrastructure.security;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
 import com.snackbar.iam.infrastructure.controllers.dto.IamErrorResponseDTO;
 import com.snackbar.iam.infrastructure.security.exception.JwtAuthenticationException;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -13,11 +15,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -27,6 +31,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * JWT authentication filter that validates JWT tokens and sets up Spring Security authentication.
@@ -39,16 +47,30 @@ public class IamJwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
-    private final ObjectMapper objectMapper;
+    private final AuthenticationCache authenticationCache;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+    private final ResilienceGuards resilienceGuards;
+    private final Map<JwtAuthenticationException.JwtErrorType, ErrorResponse> errorResponses;
+    private final byte[] unavailableBody;
 
     public IamJwtAuthenticationFilter(
             JwtService jwtService,
             UserDetailsService userDetailsService,
+            AuthenticationCache authenticationCache,
+            ResilienceGuards resilienceGuards,
             ObjectMapper objectMapper
     ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
-        this.objectMapper = objectMapper;
+        this.authenticationCache = authenticationCache;
+        this.resilienceGuards = resilienceGuards;
+        this.errorResponses = serializeErrorResponses(objectMapper);
+        try {
+            this.unavailableBody = objectMapper.writeValueAsBytes(
+                    IamErrorResponseDTO.error("Authentication temporarily unavailable"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize JWT error response", e);
+        }
     }
 
     @Override
@@ -66,6 +88,20 @@ public class IamJwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
+
+        // A token validated moments ago, e.g. by an earlier call of the same client, is not validated again.
+        // Its user is reused, but the authentication is built anew with the details of this request.
+        Authentication cached = authenticationCache.get(jwt);
+        if (cached != null) {
+            Authentication current = SecurityContextHolder.getContext().getAuthentication();
+            if (current == null || !current.isAuthenticated()) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        authenticationOf(cached.getPrincipal(), cached.getAuthorities(), request));
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         String userCpf = null;
         
         // Extract username (CPF) from token without throwing exceptions
@@ -126,14 +162,9 @@ public class IamJwtAuthenticationFilter extends OncePerRequestFilter {
                 if (isTokenValid) {
                     logger.debug("Token is valid for user: {}", userCpf);
                     
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    Authentication authToken = authenticationOf(userDetails, userDetails.getAuthorities(), request);
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    cacheAuthentication(jwt, authToken);
                     
                     logger.debug("Authentication set in SecurityContextHolder");
                 } else {
@@ -149,6 +180,12 @@ public class IamJwtAuthenticationFilter extends OncePerRequestFilter {
                         "User not found: " + userCpf);
                 return;
             } catch (Exception e) {
+                if (ResilienceGuards.isUnavailable(e)) {
+                    // The user store is unavailable, not the token invalid: the client should retry
+                    logger.warn("User lookup unavailable: {}", e.toString());
+                    handleUnavailable(response);
+                    return;
+                }
                 logger.error("Error during authentication", e);
                 handleJwtValidationFailure(response, JwtAuthenticationException.JwtErrorType.OTHER, 
                         "Authentication error");
@@ -159,6 +196,21 @@ public class IamJwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private Authentication authenticationOf(Object principal, Collection<? extends GrantedAuthority> authorities,
+            HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authToken.setDetails(detailsSource.buildDetails(request));
+        return authToken;
+    }
+    
+    private void cacheAuthentication(String jwt, Authentication authentication) {
+        Date expiration = jwtService.extractExpiration(jwt);
+        // Tokens without an expiry are not issued here, and would never be dropped
+        if (expiration != null) {
+            authenticationCache.put(jwt, expiration.getTime(), authentication);
+        }
+    }
+    
     /**
      * Handles JWT validation failures by sending an appropriate error response.
      *
@@ -172,44 +224,86 @@ public class IamJwtAuthenticationFilter extends OncePerRequestFilter {
             JwtAuthenticationException.JwtErrorType errorType,
             String logMessage
     ) throws IOException {
-        // Determine appropriate status code and client message based on error type
-        HttpStatus status;
-        String clientMessage;
-        
-        switch (errorType) {
-            case EXPIRED_TOKEN:
-                status = HttpStatus.UNAUTHORIZED;
-                clientMessage = "Authentication token has expired";
-                break;
-            case INVALID_SIGNATURE:
-                status = HttpStatus.UNAUTHORIZED;
-                clientMessage = "Invalid authentication token";
-                break;
-            case MALFORMED_TOKEN:
-                status = HttpStatus.BAD_REQUEST;
-                clientMessage = "Malformed authentication token";
-                break;
-            case USER_NOT_FOUND:
-                status = HttpStatus.UNAUTHORIZED;
-                clientMessage = "Authentication failed";
-                break;
-            default:
-                status = HttpStatus.UNAUTHORIZED;
-                clientMessage = "Authentication failed";
-        }
+        ErrorResponse error = errorResponses.get(errorType);
         
-        // Log the detailed message for debugging
-        logger.warn("{}: {}", clientMessage, logMessage);
+        // The cause was already logged where it was caught
+        logger.debug("{}: {}", error.clientMessage(), logMessage);
         
         // Clear any existing authentication
         SecurityContextHolder.clearContext();
         
         // Set response status and content type
-        response.setStatus(status.value());
+        response.setStatus(error.status().value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(error.body().length);
         
-        // Write the error response as JSON
-        IamErrorResponseDTO errorResponse = IamErrorResponseDTO.error(clientMessage);
-        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+        // Write the pre-serialized error response
+        response.getOutputStream().write(error.body());
+    }
+
+    /**
+     * Answers a request whose user could not be loaded because the user store is unavailable
+     * with 503 and a Retry-After of the breakers' open duration, as the resilience handler does.
+     *
+     * @param response The HTTP response
+     * @throws IOException If an I/O error occurs
+     */
+    private void handleUnavailable(HttpServletResponse response) throws IOException {
+        SecurityContextHolder.clearContext();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, resilienceGuards.getOpenDuration().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(unavailableBody.length);
+        response.getOutputStream().write(unavailableBody);
+    }
+
+    /**
+     * Builds the error response for every error type up front, so rejecting a request
+     * costs no serialization.
+     */
+    private static Map<JwtAuthenticationException.JwtErrorType, ErrorResponse> serializeErrorResponses(
+            ObjectMapper objectMapper
+    ) {
+        Map<JwtAuthenticationException.JwtErrorType, ErrorResponse> responses =
+                new EnumMap<>(JwtAuthenticationException.JwtErrorType.class);
+        for (JwtAuthenticationException.JwtErrorType errorType : JwtAuthenticationException.JwtErrorType.values()) {
+            // Determine appropriate status code and client message based on error type
+            HttpStatus status;
+            String clientMessage;
+            
+            switch (errorType) {
+                case EXPIRED_TOKEN:
+                    status = HttpStatus.UNAUTHORIZED;
+                    clientMessage = "Authentication token has expired";
+                    break;
+                case INVALID_SIGNATURE:
+                    status = HttpStatus.UNAUTHORIZED;
+                    clientMessage = "Invalid authentication token";
+                    break;
+                case MALFORMED_TOKEN:
+                    status = HttpStatus.BAD_REQUEST;
+                    clientMessage = "Malformed authentication token";
+                    break;
+                case USER_NOT_FOUND:
+                    status = HttpStatus.UNAUTHORIZED;
+                    clientMessage = "Authentication failed";
+                    break;
+                default:
+                    status = HttpStatus.UNAUTHORIZED;
+                    clientMessage = "Authentication failed";
+            }
+            
+            try {
+                byte[] body = objectMapper.writeValueAsBytes(IamErrorResponseDTO.error(clientMessage));
+                responses.put(errorType, new ErrorResponse(status, clientMessage, body));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize JWT error response", e);
+            }
+        }
+        return responses;
+    }
+
+    private record ErrorResponse(HttpStatus status, String clientMessage, byte[] body) {
     }
 }
@@ -154,7 +154,7 @@ public class JwtService {
      * @param token The JWT token
      * @return The expiration date
      */
-    private Date extractExpiration(String token) {
+    public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
 
@@ -0,0 +1,125 @@
+package com.snackbar.iam.infrastructure.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter over a fixed table of buckets, so memory stays bounded however
+ * many keys are seen.
+ * <p>
+ * Each key hashes (with a per-instance seed) to one bucket in each of two rows. A request is
+ * allowed if either bucket has a token, and takes a token from every bucket that has one: a
+ * key that exhausts its own buckets is limited, while a key that shares one bucket with it
+ * still passes through its other bucket. Each bucket is a single long, packing its last refill
+ * time and its token deficit, updated by compare-and-set, so there are no locks and contention
+ * is spread across the table.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int ROWS = 2;
+    private static final int DEFICIT_BITS = 24;
+    private static final long DEFICIT_MASK = (1L << DEFICIT_BITS) - 1;
+    // Tokens are counted in thousandths, so slow refill rates still accrue between requests
+    private static final long TOKEN = 1000;
+
+    private final long capacity;
+    private final double refillPerMilli;
+    private final int rowMask;
+    private final AtomicLongArray buckets;
+    private final long seed;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+
+    /**
+     * @param capacity Tokens a bucket holds, i.e. the burst allowed after a quiet period
+     * @param refillPerMinute Tokens added back to a bucket per minute
+     * @param bucketsPerRow Buckets in each row, rounded up to a power of two
+     */
+    public TokenBucketRateLimiter(int capacity, double refillPerMinute, int bucketsPerRow) {
+        this(capacity, refillPerMinute, bucketsPerRow, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, double refillPerMinute, int bucketsPerRow, LongSupplier nanoClock) {
+        if (capacity < 1 || capacity * TOKEN > DEFICIT_MASK) {
+            throw new IllegalArgumentException("Rate limit capacity must be between 1 and " + DEFICIT_MASK / TOKEN);
+        }
+        if (refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate limit refill rate must be positive");
+        }
+        if (bucketsPerRow < 1 || bucketsPerRow > 1 << 24) {
+            throw new IllegalArgumentException("Rate limit buckets per row must be between 1 and " + (1 << 24));
+        }
+        int rowSize = Integer.highestOneBit(bucketsPerRow) == bucketsPerRow ? bucketsPerRow : Integer.highestOneBit(bucketsPerRow) << 1;
+        this.capacity = capacity * TOKEN;
+        this.refillPerMilli = refillPerMinute * TOKEN / TimeUnit.MINUTES.toMillis(1);
+        this.rowMask = rowSize - 1;
+        this.buckets = new AtomicLongArray(rowSize * ROWS);
+        this.seed = ThreadLocalRandom.current().nextLong();
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a token for a key.
+     *
+     * @param key The key being limited, e.g. a client address
+     * @return 0 if the request is allowed, otherwise the milliseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long hash = hash(key);
+        long now = TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - startNanos);
+        long wait = Long.MAX_VALUE;
+        boolean allowed = false;
+        for (int row = 0; row < ROWS; row++) {
+            int column = (int) (row == 0 ? hash : hash >>> 32) & rowMask;
+            int index = row * (rowMask + 1) + column;
+            long bucketWait = tryAcquire(index, now);
+            if (bucketWait == 0) {
+                allowed = true;
+            }
+            wait = Math.min(wait, bucketWait);
+        }
+        return allowed ? 0 : Math.max(wait, 1);
+    }
+
+    private long tryAcquire(int index, long now) {
+        while (true) {
+            long state = buckets.get(index);
+            // An untouched bucket is 0: no deficit, i.e. full
+            long last = state >>> DEFICIT_BITS;
+            long deficit = state & DEFICIT_MASK;
+
+            long refill = (long) (Math.max(now - last, 0) * refillPerMilli);
+            long refilledAt;
+            if (refill >= deficit) {
+                deficit = 0;
+                refilledAt = now;
+            } else {
+                deficit -= refill;
+                // Only the time that earned whole thousandths is consumed, so fractions are not lost
+                refilledAt = last + (long) (refill / refillPerMilli);
+            }
+
+            if (deficit + TOKEN > capacity) {
+                return (long) Math.ceil((deficit + TOKEN - capacity) / refillPerMilli);
+            }
+            long updated = refilledAt << DEFICIT_BITS | (deficit + TOKEN);
+            if (buckets.compareAndSet(index, state, updated)) {
+                return 0;
+            }
+        }
+    }
+
+    // FNV-1a over the characters, then a 64-bit finalizer so both halves are well mixed
+    private long hash(String key) {
+        long hash = seed ^ 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,144 @@
+package com.snackbar.infrastructure.concurrent;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import com.snackbar.infrastructure.deadline.Deadline;
+import com.snackbar.infrastructure.deadline.DeadlineExceededException;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter.Priority;
+
+/**
+ * Gathers concurrent single-key loads into batches loaded with one call, in the manner of a
+ * DataLoader: the first caller of a batch waits for the batch window, or until the batch is full,
+ * then loads every key gathered meanwhile at once, and each caller gets the value of its own key.
+ * The window is only waited for while another batch is being loaded, as callers that arrive
+ * together are then likely; a caller arriving when nothing is loading loads its key right away.
+ * No thread of its own is used; the batch is loaded on the thread of its first caller, under its
+ * read routing, request deadline and {@link Priority}. Callers only join batches of their own
+ * priority, so interactive lookups are never loaded at background priority.
+ * <p>
+ * Like {@link SingleFlight}, callers wait no longer than their own deadline, and a caller with
+ * time left loads its key on its own if the batch ran out of the time of the caller that loaded it.
+ *
+ * @param <K> The type of the keys, which must implement equals and hashCode
+ * @param <V> The type of the values, shared between callers of the same key
+ */
+public class MicroBatcher<K, V> {
+
+    private static final class Batch<K, V> {
+        private final Map<K, CompletableFuture<V>> loads = new LinkedHashMap<>();
+    }
+
+    private final Function<List<K>, Map<K, V>> loader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchFull = lock.newCondition();
+    private final Map<Priority, Batch<K, V>> open = new EnumMap<>(Priority.class);
+    // Batches being loaded, guarded by the lock
+    private int loading;
+
+    /**
+     * @param loader Loads a batch of keys, returning the values found by key; keys it cannot find are left out
+     * @param window How long the first caller of a batch waits for other callers while another batch is loading
+     * @param maxBatchSize The number of keys after which a batch is loaded without waiting for the window to end
+     */
+    public MicroBatcher(Function<List<K>, Map<K, V>> loader, Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.loader = loader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Loads a key as part of a batch.
+     *
+     * @param key The key
+     * @return The value of the key, or null if the loader did not find it
+     */
+    public V load(K key) {
+        Priority priority = AdaptiveConcurrencyLimiter.currentPriority();
+        Batch<K, V> batch;
+        CompletableFuture<V> load;
+        boolean first;
+        lock.lock();
+        try {
+            batch = open.get(priority);
+            first = batch == null;
+            if (first) {
+                batch = new Batch<>();
+                open.put(priority, batch);
+            }
+            // Callers of the same key share its load
+            load = batch.loads.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (batch.loads.size() >= maxBatchSize) {
+                open.remove(priority, batch);
+                batchFull.signalAll();
+            }
+            if (first) {
+                if (loading > 0) {
+                    awaitWindow(priority, batch);
+                } else {
+                    open.remove(priority, batch);
+                }
+                loading++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (first) {
+            loadBatch(batch);
+            return SingleFlight.resultOf(load);
+        }
+        try {
+            return SingleFlight.await(load);
+        } catch (DeadlineExceededException | QueryTimeoutException e) {
+            // Throws if this caller is out of time as well
+            Deadline.timeLeft();
+            return loader.apply(List.of(key)).get(key);
+        }
+    }
+
+    // Called with the lock held, by the first caller of the batch
+    private void awaitWindow(Priority priority, Batch<K, V> batch) {
+        long waitNanos = windowNanos;
+        try {
+            while (open.get(priority) == batch && waitNanos > 0) {
+                waitNanos = batchFull.awaitNanos(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            // The batch is loaded right away, the callers that joined it are waiting for it
+            Thread.currentThread().interrupt();
+        }
+        open.remove(priority, batch);
+    }
+
+    private void loadBatch(Batch<K, V> batch) {
+        try {
+            Map<K, V> values = loader.apply(List.copyOf(batch.loads.keySet()));
+            batch.loads.forEach((key, load) -> load.complete(values.get(key)));
+        } catch (Throwable e) {
+            batch.loads.values().forEach(load -> load.completeExceptionally(e));
+        } finally {
+            lock.lock();
+            try {
+                loading--;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.snackbar.infrastructure.concurrent;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import com.snackbar.infrastructure.deadline.Deadline;
+import com.snackbar.infrastructure.deadline.DeadlineExceededException;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter.Priority;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller makes the call, and
+ * callers arriving while it is in flight wait for its result, or its exception, instead of
+ * making the same call again. Nothing is kept once the call is over, so this bounds the calls
+ * in flight per key, not how often a key is loaded.
+ * <p>
+ * Waiters wait no longer than their own request deadline. The call runs under the deadline of
+ * the caller that made it, so a waiter whose deadline is later makes the call again itself,
+ * once, if the shared call ran out of time.
+ * <p>
+ * The call runs at the {@link Priority} of the caller that made it. Interactive callers never
+ * wait for a call made at background priority, which would hold them up behind background work:
+ * they make the call again, and the callers after them join theirs.
+ *
+ * @param <K> The type of the keys, which must implement equals and hashCode
+ * @param <V> The type of the results, shared between the callers, so preferably immutable
+ */
+public class SingleFlight<K, V> {
+
+    private record Flight<V>(CompletableFuture<V> result, Priority priority) {
+    }
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Makes a call, or waits for the call already in flight for the same key.
+     *
+     * @param key The key identifying the call
+     * @param call The call
+     * @return The result of the call
+     */
+    public V execute(K key, Supplier<V> call) {
+        return execute(key, call, true);
+    }
+
+    /**
+     * Makes a call on an executor, at the priority of the current thread, unless a call for the
+     * same key is already in flight.
+     *
+     * @param key The key identifying the call
+     * @param call The call
+     * @param executor The executor to make the call on
+     * @return The call in flight for the key
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<V> call, Executor executor) {
+        Flight<V> flight = new Flight<>(new CompletableFuture<>(), AdaptiveConcurrencyLimiter.currentPriority());
+        Flight<V> joined = join(key, flight);
+        if (joined != flight) {
+            return joined.result();
+        }
+        try {
+            executor.execute(() -> {
+                try (ThreadScope priority = AdaptiveConcurrencyLimiter.withPriority(flight.priority())) {
+                    fly(key, flight, call);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            flights.remove(key, flight);
+            flight.result().completeExceptionally(e);
+        }
+        return flight.result();
+    }
+
+    /**
+     * Stops handing the calls in flight for the matching keys to new callers, which make a call of
+     * their own instead. Used after a write, so nobody is handed a result read before it.
+     *
+     * @param keys The keys to forget
+     */
+    public void forget(Predicate<? super K> keys) {
+        flights.keySet().removeIf(keys);
+    }
+
+    /**
+     * @return The number of keys with a call in flight
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private V execute(K key, Supplier<V> call, boolean retryTimeouts) {
+        Flight<V> flight = new Flight<>(new CompletableFuture<>(), AdaptiveConcurrencyLimiter.currentPriority());
+        Flight<V> joined = join(key, flight);
+        if (joined == flight) {
+            fly(key, flight, call);
+            return resultOf(flight.result());
+        }
+        try {
+            return await(joined.result());
+        } catch (DeadlineExceededException | QueryTimeoutException e) {
+            if (!retryTimeouts) {
+                throw e;
+            }
+            // Throws if this caller is out of time as well
+            Deadline.timeLeft();
+            return execute(key, call, false);
+        }
+    }
+
+    /**
+     * @return The flight of the key the caller of the given flight joins, or the given flight if it
+     *         was registered instead
+     */
+    private Flight<V> join(K key, Flight<V> flight) {
+        return flights.compute(key, (k, current) ->
+            current == null || (current.priority() == Priority.BACKGROUND && flight.priority() == Priority.INTERACTIVE)
+                ? flight
+                : current);
+    }
+
+    private void fly(K key, Flight<V> flight, Supplier<V> call) {
+        try {
+            V result = call.get();
+            flights.remove(key, flight);
+            flight.result().complete(result);
+        } catch (Throwable e) {
+            flights.remove(key, flight);
+            flight.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Waits for a call made by another caller, no longer than the request deadline.
+     */
+    static <V> V await(CompletableFuture<V> flight) {
+        Optional<Duration> timeLeft = Deadline.timeLeft();
+        try {
+            return timeLeft.isPresent() ? flight.get(timeLeft.get().toNanos(), TimeUnit.NANOSECONDS) : flight.get();
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a call in flight", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * @return The result of a call that is over, or its exception rethrown
+     */
+    static <V> V resultOf(CompletableFuture<V> flight) {
+        try {
+            return flight.getNow(null);
+        } catch (RuntimeException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(failure);
+    }
+}
@@ -0,0 +1,40 @@
+package com.snackbar.infrastructure.concurrent;
+
+/**
+ * Ends a change to the context of the current thread, such as its correlation ID, deadline,
+ * read routing or priority, restoring what it was before. Scopes nest, and are closed in
+ * try-with-resources on the thread that opened them.
+ */
+@FunctionalInterface
+public interface ThreadScope extends AutoCloseable {
+
+    /**
+     * A scope that changed nothing.
+     */
+    ThreadScope NONE = () -> { };
+
+    @Override
+    void close();
+
+    /**
+     * Sets a thread-local value until the returned scope is closed.
+     *
+     * @param local The thread-local
+     * @param value The value, or null to clear it
+     * @param <T> The type of the value
+     * @return The scope restoring the previous value
+     */
+    static <T> ThreadScope bind(ThreadLocal<T> local, T value) {
+        T previous = local.get();
+        set(local, value);
+        return () -> set(local, previous);
+    }
+
+    private static <T> void set(ThreadLocal<T> local, T value) {
+        if (value == null) {
+            local.remove();
+        } else {
+            local.set(value);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.snackbar.infrastructure.deadline;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+/**
+ * The time budget of the request handled by the current thread. Set at the HTTP edge by
+ * {@link DeadlineFilter}, it follows the request through the use cases without being passed
+ * along, and the adapters turn what is left of it into timeouts of their remote calls:
+ * {@code timeoutMS} (and so {@code maxTimeMS}) on MongoDB commands, API call timeouts on SQS calls.
+ * Threads without a deadline, such as pollers and schedulers, keep their usual timeouts.
+ */
+public final class Deadline {
+
+    /**
+     * Header a client uses to send its own time budget for a request, in milliseconds.
+     */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    // System.nanoTime() by which the request must be done, null when there is no deadline
+    private static final ThreadLocal<Long> EXPIRES_AT = new ThreadLocal<>();
+
+    private Deadline() {
+    }
+
+    /**
+     * Sets a deadline on the current thread, or keeps the current one if it expires sooner.
+     *
+     * @param timeout The time budget from now
+     * @return The scope to close once the work is done
+     */
+    public static ThreadScope start(Duration timeout) {
+        long expiresAt = System.nanoTime() + timeout.toNanos();
+        Long current = EXPIRES_AT.get();
+        return set(current != null && current - expiresAt < 0 ? current : expiresAt);
+    }
+
+    /**
+     * Makes sure work that must not be cut short, such as the side effects of a stored change,
+     * has at least the given time left. Does nothing on threads without a deadline.
+     *
+     * @param minimum The time the work gets at least
+     * @return The scope to close once the work is done
+     */
+    public static ThreadScope atLeast(Duration minimum) {
+        Long current = EXPIRES_AT.get();
+        if (current == null) {
+            return set(null);
+        }
+        long expiresAt = System.nanoTime() + minimum.toNanos();
+        return set(current - expiresAt < 0 ? expiresAt : current);
+    }
+
+    /**
+     * Replaces the deadline of the current thread, even with a later one.
+     */
+    static ThreadScope reset(Duration timeout) {
+        return set(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Returns the time left before the deadline, to be used as the timeout of a remote call.
+     *
+     * @return The time left, or empty if the thread has no deadline
+     * @throws DeadlineExceededException If the deadline has already passed
+     */
+    public static Optional<Duration> timeLeft() {
+        Long expiresAt = EXPIRES_AT.get();
+        if (expiresAt == null) {
+            return Optional.empty();
+        }
+        long left = expiresAt - System.nanoTime();
+        if (left <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        }
+        return Optional.of(Duration.ofNanos(left));
+    }
+
+    private static ThreadScope set(Long expiresAt) {
+        return ThreadScope.bind(EXPIRES_AT, expiresAt);
+    }
+}
@@ -0,0 +1,11 @@
+package com.snackbar.infrastructure.deadline;
+
+/**
+ * Thrown instead of making a remote call once the request deadline has passed.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
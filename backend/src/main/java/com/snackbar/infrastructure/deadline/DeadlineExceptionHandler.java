@@ -0,0 +1,25 @@
+package com.snackbar.infrastructure.deadline;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers requests that ran out of time with 504 Gateway Timeout, for every module.
+ * Ordered first so the catch-all handlers of the modules do not turn them into 500s.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DeadlineExceptionHandler {
+
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ProblemDetail> handleDeadlineExceeded(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+            .body(ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded"));
+    }
+}
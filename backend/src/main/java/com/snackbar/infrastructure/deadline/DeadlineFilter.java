@@ -0,0 +1,82 @@
+package com.snackbar.infrastructure.deadline;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sets the deadline of each request: the budget the client sent in {@link Deadline#TIMEOUT_HEADER},
+ * or request.deadline.default-ms, capped by request.deadline.max-ms. Runs before the security
+ * filters, so user lookups made while authenticating are bounded too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute set when the deadline comes from the client rather than a default.
+     */
+    static final String CLIENT_DEADLINE_ATTRIBUTE = DeadlineFilter.class.getName() + ".CLIENT_DEADLINE";
+
+    private final boolean enabled;
+    private final long defaultMs;
+    private final long maxMs;
+
+    public DeadlineFilter(@Value("${request.deadline.enabled:true}") boolean enabled,
+                          @Value("${request.deadline.default-ms:5000}") long defaultMs,
+                          @Value("${request.deadline.max-ms:30000}") long maxMs) {
+        if (defaultMs < 1 || maxMs < defaultMs) {
+            throw new IllegalArgumentException("Request deadlines must be positive, with the default at most the maximum");
+        }
+        this.enabled = enabled;
+        this.defaultMs = defaultMs;
+        this.maxMs = maxMs;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long timeoutMs = defaultMs;
+        Long clientTimeoutMs = parseTimeout(request.getHeader(Deadline.TIMEOUT_HEADER));
+        if (clientTimeoutMs != null) {
+            timeoutMs = Math.min(clientTimeoutMs, maxMs);
+            request.setAttribute(CLIENT_DEADLINE_ATTRIBUTE, Boolean.TRUE);
+        }
+        try (ThreadScope scope = Deadline.start(Duration.ofMillis(timeoutMs))) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private static Long parseTimeout(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            long timeoutMs = Long.parseLong(header.trim());
+            // A budget the client cannot meet is ignored rather than failing the request up front
+            return timeoutMs > 0 ? timeoutMs : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.snackbar.infrastructure.deadline;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the {@link RequestTimeout} of the handling endpoint, when the client did not send
+ * a budget of its own.
+ */
+@Component
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".SCOPE";
+
+    private final boolean enabled;
+    private final long maxMs;
+
+    public DeadlineInterceptor(@Value("${request.deadline.enabled:true}") boolean enabled,
+                               @Value("${request.deadline.max-ms:30000}") long maxMs) {
+        this.enabled = enabled;
+        this.maxMs = maxMs;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!enabled || request.getAttribute(DeadlineFilter.CLIENT_DEADLINE_ATTRIBUTE) != null
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RequestTimeout timeout = handlerMethod.getMethodAnnotation(RequestTimeout.class);
+        if (timeout != null) {
+            request.setAttribute(SCOPE_ATTRIBUTE, Deadline.reset(Duration.ofMillis(Math.min(timeout.value(), maxMs))));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        closeScope(request);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        closeScope(request);
+    }
+
+    private static void closeScope(HttpServletRequest request) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof ThreadScope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.snackbar.infrastructure.deadline;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoDatabaseFactorySupport;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Replaces Spring Boot's MongoTemplate, used by the repositories too, with a
+ * {@link DeadlineMongoTemplate}.
+ */
+@Configuration
+public class DeadlineMongoConfig {
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        // The template takes its exception translator from the factory when it is created
+        if (mongoDatabaseFactory instanceof MongoDatabaseFactorySupport<?> factory
+                && !(factory.getExceptionTranslator() instanceof DeadlineMongoTemplate.TimeoutExceptionTranslator)) {
+            factory.setExceptionTranslator(new DeadlineMongoTemplate.TimeoutExceptionTranslator(factory.getExceptionTranslator()));
+        }
+        return new DeadlineMongoTemplate(mongoDatabaseFactory, mongoConverter);
+    }
+}
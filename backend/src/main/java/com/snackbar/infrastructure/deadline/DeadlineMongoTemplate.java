@@ -0,0 +1,61 @@
+package com.snackbar.infrastructure.deadline;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoOperationTimeoutException;
+import com.mongodb.client.MongoCollection;
+
+/**
+ * MongoTemplate bounding every operation made on a thread with a {@link Deadline} by the time
+ * left. The driver's client side operation timeout covers server selection, connection checkout
+ * and the command itself, sent with a matching maxTimeMS. Operations running out of time fail
+ * with a {@link QueryTimeoutException}.
+ */
+public class DeadlineMongoTemplate extends MongoTemplate {
+
+    public DeadlineMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter) {
+        super(mongoDbFactory, mongoConverter);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        MongoCollection<Document> prepared = super.prepareCollection(collection);
+        Optional<Duration> timeLeft = Deadline.timeLeft();
+        // A timeout of 0 would mean no timeout at all
+        return timeLeft.isPresent()
+            ? prepared.withTimeout(Math.max(1, timeLeft.get().toMillis()), TimeUnit.MILLISECONDS)
+            : prepared;
+    }
+
+    /**
+     * Translates MongoDB timeouts into {@link QueryTimeoutException}, which the generic
+     * translator leaves uncategorized, and everything else as the given translator does.
+     */
+    static class TimeoutExceptionTranslator implements PersistenceExceptionTranslator {
+
+        private final PersistenceExceptionTranslator delegate;
+
+        TimeoutExceptionTranslator(PersistenceExceptionTranslator delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+            if (ex instanceof MongoOperationTimeoutException || ex instanceof MongoExecutionTimeoutException) {
+                return new QueryTimeoutException(ex.getMessage(), ex);
+            }
+            return delegate.translateExceptionIfPossible(ex);
+        }
+    }
+}
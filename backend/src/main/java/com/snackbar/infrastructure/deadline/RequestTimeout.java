@@ -0,0 +1,22 @@
+package com.snackbar.infrastructure.deadline;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gives an endpoint its own default time budget, used instead of request.deadline.default-ms
+ * when the client does not send one. The budget is still capped by request.deadline.max-ms.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestTimeout {
+
+    /**
+     * @return The default time budget of the endpoint, in milliseconds
+     */
+    long value();
+}
@@ -0,0 +1,71 @@
+package com.snackbar.infrastructure.logging;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+/**
+ * The correlation ID of the work running on the current thread, kept in the logging MDC so
+ * every log event carries it. It is taken from the X-Correlation-Id header of HTTP requests
+ * (or generated), follows the domain events they publish, which are dispatched on the same
+ * thread, and travels to other nodes as an SQS message attribute.
+ */
+public final class CorrelationId {
+
+    public static final String MDC_KEY = "correlationId";
+    public static final String HEADER = "X-Correlation-Id";
+
+    // IDs from clients end up in logs, so only short, plain ones are accepted
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    private CorrelationId() {
+    }
+
+    /**
+     * @return The correlation ID of the current thread, or null if none is bound
+     */
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+
+    /**
+     * @return A new random correlation ID
+     */
+    public static String newId() {
+        // Version 4 UUID from the thread's generator, avoiding the lock of the secure one
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    /**
+     * @param candidate A correlation ID received from outside, may be null
+     * @return The candidate if it is a valid correlation ID, otherwise a new one
+     */
+    public static String orNew(String candidate) {
+        return candidate != null && VALID.matcher(candidate).matches() ? candidate : newId();
+    }
+
+    /**
+     * Binds a correlation ID to the current thread until the returned scope is closed.
+     *
+     * @param correlationId The correlation ID
+     * @return The scope restoring the previous correlation ID once the work is done
+     */
+    public static ThreadScope bind(String correlationId) {
+        String previous = MDC.get(MDC_KEY);
+        MDC.put(MDC_KEY, correlationId);
+        return () -> {
+            if (previous != null) {
+                MDC.put(MDC_KEY, previous);
+            } else {
+                MDC.remove(MDC_KEY);
+            }
+        };
+    }
+}
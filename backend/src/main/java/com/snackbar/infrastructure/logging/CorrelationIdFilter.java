@@ -0,0 +1,38 @@
+package com.snackbar.infrastructure.logging;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Binds a correlation ID to each HTTP request, taken from its X-Correlation-Id header or
+ * generated, and echoes it in the response. Runs first, so the security filters' logs carry it too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String correlationId = CorrelationId.orNew(request.getHeader(CorrelationId.HEADER));
+        response.setHeader(CorrelationId.HEADER, correlationId);
+        try (ThreadScope scope = CorrelationId.bind(correlationId)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.snackbar.infrastructure.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which occurrences of a frequent operation get an INFO log: the first one, then
+ * one in every {@code logging.sampling.one-in}. The others are left to DEBUG, so busy nodes
+ * keep a steady trace of activity without a log line, and its allocations, per operation.
+ * Each sampled operation needs a sampler of its own; {@link LogSamplingConfig} hands a new one
+ * to every class it is injected into.
+ */
+public final class LogSampler {
+
+    public static final long DEFAULT_ONE_IN = 100;
+
+    private final long oneIn;
+    private final AtomicLong occurrences = new AtomicLong();
+
+    /**
+     * @param oneIn How many occurrences each sampled log stands for; 1 to log every occurrence
+     */
+    public LogSampler(long oneIn) {
+        if (oneIn < 1) {
+            throw new IllegalArgumentException("Log sampling rate must be at least 1");
+        }
+        this.oneIn = oneIn;
+    }
+
+    public long getOneIn() {
+        return oneIn;
+    }
+
+    /**
+     * Counts an occurrence.
+     *
+     * @return Whether this occurrence should be logged
+     */
+    public boolean sample() {
+        return occurrences.getAndIncrement() % oneIn == 0;
+    }
+}
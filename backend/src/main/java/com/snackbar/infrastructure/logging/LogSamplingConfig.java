@@ -0,0 +1,21 @@
+package com.snackbar.infrastructure.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+
+/**
+ * Provides the {@link LogSampler}s, at the configured sampling rate. Each injection point gets
+ * a sampler of its own, so an operation's samples are not taken by another's occurrences.
+ */
+@Configuration
+public class LogSamplingConfig {
+
+    @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public LogSampler logSampler(@Value("${logging.sampling.one-in:100}") long oneIn) {
+        return new LogSampler(oneIn);
+    }
+}
@@ -0,0 +1,220 @@
+package com.snackbar.infrastructure.messaging.sqs.consumer;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adaptive poller for SQS queues.
+ * Receivers chain long polls back-to-back while messages keep arriving and back off
+ * exponentially while the queue is idle. The number of concurrent receivers follows
+ * the backlog reported by the queue's ApproximateNumberOfMessages attribute.
+ */
+public class AdaptiveSQSPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveSQSPoller.class);
+
+    /**
+     * Poller settings.
+     *
+     * @param minReceivers Receivers kept running even when the queue is idle
+     * @param maxReceivers Upper bound on concurrent receivers
+     * @param messagesPerReceiver Backlog each receiver is expected to drain
+     * @param initialBackoffMs First idle backoff after an empty receive
+     * @param maxBackoffMs Upper bound on the idle backoff
+     * @param scaleIntervalMs Interval between backlog checks
+     */
+    public record Settings(int minReceivers, int maxReceivers, int messagesPerReceiver,
+                           long initialBackoffMs, long maxBackoffMs, long scaleIntervalMs) {
+
+        public Settings {
+            if (minReceivers < 1 || maxReceivers < minReceivers) {
+                throw new IllegalArgumentException("Receivers must satisfy 1 <= min <= max");
+            }
+            if (messagesPerReceiver < 1) {
+                throw new IllegalArgumentException("Messages per receiver must be positive");
+            }
+            if (initialBackoffMs < 1 || maxBackoffMs < initialBackoffMs) {
+                throw new IllegalArgumentException("Backoff must satisfy 1 <= initial <= max");
+            }
+            if (scaleIntervalMs < 1) {
+                throw new IllegalArgumentException("Scale interval must be positive");
+            }
+        }
+    }
+
+    private final String name;
+    private final IntSupplier pollCycle;
+    private final LongSupplier backlogProbe;
+    private final Settings settings;
+    private final SQSPollerMetrics metrics;
+
+    private final Thread[] receivers;
+    private final AtomicInteger targetReceivers = new AtomicInteger();
+    private volatile boolean running;
+    private ScheduledExecutorService scaler;
+
+    /**
+     * Constructor with all dependencies.
+     *
+     * @param name Name used for threads and logs
+     * @param pollCycle Performs one receive-and-process cycle and returns the number of messages received
+     * @param backlogProbe Returns the approximate number of visible messages, or a negative value if unknown
+     * @param settings Poller settings
+     * @param metrics Metrics updated by the poller
+     */
+    public AdaptiveSQSPoller(String name, IntSupplier pollCycle, LongSupplier backlogProbe,
+                             Settings settings, SQSPollerMetrics metrics) {
+        this.name = name;
+        this.pollCycle = pollCycle;
+        this.backlogProbe = backlogProbe;
+        this.settings = settings;
+        this.metrics = metrics;
+        this.receivers = new Thread[settings.maxReceivers()];
+    }
+
+    /**
+     * Starts the minimum number of receivers and the backlog-driven scaler.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        scaleTo(settings.minReceivers());
+
+        scaler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name + "-scaler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scaler.scheduleWithFixedDelay(this::adjustReceivers,
+                settings.scaleIntervalMs(), settings.scaleIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("Adaptive SQS poller {} started with settings {}", name, settings);
+    }
+
+    /**
+     * Stops the scaler and all receivers, waiting briefly for in-flight cycles to finish.
+     */
+    public void stop() {
+        Thread[] toJoin;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            scaler.shutdownNow();
+            toJoin = receivers.clone();
+            for (Thread receiver : toJoin) {
+                if (receiver != null) {
+                    receiver.interrupt();
+                }
+            }
+        }
+        for (Thread receiver : toJoin) {
+            if (receiver != null) {
+                try {
+                    receiver.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        metrics.recordActiveReceivers(0);
+        log.info("Adaptive SQS poller {} stopped", name);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Reads the backlog and scales the receivers to match it.
+     * Package-private so tests can trigger a scaling decision directly.
+     */
+    void adjustReceivers() {
+        try {
+            long backlog = backlogProbe.getAsLong();
+            metrics.recordBacklog(backlog);
+            if (backlog < 0) {
+                return;
+            }
+            scaleTo(desiredReceivers(backlog));
+        } catch (RuntimeException e) {
+            log.warn("Failed to adjust receivers for poller {}: {}", name, e.getMessage());
+        }
+    }
+
+    int desiredReceivers(long backlog) {
+        long needed = (backlog + settings.messagesPerReceiver() - 1) / settings.messagesPerReceiver();
+        return (int) Math.max(settings.minReceivers(), Math.min(settings.maxReceivers(), needed));
+    }
+
+    long nextBackoff(long currentBackoffMs) {
+        if (currentBackoffMs <= 0) {
+            return settings.initialBackoffMs();
+        }
+        return Math.min(settings.maxBackoffMs(), currentBackoffMs * 2);
+    }
+
+    int getTargetReceivers() {
+        return targetReceivers.get();
+    }
+
+    private synchronized void scaleTo(int target) {
+        if (!running) {
+            return;
+        }
+        int previous = targetReceivers.getAndSet(target);
+        if (previous != target) {
+            log.info("Scaling poller {} from {} to {} receivers", name, previous, target);
+        }
+        // Receivers above the target exit on their own after their current cycle
+        for (int i = 0; i < target; i++) {
+            if (receivers[i] == null || !receivers[i].isAlive()) {
+                int index = i;
+                receivers[i] = new Thread(() -> runReceiver(index), name + "-receiver-" + i);
+                receivers[i].setDaemon(true);
+                receivers[i].start();
+            }
+        }
+        metrics.recordActiveReceivers(target);
+    }
+
+    private void runReceiver(int index) {
+        long backoffMs = 0;
+        while (running && index < targetReceivers.get()) {
+            int received;
+            try {
+                received = pollCycle.getAsInt();
+            } catch (RuntimeException e) {
+                log.error("Poll cycle failed for poller {}: {}", name, e.getMessage());
+                received = 0;
+            }
+            metrics.recordReceive(received);
+
+            if (received > 0) {
+                // Keep long polling back-to-back while messages keep arriving
+                backoffMs = 0;
+                metrics.recordBackoff(0);
+                continue;
+            }
+
+            backoffMs = nextBackoff(backoffMs);
+            metrics.recordBackoff(backoffMs);
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
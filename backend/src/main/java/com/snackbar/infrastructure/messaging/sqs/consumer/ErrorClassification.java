@@ -0,0 +1,13 @@
+package com.snackbar.infrastructure.messaging.sqs.consumer;
+
+/**
+ * Classification of a message processing failure.
+ */
+public enum ErrorClassification {
+
+    /** The message can never be processed successfully and should be quarantined. */
+    PERMANENT,
+
+    /** The failure may succeed on a later attempt and should be retried with backoff. */
+    TRANSIENT
+}
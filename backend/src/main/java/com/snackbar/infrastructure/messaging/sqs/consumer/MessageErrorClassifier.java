@@ -0,0 +1,16 @@
+package com.snackbar.infrastructure.messaging.sqs.consumer;
+
+/**
+ * Interface for classifying message processing failures.
+ * Framework-agnostic with no external dependencies.
+ */
+public interface MessageErrorClassifier {
+
+    /**
+     * Classify a failure raised while processing a message.
+     *
+     * @param error The error raised by the handler
+     * @return PERMANENT if retrying cannot succeed, TRANSIENT otherwise
+     */
+    ErrorClassification classify(Throwable error);
+}
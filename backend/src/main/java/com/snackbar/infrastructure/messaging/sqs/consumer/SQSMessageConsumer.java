@@ -20,6 +20,14 @@ public interface SQSMessageConsumer {
      */
     List<Message> receiveMessages(String queueUrl, int maxMessages, int waitTimeSeconds);
     
+    /**
+     * Get the approximate number of visible messages in an SQS queue.
+     * 
+     * @param queueUrl The URL of the queue
+     * @return The ApproximateNumberOfMessages attribute, or -1 if it could not be read
+     */
+    long getApproximateNumberOfMessages(String queueUrl);
+    
     /**
      * Delete a message from an SQS queue.
      * 
@@ -28,6 +36,25 @@ public interface SQSMessageConsumer {
      */
     void deleteMessage(String queueUrl, String receiptHandle);
     
+    /**
+     * Change the visibility timeout of a single message.
+     * 
+     * @param queueUrl The URL of the queue
+     * @param receiptHandle The receipt handle of the message
+     * @param visibilityTimeoutSeconds The new visibility timeout; 0 makes the message visible immediately
+     */
+    void changeMessageVisibility(String queueUrl, String receiptHandle, int visibilityTimeoutSeconds);
+    
+    /**
+     * Change the visibility timeout of up to 10 messages in a single call.
+     * 
+     * @param queueUrl The URL of the queue
+     * @param receiptHandles The receipt handles of the messages (at most 10)
+     * @param visibilityTimeoutSeconds The new visibility timeout
+     * @return The receipt handles SQS rejected, e.g. because the message was already deleted
+     */
+    List<String> changeMessageVisibilityBatch(String queueUrl, List<String> receiptHandles, int visibilityTimeoutSeconds);
+    
     /**
      * Deserialize a message body to a specific type.
      * 
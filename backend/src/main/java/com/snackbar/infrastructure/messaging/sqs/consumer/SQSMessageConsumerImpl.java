@@ -2,18 +2,30 @@ package com.snackbar.infrastructure.messaging.sqs.consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.infrastructure.logging.LogSampler;
 
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -26,15 +38,25 @@ import com.snackbar.product.infrastructure.messaging.sqs.model.StandardProductMe
 @Component
 public class SQSMessageConsumerImpl implements SQSMessageConsumer {
     
+    // Message attributes (e.g. origin tags) are only returned when explicitly requested
+    private static final String ALL_MESSAGE_ATTRIBUTES = "All";
+    
     // Using instance logger instead of static logger to make testing easier
     private Logger log = LoggerFactory.getLogger(SQSMessageConsumerImpl.class);
     
     private final SqsClient sqsClient;
     private final ObjectMapper objectMapper;
+    private final LogSampler receivedSampler;
     
     public SQSMessageConsumerImpl(SqsClient sqsClient, ObjectMapper objectMapper) {
+        this(sqsClient, objectMapper, new LogSampler(LogSampler.DEFAULT_ONE_IN));
+    }
+    
+    @Autowired
+    public SQSMessageConsumerImpl(SqsClient sqsClient, ObjectMapper objectMapper, LogSampler receivedSampler) {
         this.sqsClient = sqsClient;
         this.objectMapper = objectMapper;
+        this.receivedSampler = receivedSampler;
     }
     
     @Override
@@ -44,13 +66,20 @@ public class SQSMessageConsumerImpl implements SQSMessageConsumer {
                 .queueUrl(queueUrl)
                 .maxNumberOfMessages(maxMessages)
                 .waitTimeSeconds(waitTimeSeconds)
+                .messageAttributeNames(ALL_MESSAGE_ATTRIBUTES)
+                .messageSystemAttributeNames(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT)
                 .build();
             
             ReceiveMessageResponse response = sqsClient.receiveMessage(receiveRequest);
             List<Message> messages = response.messages();
             
             if (!messages.isEmpty()) {
-                log.info("Received {} messages from queue {}", messages.size(), queueUrl);
+                if (receivedSampler.sample()) {
+                    log.info("Received {} messages from queue {} (1 in {} batches logged)",
+                            messages.size(), queueUrl, receivedSampler.getOneIn());
+                } else {
+                    log.debug("Received {} messages from queue {}", messages.size(), queueUrl);
+                }
             } else {
                 log.debug("No messages received from queue {}", queueUrl);
             }
@@ -65,6 +94,27 @@ public class SQSMessageConsumerImpl implements SQSMessageConsumer {
         }
     }
     
+    @Override
+    public long getApproximateNumberOfMessages(String queueUrl) {
+        try {
+            GetQueueAttributesRequest attributesRequest = GetQueueAttributesRequest.builder()
+                .queueUrl(queueUrl)
+                .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES)
+                .build();
+            
+            GetQueueAttributesResponse response = sqsClient.getQueueAttributes(attributesRequest);
+            String value = response.attributes().get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES);
+            long backlog = value != null ? Long.parseLong(value) : -1;
+            log.debug("Approximate number of messages in queue {}: {}", queueUrl, backlog);
+            return backlog;
+        } catch (Exception e) {
+            // Only log the error message at WARN level, full stack trace at DEBUG level
+            log.warn("Error reading attributes of SQS queue {}", queueUrl);
+            log.debug("Full exception details", e);
+            return -1;
+        }
+    }
+    
     @Override
     public void deleteMessage(String queueUrl, String receiptHandle) {
         try {
@@ -83,6 +133,65 @@ public class SQSMessageConsumerImpl implements SQSMessageConsumer {
         }
     }
     
+    @Override
+    public void changeMessageVisibility(String queueUrl, String receiptHandle, int visibilityTimeoutSeconds) {
+        try {
+            ChangeMessageVisibilityRequest visibilityRequest = ChangeMessageVisibilityRequest.builder()
+                .queueUrl(queueUrl)
+                .receiptHandle(receiptHandle)
+                .visibilityTimeout(visibilityTimeoutSeconds)
+                .build();
+            
+            sqsClient.changeMessageVisibility(visibilityRequest);
+            log.debug("Changed visibility of message {} to {}s", receiptHandle, visibilityTimeoutSeconds);
+        } catch (Exception e) {
+            // Only log the error message at ERROR level, full stack trace at DEBUG level
+            log.error("Error changing message visibility in SQS queue {}", queueUrl);
+            log.debug("Full exception details", e);
+            throw new RuntimeException("Failed to change message visibility in SQS", e);
+        }
+    }
+    
+    @Override
+    public List<String> changeMessageVisibilityBatch(String queueUrl, List<String> receiptHandles, int visibilityTimeoutSeconds) {
+        if (receiptHandles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        // Batch entry IDs only need to be unique within the request
+        List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(receiptHandles.size());
+        for (int i = 0; i < receiptHandles.size(); i++) {
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                .id(String.valueOf(i))
+                .receiptHandle(receiptHandles.get(i))
+                .visibilityTimeout(visibilityTimeoutSeconds)
+                .build());
+        }
+        
+        try {
+            ChangeMessageVisibilityBatchRequest batchRequest = ChangeMessageVisibilityBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries)
+                .build();
+            
+            ChangeMessageVisibilityBatchResponse response = sqsClient.changeMessageVisibilityBatch(batchRequest);
+            
+            List<String> failed = new ArrayList<>();
+            for (BatchResultErrorEntry error : response.failed()) {
+                log.warn("Failed to change visibility of message in SQS queue {}: {} ({})",
+                        queueUrl, error.message(), error.code());
+                failed.add(receiptHandles.get(Integer.parseInt(error.id())));
+            }
+            log.debug("Changed visibility of {} messages to {}s", receiptHandles.size() - failed.size(), visibilityTimeoutSeconds);
+            return failed;
+        } catch (Exception e) {
+            // A failed call is retried on the next heartbeat, so no handle is reported as rejected
+            log.error("Error changing message visibility in SQS queue {}", queueUrl);
+            log.debug("Full exception details", e);
+            return Collections.emptyList();
+        }
+    }
+    
     @Override
     @SuppressWarnings("unchecked")
     public <T> T deserializeMessage(Message message, Class<T> messageType) {
@@ -0,0 +1,137 @@
+package com.snackbar.infrastructure.messaging.sqs.consumer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Poll efficiency metrics for an SQS poller.
+ * Counters are updated by the receivers and exposed through Micrometer.
+ */
+public class SQSPollerMetrics implements MeterBinder {
+
+    private final String pollerName;
+
+    private final LongAdder receiveCalls = new LongAdder();
+    private final LongAdder emptyReceives = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final AtomicInteger activeReceivers = new AtomicInteger();
+    private final AtomicLong currentBackoffMs = new AtomicLong();
+    private final AtomicLong approximateBacklog = new AtomicLong(-1);
+
+    public SQSPollerMetrics(String pollerName) {
+        this.pollerName = pollerName;
+    }
+
+    /**
+     * Records the outcome of a single receive call.
+     *
+     * @param messageCount The number of messages returned by the call
+     */
+    public void recordReceive(int messageCount) {
+        receiveCalls.increment();
+        if (messageCount > 0) {
+            messagesReceived.add(messageCount);
+        } else {
+            emptyReceives.increment();
+        }
+    }
+
+    public void recordBackoff(long backoffMs) {
+        currentBackoffMs.set(backoffMs);
+    }
+
+    public void recordBacklog(long backlog) {
+        approximateBacklog.set(backlog);
+    }
+
+    public void recordActiveReceivers(int receivers) {
+        activeReceivers.set(receivers);
+    }
+
+    public long getReceiveCalls() {
+        return receiveCalls.sum();
+    }
+
+    public long getEmptyReceives() {
+        return emptyReceives.sum();
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.sum();
+    }
+
+    public int getActiveReceivers() {
+        return activeReceivers.get();
+    }
+
+    public long getCurrentBackoffMs() {
+        return currentBackoffMs.get();
+    }
+
+    public long getApproximateBacklog() {
+        return approximateBacklog.get();
+    }
+
+    /**
+     * Average number of messages returned per receive call.
+     *
+     * @return Messages per receive call, or 0 if no call was made yet
+     */
+    public double getMessagesPerReceive() {
+        long calls = receiveCalls.sum();
+        return calls == 0 ? 0.0 : (double) messagesReceived.sum() / calls;
+    }
+
+    /**
+     * Fraction of receive calls that returned no messages.
+     *
+     * @return Empty receive ratio, or 0 if no call was made yet
+     */
+    public double getEmptyReceiveRatio() {
+        long calls = receiveCalls.sum();
+        return calls == 0 ? 0.0 : (double) emptyReceives.sum() / calls;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("sqs.poller.receive.calls", this, SQSPollerMetrics::getReceiveCalls)
+                .tag("poller", pollerName)
+                .description("Number of SQS receive calls")
+                .register(registry);
+        FunctionCounter.builder("sqs.poller.receive.empty", this, SQSPollerMetrics::getEmptyReceives)
+                .tag("poller", pollerName)
+                .description("Number of SQS receive calls that returned no messages")
+                .register(registry);
+        FunctionCounter.builder("sqs.poller.messages.received", this, SQSPollerMetrics::getMessagesReceived)
+                .tag("poller", pollerName)
+                .description("Number of messages received from SQS")
+                .register(registry);
+        Gauge.builder("sqs.poller.messages.per.receive", this, SQSPollerMetrics::getMessagesPerReceive)
+                .tag("poller", pollerName)
+                .description("Average number of messages per SQS receive call")
+                .register(registry);
+        Gauge.builder("sqs.poller.receive.empty.ratio", this, SQSPollerMetrics::getEmptyReceiveRatio)
+                .tag("poller", pollerName)
+                .description("Fraction of SQS receive calls that returned no messages")
+                .register(registry);
+        Gauge.builder("sqs.poller.receivers.active", this, SQSPollerMetrics::getActiveReceivers)
+                .tag("poller", pollerName)
+                .description("Number of concurrent SQS receivers")
+                .register(registry);
+        Gauge.builder("sqs.poller.backoff", this, SQSPollerMetrics::getCurrentBackoffMs)
+                .tag("poller", pollerName)
+                .baseUnit("milliseconds")
+                .description("Current idle backoff of the SQS poller")
+                .register(registry);
+        Gauge.builder("sqs.poller.backlog", this, SQSPollerMetrics::getApproximateBacklog)
+                .tag("poller", pollerName)
+                .description("Approximate number of visible messages in the queue")
+                .register(registry);
+    }
+}
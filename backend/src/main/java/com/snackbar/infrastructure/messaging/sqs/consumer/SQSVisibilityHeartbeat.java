@@ -0,0 +1,183 @@
+package com.snackbar.infrastructure.messaging.sqs.consumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps in-flight SQS messages invisible while their handlers are still running.
+ * On every tick the visibility timeout of all tracked receipt handles is extended
+ * through ChangeMessageVisibilityBatch, so slow handlers are not redelivered to
+ * another node. Failed messages can be nacked to make them visible immediately.
+ */
+public class SQSVisibilityHeartbeat {
+
+    private static final Logger log = LoggerFactory.getLogger(SQSVisibilityHeartbeat.class);
+
+    /** Maximum number of entries accepted by ChangeMessageVisibilityBatch. */
+    static final int MAX_BATCH_SIZE = 10;
+
+    /**
+     * Heartbeat settings.
+     *
+     * @param visibilityTimeoutSeconds Visibility applied on every extension
+     * @param heartbeatIntervalMs Interval between extensions; must be shorter than the visibility timeout
+     * @param maxExtensionMs How long a message may be kept invisible before the heartbeat gives up on it
+     */
+    public record Settings(int visibilityTimeoutSeconds, long heartbeatIntervalMs, long maxExtensionMs) {
+
+        public Settings {
+            if (visibilityTimeoutSeconds < 1) {
+                throw new IllegalArgumentException("Visibility timeout must be positive");
+            }
+            if (heartbeatIntervalMs < 1 || heartbeatIntervalMs >= TimeUnit.SECONDS.toMillis(visibilityTimeoutSeconds)) {
+                throw new IllegalArgumentException("Heartbeat interval must be shorter than the visibility timeout");
+            }
+            if (maxExtensionMs < heartbeatIntervalMs) {
+                throw new IllegalArgumentException("Max extension must be at least one heartbeat interval");
+            }
+        }
+    }
+
+    private final SQSMessageConsumer messageConsumer;
+    private final String queueUrl;
+    private final Settings settings;
+    private final LongSupplier clockMs;
+
+    // Receipt handle -> time tracking started
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private ScheduledExecutorService timer;
+
+    public SQSVisibilityHeartbeat(SQSMessageConsumer messageConsumer, String queueUrl, Settings settings) {
+        this(messageConsumer, queueUrl, settings, System::currentTimeMillis);
+    }
+
+    SQSVisibilityHeartbeat(SQSMessageConsumer messageConsumer, String queueUrl, Settings settings, LongSupplier clockMs) {
+        this.messageConsumer = messageConsumer;
+        this.queueUrl = queueUrl;
+        this.settings = settings;
+        this.clockMs = clockMs;
+    }
+
+    /**
+     * Starts the heartbeat timer.
+     */
+    public synchronized void start() {
+        if (timer != null) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sqs-visibility-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::extendVisibility,
+                settings.heartbeatIntervalMs(), settings.heartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("SQS visibility heartbeat started for queue {} with settings {}", queueUrl, settings);
+    }
+
+    /**
+     * Stops the heartbeat timer. Tracked messages become visible again when their timeout expires.
+     */
+    public synchronized void stop() {
+        if (timer == null) {
+            return;
+        }
+        timer.shutdownNow();
+        timer = null;
+        inFlight.clear();
+    }
+
+    /**
+     * Starts extending the visibility of a received message.
+     *
+     * @param receiptHandle The receipt handle of the message
+     */
+    public void track(String receiptHandle) {
+        inFlight.putIfAbsent(receiptHandle, clockMs.getAsLong());
+    }
+
+    /**
+     * Stops extending the visibility of a message, e.g. after it was deleted.
+     *
+     * @param receiptHandle The receipt handle of the message
+     */
+    public void release(String receiptHandle) {
+        inFlight.remove(receiptHandle);
+    }
+
+    /**
+     * Releases a message and changes its visibility, so a retry happens after the given delay
+     * instead of after the full visibility timeout.
+     *
+     * @param receiptHandle The receipt handle of the message
+     * @param delaySeconds Seconds until the message becomes visible again; 0 retries immediately
+     */
+    public void nack(String receiptHandle, int delaySeconds) {
+        release(receiptHandle);
+        try {
+            messageConsumer.changeMessageVisibility(queueUrl, receiptHandle, delaySeconds);
+        } catch (RuntimeException e) {
+            // The message still becomes visible once its current timeout expires
+            log.warn("Failed to nack message {}: {}", receiptHandle, e.getMessage());
+        }
+    }
+
+    /**
+     * Releases a message and makes it visible immediately.
+     *
+     * @param receiptHandle The receipt handle of the message
+     */
+    public void nack(String receiptHandle) {
+        nack(receiptHandle, 0);
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Extends the visibility of all tracked messages in batches of up to 10.
+     * Package-private so tests can trigger a heartbeat directly.
+     */
+    void extendVisibility() {
+        try {
+            long now = clockMs.getAsLong();
+            List<String> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            for (Map.Entry<String, Long> entry : inFlight.entrySet()) {
+                if (now - entry.getValue() > settings.maxExtensionMs()) {
+                    // Let a stuck handler's message be redelivered rather than hold it forever
+                    log.warn("Message {} exceeded max visibility extension of {} ms, no longer extending",
+                            entry.getKey(), settings.maxExtensionMs());
+                    inFlight.remove(entry.getKey());
+                    continue;
+                }
+                batch.add(entry.getKey());
+                if (batch.size() == MAX_BATCH_SIZE) {
+                    sendBatch(batch);
+                    batch = new ArrayList<>(MAX_BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                sendBatch(batch);
+            }
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the scheduled heartbeat
+            log.error("Visibility heartbeat failed for queue {}: {}", queueUrl, e.getMessage());
+        }
+    }
+
+    private void sendBatch(List<String> batch) {
+        List<String> rejected = messageConsumer.changeMessageVisibilityBatch(queueUrl, batch, settings.visibilityTimeoutSeconds());
+        // Rejected handles are stale (message deleted or handle expired), so stop extending them
+        rejected.forEach(inFlight::remove);
+    }
+}
@@ -0,0 +1,120 @@
+package com.snackbar.infrastructure.messaging.sqs.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Identifies the node and cluster that originated an SQS message.
+ * The origin travels as message attributes, so consumers can recognise
+ * their own events without deserializing the message body.
+ */
+public final class MessageOrigin {
+
+    public static final String ATTRIBUTE_NODE_ID = "originNodeId";
+    public static final String ATTRIBUTE_CLUSTER_ID = "originClusterId";
+
+    private static final String STRING_DATA_TYPE = "String";
+
+    private final String nodeId;
+    private final String clusterId;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param nodeId The ID of the node that published the message
+     * @param clusterId The ID of the cluster (deployment sharing one database) the node belongs to
+     */
+    public MessageOrigin(String nodeId, String clusterId) {
+        if (nodeId == null || nodeId.isBlank()) {
+            throw new IllegalArgumentException("Origin node ID cannot be null or empty");
+        }
+        this.nodeId = nodeId;
+        this.clusterId = (clusterId == null || clusterId.isBlank()) ? nodeId : clusterId;
+    }
+
+    /**
+     * Reads the origin from the attributes of a received message.
+     *
+     * @param message The SQS message
+     * @return The origin, or null if the message was not tagged
+     */
+    public static MessageOrigin fromMessage(Message message) {
+        if (message == null || !message.hasMessageAttributes()) {
+            return null;
+        }
+        String nodeId = stringAttribute(message.messageAttributes(), ATTRIBUTE_NODE_ID);
+        if (nodeId == null || nodeId.isBlank()) {
+            return null;
+        }
+        return new MessageOrigin(nodeId, stringAttribute(message.messageAttributes(), ATTRIBUTE_CLUSTER_ID));
+    }
+
+    /**
+     * Converts the origin to SQS message attributes.
+     *
+     * @return A mutable map with the origin attributes
+     */
+    public Map<String, MessageAttributeValue> toMessageAttributes() {
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+        attributes.put(ATTRIBUTE_NODE_ID, stringValue(nodeId));
+        attributes.put(ATTRIBUTE_CLUSTER_ID, stringValue(clusterId));
+        return attributes;
+    }
+
+    /**
+     * Checks whether a message was originated by this node or by another node of the same cluster.
+     * Such messages were already applied to the shared store when they were published.
+     *
+     * @param message The SQS message
+     * @return true if the message carries this node's or this cluster's origin
+     */
+    public boolean isOriginOf(Message message) {
+        MessageOrigin other = fromMessage(message);
+        return other != null && (nodeId.equals(other.nodeId) || clusterId.equals(other.clusterId));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getClusterId() {
+        return clusterId;
+    }
+
+    private static String stringAttribute(Map<String, MessageAttributeValue> attributes, String name) {
+        MessageAttributeValue value = attributes.get(name);
+        return value != null ? value.stringValue() : null;
+    }
+
+    private static MessageAttributeValue stringValue(String value) {
+        return MessageAttributeValue.builder()
+            .dataType(STRING_DATA_TYPE)
+            .stringValue(value)
+            .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MessageOrigin that = (MessageOrigin) o;
+        return nodeId.equals(that.nodeId) && clusterId.equals(that.clusterId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nodeId, clusterId);
+    }
+
+    @Override
+    public String toString() {
+        return "MessageOrigin{" +
+                "nodeId='" + nodeId + '\'' +
+                ", clusterId='" + clusterId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.snackbar.infrastructure.messaging.sqs.model;
+
+/**
+ * Holds the origin of the inbound message being processed on the current thread.
+ * Events published while applying a remote message keep the remote origin, so they
+ * are not relayed back to the cluster that produced them.
+ */
+public final class MessageOriginContext {
+
+    private static final ThreadLocal<MessageOrigin> INBOUND_ORIGIN = new ThreadLocal<>();
+
+    private MessageOriginContext() {
+    }
+
+    /**
+     * Runs a task with the given inbound origin bound to the current thread.
+     *
+     * @param origin The origin of the message being processed, may be null
+     * @param task The task to run
+     */
+    public static void runWithInboundOrigin(MessageOrigin origin, Runnable task) {
+        MessageOrigin previous = INBOUND_ORIGIN.get();
+        INBOUND_ORIGIN.set(origin);
+        try {
+            task.run();
+        } finally {
+            if (previous != null) {
+                INBOUND_ORIGIN.set(previous);
+            } else {
+                INBOUND_ORIGIN.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the origin of the inbound message being processed on the current thread.
+     *
+     * @return The inbound origin, or null if no inbound message is being processed
+     */
+    public static MessageOrigin currentInboundOrigin() {
+        return INBOUND_ORIGIN.get();
+    }
+}
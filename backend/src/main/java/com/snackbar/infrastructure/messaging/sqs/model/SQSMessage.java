@@ -3,6 +3,8 @@ package com.snackbar.infrastructure.messaging.sqs.model;
 import java.time.Instant;
 import java.util.UUID;
 
+import com.snackbar.shared.id.TimeOrderedIds;
+
 /**
  * Base class for all SQS messages.
  * This class provides common fields for all SQS messages.
@@ -18,8 +20,9 @@ public abstract class SQSMessage {
      * Default constructor for deserialization.
      */
     public SQSMessage() {
-        this.messageId = UUID.randomUUID().toString();
-        this.timestamp = Instant.now();
+        UUID id = TimeOrderedIds.next();
+        this.messageId = id.toString();
+        this.timestamp = TimeOrderedIds.timeOf(id);
     }
     
     /**
@@ -7,6 +7,12 @@ import com.snackbar.infrastructure.messaging.sqs.model.SQSMessage;
  */
 public interface SQSMessageProducer {
     
+    /** Message attribute carrying the partition (e.g. tenant) a message belongs to. */
+    String PARTITION_KEY_ATTRIBUTE = "partitionKey";
+    
+    /** Message attribute carrying the correlation ID of the work that sent the message. */
+    String CORRELATION_ID_ATTRIBUTE = "correlationId";
+    
     /**
      * Sends a message to an SQS queue.
      * 
@@ -14,5 +20,19 @@ public interface SQSMessageProducer {
      * @param message The message to send
      * @throws RuntimeException if the message cannot be sent
      */
-    void sendMessage(String queueUrl, SQSMessage message);
+    default void sendMessage(String queueUrl, SQSMessage message) {
+        sendMessage(queueUrl, message, null);
+    }
+    
+    /**
+     * Sends a message to an SQS queue, routed by a partition key.
+     * The key is sent as a message attribute and, on FIFO queues, as the message group ID,
+     * so messages of one partition are ordered without blocking other partitions.
+     * 
+     * @param queueUrl The URL of the SQS queue
+     * @param message The message to send
+     * @param partitionKey The partition the message belongs to, may be null
+     * @throws RuntimeException if the message cannot be sent
+     */
+    void sendMessage(String queueUrl, SQSMessage message, String partitionKey);
 }
@@ -1,53 +1,122 @@
 package com.snackbar.infrastructure.messaging.sqs.producer;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.infrastructure.deadline.Deadline;
+import com.snackbar.infrastructure.logging.CorrelationId;
+import com.snackbar.infrastructure.logging.LogSampler;
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOrigin;
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOriginContext;
 import com.snackbar.infrastructure.messaging.sqs.model.SQSMessage;
+import com.snackbar.infrastructure.resilience.OperationClass;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
 
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 
 /**
  * Implementation of SQSMessageProducer that sends messages to SQS.
+ * Messages are tagged with the origin node and cluster, and the current correlation ID,
+ * as message attributes. Sends made while handling a request are bounded by what is left
+ * of its {@link Deadline}, and every send goes through the event publish {@link ResilienceGuards},
+ * so a slow queue holds a bounded number of threads and is then skipped until it recovers.
  */
 @Component
 public class SQSMessageProducerImpl implements SQSMessageProducer {
     
     private static final Logger log = LoggerFactory.getLogger(SQSMessageProducerImpl.class);
     
+    private static final String FIFO_QUEUE_SUFFIX = ".fifo";
+    
     private final ObjectMapper objectMapper;
     private final SqsClient sqsClient;
+    private final MessageOrigin localOrigin;
+    private final ResilienceGuards guards;
+    private final LogSampler sentSampler;
     
     public SQSMessageProducerImpl(ObjectMapper objectMapper, SqsClient sqsClient) {
+        this(objectMapper, sqsClient, null);
+    }
+    
+    public SQSMessageProducerImpl(ObjectMapper objectMapper, SqsClient sqsClient, MessageOrigin localOrigin) {
+        this(objectMapper, sqsClient, localOrigin, ResilienceGuards.unguarded(), new LogSampler(LogSampler.DEFAULT_ONE_IN));
+    }
+    
+    @Autowired
+    public SQSMessageProducerImpl(ObjectMapper objectMapper, SqsClient sqsClient, MessageOrigin localOrigin,
+                                  ResilienceGuards guards, LogSampler sentSampler) {
         this.objectMapper = objectMapper;
         this.sqsClient = sqsClient;
-        log.info("SQSMessageProducerImpl initialized with SqsClient: {}", sqsClient);
+        this.localOrigin = localOrigin;
+        this.guards = guards;
+        this.sentSampler = sentSampler;
+        log.info("SQSMessageProducerImpl initialized with SqsClient: {}, origin: {}", sqsClient, localOrigin);
     }
     
     @Override
-    public void sendMessage(String queueUrl, SQSMessage message) {
+    public void sendMessage(String queueUrl, SQSMessage message, String partitionKey) {
         try {
             String messageBody = objectMapper.writeValueAsString(message);
             
-            log.info("Sending message to SQS queue: {}", queueUrl);
+            log.debug("Sending message to SQS queue: {}", queueUrl);
             log.debug("Message body: {}", messageBody);
             
-            SendMessageRequest sendMessageRequest = SendMessageRequest.builder()
+            SendMessageRequest.Builder requestBuilder = SendMessageRequest.builder()
                 .queueUrl(queueUrl)
-                .messageBody(messageBody)
-                .build();
+                .messageBody(messageBody);
+            
+            Map<String, MessageAttributeValue> attributes = new HashMap<>();
+            MessageOrigin origin = resolveOrigin();
+            if (origin != null) {
+                attributes.putAll(origin.toMessageAttributes());
+            }
+            String correlationId = CorrelationId.current();
+            if (correlationId != null) {
+                attributes.put(CORRELATION_ID_ATTRIBUTE, MessageAttributeValue.builder()
+                    .dataType("String")
+                    .stringValue(correlationId)
+                    .build());
+            }
+            if (partitionKey != null) {
+                attributes.put(PARTITION_KEY_ATTRIBUTE, MessageAttributeValue.builder()
+                    .dataType("String")
+                    .stringValue(partitionKey)
+                    .build());
+                if (queueUrl.endsWith(FIFO_QUEUE_SUFFIX)) {
+                    requestBuilder.messageGroupId(partitionKey)
+                        .messageDeduplicationId(message.getMessageId());
+                }
+            }
+            if (!attributes.isEmpty()) {
+                requestBuilder.messageAttributes(attributes);
+            }
+            Deadline.timeLeft().ifPresent(timeLeft ->
+                requestBuilder.overrideConfiguration(config -> config.apiCallTimeout(timeLeft)));
+            
+            SendMessageRequest sendMessageRequest = requestBuilder.build();
             
             log.debug("SQS client: {}", sqsClient);
             
             try {
-                SendMessageResponse response = sqsClient.sendMessage(sendMessageRequest);
-                log.info("Message sent to SQS. MessageId: {}, EventType: {}", 
-                        response.messageId(), message.getEventType());
+                SendMessageResponse response = guards.call(OperationClass.EVENT_PUBLISH,
+                    () -> sqsClient.sendMessage(sendMessageRequest));
+                if (sentSampler.sample()) {
+                    log.info("Message sent to SQS. MessageId: {}, EventType: {} (1 in {} sends logged)",
+                            response.messageId(), message.getEventType(), sentSampler.getOneIn());
+                } else {
+                    log.debug("Message sent to SQS. MessageId: {}, EventType: {}",
+                            response.messageId(), message.getEventType());
+                }
             } catch (Exception e) {
                 // In test environments, we might expect certain exceptions
                 // Only log the full stack trace at debug level
@@ -68,4 +137,13 @@ public class SQSMessageProducerImpl implements SQSMessageProducer {
             throw new RuntimeException("Failed to send message to SQS", e);
         }
     }
+    
+    /**
+     * Events published while applying an inbound message keep that message's origin,
+     * so they are never relayed back to the cluster that produced them.
+     */
+    private MessageOrigin resolveOrigin() {
+        MessageOrigin inboundOrigin = MessageOriginContext.currentInboundOrigin();
+        return inboundOrigin != null ? inboundOrigin : localOrigin;
+    }
 }
@@ -0,0 +1,19 @@
+package com.snackbar.infrastructure.messaging.sqs.quarantine;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Interface for storing messages that can never be processed successfully.
+ * Framework-agnostic with no external dependencies.
+ */
+public interface MessageQuarantine {
+
+    /**
+     * Store a message together with the reason it was rejected.
+     *
+     * @param queueUrl The URL of the queue the message was received from
+     * @param message The SQS message
+     * @param reason The error that made the message unprocessable
+     */
+    void quarantine(String queueUrl, Message message, Throwable reason);
+}
@@ -0,0 +1,60 @@
+package com.snackbar.infrastructure.messaging.sqs.quarantine;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+/**
+ * Implementation of MessageQuarantine that stores poison messages in MongoDB.
+ */
+@Component
+public class MongoMessageQuarantine implements MessageQuarantine {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoMessageQuarantine.class);
+
+    private final QuarantinedMessageRepository repository;
+
+    public MongoMessageQuarantine(QuarantinedMessageRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void quarantine(String queueUrl, Message message, Throwable reason) {
+        Map<String, String> attributes = new HashMap<>();
+        if (message.hasMessageAttributes()) {
+            for (Map.Entry<String, MessageAttributeValue> entry : message.messageAttributes().entrySet()) {
+                attributes.put(entry.getKey(), entry.getValue().stringValue());
+            }
+        }
+
+        QuarantinedMessageEntity entity = new QuarantinedMessageEntity(
+                message.messageId(),
+                queueUrl,
+                message.body(),
+                attributes,
+                reason.getClass().getName(),
+                reason.getMessage(),
+                receiveCount(message),
+                Instant.now());
+
+        repository.save(entity);
+        log.warn("Quarantined message {} from queue {}: {}", message.messageId(), queueUrl, reason.getMessage());
+    }
+
+    private int receiveCount(Message message) {
+        String value = message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        try {
+            return value != null ? Integer.parseInt(value) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.snackbar.infrastructure.messaging.sqs.quarantine;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A poison message kept for inspection and manual replay.
+ * The SQS message ID is used as the document ID, so redeliveries of the same
+ * message overwrite a single entry.
+ */
+@Document(collection = "quarantined_messages")
+public class QuarantinedMessageEntity {
+
+    @Id
+    private String messageId;
+    private String queueUrl;
+    private String body;
+    private Map<String, String> messageAttributes;
+    private String errorType;
+    private String reason;
+    private int receiveCount;
+    private Instant quarantinedAt;
+
+    public QuarantinedMessageEntity() {
+    }
+
+    public QuarantinedMessageEntity(String messageId, String queueUrl, String body, Map<String, String> messageAttributes,
+                                    String errorType, String reason, int receiveCount, Instant quarantinedAt) {
+        this.messageId = messageId;
+        this.queueUrl = queueUrl;
+        this.body = body;
+        this.messageAttributes = messageAttributes;
+        this.errorType = errorType;
+        this.reason = reason;
+        this.receiveCount = receiveCount;
+        this.quarantinedAt = quarantinedAt;
+    }
+
+    // Getters and setters
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    public String getQueueUrl() {
+        return queueUrl;
+    }
+
+    public void setQueueUrl(String queueUrl) {
+        this.queueUrl = queueUrl;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public Map<String, String> getMessageAttributes() {
+        return messageAttributes;
+    }
+
+    public void setMessageAttributes(Map<String, String> messageAttributes) {
+        this.messageAttributes = messageAttributes;
+    }
+
+    public String getErrorType() {
+        return errorType;
+    }
+
+    public void setErrorType(String errorType) {
+        this.errorType = errorType;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public int getReceiveCount() {
+        return receiveCount;
+    }
+
+    public void setReceiveCount(int receiveCount) {
+        this.receiveCount = receiveCount;
+    }
+
+    public Instant getQuarantinedAt() {
+        return quarantinedAt;
+    }
+
+    public void setQuarantinedAt(Instant quarantinedAt) {
+        this.quarantinedAt = quarantinedAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.snackbar.infrastructure.messaging.sqs.quarantine;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuarantinedMessageRepository extends MongoRepository<QuarantinedMessageEntity, String> {
+    List<QuarantinedMessageEntity> findByQueueUrl(String queueUrl);
+}
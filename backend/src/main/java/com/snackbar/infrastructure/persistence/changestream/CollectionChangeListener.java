@@ -0,0 +1,40 @@
+package com.snackbar.infrastructure.persistence.changestream;
+
+import java.time.Instant;
+
+import org.bson.Document;
+
+/**
+ * Receives the changes made to one MongoDB collection, by any node or by scripts run
+ * directly against the database. Implementations keep local caches and indexes coherent.
+ * Callbacks run on the collection's change stream thread, one at a time and in commit order.
+ */
+public interface CollectionChangeListener {
+
+    /**
+     * @return The name of the collection to listen to
+     */
+    String collection();
+
+    /**
+     * Called when a document is inserted, updated or replaced.
+     *
+     * @param document The document as it is after the change
+     * @param changedAt When the change was made, or a bound after it when the server does not tell
+     */
+    void onUpsert(Document document, Instant changedAt);
+
+    /**
+     * Called when a document is deleted.
+     *
+     * @param id The ID of the deleted document
+     * @param changedAt When the document was deleted, or a bound after it when the server does not tell
+     */
+    void onDelete(String id, Instant changedAt);
+
+    /**
+     * Called when the stream starts without a position to resume from, so changes may have
+     * been missed. Implementations should drop or reload whatever they derived from the collection.
+     */
+    void onResync();
+}
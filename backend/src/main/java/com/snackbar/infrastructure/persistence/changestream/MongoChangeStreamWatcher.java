@@ -0,0 +1,250 @@
+package com.snackbar.infrastructure.persistence.changestream;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tails the change streams of the collections that have a {@link CollectionChangeListener},
+ * one daemon thread per collection, and hands every change to the collection's listeners.
+ * The resume token of the last change seen is kept, so a dropped connection resumes exactly
+ * where it stopped. When there is nothing to resume from (first start, or the oplog no longer
+ * holds the token) the listeners are told to resync after the stream is open, so no change
+ * falls in between. Change streams need a replica set, so the watcher is disabled by default.
+ */
+@Component
+public class MongoChangeStreamWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoChangeStreamWatcher.class);
+
+    // Server errors after which the resume token can no longer be used
+    private static final Set<Integer> NON_RESUMABLE_ERROR_CODES = Set.of(
+            260,  // InvalidResumeToken
+            280,  // ChangeStreamFatalError
+            286); // ChangeStreamHistoryLost
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, List<CollectionChangeListener>> listenersByCollection = new LinkedHashMap<>();
+    private final boolean enabled;
+    private final long retryDelayMs;
+    private final List<Thread> watchers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public MongoChangeStreamWatcher(
+            MongoTemplate mongoTemplate,
+            List<CollectionChangeListener> listeners,
+            @Value("${mongodb.change-streams.enabled:false}") boolean enabled,
+            @Value("${mongodb.change-streams.retry-delay-ms:5000}") long retryDelayMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.retryDelayMs = retryDelayMs;
+        for (CollectionChangeListener listener : listeners) {
+            listenersByCollection.computeIfAbsent(listener.collection(), c -> new ArrayList<>()).add(listener);
+        }
+    }
+
+    /**
+     * Starts one watcher thread per collection once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled) {
+            logger.info("MongoDB change streams are disabled");
+            return;
+        }
+        if (running) {
+            return;
+        }
+        running = true;
+        listenersByCollection.forEach((collection, listeners) -> {
+            StreamState state = new StreamState(collection, listeners);
+            Thread thread = new Thread(() -> watch(state), "change-stream-" + collection);
+            thread.setDaemon(true);
+            watchers.add(thread);
+            thread.start();
+        });
+        logger.info("Watching MongoDB change streams of {}", listenersByCollection.keySet());
+    }
+
+    /**
+     * Stops the watcher threads on shutdown.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        watchers.forEach(Thread::interrupt);
+        watchers.clear();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watch(StreamState state) {
+        while (running) {
+            try {
+                stream(state);
+            } catch (MongoException e) {
+                if (NON_RESUMABLE_ERROR_CODES.contains(e.getCode())) {
+                    logger.warn("Change stream of {} cannot be resumed, resyncing: {}", state.collection, e.getMessage());
+                    state.resumeToken = null;
+                } else {
+                    logger.warn("Change stream of {} failed, retrying in {}ms: {}", state.collection, retryDelayMs, e.getMessage());
+                    logger.debug("Full exception details", e);
+                    pause();
+                }
+            } catch (Exception e) {
+                logger.error("Unexpected error in change stream of {}, retrying in {}ms", state.collection, retryDelayMs, e);
+                pause();
+            }
+        }
+    }
+
+    /**
+     * Opens the collection's change stream and dispatches its changes until the watcher stops
+     * or the stream ends.
+     */
+    void stream(StreamState state) {
+        ChangeStreamIterable<Document> changeStream = mongoTemplate.getCollection(state.collection)
+                .watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (state.resumeToken != null) {
+            changeStream = changeStream.resumeAfter(state.resumeToken);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+            if (state.resumeToken == null) {
+                // The stream is open, so anything changed after the listeners reload is still delivered
+                state.listeners.forEach(listener -> notify(listener, CollectionChangeListener::onResync));
+                logger.info("Change stream of {} opened; listeners resynced", state.collection);
+            }
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null && !dispatch(state, change)) {
+                    // The stream was invalidated (collection dropped or renamed); start over
+                    state.resumeToken = null;
+                    return;
+                }
+                BsonDocument token = cursor.getResumeToken();
+                if (token != null) {
+                    state.resumeToken = token;
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands one change to the collection's listeners.
+     *
+     * @return false if the change ends the stream
+     */
+    boolean dispatch(StreamState state, ChangeStreamDocument<Document> change) {
+        Instant changedAt = changedAt(change);
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                Document document = change.getFullDocument();
+                if (document != null) {
+                    state.listeners.forEach(listener -> notify(listener, l -> l.onUpsert(document, changedAt)));
+                } else {
+                    // The document was deleted before its update could be looked up; the delete follows
+                    logger.debug("Skipped change of a document of {} that no longer exists", state.collection);
+                }
+            }
+            case DELETE -> {
+                String id = idOf(change.getDocumentKey());
+                if (id != null) {
+                    state.listeners.forEach(listener -> notify(listener, l -> l.onDelete(id, changedAt)));
+                }
+            }
+            case INVALIDATE -> {
+                return false;
+            }
+            default -> {
+                // Drops, renames and other events are followed by an invalidate
+            }
+        }
+        return true;
+    }
+
+    // A failing listener is logged and does not stop the others or the stream
+    private void notify(CollectionChangeListener listener, Consumer<CollectionChangeListener> callback) {
+        try {
+            callback.accept(listener);
+        } catch (Exception e) {
+            logger.error("Change listener {} failed", listener.getClass().getSimpleName(), e);
+        }
+    }
+
+    // Wall times need MongoDB 6.0; cluster times only hold whole seconds, so the next one bounds the change
+    private static Instant changedAt(ChangeStreamDocument<Document> change) {
+        if (change.getWallTime() != null) {
+            return Instant.ofEpochMilli(change.getWallTime().getValue());
+        }
+        if (change.getClusterTime() != null) {
+            return Instant.ofEpochSecond(change.getClusterTime().getTime() + 1L);
+        }
+        return Instant.now();
+    }
+
+    private static String idOf(BsonDocument documentKey) {
+        if (documentKey == null) {
+            return null;
+        }
+        BsonValue id = documentKey.get("_id");
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(retryDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Position of one collection's change stream.
+     */
+    static final class StreamState {
+        final String collection;
+        final List<CollectionChangeListener> listeners;
+        volatile BsonDocument resumeToken;
+
+        StreamState(String collection, List<CollectionChangeListener> listeners) {
+            this.collection = collection;
+            this.listeners = listeners;
+        }
+    }
+}
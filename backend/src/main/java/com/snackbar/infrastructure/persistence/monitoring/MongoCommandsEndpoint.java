@@ -0,0 +1,64 @@
+package com.snackbar.infrastructure.persistence.monitoring;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Actuator endpoint (/actuator/mongocommands) showing where MongoDB time goes: the latency of
+ * each command on each collection, from the mongodb.driver.commands timers, busiest first, and
+ * the slowest recent commands with the shape of their filters.
+ */
+@Component
+@Endpoint(id = "mongocommands")
+public class MongoCommandsEndpoint {
+
+    static final String COMMANDS_TIMER = "mongodb.driver.commands";
+
+    private final SlowCommandLog slowCommandLog;
+    private final MeterRegistry registry;
+
+    public record CommandLatency(String collection, String command, String status, String server, long count,
+                                 double totalMs, double meanMs, double maxMs, Map<String, Double> percentilesMs) {
+    }
+
+    public record Report(List<CommandLatency> latencies, long slowThresholdMs, List<SlowCommand> slowest) {
+    }
+
+    public MongoCommandsEndpoint(SlowCommandLog slowCommandLog, MeterRegistry registry) {
+        this.slowCommandLog = slowCommandLog;
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public Report report() {
+        List<CommandLatency> latencies = registry.find(COMMANDS_TIMER).timers().stream()
+            .map(MongoCommandsEndpoint::latencyOf)
+            .sorted(Comparator.comparingDouble(CommandLatency::totalMs).reversed())
+            .toList();
+        return new Report(latencies, slowCommandLog.getThresholdMs(), slowCommandLog.getSlowest());
+    }
+
+    private static CommandLatency latencyOf(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            percentiles.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return new CommandLatency(timer.getId().getTag("collection"), timer.getId().getTag("command"),
+            timer.getId().getTag("status"), timer.getId().getTag("server.address"), snapshot.count(),
+            snapshot.total(TimeUnit.MILLISECONDS), snapshot.mean(TimeUnit.MILLISECONDS),
+            snapshot.max(TimeUnit.MILLISECONDS), percentiles);
+    }
+}
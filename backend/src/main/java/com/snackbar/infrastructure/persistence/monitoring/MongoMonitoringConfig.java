@@ -0,0 +1,21 @@
+package com.snackbar.infrastructure.persistence.monitoring;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the monitoring listeners with the MongoDB client, next to the command and pool
+ * listeners Spring Boot registers for the mongodb.driver meters.
+ */
+@Configuration
+public class MongoMonitoringConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoMonitoringCustomizer(SlowCommandLog slowCommandLog,
+                                                                          PoolCheckoutMetrics poolCheckoutMetrics) {
+        return settings -> settings
+            .addCommandListener(slowCommandLog)
+            .applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(poolCheckoutMetrics));
+    }
+}
@@ -0,0 +1,55 @@
+package com.snackbar.infrastructure.persistence.monitoring;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Connection pool listener timing how long commands wait for a MongoDB connection.
+ * Pool sizes are already published by Spring Boot's mongodb.driver.pool meters; this adds
+ * the checkout wait, which is what grows first when the pool is too small for the load.
+ */
+@Component
+public class PoolCheckoutMetrics implements ConnectionPoolListener {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> checkoutTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+
+    public PoolCheckoutMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        String server = event.getConnectionId().getServerId().getAddress().toString();
+        checkoutTimers.computeIfAbsent(server, address -> Timer.builder("mongodb.driver.pool.checkout")
+                .tag("server.address", address)
+                .description("Time spent waiting for a connection from the MongoDB connection pool")
+                .publishPercentileHistogram()
+                .register(registry))
+            .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        String server = event.getServerId().getAddress().toString();
+        String reason = event.getReason().name();
+        failureCounters.computeIfAbsent(server + "|" + reason, key -> Counter.builder("mongodb.driver.pool.checkout.failures")
+                .tag("server.address", server)
+                .tag("reason", reason)
+                .description("Number of failed MongoDB connection checkouts")
+                .register(registry))
+            .increment();
+    }
+}
@@ -0,0 +1,18 @@
+package com.snackbar.infrastructure.persistence.monitoring;
+
+import java.time.Instant;
+
+/**
+ * A MongoDB command that took longer than the slow command threshold.
+ *
+ * @param finishedAt When the command finished
+ * @param database The database it ran against
+ * @param collection The collection it ran against, or null for commands without one
+ * @param command The command name, such as find or update
+ * @param filter The shape of its filter with every value replaced by "?", or null if it has none
+ * @param elapsedMs How long it took, in milliseconds
+ * @param failed Whether it failed
+ */
+public record SlowCommand(Instant finishedAt, String database, String collection, String command,
+                          String filter, long elapsedMs, boolean failed) {
+}
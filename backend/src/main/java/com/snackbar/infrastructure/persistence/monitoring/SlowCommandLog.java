@@ -0,0 +1,236 @@
+package com.snackbar.infrastructure.persistence.monitoring;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Driver-level log of the MongoDB commands that take longer than slow-command-threshold-ms.
+ * The latest slow-command-capacity of them are kept in a ring buffer, exposed by the
+ * mongocommands actuator endpoint, and logged at WARN. A command of the same shape is warned
+ * about at most once per slow-command-log-interval-ms, the warning counting those left to DEBUG
+ * since the previous one, so a slow query run by every request does not flood the log.
+ * <p>
+ * Filters are kept as shapes only: field names and operators stay, every value becomes "?",
+ * so no customer data or credentials end up in logs or in the endpoint. Only the filters of the
+ * commands that turn out slow are reduced to their shape.
+ */
+@Component
+public class SlowCommandLog implements CommandListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowCommandLog.class);
+
+    // Commands whose filter is in a field of their own, the others are statements lists (update, delete)
+    private static final Map<String, String> FILTER_FIELDS = Map.of(
+        "find", "filter",
+        "count", "query",
+        "distinct", "query",
+        "findAndModify", "query",
+        "aggregate", "pipeline");
+    private static final Map<String, String> STATEMENT_FIELDS = Map.of(
+        "update", "updates",
+        "delete", "deletes");
+
+    // Guards against a driver that would not report the end of some commands
+    private static final int MAX_IN_FLIGHT = 10_000;
+    // Shapes come from the application's queries, so this only trips on generated filters
+    private static final int MAX_WARNED_SHAPES = 1_000;
+
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+
+    private record Started(String collection, BsonValue filter) {
+    }
+
+    private record Warned(long atMillis, long suppressed) {
+    }
+
+    private final long thresholdMs;
+    private final long logIntervalMs;
+    private final LongSupplier clock;
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<SlowCommand> slowest;
+    private final AtomicLong recorded = new AtomicLong();
+    private final Map<String, Warned> warned = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SlowCommandLog(@Value("${mongodb.monitoring.slow-command-threshold-ms:100}") long thresholdMs,
+                          @Value("${mongodb.monitoring.slow-command-capacity:50}") int capacity,
+                          @Value("${mongodb.monitoring.slow-command-log-interval-ms:60000}") long logIntervalMs) {
+        this(thresholdMs, capacity, logIntervalMs, System::currentTimeMillis);
+    }
+
+    SlowCommandLog(long thresholdMs, int capacity, long logIntervalMs, LongSupplier clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Slow command capacity must be at least 1");
+        }
+        this.thresholdMs = thresholdMs;
+        this.logIntervalMs = logIntervalMs;
+        this.slowest = new AtomicReferenceArray<>(capacity);
+        this.clock = clock;
+    }
+
+    public long getThresholdMs() {
+        return thresholdMs;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (inFlight.size() >= MAX_IN_FLIGHT) {
+            return;
+        }
+        // The command document is only readable during this callback, so the filter's bytes are copied now
+        BsonDocument command = event.getCommand();
+        inFlight.put(event.getRequestId(), new Started(collectionOf(event.getCommandName(), command),
+            copyOf(rawFilterOf(event.getCommandName(), command))));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event, event.getElapsedTime(TimeUnit.MILLISECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event, event.getElapsedTime(TimeUnit.MILLISECONDS), true);
+    }
+
+    /**
+     * @return The slow commands kept in the buffer, slowest first
+     */
+    public List<SlowCommand> getSlowest() {
+        List<SlowCommand> commands = new ArrayList<>(slowest.length());
+        for (int i = 0; i < slowest.length(); i++) {
+            SlowCommand command = slowest.get(i);
+            if (command != null) {
+                commands.add(command);
+            }
+        }
+        commands.sort(Comparator.comparingLong(SlowCommand::elapsedMs).reversed());
+        return commands;
+    }
+
+    private void finished(CommandEvent event, long elapsedMs, boolean failed) {
+        Started started = inFlight.remove(event.getRequestId());
+        if (started == null || elapsedMs < thresholdMs) {
+            return;
+        }
+        long now = clock.getAsLong();
+        SlowCommand command = new SlowCommand(Instant.ofEpochMilli(now), event.getDatabaseName(),
+            started.collection(), event.getCommandName(),
+            started.filter() == null ? null : toJson(sanitize(started.filter())), elapsedMs, failed);
+        slowest.set((int) (recorded.getAndIncrement() % slowest.length()), command);
+
+        long suppressed = warn(command.database() + "." + command.collection() + " " + command.command() + " " + command.filter(), now);
+        if (suppressed >= 0) {
+            logger.warn("Slow MongoDB command: {} on {}.{} took {} ms{}, filter {}{}", command.command(),
+                command.database(), command.collection(), elapsedMs, failed ? " and failed" : "", command.filter(),
+                suppressed > 0 ? " (" + suppressed + " more of this shape since the last warning)" : "");
+        } else {
+            logger.debug("Slow MongoDB command: {} on {}.{} took {} ms", command.command(), command.database(),
+                command.collection(), elapsedMs);
+        }
+    }
+
+    /**
+     * Counts a slow command of a shape against the shape's warning interval.
+     *
+     * @return How many commands of the shape were not warned about since the last warning, or -1
+     *         if this one should not be warned about either
+     */
+    private long warn(String shape, long now) {
+        if (warned.size() >= MAX_WARNED_SHAPES && !warned.containsKey(shape)) {
+            warned.clear();
+        }
+        long[] suppressed = {-1};
+        warned.compute(shape, (key, last) -> {
+            if (last == null || now - last.atMillis() >= logIntervalMs) {
+                suppressed[0] = last == null ? 0 : last.suppressed();
+                return new Warned(now, 0);
+            }
+            return new Warned(last.atMillis(), last.suppressed() + 1);
+        });
+        return suppressed[0];
+    }
+
+    static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue collection = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return collection != null && collection.isString() ? collection.asString().getValue() : null;
+    }
+
+    static BsonValue filterOf(String commandName, BsonDocument command) {
+        BsonValue filter = rawFilterOf(commandName, command);
+        return filter == null ? null : sanitize(filter);
+    }
+
+    private static BsonValue rawFilterOf(String commandName, BsonDocument command) {
+        String field = FILTER_FIELDS.get(commandName);
+        if (field != null) {
+            return command.get(field);
+        }
+        String statementsField = STATEMENT_FIELDS.get(commandName);
+        if (statementsField == null || !command.isArray(statementsField)) {
+            return null;
+        }
+        // Bulk statements usually share a shape, the first one stands for all of them
+        BsonArray statements = command.getArray(statementsField);
+        if (statements.isEmpty() || !statements.get(0).isDocument()) {
+            return null;
+        }
+        return statements.get(0).asDocument().get("q");
+    }
+
+    private static BsonValue copyOf(BsonValue filter) {
+        // The driver's documents copy their bytes in one go, without parsing them
+        if (filter != null && filter.isDocument()) {
+            return filter.asDocument().clone();
+        }
+        return filter != null && filter.isArray() ? filter.asArray().clone() : filter;
+    }
+
+    static BsonValue sanitize(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            value.asDocument().forEach((key, field) -> shape.put(key, sanitize(field)));
+            return shape;
+        }
+        if (value.isArray()) {
+            BsonArray shape = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                BsonValue elementShape = sanitize(element);
+                // Lists of values, as in $in, collapse to a single "?" so their length does not leak either
+                if (!elementShape.equals(PLACEHOLDER) || !shape.contains(PLACEHOLDER)) {
+                    shape.add(elementShape);
+                }
+            }
+            return shape;
+        }
+        return PLACEHOLDER;
+    }
+
+    private static String toJson(BsonValue filter) {
+        return filter.isDocument() ? filter.asDocument().toJson() : new BsonDocument("pipeline", filter).toJson();
+    }
+}
@@ -0,0 +1,143 @@
+package com.snackbar.infrastructure.persistence.routing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.ReadPreference;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+/**
+ * Decides which replica set member serves a catalog read. Catalog reads go to a secondary
+ * that is at most max-staleness-seconds behind the primary, falling back to the primary when
+ * none is; reads that must see a recent write stay on the primary:
+ * <ul>
+ * <li>reads made while handling a write request, or a request carrying a read-your-writes
+ * token issued less than max-staleness-seconds ago ({@link #pinToPrimary()});</li>
+ * <li>reads of a store this node wrote to less than max-staleness-seconds ago.</li>
+ * </ul>
+ * Reads that do not ask for a routing, such as authentication lookups, always use the primary.
+ */
+@Component
+public class ReadRouting {
+
+    /**
+     * Header carrying the read-your-writes token: issued on every write response, and sent back
+     * by clients so their next reads see that write wherever they land.
+     */
+    public static final String TOKEN_HEADER = "X-Consistency-Token";
+
+    // The smallest bound MongoDB accepts: staleness is only estimated from heartbeats and idle writes
+    static final long MIN_MAX_STALENESS_SECONDS = 90;
+
+    private static final ThreadLocal<Boolean> PINNED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final boolean enabled;
+    private final long maxStalenessMillis;
+    private final ReadPreference secondaryReads;
+    private final LongSupplier clock;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadRouting(@Value("${mongodb.read-routing.enabled:true}") boolean enabled,
+                       @Value("${mongodb.read-routing.max-staleness-seconds:90}") long maxStalenessSeconds) {
+        this(enabled, maxStalenessSeconds, System::currentTimeMillis);
+    }
+
+    ReadRouting(boolean enabled, long maxStalenessSeconds, LongSupplier clock) {
+        if (maxStalenessSeconds < MIN_MAX_STALENESS_SECONDS) {
+            throw new IllegalArgumentException("Max staleness must be at least " + MIN_MAX_STALENESS_SECONDS + " seconds");
+        }
+        this.enabled = enabled;
+        this.maxStalenessMillis = TimeUnit.SECONDS.toMillis(maxStalenessSeconds);
+        this.secondaryReads = ReadPreference.secondaryPreferred(maxStalenessSeconds, TimeUnit.SECONDS);
+        this.clock = clock;
+    }
+
+    /**
+     * @return A routing that sends every read to the primary
+     */
+    public static ReadRouting primaryOnly() {
+        return new ReadRouting(false, MIN_MAX_STALENESS_SECONDS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param storeId The ID of the store whose catalog is read, or null for a read spanning every store
+     * @return The read preference for a catalog read of the store
+     */
+    public ReadPreference catalogReads(String storeId) {
+        if (!enabled || PINNED.get() || wroteRecently(storeId)) {
+            return ReadPreference.primary();
+        }
+        return secondaryReads;
+    }
+
+    /**
+     * Records that this node is about to write to a store, so its reads of that store stay on
+     * the primary until every secondary they could be sent to has the write.
+     *
+     * @param storeId The ID of the store
+     */
+    public void recordWrite(String storeId) {
+        if (enabled && storeId != null) {
+            lastWrites.put(storeId, clock.getAsLong());
+        }
+    }
+
+    /**
+     * @return A read-your-writes token for a write made now
+     */
+    public String issueToken() {
+        return Long.toString(clock.getAsLong());
+    }
+
+    /**
+     * @param token A read-your-writes token sent by a client, may be null
+     * @return Whether the write it stands for may not have reached every eligible secondary yet
+     */
+    public boolean isRecent(String token) {
+        if (!enabled || token == null) {
+            return false;
+        }
+        long issuedAt;
+        try {
+            issuedAt = Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long age = clock.getAsLong() - issuedAt;
+        // Tokens from other nodes may be slightly ahead of this clock, but never by a whole window
+        return age < maxStalenessMillis && age > -maxStalenessMillis;
+    }
+
+    /**
+     * Sends the catalog reads of the current thread to the primary until the returned scope is closed.
+     *
+     * @return The scope restoring the previous routing once the reads are done
+     */
+    public static ThreadScope pinToPrimary() {
+        return ThreadScope.bind(PINNED, Boolean.TRUE);
+    }
+
+    /**
+     * @return Whether the catalog reads of the current thread are pinned to the primary
+     */
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get();
+    }
+
+    private boolean wroteRecently(String storeId) {
+        long now = clock.getAsLong();
+        if (storeId == null) {
+            return lastWrites.values().stream().anyMatch(lastWrite -> now - lastWrite < maxStalenessMillis);
+        }
+        Long lastWrite = lastWrites.get(storeId);
+        return lastWrite != null && now - lastWrite < maxStalenessMillis;
+    }
+}
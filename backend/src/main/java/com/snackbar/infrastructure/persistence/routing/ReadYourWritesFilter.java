@@ -0,0 +1,55 @@
+package com.snackbar.infrastructure.persistence.routing;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps the reads that must see a write on the primary. Write requests read from the primary
+ * and are answered with a read-your-writes token; requests that send a recent token back read
+ * from the primary too, whichever node serves them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReadRouting readRouting;
+
+    public ReadYourWritesFilter(ReadRouting readRouting) {
+        this.readRouting = readRouting;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            // Set before the body is written; a failed write only costs the client a few primary reads
+            response.setHeader(ReadRouting.TOKEN_HEADER, readRouting.issueToken());
+        }
+        if (!write && !readRouting.isRecent(request.getHeader(ReadRouting.TOKEN_HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try (ThreadScope scope = ReadRouting.pinToPrimary()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
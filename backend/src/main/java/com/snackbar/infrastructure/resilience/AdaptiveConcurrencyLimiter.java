@@ -0,0 +1,299 @@
+package com.snackbar.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.deadline.DeadlineExceededException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Limits the calls in flight to a dependency, with a limit that follows its latency instead of
+ * being fixed: it grows while latency stays near its long-term average and the limit is in use,
+ * shrinks as latency climbs above it (the gradient), and is cut by a tenth whenever the
+ * dependency fails.
+ * <p>
+ * Calls above the limit wait briefly for a slot, then are shed with a {@link LimitExceededException}.
+ * Background work, marked with {@link #background()}, only gets a share of the limit, waits
+ * behind interactive calls for freed slots, and is allowed to wait longer, since it is not
+ * holding up a client.
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    /**
+     * Who the work is done for. Interactive work is served first.
+     */
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private enum Sample {
+        MEASURED,
+        DROPPED,
+        IGNORED
+    }
+
+    private static final ThreadLocal<Priority> PRIORITY = ThreadLocal.withInitial(() -> Priority.INTERACTIVE);
+
+    // Latency may grow this much over its long-term average before the limit shrinks
+    static final double TOLERANCE = 1.5;
+    // Number of samples the long-term average latency roughly spans
+    private static final int LONG_WINDOW = 500;
+    // Weight of each new limit, so a single sample cannot swing it
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backgroundShare;
+    private final int maxQueued;
+    private final long interactiveMaxWaitNanos;
+    private final long backgroundMaxWaitNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition interactiveSlots = lock.newCondition();
+    private final Condition backgroundSlots = lock.newCondition();
+    private double limit;
+    private double longRttNanos;
+    private int inFlight;
+    private int interactiveQueued;
+    private int backgroundQueued;
+    private final LongAdder interactiveRejected = new LongAdder();
+    private final LongAdder backgroundRejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backgroundShare,
+                                      int maxQueued, Duration interactiveMaxWait, Duration backgroundMaxWait) {
+        this(name, initialLimit, minLimit, maxLimit, backgroundShare, maxQueued, interactiveMaxWait, backgroundMaxWait,
+            System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backgroundShare,
+                               int maxQueued, Duration interactiveMaxWait, Duration backgroundMaxWait, LongSupplier nanoClock) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backgroundShare <= 0 || backgroundShare > 1) {
+            throw new IllegalArgumentException("Background share must be in (0, 1]");
+        }
+        this.name = name;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backgroundShare = backgroundShare;
+        this.maxQueued = maxQueued;
+        this.interactiveMaxWaitNanos = interactiveMaxWait.toNanos();
+        this.backgroundMaxWaitNanos = backgroundMaxWait.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Marks the work of the current thread as background until the returned scope is closed.
+     *
+     * @return The scope to close once the work is done
+     */
+    public static ThreadScope background() {
+        return withPriority(Priority.BACKGROUND);
+    }
+
+    /**
+     * Sets the priority of the work of the current thread until the returned scope is closed, such
+     * as the priority of the thread that handed it the work.
+     *
+     * @param priority The priority
+     * @return The scope to close once the work is done
+     */
+    public static ThreadScope withPriority(Priority priority) {
+        return ThreadScope.bind(PRIORITY, priority);
+    }
+
+    /**
+     * @return The priority of the work of the current thread
+     */
+    public static Priority currentPriority() {
+        return PRIORITY.get();
+    }
+
+    /**
+     * Makes a call once a slot is free for the priority of the current thread, and adjusts the
+     * limit to how long it took.
+     *
+     * @param call The call
+     * @return The result of the call
+     * @throws LimitExceededException If no slot freed up in time, or too many calls are waiting
+     */
+    public <T> T call(Supplier<T> call) {
+        acquire(PRIORITY.get());
+        long start = nanoClock.getAsLong();
+        Sample sample = Sample.MEASURED;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            sample = sampleOf(e);
+            throw e;
+        } finally {
+            release(nanoClock.getAsLong() - start, sample);
+        }
+    }
+
+    private static Sample sampleOf(RuntimeException e) {
+        if (ResilienceGuards.isDependencyFailure(e)) {
+            return Sample.DROPPED;
+        }
+        // Calls rejected, or given up on, before reaching the dependency say nothing about its latency
+        return ResilienceGuards.isRejection(e) || e instanceof DeadlineExceededException ? Sample.IGNORED : Sample.MEASURED;
+    }
+
+    private void acquire(Priority priority) {
+        boolean background = priority == Priority.BACKGROUND;
+        lock.lock();
+        try {
+            // Interactive calls jump ahead of waiting background work, never the other way around
+            if (inFlight < allowed(priority) && (background ? interactiveQueued + backgroundQueued : interactiveQueued) == 0) {
+                inFlight++;
+                return;
+            }
+            if (interactiveQueued + backgroundQueued >= maxQueued) {
+                reject(priority);
+            }
+            long waitNanos = background ? backgroundMaxWaitNanos : interactiveMaxWaitNanos;
+            Condition slots = background ? backgroundSlots : interactiveSlots;
+            if (background) {
+                backgroundQueued++;
+            } else {
+                interactiveQueued++;
+            }
+            try {
+                while (inFlight >= allowed(priority) || (background && interactiveQueued > 0)) {
+                    if (waitNanos <= 0) {
+                        reject(priority);
+                    }
+                    waitNanos = slots.awaitNanos(waitNanos);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(priority);
+            } finally {
+                if (background) {
+                    backgroundQueued--;
+                } else if (--interactiveQueued == 0 && backgroundQueued > 0) {
+                    // Background work was held back for this call, which may have given up on a free slot
+                    backgroundSlots.signal();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long rttNanos, Sample sample) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (sample == Sample.DROPPED) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (sample == Sample.MEASURED) {
+                adjust(rttNanos);
+            }
+            if (interactiveQueued > 0) {
+                interactiveSlots.signal();
+            } else if (backgroundQueued > 0) {
+                backgroundSlots.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held
+    private void adjust(long rttNanos) {
+        double rtt = Math.max(1, rttNanos);
+        longRttNanos = longRttNanos == 0 ? rtt : longRttNanos + (rtt - longRttNanos) / LONG_WINDOW;
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rtt));
+        // The square root is the headroom that lets the limit grow while latency stays flat
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        if (newLimit > limit && inFlight + 1 < limit / 2) {
+            // A limit that is not in use says nothing about what the dependency can take
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+    private int allowed(Priority priority) {
+        int current = (int) limit;
+        return priority == Priority.BACKGROUND ? Math.max(1, (int) (current * backgroundShare)) : current;
+    }
+
+    private void reject(Priority priority) {
+        (priority == Priority.BACKGROUND ? backgroundRejected : interactiveRejected).increment();
+        throw new LimitExceededException("Concurrency limit of " + name + " reached");
+    }
+
+    /**
+     * @return The current limit of calls in flight
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return interactiveQueued + backgroundQueued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected(Priority priority) {
+        return (priority == Priority.BACKGROUND ? backgroundRejected : interactiveRejected).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("resilience.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("name", name)
+                .description("Current adaptive limit of calls in flight")
+                .register(registry);
+        Gauge.builder("resilience.limiter.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("name", name)
+                .description("Calls in flight")
+                .register(registry);
+        Gauge.builder("resilience.limiter.queued", this, AdaptiveConcurrencyLimiter::getQueued)
+                .tag("name", name)
+                .description("Calls waiting for a slot")
+                .register(registry);
+        for (Priority priority : Priority.values()) {
+            FunctionCounter.builder("resilience.limiter.rejected", this, limiter -> limiter.getRejected(priority))
+                    .tag("name", name)
+                    .tag("priority", priority.name().toLowerCase())
+                    .description("Calls shed because no slot freed up in time")
+                    .register(registry);
+        }
+    }
+}
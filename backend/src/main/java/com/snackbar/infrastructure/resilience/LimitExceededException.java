@@ -0,0 +1,12 @@
+package com.snackbar.infrastructure.resilience;
+
+/**
+ * Thrown instead of making a call when the {@link AdaptiveConcurrencyLimiter} of its dependency
+ * had no slot free in time.
+ */
+public class LimitExceededException extends RuntimeException {
+
+    public LimitExceededException(String message) {
+        super(message);
+    }
+}
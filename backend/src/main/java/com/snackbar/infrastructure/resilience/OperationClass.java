@@ -0,0 +1,36 @@
+package com.snackbar.infrastructure.resilience;
+
+/**
+ * The classes of remote calls isolated from each other: each one gets its own circuit breaker
+ * and bulkhead, so a flood of one kind of call, or the failure of one dependency, does not
+ * take the threads and connections the others need.
+ */
+public enum OperationClass {
+
+    CATALOG_READ("mongodb", "catalog-read"),
+    CATALOG_WRITE("mongodb", "catalog-write"),
+    AUTH("mongodb", "auth"),
+    EVENT_PUBLISH("sqs", "event-publish");
+
+    private final String dependency;
+    private final String propertyName;
+
+    OperationClass(String dependency, String propertyName) {
+        this.dependency = dependency;
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * @return The dependency the calls go to
+     */
+    public String dependency() {
+        return dependency;
+    }
+
+    /**
+     * @return The name of the circuit breaker and bulkhead guarding the calls, such as mongodb.catalog-read
+     */
+    public String guardName() {
+        return dependency + "." + propertyName;
+    }
+}
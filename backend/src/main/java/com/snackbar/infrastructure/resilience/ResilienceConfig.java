@@ -0,0 +1,27 @@
+package com.snackbar.infrastructure.resilience;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the adaptive concurrency limiter shared by every MongoDB operation class.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter mongoConcurrencyLimiter(
+            @Value("${resilience.limiter.initial-limit:32}") int initialLimit,
+            @Value("${resilience.limiter.min-limit:8}") int minLimit,
+            @Value("${resilience.limiter.max-limit:100}") int maxLimit,
+            @Value("${resilience.limiter.background-share:0.5}") double backgroundShare,
+            @Value("${resilience.limiter.max-queue:200}") int maxQueued,
+            @Value("${resilience.limiter.max-wait-ms:50}") long maxWaitMs,
+            @Value("${resilience.limiter.background-max-wait-ms:1000}") long backgroundMaxWaitMs) {
+        return new AdaptiveConcurrencyLimiter("mongodb", initialLimit, minLimit, maxLimit, backgroundShare, maxQueued,
+            Duration.ofMillis(maxWaitMs), Duration.ofMillis(backgroundMaxWaitMs));
+    }
+}
@@ -0,0 +1,35 @@
+package com.snackbar.infrastructure.resilience;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+
+/**
+ * Answers requests whose calls were rejected by a circuit breaker, bulkhead or concurrency limiter,
+ * and had no fallback, with 503 Service Unavailable and a Retry-After of the breakers' open duration.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ResilienceExceptionHandler {
+
+    private final ResilienceGuards resilienceGuards;
+
+    public ResilienceExceptionHandler(ResilienceGuards resilienceGuards) {
+        this.resilienceGuards = resilienceGuards;
+    }
+
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class, LimitExceededException.class})
+    public ResponseEntity<ProblemDetail> handleRejection(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, resilienceGuards.getOpenDuration().toSeconds())))
+            .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+}
@@ -0,0 +1,206 @@
+package com.snackbar.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoOperationTimeoutException;
+import com.snackbar.infrastructure.deadline.DeadlineExceededException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkException;
+
+/**
+ * Circuit breakers and bulkheads around the remote calls, one of each per {@link OperationClass}.
+ * <p>
+ * A bulkhead caps the calls of its class in flight, and briefly queues the calls above the cap
+ * before rejecting them. A circuit breaker opens when too many recent calls of its class failed
+ * because of the dependency, or were slow, and rejects calls until the dependency recovers. MongoDB
+ * calls of every class also share an {@link AdaptiveConcurrencyLimiter}, whose limit follows the
+ * database latency. All of them reject with {@link #isRejection(Throwable) rejections}, answered
+ * with 503 unless the caller has a fallback.
+ * <p>
+ * Only dependency failures count against a breaker: errors such as duplicate keys are the caller's.
+ * Timeouts do not count either, since clients set their own deadlines; timed out calls still count
+ * as slow when they took longer than the slow call threshold. Breaker states and bulkhead usage
+ * are published as resilience4j meters.
+ */
+@Component
+public class ResilienceGuards implements MeterBinder {
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimiter mongoLimiter;
+    private final Duration openDuration;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final Map<OperationClass, CircuitBreaker> circuitBreakerByClass = new EnumMap<>(OperationClass.class);
+    private final Map<OperationClass, Bulkhead> bulkheadByClass = new EnumMap<>(OperationClass.class);
+
+    @Autowired
+    public ResilienceGuards(
+            @Value("${resilience.enabled:true}") boolean enabled,
+            @Value("${resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${resilience.circuit-breaker.slow-call-threshold-ms:2000}") long slowCallThresholdMs,
+            @Value("${resilience.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${resilience.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${resilience.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+            @Value("${resilience.bulkhead.max-wait-ms:20}") long maxWaitMs,
+            @Value("${resilience.bulkhead.catalog-read:64}") int catalogReadCalls,
+            @Value("${resilience.bulkhead.catalog-write:16}") int catalogWriteCalls,
+            @Value("${resilience.bulkhead.auth:32}") int authCalls,
+            @Value("${resilience.bulkhead.event-publish:16}") int eventPublishCalls,
+            @Value("${resilience.limiter.enabled:true}") boolean limiterEnabled,
+            AdaptiveConcurrencyLimiter mongoConcurrencyLimiter) {
+        this(enabled,
+            CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallThresholdMs))
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(Duration.ofMillis(openDurationMs))
+                .recordException(ResilienceGuards::isDependencyFailure)
+                .build(),
+            Duration.ofMillis(maxWaitMs),
+            Map.of(OperationClass.CATALOG_READ, catalogReadCalls,
+                OperationClass.CATALOG_WRITE, catalogWriteCalls,
+                OperationClass.AUTH, authCalls,
+                OperationClass.EVENT_PUBLISH, eventPublishCalls),
+            limiterEnabled ? mongoConcurrencyLimiter : null);
+    }
+
+    ResilienceGuards(boolean enabled, CircuitBreakerConfig circuitBreakerConfig, Duration maxWait,
+                     Map<OperationClass, Integer> maxConcurrentCalls, AdaptiveConcurrencyLimiter mongoLimiter) {
+        this.enabled = enabled;
+        this.mongoLimiter = mongoLimiter;
+        this.openDuration = Duration.ofMillis(circuitBreakerConfig.getWaitIntervalFunctionInOpenState().apply(1));
+        this.circuitBreakers = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        this.bulkheads = BulkheadRegistry.ofDefaults();
+        for (OperationClass operationClass : OperationClass.values()) {
+            // Created up front, so every breaker is reported from startup on
+            circuitBreakerByClass.put(operationClass, circuitBreakers.circuitBreaker(operationClass.guardName()));
+            bulkheadByClass.put(operationClass, bulkheads.bulkhead(operationClass.guardName(), BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls.get(operationClass))
+                .maxWaitDuration(maxWait)
+                .build()));
+        }
+    }
+
+    /**
+     * @return Guards that let every call through, for callers created without any
+     */
+    public static ResilienceGuards unguarded() {
+        return new ResilienceGuards(false, CircuitBreakerConfig.ofDefaults(), Duration.ZERO,
+            Map.of(OperationClass.CATALOG_READ, 1, OperationClass.CATALOG_WRITE, 1,
+                OperationClass.AUTH, 1, OperationClass.EVENT_PUBLISH, 1), null);
+    }
+
+    /**
+     * Makes a remote call through the bulkhead and circuit breaker of its class, and MongoDB calls
+     * through the adaptive concurrency limiter as well.
+     *
+     * @param operationClass The class of the call
+     * @param call The call
+     * @return The result of the call
+     * @throws CallNotPermittedException If the circuit breaker is open
+     * @throws BulkheadFullException If too many calls of the class are in flight
+     * @throws LimitExceededException If too many MongoDB calls are in flight for its current latency
+     */
+    public <T> T call(OperationClass operationClass, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreakerByClass.get(operationClass), call);
+        if (mongoLimiter != null && "mongodb".equals(operationClass.dependency())) {
+            // The bulkhead still caps each class, the limiter caps the database as a whole
+            Supplier<T> breakerGuarded = guarded;
+            guarded = () -> mongoLimiter.call(breakerGuarded);
+        }
+        // The bulkhead comes first, so calls it rejects are not counted as failures by the breaker
+        return Bulkhead.decorateSupplier(bulkheadByClass.get(operationClass), guarded).get();
+    }
+
+    /**
+     * Makes a remote call without a result through the bulkhead and circuit breaker of its class.
+     *
+     * @param operationClass The class of the call
+     * @param call The call
+     */
+    public void run(OperationClass operationClass, Runnable call) {
+        call(operationClass, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * @param operationClass The class of calls
+     * @return The state of its circuit breaker
+     */
+    public CircuitBreaker.State state(OperationClass operationClass) {
+        return circuitBreakerByClass.get(operationClass).getState();
+    }
+
+    /**
+     * @return How long an open circuit breaker rejects calls before letting a few through again
+     */
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * @param e An exception thrown by a guarded call
+     * @return Whether the call was rejected by a circuit breaker, bulkhead or limiter, without being made
+     */
+    public static boolean isRejection(Throwable e) {
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException
+            || e instanceof LimitExceededException;
+    }
+
+    /**
+     * @param e An exception thrown by a guarded call
+     * @return Whether the call failed because the dependency is unavailable: rejected, out of time or failing
+     */
+    public static boolean isUnavailable(Throwable e) {
+        return isRejection(e) || isDependencyFailure(e) || e instanceof DeadlineExceededException
+            || e instanceof QueryTimeoutException
+            || e instanceof MongoOperationTimeoutException || e instanceof ApiCallTimeoutException;
+    }
+
+    static boolean isDependencyFailure(Throwable e) {
+        if (e instanceof QueryTimeoutException || e instanceof MongoOperationTimeoutException
+                || e instanceof ApiCallTimeoutException) {
+            return false;
+        }
+        return e instanceof DataAccessResourceFailureException || e instanceof TransientDataAccessException
+            || e instanceof UncategorizedMongoDbException || e instanceof MongoException || e instanceof SdkException;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+    }
+}
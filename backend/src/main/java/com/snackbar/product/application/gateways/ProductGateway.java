@@ -1,15 +1,23 @@
 package com.snackbar.product.application.gateways;
 
 import java.util.List;
+import java.util.Set;
 
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
 import com.snackbar.product.domain.entity.Product;
 
 public interface ProductGateway {
     Product createProduct(Product product);
-    Product getProductById(String id);
-    List<Product> listProduct();
-    List<Product> getProductByCategory(String category);
-    Product getProductByName(String name);
-    Product updateProductById(String id, Product product);
-    void deleteProductById(String id);
+    Product getProductById(String storeId, String id);
+    // Returns the products found, in no particular order; unknown IDs are skipped
+    List<Product> getProductsByIds(String storeId, List<String> ids);
+    List<Product> listProduct(String storeId);
+    // Reads only the selected fields of a store's products, optionally of one category (null for all)
+    List<ProductProjection> listProductFields(String storeId, String category, Set<ProductField> fields);
+    List<Product> listAllProducts();
+    List<Product> getProductByCategory(String storeId, String category);
+    Product getProductByName(String storeId, String name);
+    Product updateProductById(String storeId, String id, Product product);
+    void deleteProductById(String storeId, String id);
 }
@@ -7,10 +7,11 @@ package com.snackbar.product.application.ports.in;
 public interface DeleteProductByIdInputPort {
     
     /**
-     * Deletes a product by its ID.
+     * Deletes a product of a store by its ID.
      *
+     * @param storeId The ID of the store the product belongs to
      * @param id The ID of the product to delete
-     * @throws IllegalArgumentException if id is null or empty
+     * @throws IllegalArgumentException if storeId or id is null or empty
      */
-    void deleteProductById(String id);
+    void deleteProductById(String storeId, String id);
 }
@@ -1,7 +1,9 @@
 package com.snackbar.product.application.ports.in;
 
+import com.snackbar.product.application.ports.out.ProductMenuView;
 import com.snackbar.product.domain.entity.Product;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Input port for retrieving products by category.
@@ -10,11 +12,34 @@ import java.util.List;
 public interface GetProductByCategoryInputPort {
     
     /**
-     * Retrieves products by their category.
+     * Retrieves the products of a store by their category.
      *
+     * @param storeId The ID of the store whose catalog is queried
      * @param category The category to filter products by
      * @return A list of products in the specified category
-     * @throws IllegalArgumentException if category is null or empty
+     * @throws IllegalArgumentException if storeId or category is null or empty
      */
-    List<Product> getProductByCategory(String category);
+    List<Product> getProductByCategory(String storeId, String category);
+
+    /**
+     * Retrieves the products of a store by their category as listed on its menu: from the
+     * category's materialized menu when it reflects the current catalog version, otherwise from the products.
+     *
+     * @param storeId The ID of the store whose catalog is queried
+     * @param category The category to filter products by
+     * @return The products in the specified category
+     * @throws IllegalArgumentException if storeId or category is null or empty
+     */
+    List<ProductMenuView.Item> getMenuByCategory(String storeId, String category);
+
+    /**
+     * Retrieves the products of a store by their category, reading only the selected fields.
+     *
+     * @param storeId The ID of the store whose catalog is queried
+     * @param category The category to filter products by
+     * @param fields The fields to read; must not be empty
+     * @return The products in the category, with the fields that were not selected set to null
+     * @throws IllegalArgumentException if storeId or category is null or empty, or no field is selected
+     */
+    List<ProductProjection> getProductByCategory(String storeId, String category, Set<ProductField> fields);
 }
@@ -9,11 +9,12 @@ import com.snackbar.product.domain.entity.Product;
 public interface GetProductByIdInputPort {
     
     /**
-     * Retrieves a product by its ID.
+     * Retrieves a product of a store by its ID.
      *
+     * @param storeId The ID of the store the product belongs to
      * @param id The ID of the product to retrieve
      * @return The product with the specified ID
-     * @throws IllegalArgumentException if id is null or empty
+     * @throws IllegalArgumentException if storeId or id is null or empty
      */
-    Product getProductById(String id);
+    Product getProductById(String storeId, String id);
 }
@@ -9,11 +9,12 @@ import com.snackbar.product.domain.entity.Product;
 public interface GetProductByNameInputPort {
     
     /**
-     * Retrieves a product by its name.
+     * Retrieves a product of a store by its name.
      *
+     * @param storeId The ID of the store whose catalog is queried
      * @param name The name of the product to retrieve
      * @return The product with the specified name
-     * @throws IllegalArgumentException if name is null or empty
+     * @throws IllegalArgumentException if storeId or name is null or empty
      */
-    Product getProductByName(String name);
+    Product getProductByName(String storeId, String name);
 }
@@ -0,0 +1,28 @@
+package com.snackbar.product.application.ports.in;
+
+/**
+ * Input port for the product changes feed.
+ * This interface defines the contract for replicas that keep a copy of a store's catalog in sync.
+ */
+public interface GetProductChangesInputPort {
+
+    /**
+     * Retrieves the products of a store created, updated or deleted after a sequence number.
+     *
+     * @param storeId The ID of the store
+     * @param since The sequence number returned by the previous call, or 0 on first sync
+     * @param limit The maximum number of changes to return; values below 1 use the default
+     * @return The changes since the sequence number
+     * @throws IllegalArgumentException if storeId is null or empty or since is negative
+     */
+    ProductChangeFeed getChanges(String storeId, long since, int limit);
+
+    /**
+     * Retrieves the version of a store's catalog, which changes whenever one of its products does.
+     *
+     * @param storeId The ID of the store
+     * @return The sequence number of the store's most recent change
+     * @throws IllegalArgumentException if storeId is null or empty
+     */
+    long getCatalogVersion(String storeId);
+}
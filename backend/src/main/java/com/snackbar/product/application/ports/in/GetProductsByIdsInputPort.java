@@ -0,0 +1,20 @@
+package com.snackbar.product.application.ports.in;
+
+import java.util.List;
+
+/**
+ * Input port for retrieving several products by their IDs.
+ * This interface defines the contract for the use case of resolving a cart's products in one call.
+ */
+public interface GetProductsByIdsInputPort {
+
+    /**
+     * Retrieves products of a store by their IDs.
+     *
+     * @param storeId The ID of the store the products belong to
+     * @param ids The IDs of the products to retrieve; repeated IDs are resolved once
+     * @return The products found in the order their IDs were first requested, and the IDs not found
+     * @throws IllegalArgumentException if storeId is null or empty, ids is empty or too large, or an ID is blank
+     */
+    ProductBatchResult getProductsByIds(String storeId, List<String> ids);
+}
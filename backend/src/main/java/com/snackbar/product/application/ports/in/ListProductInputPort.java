@@ -1,7 +1,9 @@
 package com.snackbar.product.application.ports.in;
 
+import com.snackbar.product.application.ports.out.ProductMenuView;
 import com.snackbar.product.domain.entity.Product;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Input port for listing all products.
@@ -10,9 +12,32 @@ import java.util.List;
 public interface ListProductInputPort {
     
     /**
-     * Lists all products.
+     * Lists all products of a store, as of every write acknowledged so far.
      *
-     * @return A list of all products
+     * @param storeId The ID of the store whose catalog is listed
+     * @return A list of all products of the store
+     * @throws IllegalArgumentException if storeId is null or empty
      */
-    List<Product> listProduct();
+    List<Product> listProduct(String storeId);
+
+    /**
+     * Lists the products of a store as listed on its menu, at least as new as a catalog version:
+     * from the store's materialized menu when it is that new, otherwise from the products.
+     *
+     * @param storeId The ID of the store whose catalog is listed
+     * @param catalogVersion The catalog version the list must reflect
+     * @return The products of the store
+     * @throws IllegalArgumentException if storeId is null or empty
+     */
+    List<ProductMenuView.Item> listMenu(String storeId, long catalogVersion);
+
+    /**
+     * Lists the products of a store, reading only the selected fields, as of every write acknowledged so far.
+     *
+     * @param storeId The ID of the store whose catalog is listed
+     * @param fields The fields to read; must not be empty
+     * @return The products of the store, with the fields that were not selected set to null
+     * @throws IllegalArgumentException if storeId is null or empty, or no field is selected
+     */
+    List<ProductProjection> listProduct(String storeId, Set<ProductField> fields);
 }
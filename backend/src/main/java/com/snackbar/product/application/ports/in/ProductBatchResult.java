@@ -0,0 +1,16 @@
+package com.snackbar.product.application.ports.in;
+
+import java.util.List;
+
+import com.snackbar.product.domain.entity.Product;
+
+/**
+ * Result of a batch lookup: the products found, in request order, and the IDs that were not found.
+ */
+public record ProductBatchResult(List<Product> products, List<String> missingIds) {
+
+    public ProductBatchResult {
+        products = List.copyOf(products);
+        missingIds = List.copyOf(missingIds);
+    }
+}
@@ -0,0 +1,39 @@
+package com.snackbar.product.application.ports.in;
+
+import java.util.List;
+
+import com.snackbar.product.domain.entity.Product;
+
+/**
+ * A page of the product changes feed.
+ *
+ * @param changes The changes, oldest first
+ * @param nextSince The sequence number to ask for next
+ * @param hasMore true if more changes are already available after nextSince
+ * @param resyncRequired true if the caller must reload the full catalog and continue from nextSince,
+ *                       because it has no prior state or the changes it missed were compacted away
+ */
+public record ProductChangeFeed(List<Change> changes, long nextSince, boolean hasMore, boolean resyncRequired) {
+
+    /**
+     * The latest state of a changed product.
+     *
+     * @param sequence The sequence number of the change
+     * @param productId The ID of the product
+     * @param product The product as it is now, or null if it was deleted
+     */
+    public record Change(long sequence, String productId, Product product) {
+
+        public boolean deleted() {
+            return product == null;
+        }
+    }
+
+    public ProductChangeFeed {
+        changes = List.copyOf(changes);
+    }
+
+    public static ProductChangeFeed resync(long nextSince) {
+        return new ProductChangeFeed(List.of(), nextSince, false, true);
+    }
+}
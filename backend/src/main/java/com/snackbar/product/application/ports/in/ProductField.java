@@ -0,0 +1,41 @@
+package com.snackbar.product.application.ports.in;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Product fields a client can select, so list reads only fetch and send what it displays.
+ */
+public enum ProductField {
+    ID("id"),
+    NAME("name"),
+    CATEGORY("category"),
+    DESCRIPTION("description"),
+    PRICE("price"),
+    COOKING_TIME("cookingTime");
+
+    private final String fieldName;
+
+    ProductField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    /**
+     * @param fieldName The field name as exposed by the API, e.g. "cookingTime"
+     * @return The matching field
+     * @throws IllegalArgumentException if no field has that name
+     */
+    public static ProductField fromName(String fieldName) {
+        for (ProductField field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product field: " + fieldName + ". Must be one of: "
+            + Arrays.stream(values()).map(ProductField::fieldName).collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,10 @@
+package com.snackbar.product.application.ports.in;
+
+import java.math.BigDecimal;
+
+/**
+ * Product read with only some of its fields; the fields that were not selected are null.
+ * Unlike {@link com.snackbar.product.domain.entity.Product} it is not validated, since it is never written back.
+ */
+public record ProductProjection(String id, String name, String category, String description, BigDecimal price, Integer cookingTime) {
+}
@@ -0,0 +1,22 @@
+package com.snackbar.product.application.ports.in;
+
+import com.snackbar.product.domain.entity.Product;
+import java.util.List;
+
+/**
+ * Input port for searching products.
+ * This interface defines the contract for the use case of type-ahead product search.
+ */
+public interface SearchProductsInputPort {
+
+    /**
+     * Searches the products of a store whose name or description match the query.
+     *
+     * @param storeId The ID of the store whose catalog is searched
+     * @param query The search text; accents and case are ignored and words may be incomplete
+     * @param limit The maximum number of products to return; values below 1 use the default
+     * @return The matching products, best match first
+     * @throws IllegalArgumentException if storeId or query is null or empty
+     */
+    List<Product> searchProducts(String storeId, String query, int limit);
+}
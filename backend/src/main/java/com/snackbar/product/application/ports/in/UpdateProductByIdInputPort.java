@@ -9,12 +9,13 @@ import com.snackbar.product.domain.entity.Product;
 public interface UpdateProductByIdInputPort {
     
     /**
-     * Updates a product by its ID.
+     * Updates a product of a store by its ID.
      *
+     * @param storeId The ID of the store the product belongs to
      * @param id The ID of the product to update
      * @param product The updated product data
      * @return The updated product
-     * @throws IllegalArgumentException if id is null or empty, or if product is null
+     * @throws IllegalArgumentException if storeId or id is null or empty, or if product is null
      */
-    Product updateProductById(String id, Product product);
+    Product updateProductById(String storeId, String id, Product product);
 }
@@ -0,0 +1,56 @@
+package com.snackbar.product.application.ports.out;
+
+import java.util.List;
+
+/**
+ * Output port for the compacted log of product changes.
+ * Every change gets a cluster-wide, increasing sequence number, and only the latest change
+ * of each product is kept, so replaying the log from a sequence yields each product's last state.
+ * Changes are only served once every change with a lower sequence number is recorded too, so a
+ * reader that moved past a sequence number never misses a change below it.
+ */
+public interface ProductChangeLog {
+
+    /**
+     * The latest change recorded for a product.
+     *
+     * @param sequence The sequence number of the change
+     * @param productId The ID of the product
+     * @param deleted true if the product was deleted (a tombstone)
+     */
+    record Entry(long sequence, String productId, boolean deleted) {
+    }
+
+    /**
+     * Where the log of a store stands, read at once.
+     *
+     * @param latestSequence The sequence number up to which the store's changes are served, or 0
+     * @param purgedThrough The highest sequence number of the tombstones already purged from the log, or 0
+     */
+    record Position(long latestSequence, long purgedThrough) {
+
+        /**
+         * @return The version of the store's catalog, which changes whenever a change of the store
+         *         is served and never goes back, even when its latest tombstone is purged
+         */
+        public long version() {
+            return Math.max(latestSequence, purgedThrough);
+        }
+    }
+
+    /**
+     * Returns the changes of a store recorded after a sequence number, oldest first.
+     *
+     * @param storeId The ID of the store
+     * @param since The exclusive lower bound of the sequence numbers
+     * @param limit The maximum number of changes to return
+     * @return The changes found
+     */
+    List<Entry> changesSince(String storeId, long since, int limit);
+
+    /**
+     * @param storeId The ID of the store
+     * @return Where the log of the store stands
+     */
+    Position position(String storeId);
+}
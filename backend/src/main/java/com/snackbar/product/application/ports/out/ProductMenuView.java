@@ -0,0 +1,39 @@
+package com.snackbar.product.application.ports.out;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import com.snackbar.product.domain.entity.Product;
+
+/**
+ * Output port for the materialized menus of the stores: the full menu of each store and the
+ * menu of each of its categories, kept up to date from the product changes.
+ */
+public interface ProductMenuView {
+
+    /**
+     * A product as it is listed on a menu.
+     */
+    record Item(String id, String name, String category, String description, BigDecimal price, Integer cookingTime) {
+
+        /**
+         * @return The product as it is listed on a menu
+         */
+        public static Item of(Product product) {
+            return new Item(product.id(), product.name(), product.category(), product.description(),
+                product.price(), product.cookingTime());
+        }
+    }
+
+    /**
+     * Returns a materialized menu, if it is at least as new as the given catalog version.
+     *
+     * @param storeId The ID of the store
+     * @param category The category, or null for the full menu
+     * @param minVersion The oldest catalog version the caller accepts
+     * @return The products of the menu, or empty if the menu is not materialized, is older, or
+     *         cannot be read right now (callers then fall back to the products)
+     */
+    Optional<List<Item>> find(String storeId, String category, long minVersion);
+}
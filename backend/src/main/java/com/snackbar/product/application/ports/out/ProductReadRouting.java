@@ -0,0 +1,19 @@
+package com.snackbar.product.application.ports.out;
+
+import java.util.function.Supplier;
+
+/**
+ * Output port for reading products that must reflect every write acknowledged so far, such as
+ * lists cached under a catalog version, which a lagging replica could otherwise answer.
+ */
+public interface ProductReadRouting {
+
+    /**
+     * Runs reads that must see every acknowledged write.
+     *
+     * @param reads The reads to run
+     * @param <T> The type of their result
+     * @return Their result
+     */
+    <T> T upToDate(Supplier<T> reads);
+}
@@ -0,0 +1,22 @@
+package com.snackbar.product.application.ports.out;
+
+import java.util.List;
+
+import com.snackbar.product.domain.entity.Product;
+
+/**
+ * Output port for full-text and prefix search over the product catalog.
+ * Implementations are expected to answer from an index rather than scanning the product store.
+ */
+public interface ProductSearchIndex {
+
+    /**
+     * Searches the products of a store by name and description.
+     *
+     * @param storeId The ID of the store whose catalog is searched
+     * @param query The search text; its last word may be incomplete
+     * @param limit The maximum number of products to return
+     * @return The matching products, best match first
+     */
+    List<Product> search(String storeId, String query, int limit);
+}
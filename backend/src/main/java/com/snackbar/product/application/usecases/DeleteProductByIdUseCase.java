@@ -15,14 +15,17 @@ public class DeleteProductByIdUseCase implements DeleteProductByIdInputPort {
         this.eventPublisher = eventPublisher;
     }
 
-    public void deleteProductById(String id) {
+    public void deleteProductById(String storeId, String id) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
         if (id == null || id.trim().isEmpty()) {
             throw new IllegalArgumentException("Product ID cannot be null or empty");
         }
         
-        productGateway.deleteProductById(id);
+        productGateway.deleteProductById(storeId, id);
         
         // Publish domain event
-        eventPublisher.publish(new ProductDeletedEvent(id));
+        eventPublisher.publish(new ProductDeletedEvent(storeId, id));
     }
 }
@@ -1,23 +1,59 @@
 package com.snackbar.product.application.usecases;
 
 import java.util.List;
+import java.util.Set;
 
 import com.snackbar.product.application.gateways.ProductGateway;
 import com.snackbar.product.application.ports.in.GetProductByCategoryInputPort;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.application.ports.out.ProductChangeLog;
+import com.snackbar.product.application.ports.out.ProductMenuView;
 import com.snackbar.product.domain.entity.Product;
 
 public class GetProductByCategoryUseCase implements GetProductByCategoryInputPort {
     
     private final ProductGateway productGateway;
+    private final ProductMenuView menuView;
+    private final ProductChangeLog productChangeLog;
 
-    public GetProductByCategoryUseCase(ProductGateway productGateway) {
+    public GetProductByCategoryUseCase(ProductGateway productGateway, ProductMenuView menuView, ProductChangeLog productChangeLog) {
         this.productGateway = productGateway;
+        this.menuView = menuView;
+        this.productChangeLog = productChangeLog;
     }
 
-    public List<Product> getProductByCategory(String category) {
+    public List<Product> getProductByCategory(String storeId, String category) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
+        if (category == null || category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Product category cannot be null or empty");
+        }
+        return productGateway.getProductByCategory(storeId, category);
+    }
+
+    public List<ProductMenuView.Item> getMenuByCategory(String storeId, String category) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
         if (category == null || category.trim().isEmpty()) {
             throw new IllegalArgumentException("Product category cannot be null or empty");
         }
-        return productGateway.getProductByCategory(category);
+        return menuView.find(storeId, category, productChangeLog.position(storeId).version())
+            .orElseGet(() -> productGateway.getProductByCategory(storeId, category).stream().map(ProductMenuView.Item::of).toList());
+    }
+
+    public List<ProductProjection> getProductByCategory(String storeId, String category, Set<ProductField> fields) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
+        if (category == null || category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Product category cannot be null or empty");
+        }
+        if (fields == null || fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one product field must be selected");
+        }
+        return productGateway.listProductFields(storeId, category, fields);
     }
 }
@@ -12,10 +12,13 @@ public class GetProductByIdUseCase implements GetProductByIdInputPort {
         this.productGateway = productGateway;
     }
 
-    public Product getProductById(String id) {
+    public Product getProductById(String storeId, String id) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
         if (id == null || id.trim().isEmpty()) {
             throw new IllegalArgumentException("Product ID cannot be null or empty");
         }
-        return productGateway.getProductById(id);
+        return productGateway.getProductById(storeId, id);
     }
 }
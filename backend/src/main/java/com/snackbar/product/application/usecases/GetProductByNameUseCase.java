@@ -12,10 +12,13 @@ public class GetProductByNameUseCase implements GetProductByNameInputPort {
         this.productGateway = productGateway;
     }
 
-    public Product getProductByName(String name) {
+    public Product getProductByName(String storeId, String name) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Product name cannot be null or empty");
         }
-        return productGateway.getProductByName(name);
+        return productGateway.getProductByName(storeId, name);
     }
 }
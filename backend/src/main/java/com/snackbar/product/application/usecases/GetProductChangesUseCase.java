@@ -0,0 +1,74 @@
+package com.snackbar.product.application.usecases;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.GetProductChangesInputPort;
+import com.snackbar.product.application.ports.in.ProductChangeFeed;
+import com.snackbar.product.application.ports.out.ProductChangeLog;
+import com.snackbar.product.application.ports.out.ProductReadRouting;
+import com.snackbar.product.domain.entity.Product;
+
+public class GetProductChangesUseCase implements GetProductChangesInputPort {
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 1000;
+
+    private final ProductChangeLog productChangeLog;
+    private final ProductGateway productGateway;
+    private final ProductReadRouting readRouting;
+
+    public GetProductChangesUseCase(ProductChangeLog productChangeLog, ProductGateway productGateway, ProductReadRouting readRouting) {
+        this.productChangeLog = productChangeLog;
+        this.productGateway = productGateway;
+        this.readRouting = readRouting;
+    }
+
+    public ProductChangeFeed getChanges(String storeId, long since, int limit) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
+        if (since < 0) {
+            throw new IllegalArgumentException("Change sequence cannot be negative");
+        }
+        ProductChangeLog.Position position = productChangeLog.position(storeId);
+        if (since == 0 || since < position.purgedThrough()) {
+            return ProductChangeFeed.resync(position.version());
+        }
+
+        int effectiveLimit = limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        List<ProductChangeLog.Entry> entries = productChangeLog.changesSince(storeId, since, effectiveLimit);
+        if (entries.isEmpty()) {
+            return new ProductChangeFeed(List.of(), since, false, false);
+        }
+
+        List<String> upsertedIds = entries.stream()
+            .filter(entry -> !entry.deleted())
+            .map(ProductChangeLog.Entry::productId)
+            .toList();
+        Map<String, Product> products = upsertedIds.isEmpty()
+            ? Map.of()
+            : readRouting.upToDate(() -> productGateway.getProductsByIds(storeId, upsertedIds)).stream()
+                .collect(Collectors.toMap(Product::id, Function.identity(), (first, second) -> first));
+
+        List<ProductChangeFeed.Change> changes = new ArrayList<>(entries.size());
+        for (ProductChangeLog.Entry entry : entries) {
+            // A product deleted after its change was logged is reported as deleted; its tombstone follows later
+            Product product = entry.deleted() ? null : products.get(entry.productId());
+            changes.add(new ProductChangeFeed.Change(entry.sequence(), entry.productId(), product));
+        }
+        long nextSince = entries.get(entries.size() - 1).sequence();
+        return new ProductChangeFeed(changes, nextSince, entries.size() == effectiveLimit, false);
+    }
+
+    public long getCatalogVersion(String storeId) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
+        return productChangeLog.position(storeId).version();
+    }
+}
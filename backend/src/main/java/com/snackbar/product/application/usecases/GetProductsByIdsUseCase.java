@@ -0,0 +1,60 @@
+package com.snackbar.product.application.usecases;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.GetProductsByIdsInputPort;
+import com.snackbar.product.application.ports.in.ProductBatchResult;
+import com.snackbar.product.domain.entity.Product;
+
+public class GetProductsByIdsUseCase implements GetProductsByIdsInputPort {
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final ProductGateway productGateway;
+
+    public GetProductsByIdsUseCase(ProductGateway productGateway) {
+        this.productGateway = productGateway;
+    }
+
+    public ProductBatchResult getProductsByIds(String storeId, List<String> ids) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Product IDs cannot be null or empty");
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id == null || id.trim().isEmpty()) {
+                throw new IllegalArgumentException("Product ID cannot be null or empty");
+            }
+            distinctIds.add(id);
+        }
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Cannot retrieve more than " + MAX_BATCH_SIZE + " products at once");
+        }
+
+        Map<String, Product> found = productGateway.getProductsByIds(storeId, new ArrayList<>(distinctIds)).stream()
+            .collect(Collectors.toMap(Product::id, Function.identity(), (first, second) -> first));
+
+        List<Product> products = new ArrayList<>(found.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : distinctIds) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductBatchResult(products, missingIds);
+    }
+}
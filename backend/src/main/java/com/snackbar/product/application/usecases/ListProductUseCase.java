@@ -1,20 +1,50 @@
 package com.snackbar.product.application.usecases;
 
 import java.util.List;
+import java.util.Set;
 
 import com.snackbar.product.application.gateways.ProductGateway;
 import com.snackbar.product.application.ports.in.ListProductInputPort;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.application.ports.out.ProductMenuView;
+import com.snackbar.product.application.ports.out.ProductReadRouting;
 import com.snackbar.product.domain.entity.Product;
 
 public class ListProductUseCase implements ListProductInputPort {
 
     private final ProductGateway productGateway;
+    private final ProductMenuView menuView;
+    private final ProductReadRouting readRouting;
     
-    public ListProductUseCase(ProductGateway productGateway) {
+    public ListProductUseCase(ProductGateway productGateway, ProductMenuView menuView, ProductReadRouting readRouting) {
             this.productGateway = productGateway;
+            this.menuView = menuView;
+            this.readRouting = readRouting;
     }
 
-    public List<Product> listProduct() {
-        return productGateway.listProduct();
+    public List<Product> listProduct(String storeId) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
+        return readRouting.upToDate(() -> productGateway.listProduct(storeId));
+    }
+
+    public List<ProductMenuView.Item> listMenu(String storeId, long catalogVersion) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
+        return menuView.find(storeId, null, catalogVersion)
+            .orElseGet(() -> listProduct(storeId).stream().map(ProductMenuView.Item::of).toList());
+    }
+
+    public List<ProductProjection> listProduct(String storeId, Set<ProductField> fields) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
+        if (fields == null || fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one product field must be selected");
+        }
+        return readRouting.upToDate(() -> productGateway.listProductFields(storeId, null, fields));
     }
 }
@@ -0,0 +1,30 @@
+package com.snackbar.product.application.usecases;
+
+import java.util.List;
+
+import com.snackbar.product.application.ports.in.SearchProductsInputPort;
+import com.snackbar.product.application.ports.out.ProductSearchIndex;
+import com.snackbar.product.domain.entity.Product;
+
+public class SearchProductsUseCase implements SearchProductsInputPort {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 50;
+
+    private final ProductSearchIndex productSearchIndex;
+
+    public SearchProductsUseCase(ProductSearchIndex productSearchIndex) {
+        this.productSearchIndex = productSearchIndex;
+    }
+
+    public List<Product> searchProducts(String storeId, String query, int limit) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query cannot be null or empty");
+        }
+        int effectiveLimit = limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return productSearchIndex.search(storeId, query, effectiveLimit);
+    }
+}
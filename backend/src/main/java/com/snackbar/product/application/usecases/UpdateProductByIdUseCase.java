@@ -22,7 +22,10 @@ public class UpdateProductByIdUseCase implements UpdateProductByIdInputPort {
         this.eventPublisher = eventPublisher;
     }
 
-    public Product updateProductById(String id, Product product) {
+    public Product updateProductById(String storeId, String id, Product product) {
+        if (storeId == null || storeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store ID cannot be null or empty");
+        }
         if (id == null || id.trim().isEmpty()) {
             throw new IllegalArgumentException("Product ID cannot be null or empty");
         }
@@ -32,12 +35,12 @@ public class UpdateProductByIdUseCase implements UpdateProductByIdInputPort {
         
         // Verify if product exists
         try {
-            getProductByIdUseCase.getProductById(id);
+            getProductByIdUseCase.getProductById(storeId, id);
         } catch (ProductNotFoundException e) {
             throw e;
         }
         
-        Product updatedProduct = productGateway.updateProductById(id, product);
+        Product updatedProduct = productGateway.updateProductById(storeId, id, product.withStoreId(storeId));
         
         // Publish domain event
         eventPublisher.publish(new ProductUpdatedEvent(updatedProduct));
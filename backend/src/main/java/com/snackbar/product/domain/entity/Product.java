@@ -1,50 +1,215 @@
 package com.snackbar.product.domain.entity;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import com.snackbar.product.domain.exceptions.InvalidProductDataException;
 
-public record Product(String id, String name, String category, String description, BigDecimal price, Integer cookingTime) {
+/**
+ * A product of a store's catalog. Products built from untrusted input are validated; products
+ * read back from storage, which were validated when written, can skip it through {@link #trusted}.
+ */
+public final class Product {
 
-    private static final List<String> VALID_CATEGORIES = Arrays.asList("Lanche", "Acompanhamento", "Bebida", "Sobremesa");
+    // Products created before catalogs were partitioned per store belong to this store
+    public static final String DEFAULT_STORE_ID = "default";
+    private static final int MAX_STORE_ID_LENGTH = 64;
+
+    private static final List<String> VALID_CATEGORIES = List.of("Lanche", "Acompanhamento", "Bebida", "Sobremesa");
+    private static final Set<String> VALID_CATEGORY_SET = Set.copyOf(VALID_CATEGORIES);
     private static final int MIN_NAME_LENGTH = 3;
     private static final int MIN_DESCRIPTION_LENGTH = 10;
 
-    // Compact constructor for validation
-    public Product {
+    private final String id;
+    private final String name;
+    private final String category;
+    private final String description;
+    private final BigDecimal price;
+    private final Integer cookingTime;
+    private final String storeId;
+
+    public Product(String id, String name, String category, String description, BigDecimal price, Integer cookingTime, String storeId) {
         validateProduct(name, category, description, price, cookingTime);
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.description = description;
+        this.price = price;
+        this.cookingTime = cookingTime;
+        this.storeId = normalizeStoreId(storeId);
+    }
+    
+    // Product in the default store
+    public Product(String id, String name, String category, String description, BigDecimal price, Integer cookingTime) {
+        this(id, name, category, description, price, cookingTime, DEFAULT_STORE_ID);
+    }
+
+    // Takes the fields as given, for trusted(); the store ID comes first only to tell it apart from the public constructor
+    private Product(String storeId, String id, String name, String category, String description, BigDecimal price, Integer cookingTime) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.description = description;
+        this.price = price;
+        this.cookingTime = cookingTime;
+        this.storeId = storeId;
+    }
+    
+    /**
+     * Creates a product from data validated when it was written, such as a stored document,
+     * without validating it again. Untrusted input must go through the constructor.
+     *
+     * @param storeId The store ID, or null for the default store
+     */
+    public static Product trusted(String id, String name, String category, String description,
+                                  BigDecimal price, Integer cookingTime, String storeId) {
+        return new Product(storeId != null ? storeId : DEFAULT_STORE_ID, id, name, category, description, price, cookingTime);
+    }
+    
+    public Product withStoreId(String newStoreId) {
+        // The other fields were validated when this product was created
+        return new Product(normalizeStoreId(newStoreId), id, name, category, description, price, cookingTime);
+    }
+
+    /**
+     * @return The categories a product can belong to, in menu order
+     */
+    public static List<String> validCategories() {
+        return VALID_CATEGORIES;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String category() {
+        return category;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public BigDecimal price() {
+        return price;
+    }
+
+    public Integer cookingTime() {
+        return cookingTime;
+    }
+
+    public String storeId() {
+        return storeId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Product product)) {
+            return false;
+        }
+        return Objects.equals(id, product.id) && Objects.equals(name, product.name)
+            && Objects.equals(category, product.category) && Objects.equals(description, product.description)
+            && Objects.equals(price, product.price) && Objects.equals(cookingTime, product.cookingTime)
+            && Objects.equals(storeId, product.storeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, category, description, price, cookingTime, storeId);
+    }
+
+    @Override
+    public String toString() {
+        return "Product[id=" + id + ", name=" + name + ", category=" + category + ", description=" + description
+            + ", price=" + price + ", cookingTime=" + cookingTime + ", storeId=" + storeId + "]";
+    }
+    
+    /**
+     * Resolves a store ID, falling back to the default store when none is given.
+     *
+     * @param storeId The store ID, may be null or blank
+     * @return The validated store ID
+     * @throws InvalidProductDataException if the store ID has an invalid format
+     */
+    public static String normalizeStoreId(String storeId) {
+        if (storeId == null || storeId.isBlank()) {
+            return DEFAULT_STORE_ID;
+        }
+        String trimmed = storeId.trim();
+        if (!isValidStoreId(trimmed)) {
+            throw new InvalidProductDataException("Invalid store ID. Must be 1-64 letters, digits, '-' or '_'");
+        }
+        return trimmed;
+    }
+    
+    private static boolean isValidStoreId(String storeId) {
+        if (storeId.length() > MAX_STORE_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < storeId.length(); i++) {
+            char c = storeId.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Length of a string without its leading and trailing whitespace, as trimmed by
+     * {@link String#trim()}, without creating the trimmed string.
+     */
+    private static int trimmedLength(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end - start;
     }
     
     // Business rules for product validation
     private static void validateProduct(String name, String category, String description, BigDecimal price, Integer cookingTime) {
         // Name validation
-        if (name == null || name.trim().isEmpty()) {
+        int nameLength = name == null ? 0 : trimmedLength(name);
+        if (nameLength == 0) {
             throw new InvalidProductDataException("Product name is required");
         }
-        if (name.trim().length() < MIN_NAME_LENGTH) {
+        if (nameLength < MIN_NAME_LENGTH) {
             throw new InvalidProductDataException("Product name must be at least " + MIN_NAME_LENGTH + " characters long");
         }
         
         // Category validation
-        if (category == null || category.trim().isEmpty()) {
+        if (category == null || trimmedLength(category) == 0) {
             throw new InvalidProductDataException("Product category is required");
         }
-        if (!VALID_CATEGORIES.contains(category)) {
+        if (!VALID_CATEGORY_SET.contains(category)) {
             throw new InvalidProductDataException("Invalid product category. Must be one of: " + String.join(", ", VALID_CATEGORIES));
         }
         
         // Description validation
-        if (description == null || description.trim().isEmpty()) {
+        int descriptionLength = description == null ? 0 : trimmedLength(description);
+        if (descriptionLength == 0) {
             throw new InvalidProductDataException("Product description is required");
         }
-        if (description.trim().length() < MIN_DESCRIPTION_LENGTH) {
+        if (descriptionLength < MIN_DESCRIPTION_LENGTH) {
             throw new InvalidProductDataException("Product description must be at least " + MIN_DESCRIPTION_LENGTH + " characters long");
         }
         
         // Price validation
-        if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+        if (price == null || price.signum() <= 0) {
             throw new InvalidProductDataException("Product price must be greater than zero");
         }
         
@@ -1,8 +1,11 @@
 package com.snackbar.product.domain.event;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.UUID;
 
+import com.snackbar.shared.id.TimeOrderedIds;
+
 /**
  * Base class for all domain events.
  * Domain events represent significant occurrences within the domain.
@@ -12,8 +15,10 @@ public abstract class DomainEvent {
     private final LocalDateTime occurredOn;
     
     protected DomainEvent() {
-        this.eventId = UUID.randomUUID().toString();
-        this.occurredOn = LocalDateTime.now();
+        // Time-ordered, so events sort by ID in the order they occurred
+        UUID id = TimeOrderedIds.next();
+        this.eventId = id.toString();
+        this.occurredOn = LocalDateTime.ofInstant(TimeOrderedIds.timeOf(id), ZoneId.systemDefault());
     }
     
     public String getEventId() {
@@ -1,16 +1,28 @@
 package com.snackbar.product.domain.event;
 
+import com.snackbar.product.domain.entity.Product;
+
 /**
  * Event that is raised when a product is deleted.
  */
 public class ProductDeletedEvent extends DomainEvent {
+    private final String storeId;
     private final String productId;
     
     public ProductDeletedEvent(String productId) {
+        this(Product.DEFAULT_STORE_ID, productId);
+    }
+    
+    public ProductDeletedEvent(String storeId, String productId) {
         super();
+        this.storeId = storeId;
         this.productId = productId;
     }
     
+    public String getStoreId() {
+        return storeId;
+    }
+    
     public String getProductId() {
         return productId;
     }
@@ -1,6 +1,8 @@
 package com.snackbar.product.domain.exceptions;
 
-public class ProductNotFoundException extends RuntimeException {
+import com.snackbar.shared.exceptions.ExpectedOutcomeException;
+
+public class ProductNotFoundException extends ExpectedOutcomeException {
     public ProductNotFoundException(String message) {
         super(message);
     }
@@ -1,17 +1,42 @@
 package com.snackbar.product.infrastructure.config;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.snackbar.infrastructure.persistence.routing.ReadRouting;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
 
 import com.snackbar.product.application.gateways.ProductGateway;
 import com.snackbar.product.application.ports.out.DomainEventPublisher;
+import com.snackbar.product.application.ports.out.ProductChangeLog;
+import com.snackbar.product.application.ports.out.ProductMenuView;
+import com.snackbar.product.application.ports.out.ProductReadRouting;
+import com.snackbar.product.application.ports.out.ProductSearchIndex;
 import com.snackbar.product.application.usecases.*;
+import com.snackbar.product.infrastructure.controllers.CatalogResponseCache;
 import com.snackbar.product.infrastructure.controllers.ProductDTOMapper;
+import com.snackbar.product.infrastructure.gateways.CachingProductGateway;
+import com.snackbar.product.infrastructure.gateways.ProductCache;
 import com.snackbar.product.infrastructure.gateways.ProductEntityMapper;
 import com.snackbar.product.infrastructure.gateways.ProductRepositoryGateway;
+import com.snackbar.product.infrastructure.gateways.ResilientProductGateway;
+import com.snackbar.product.infrastructure.gateways.SnapshotFallbackProductGateway;
+import com.snackbar.product.infrastructure.messaging.event.CompositeDomainEventPublisher;
 import com.snackbar.product.infrastructure.messaging.event.NoOpDomainEventPublisher;
+import com.snackbar.product.infrastructure.persistence.MongoMenuView;
+import com.snackbar.product.infrastructure.persistence.MongoProductChangeLog;
 import com.snackbar.product.infrastructure.persistence.ProductRepository;
+import com.snackbar.product.infrastructure.search.InMemoryProductSearchIndex;
+import com.snackbar.product.infrastructure.stream.ProductEventStream;
 
 @Configuration
 public class ProductConfig {
@@ -26,13 +51,14 @@ public class ProductConfig {
     }
     
     @Bean
-    ListProductUseCase listProductUseCase(ProductGateway productGateway) {
-        return new ListProductUseCase(productGateway);
+    ListProductUseCase listProductUseCase(ProductGateway productGateway, ProductMenuView productMenuView, ProductReadRouting productReadRouting) {
+        return new ListProductUseCase(productGateway, productMenuView, productReadRouting);
     }
     
     @Bean
-    GetProductByCategoryUseCase getProductByCategoryUseCase(ProductGateway productGateway) {
-        return new GetProductByCategoryUseCase(productGateway);
+    GetProductByCategoryUseCase getProductByCategoryUseCase(ProductGateway productGateway, ProductMenuView productMenuView,
+                                                            ProductChangeLog productChangeLog) {
+        return new GetProductByCategoryUseCase(productGateway, productMenuView, productChangeLog);
     }
     
     @Bean
@@ -51,8 +77,80 @@ public class ProductConfig {
     }
 
     @Bean
-    ProductGateway productGateway(ProductRepository productRepository, ProductEntityMapper productEntityMapper) {
-        return new ProductRepositoryGateway(productRepository, productEntityMapper);
+    SearchProductsUseCase searchProductsUseCase(ProductSearchIndex productSearchIndex) {
+        return new SearchProductsUseCase(productSearchIndex);
+    }
+
+    @Bean
+    InMemoryProductSearchIndex productSearchIndex() {
+        return new InMemoryProductSearchIndex();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    ProductEventStream productEventStream(
+            @Value("${product.stream.buffer-size:256}") int bufferSize,
+            @Value("${product.stream.replay-size:1024}") int replaySize,
+            @Value("${product.stream.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+            @Value("${product.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${product.stream.max-connections:20000}") int maxConnections) {
+        return new ProductEventStream(new ProductEventStream.Settings(
+            bufferSize, replaySize, heartbeatIntervalMs, timeoutMs, maxConnections));
+    }
+
+    @Bean
+    GetProductsByIdsUseCase getProductsByIdsUseCase(ProductGateway productGateway) {
+        return new GetProductsByIdsUseCase(productGateway);
+    }
+
+    /**
+     * The changes feed reads products up to date and past the cache, so a replica is never handed
+     * a cached or secondary copy older than the change being reported, still through the guards.
+     */
+    @Bean
+    GetProductChangesUseCase getProductChangesUseCase(ProductChangeLog productChangeLog, ResilientProductGateway resilientProductGateway,
+                                                      ProductReadRouting productReadRouting) {
+        return new GetProductChangesUseCase(productChangeLog, resilientProductGateway, productReadRouting);
+    }
+
+    /**
+     * Catalog reads the database cannot answer fall back to the search index's snapshot, above the
+     * cache so snapshot answers are never cached.
+     */
+    @Bean
+    @Primary
+    ProductGateway productGateway(CachingProductGateway cachingProductGateway, InMemoryProductSearchIndex productSearchIndex) {
+        return new SnapshotFallbackProductGateway(cachingProductGateway, productSearchIndex);
+    }
+
+    /**
+     * Cache hits never reach the guards, concurrent misses for the same key reach them once, and
+     * misses for different keys within the batch window, opened while another lookup is loading,
+     * reach them as one lookup. Stale products are reloaded on virtual threads, stopped with the gateway.
+     */
+    @Bean(destroyMethod = "close")
+    CachingProductGateway cachingProductGateway(ResilientProductGateway resilientProductGateway, ProductCache productCache,
+                                                @Value("${product.batching.enabled:true}") boolean batchingEnabled,
+                                                @Value("${product.batching.window-ms:2}") long batchWindowMs,
+                                                @Value("${product.batching.max-size:100}") int maxBatchSize) {
+        return new CachingProductGateway(resilientProductGateway, productCache, Executors.newVirtualThreadPerTaskExecutor(),
+            Duration.ofMillis(batchWindowMs), batchingEnabled ? maxBatchSize : 1);
+    }
+
+    /**
+     * The database, read through the read routing and the guards, with no cache in front.
+     */
+    @Bean
+    ResilientProductGateway resilientProductGateway(ProductRepository productRepository, ProductEntityMapper productEntityMapper,
+                                                    ReadRouting readRouting, ResilienceGuards resilienceGuards) {
+        return new ResilientProductGateway(new ProductRepositoryGateway(productRepository, productEntityMapper, readRouting), resilienceGuards);
+    }
+
+    @Bean
+    ProductCache productCache(
+            @Value("${product.cache.max-entries-per-store:2000}") int maxEntriesPerStore,
+            @Value("${product.cache.ttl-ms:30000}") long ttlMillis,
+            @Value("${product.cache.refresh-after-ms:20000}") long refreshAfterMillis) {
+        return new ProductCache(maxEntriesPerStore, ttlMillis, refreshAfterMillis);
     }
 
     @Bean
@@ -60,18 +158,37 @@ public class ProductConfig {
         return new ProductEntityMapper();
     }
 
+    /**
+     * Compressed catalog responses, gzipped from the same size threshold as the server's own compression.
+     */
+    @Bean
+    CatalogResponseCache catalogResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${product.response-cache.max-entries:64}") int maxEntries,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minCompressSize) {
+        return new CatalogResponseCache(objectMapper, maxEntries, minCompressSize.toBytes());
+    }
+
     @Bean
     ProductDTOMapper productDTOMapper() {
         return new ProductDTOMapper();
     }
     
     /**
-     * Fallback implementation of DomainEventPublisher that does nothing.
-     * This will be used if the SQSDomainEventPublisher fails to initialize.
+     * Publisher used by the use cases. Events keep the search index, the change log and the
+     * menu views current and are pushed to stream subscribers; outbound SQS publishing stays
+     * disabled (no-op) as before. Menu views follow the change log, as they are stamped with its version.
      */
     @Bean
     @Primary
-    DomainEventPublisher noOpDomainEventPublisher() {
-        return new NoOpDomainEventPublisher();
+    DomainEventPublisher domainEventPublisher(InMemoryProductSearchIndex productSearchIndex, MongoProductChangeLog productChangeLog,
+                                              MongoMenuView menuView, ProductEventStream productEventStream,
+                                              @Value("${request.deadline.min-publish-ms:2000}") long minPublishMs) {
+        return new CompositeDomainEventPublisher(List.of(
+            new NoOpDomainEventPublisher(),
+            productSearchIndex::apply,
+            productChangeLog::apply,
+            menuView::apply,
+            productEventStream::apply), Duration.ofMillis(minPublishMs));
     }
 }
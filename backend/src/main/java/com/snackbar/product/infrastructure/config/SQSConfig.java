@@ -8,11 +8,15 @@ import org.springframework.context.annotation.Configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOrigin;
 
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sqs.SqsClient;
 
+import java.net.InetAddress;
+import java.util.UUID;
+
 /**
  * Configuration for AWS SQS.
  */
@@ -24,6 +28,12 @@ public class SQSConfig {
     @Value("${aws.region}")
     private String region;
     
+    @Value("${aws.sqs.origin.node-id:}")
+    private String originNodeId;
+    
+    @Value("${aws.sqs.origin.cluster-id:}")
+    private String originClusterId;
+    
     /**
      * Creates an ObjectMapper bean with JavaTimeModule registered.
      * This is necessary for proper serialization/deserialization of Java 8 date/time types.
@@ -59,4 +69,28 @@ public class SQSConfig {
             throw e;
         }
     }
+    
+    /**
+     * Creates the origin used to tag outgoing SQS messages.
+     * When no node ID is configured, the hostname plus a random suffix is used.
+     * 
+     * @return The origin of this node
+     */
+    @Bean
+    public MessageOrigin messageOrigin() {
+        String nodeId = (originNodeId == null || originNodeId.isBlank()) ? generateNodeId() : originNodeId;
+        MessageOrigin origin = new MessageOrigin(nodeId, originClusterId);
+        logger.info("SQS message origin: {}", origin);
+        return origin;
+    }
+    
+    private String generateNodeId() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + suffix;
+        } catch (Exception e) {
+            logger.warn("Could not resolve hostname for SQS origin node ID", e);
+            return "node-" + suffix;
+        }
+    }
 }
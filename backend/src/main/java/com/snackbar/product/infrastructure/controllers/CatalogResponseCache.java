@@ -0,0 +1,127 @@
+package com.snackbar.product.infrastructure.controllers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialized, gzip-compressed catalog responses keyed by catalog version.
+ * A catalog that has not changed is compressed once, at the highest level, and then served
+ * as is; new versions get new keys, so stale entries are never served and simply age out
+ * in least recently used order. Bodies below the compression threshold are kept uncompressed.
+ */
+public class CatalogResponseCache {
+
+    /**
+     * A serialized response body.
+     *
+     * @param body The JSON body, gzip-compressed if gzipped is true
+     * @param gzipped Whether the body must be sent with Content-Encoding: gzip
+     */
+    public record Entry(byte[] body, boolean gzipped) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final long minCompressBytes;
+    private final Map<String, Entry> entries;
+
+    public CatalogResponseCache(ObjectMapper objectMapper, int maxEntries, long minCompressBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Catalog response cache size must be at least 1");
+        }
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.minCompressBytes = minCompressBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CatalogResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached body for a key, building, serializing and compressing it on a miss.
+     *
+     * @param key Identifies the response; must change whenever its content may change
+     * @param body Builds the response object on a miss
+     * @return The serialized body
+     */
+    public Entry get(String key, Supplier<Object> body) {
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Built outside the lock; concurrent misses for the same key may each build it, with the same result
+        Entry entry = serialize(body.get());
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param acceptEncoding The Accept-Encoding request header, may be null
+     * @return Whether the client accepts gzip, listed by name or through *, and not with q=0
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].replace(" ", "").matches("q=0(\\.0{0,3})?")) {
+                    accepted = false;
+                }
+            }
+            if (name.equals("gzip")) {
+                // An explicit entry wins over *
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+
+    private Entry serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            if (json.length < minCompressBytes) {
+                return new Entry(json, false);
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed) {
+                {
+                    // Compressed once and served many times, so the slowest level pays off
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                gzip.write(json);
+            }
+            return new Entry(compressed.toByteArray(), true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize catalog response", e);
+        }
+    }
+}
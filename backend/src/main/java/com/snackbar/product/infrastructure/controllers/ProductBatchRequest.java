@@ -0,0 +1,7 @@
+package com.snackbar.product.infrastructure.controllers;
+
+import java.util.List;
+
+public record ProductBatchRequest (List<String> ids) {
+    
+}
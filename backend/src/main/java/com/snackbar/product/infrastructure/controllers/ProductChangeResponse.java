@@ -0,0 +1,5 @@
+package com.snackbar.product.infrastructure.controllers;
+
+public record ProductChangeResponse (long sequence, String productId, boolean deleted, GetProductResponse product) {
+    
+}
@@ -0,0 +1,7 @@
+package com.snackbar.product.infrastructure.controllers;
+
+import java.util.List;
+
+public record ProductChangesResponse (List<ProductChangeResponse> changes, long nextSince, boolean hasMore, boolean resyncRequired) {
+    
+}
@@ -3,19 +3,33 @@ package com.snackbar.product.infrastructure.controllers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.snackbar.infrastructure.deadline.RequestTimeout;
+import com.snackbar.infrastructure.logging.LogSampler;
+import com.snackbar.product.application.ports.in.ProductBatchResult;
+import com.snackbar.product.application.ports.in.ProductChangeFeed;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
 import com.snackbar.product.application.usecases.*;
 import com.snackbar.product.domain.entity.Product;
 import com.snackbar.product.infrastructure.controllers.dto.ResponseDTO;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/product")
 public class ProductController {
   
+    // Identifies the store whose catalog a request targets; absent means the default store
+    public static final String STORE_ID_HEADER = "X-Store-Id";
+    
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
     
     private final CreateProductUseCase createProductUseCase;
@@ -25,7 +39,12 @@ public class ProductController {
     private final GetProductByNameUseCase getProductByNameUseCase;
     private final UpdateProductByIdUseCase updateProductByIdUseCase;
     private final DeleteProductByIdUseCase deleteProductByIdUseCase;
+    private final SearchProductsUseCase searchProductsUseCase;
+    private final GetProductsByIdsUseCase getProductsByIdsUseCase;
+    private final GetProductChangesUseCase getProductChangesUseCase;
+    private final CatalogResponseCache catalogResponseCache;
     private final ProductDTOMapper productDTOMapper;
+    private final LogSampler createdSampler;
 
     @Autowired
     public ProductController(
@@ -36,7 +55,12 @@ public class ProductController {
             GetProductByNameUseCase getProductByNameUseCase,
             UpdateProductByIdUseCase updateProductByIdUseCase,
             DeleteProductByIdUseCase deleteProductByIdUseCase,
-            ProductDTOMapper productDTOMapper) {
+            SearchProductsUseCase searchProductsUseCase,
+            GetProductsByIdsUseCase getProductsByIdsUseCase,
+            GetProductChangesUseCase getProductChangesUseCase,
+            CatalogResponseCache catalogResponseCache,
+            ProductDTOMapper productDTOMapper,
+            LogSampler createdSampler) {
         this.createProductUseCase = createProductUseCase;
         this.getProductByIdUseCase = getProductByIdUseCase;
         this.listProductUseCase = listProductUseCase;
@@ -44,21 +68,29 @@ public class ProductController {
         this.getProductByNameUseCase = getProductByNameUseCase;
         this.updateProductByIdUseCase = updateProductByIdUseCase;
         this.deleteProductByIdUseCase = deleteProductByIdUseCase;
+        this.searchProductsUseCase = searchProductsUseCase;
+        this.getProductsByIdsUseCase = getProductsByIdsUseCase;
+        this.getProductChangesUseCase = getProductChangesUseCase;
+        this.catalogResponseCache = catalogResponseCache;
         this.productDTOMapper = productDTOMapper;
+        this.createdSampler = createdSampler;
     }
 
     @PostMapping
-    public ResponseEntity<ResponseDTO> createProduct(@RequestBody CreateProductRequest request) {
+    public ResponseEntity<ResponseDTO> createProduct(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @RequestBody CreateProductRequest request) {
+        String store = Product.normalizeStoreId(storeId);
         if (request == null) {
             return ResponseEntity.badRequest().body(
                 new ResponseDTO(false, "Request body cannot be null", null));
         }
         
         try {
-            logger.info("Creating product with name: {}, category: {}", request.name(), request.category());
+            logger.debug("Creating product with name: {}, category: {}", request.name(), request.category());
             logger.debug("Full product request: {}", request);
             
-            Product product = productDTOMapper.createRequestToDomain(request);
+            Product product = productDTOMapper.createRequestToDomain(request).withStoreId(store);
             logger.debug("Converted to domain object: {}", product);
             
             Product createdProduct = createProductUseCase.createProduct(product);
@@ -71,7 +103,11 @@ public class ProductController {
             }
             
             CreateProductResponse response = productDTOMapper.createToResponse(createdProduct);
-            logger.info("Product created successfully with ID: {}", createdProduct.id());
+            if (createdSampler.sample()) {
+                logger.info("Product created successfully with ID: {} (1 in {} creations logged)", createdProduct.id(), createdSampler.getOneIn());
+            } else {
+                logger.debug("Product created successfully with ID: {}", createdProduct.id());
+            }
             return ResponseEntity.ok(new ResponseDTO(true, "Product created successfully", response));
         } catch (Exception e) {
             // Log the actual exception for debugging
@@ -85,50 +121,154 @@ public class ProductController {
     }
 
     @GetMapping("/id/{id}")
-    public ResponseEntity<ResponseDTO> getProductById(@PathVariable("id") String id) {
+    public ResponseEntity<ResponseDTO> getProductById(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @PathVariable("id") String id) {
         if (id == null || id.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(
                 new ResponseDTO(false, "Product ID cannot be null or empty", null));
         }
         
-        Product retrievedProduct = getProductByIdUseCase.getProductById(id);
+        Product retrievedProduct = getProductByIdUseCase.getProductById(Product.normalizeStoreId(storeId), id);
         GetProductResponse response = productDTOMapper.getToResponse(retrievedProduct);
         return ResponseEntity.ok(new ResponseDTO(true, "Product retrieved successfully", response));
     }
 
-    @GetMapping
-    public ResponseEntity<ResponseDTO> listProduct() {
-        List<Product> retrievedProductList = listProductUseCase.listProduct();
-        List<GetProductResponse> response = productDTOMapper.listToResponse(retrievedProductList);
+    @PostMapping("/batch")
+    @RequestTimeout(15000)
+    public ResponseEntity<ResponseDTO> getProductsByIds(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @RequestBody ProductBatchRequest request) {
+        if (request == null || request.ids() == null || request.ids().isEmpty()) {
+            return ResponseEntity.badRequest().body(
+                new ResponseDTO(false, "Product IDs cannot be null or empty", null));
+        }
+        
+        ProductBatchResult result = getProductsByIdsUseCase.getProductsByIds(Product.normalizeStoreId(storeId), request.ids());
+        ProductBatchResponse response = productDTOMapper.batchToResponse(result);
         return ResponseEntity.ok(new ResponseDTO(true, "Products retrieved successfully", response));
     }
 
+    @GetMapping
+    public ResponseEntity<?> listProduct(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(value = "fields", required = false) String fields) {
+        String store = Product.normalizeStoreId(storeId);
+        Set<ProductField> selectedFields = parseFields(fields);
+        // The version is read before the list, so a change made in between only makes the ETag stale, never wrong
+        long catalogVersion = getProductChangesUseCase.getCatalogVersion(store);
+        String version = store + "-" + catalogVersion;
+        String eTag = "\"" + version + "\"";
+        // The gzip representation has its own strong ETag, as its bytes differ
+        String gzipETag = "\"" + version + "-gzip\"";
+        if (eTag.equals(ifNoneMatch) || gzipETag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ifNoneMatch).build();
+        }
+        
+        if (!CatalogResponseCache.acceptsGzip(acceptEncoding)) {
+            return ResponseEntity.ok().eTag(eTag).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(listBody(store, selectedFields, catalogVersion));
+        }
+        // Tomcat does not compress responses with strong ETags, so unchanged catalogs are compressed once here
+        String cacheKey = version + "|" + (selectedFields != null ? selectedFields : "*");
+        CatalogResponseCache.Entry entry = catalogResponseCache.get(cacheKey, () -> listBody(store, selectedFields, catalogVersion));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (entry.gzipped()) {
+            response.eTag(gzipETag).header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        } else {
+            response.eTag(eTag);
+        }
+        return response.body(entry.body());
+    }
+
+    private ResponseDTO listBody(String store, Set<ProductField> fields, long catalogVersion) {
+        // The body is cached under the ETag's version, so it must reflect at least that version
+        Object response = fields == null
+            ? productDTOMapper.menuToResponse(listProductUseCase.listMenu(store, catalogVersion))
+            : productDTOMapper.projectionListToResponse(listProductUseCase.listProduct(store, fields), fields);
+        return new ResponseDTO(true, "Products retrieved successfully", response);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseDTO> getProductChanges(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        ProductChangeFeed feed = getProductChangesUseCase.getChanges(
+            Product.normalizeStoreId(storeId), since != null ? since : 0, limit != null ? limit : GetProductChangesUseCase.DEFAULT_LIMIT);
+        ProductChangesResponse response = productDTOMapper.changesToResponse(feed);
+        return ResponseEntity.ok(new ResponseDTO(true, "Product changes retrieved successfully", response));
+    }
+
     @GetMapping("/category/{category}")
-    public ResponseEntity<ResponseDTO> getProductByCategory(@PathVariable("category") String category) {
+    public ResponseEntity<ResponseDTO> getProductByCategory(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @PathVariable("category") String category,
+            @RequestParam(value = "fields", required = false) String fields) {
         if (category == null || category.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(
                 new ResponseDTO(false, "Product category cannot be null or empty", null));
         }
         
-        List<Product> retrievedProductList = getProductByCategoryUseCase.getProductByCategory(category);
-        List<GetProductResponse> response = productDTOMapper.listToResponse(retrievedProductList);
+        Set<ProductField> selectedFields = parseFields(fields);
+        if (selectedFields != null) {
+            List<ProductProjection> retrievedProjectionList = getProductByCategoryUseCase.getProductByCategory(
+                Product.normalizeStoreId(storeId), category, selectedFields);
+            return ResponseEntity.ok(new ResponseDTO(true, "Products retrieved successfully",
+                productDTOMapper.projectionListToResponse(retrievedProjectionList, selectedFields)));
+        }
+        
+        String store = Product.normalizeStoreId(storeId);
+        List<GetProductResponse> response = productDTOMapper.menuToResponse(getProductByCategoryUseCase.getMenuByCategory(store, category));
         return ResponseEntity.ok(new ResponseDTO(true, "Products retrieved successfully", response));
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<ResponseDTO> getProductByName(@PathVariable("name") String name) {
+    public ResponseEntity<ResponseDTO> getProductByName(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @PathVariable("name") String name) {
         if (name == null || name.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(
                 new ResponseDTO(false, "Product name cannot be null or empty", null));
         }
         
-        Product retrievedProduct = getProductByNameUseCase.getProductByName(name);
+        Product retrievedProduct = getProductByNameUseCase.getProductByName(Product.normalizeStoreId(storeId), name);
         GetProductResponse response = productDTOMapper.getToResponse(retrievedProduct);
         return ResponseEntity.ok(new ResponseDTO(true, "Product retrieved successfully", response));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ResponseDTO> searchProducts(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "fields", required = false) String fields) {
+        if (query == null || query.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(
+                new ResponseDTO(false, "Search query cannot be null or empty", null));
+        }
+        
+        List<Product> retrievedProductList = searchProductsUseCase.searchProducts(
+            Product.normalizeStoreId(storeId), query, limit != null ? limit : SearchProductsUseCase.DEFAULT_LIMIT);
+        Set<ProductField> selectedFields = parseFields(fields);
+        if (selectedFields != null) {
+            // Search results come from the in-memory index, so the fields are only dropped from the response
+            return ResponseEntity.ok(new ResponseDTO(true, "Products retrieved successfully",
+                productDTOMapper.projectListToResponse(retrievedProductList, selectedFields)));
+        }
+        List<GetProductResponse> response = productDTOMapper.listToResponse(retrievedProductList);
+        return ResponseEntity.ok(new ResponseDTO(true, "Products retrieved successfully", response));
+    }
+
     @PutMapping("/id/{id}")
-    public ResponseEntity<ResponseDTO> updateProductById(@PathVariable("id") String id, @RequestBody CreateProductRequest request) {
+    public ResponseEntity<ResponseDTO> updateProductById(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @PathVariable("id") String id,
+            @RequestBody CreateProductRequest request) {
         if (id == null || id.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(
                 new ResponseDTO(false, "Product ID cannot be null or empty", null));
@@ -140,7 +280,7 @@ public class ProductController {
         }
         
         Product product = productDTOMapper.createRequestToDomain(request);
-        Product updatedProduct = updateProductByIdUseCase.updateProductById(id, product);
+        Product updatedProduct = updateProductByIdUseCase.updateProductById(Product.normalizeStoreId(storeId), id, product);
         
         if (updatedProduct == null) {
             return ResponseEntity.internalServerError().body(
@@ -152,13 +292,34 @@ public class ProductController {
     }
 
     @DeleteMapping("/id/{id}")
-    public ResponseEntity<ResponseDTO> deleteProduct(@PathVariable String id) {
+    public ResponseEntity<ResponseDTO> deleteProduct(
+            @RequestHeader(value = STORE_ID_HEADER, required = false) String storeId,
+            @PathVariable String id) {
         if (id == null || id.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(
                 new ResponseDTO(false, "Product ID cannot be null or empty", null));
         }
         
-        deleteProductByIdUseCase.deleteProductById(id);
+        deleteProductByIdUseCase.deleteProductById(Product.normalizeStoreId(storeId), id);
         return ResponseEntity.ok(new ResponseDTO(true, "Product deleted successfully", null));
     }
+
+    /**
+     * Parses a comma-separated field selection such as "id,name,price".
+     *
+     * @return The selected fields, or null when none are given, meaning every field
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    private static Set<ProductField> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<ProductField> selectedFields = EnumSet.noneOf(ProductField.class);
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                selectedFields.add(ProductField.fromName(field.trim()));
+            }
+        }
+        return selectedFields.isEmpty() ? null : selectedFields;
+    }
 }
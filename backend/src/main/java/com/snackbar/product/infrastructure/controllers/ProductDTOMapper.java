@@ -1,7 +1,15 @@
 package com.snackbar.product.infrastructure.controllers;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.snackbar.product.application.ports.in.ProductBatchResult;
+import com.snackbar.product.application.ports.in.ProductChangeFeed;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.application.ports.out.ProductMenuView;
 import com.snackbar.product.domain.entity.Product;
 
 public class ProductDTOMapper {
@@ -37,4 +45,63 @@ public class ProductDTOMapper {
             .toList();
     }
     
+    List<GetProductResponse> menuToResponse(List<ProductMenuView.Item> menu) {
+        return menu.stream()
+            .map(item -> new GetProductResponse(item.id(), item.name(), item.category(), item.description(), item.price(), item.cookingTime()))
+            .toList();
+    }
+    
+    // Only the selected fields are written, in the order they are declared in ProductField
+    List<Map<String, Object>> projectionListToResponse(List<ProductProjection> projections, Set<ProductField> fields) {
+        if (projections == null) {
+            return List.of();
+        }
+        return projections.stream()
+            .map(projection -> projectionToResponse(projection, fields))
+            .toList();
+    }
+    
+    List<Map<String, Object>> projectListToResponse(List<Product> listProduct, Set<ProductField> fields) {
+        if (listProduct == null) {
+            return List.of();
+        }
+        return listProduct.stream()
+            .map(product -> projectionToResponse(new ProductProjection(product.id(), product.name(), product.category(),
+                product.description(), product.price(), product.cookingTime()), fields))
+            .toList();
+    }
+    
+    private Map<String, Object> projectionToResponse(ProductProjection projection, Set<ProductField> fields) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        for (ProductField field : ProductField.values()) {
+            if (!fields.contains(field)) {
+                continue;
+            }
+            Object value = switch (field) {
+                case ID -> projection.id();
+                case NAME -> projection.name();
+                case CATEGORY -> projection.category();
+                case DESCRIPTION -> projection.description();
+                case PRICE -> projection.price();
+                case COOKING_TIME -> projection.cookingTime();
+            };
+            response.put(field.fieldName(), value);
+        }
+        return response;
+    }
+    
+    ProductBatchResponse batchToResponse(ProductBatchResult result) {
+        if (result == null) {
+            return new ProductBatchResponse(List.of(), List.of());
+        }
+        return new ProductBatchResponse(listToResponse(result.products()), result.missingIds());
+    }
+    
+    ProductChangesResponse changesToResponse(ProductChangeFeed feed) {
+        List<ProductChangeResponse> changes = feed.changes().stream()
+            .map(change -> new ProductChangeResponse(change.sequence(), change.productId(), change.deleted(), getToResponse(change.product())))
+            .toList();
+        return new ProductChangesResponse(changes, feed.nextSince(), feed.hasMore(), feed.resyncRequired());
+    }
+    
 }
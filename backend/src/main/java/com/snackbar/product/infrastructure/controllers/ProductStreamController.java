@@ -0,0 +1,39 @@
+package com.snackbar.product.infrastructure.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.infrastructure.stream.ProductEventStream;
+
+/**
+ * Pushes changes to a store's products as Server-Sent Events, so kiosks and menu boards
+ * no longer poll the product list.
+ */
+@RestController
+@RequestMapping("/api/product")
+public class ProductStreamController {
+
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final ProductEventStream productEventStream;
+
+    public ProductStreamController(ProductEventStream productEventStream) {
+        this.productEventStream = productEventStream;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProducts(
+            @RequestHeader(value = ProductController.STORE_ID_HEADER, required = false) String storeId,
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return productEventStream.subscribe(Product.normalizeStoreId(storeId), lastEventId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+}
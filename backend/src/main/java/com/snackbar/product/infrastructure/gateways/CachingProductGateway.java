@@ -0,0 +1,262 @@
+package com.snackbar.product.infrastructure.gateways;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.snackbar.infrastructure.concurrent.MicroBatcher;
+import com.snackbar.infrastructure.concurrent.SingleFlight;
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.persistence.routing.ReadRouting;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.exceptions.ProductNotFoundException;
+
+/**
+ * ProductGateway decorator that answers lookups by ID from a {@link ProductCache} first.
+ * Products written or read through the gateway are cached, and deleted products are evicted,
+ * so this node sees its own writes immediately; products read before a write are not cached
+ * once it is.
+ * <p>
+ * Concurrent lookups of the same product by ID or name, and listings of the same store, are
+ * collapsed into one call with a {@link SingleFlight}, so a burst of misses after a restart or a
+ * catalog change costs one query per key. Stale cache hits are served while the product is
+ * reloaded in the background, at background priority, by one call per product.
+ * <p>
+ * Lookups by ID of different products that miss the cache together are gathered by a
+ * {@link MicroBatcher} into one lookup of several IDs per store, a single $in query.
+ */
+public class CachingProductGateway implements ProductGateway, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingProductGateway.class);
+
+    // Reads pinned to the primary must not be handed the result of a read sent to a secondary
+    private record LookupKey(String storeId, String id, String name, boolean primary) {
+
+        static LookupKey byId(String storeId, String id) {
+            return new LookupKey(storeId, id, null, ReadRouting.isPinnedToPrimary());
+        }
+
+        static LookupKey byName(String storeId, String name) {
+            return new LookupKey(storeId, null, name, ReadRouting.isPinnedToPrimary());
+        }
+
+        static LookupKey byStore(String storeId) {
+            return new LookupKey(storeId, null, null, ReadRouting.isPinnedToPrimary());
+        }
+
+        static LookupKey ofStore(LookupKey key) {
+            return new LookupKey(key.storeId(), null, null, key.primary());
+        }
+    }
+
+    private final ProductGateway delegate;
+    private final ProductCache cache;
+    private final Executor refresher;
+    private final SingleFlight<LookupKey, Product> productLookups = new SingleFlight<>();
+    private final SingleFlight<LookupKey, List<Product>> storeLookups = new SingleFlight<>();
+    // Null when lookups are not batched
+    private final MicroBatcher<LookupKey, Product> idLookups;
+
+    public CachingProductGateway(ProductGateway delegate, ProductCache cache, Executor refresher) {
+        this(delegate, cache, refresher, Duration.ZERO, 1);
+    }
+
+    public CachingProductGateway(ProductGateway delegate, ProductCache cache, Executor refresher,
+                                 Duration batchWindow, int maxBatchSize) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.refresher = refresher;
+        this.idLookups = maxBatchSize > 1 ? new MicroBatcher<>(this::loadBatch, batchWindow, maxBatchSize) : null;
+    }
+
+    @Override
+    public Product createProduct(Product product) {
+        try {
+            Product created = delegate.createProduct(product);
+            cache.put(created);
+            return created;
+        } finally {
+            forgetLookups(product.storeId());
+        }
+    }
+
+    @Override
+    public Product getProductById(String storeId, String id) {
+        ProductCache.Hit hit = cache.lookup(storeId, id);
+        if (hit != null) {
+            if (hit.stale()) {
+                refresh(hit.product());
+            }
+            return hit.product();
+        }
+        LookupKey key = LookupKey.byId(storeId, id);
+        return productLookups.execute(key, () -> {
+            long stamp = cache.stamp(storeId);
+            Product product = idLookups != null ? idLookups.load(key) : delegate.getProductById(storeId, id);
+            if (product == null) {
+                throw ProductNotFoundException.withId(id);
+            }
+            cache.put(product, stamp);
+            return product;
+        });
+    }
+
+    @Override
+    public List<Product> getProductsByIds(String storeId, List<String> ids) {
+        Map<String, Product> cached = cache.getAll(storeId, ids);
+        if (cached.size() == ids.size()) {
+            return new ArrayList<>(cached.values());
+        }
+
+        List<String> missing = new ArrayList<>(ids.size() - cached.size());
+        for (String id : ids) {
+            if (!cached.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        long stamp = cache.stamp(storeId);
+        List<Product> loaded = delegate.getProductsByIds(storeId, missing);
+        loaded.forEach(product -> cache.put(product, stamp));
+
+        List<Product> products = new ArrayList<>(cached.values());
+        products.addAll(loaded);
+        return products;
+    }
+
+    @Override
+    public List<Product> listProduct(String storeId) {
+        return storeLookups.execute(LookupKey.byStore(storeId), () -> {
+            long stamp = cache.stamp(storeId);
+            // Handed to every caller of the flight, so none of them may change it
+            List<Product> products = List.copyOf(delegate.listProduct(storeId));
+            products.forEach(product -> cache.put(product, stamp));
+            return products;
+        });
+    }
+
+    @Override
+    public List<ProductProjection> listProductFields(String storeId, String category, Set<ProductField> fields) {
+        // Partial products cannot answer lookups by ID, so they bypass the cache
+        return delegate.listProductFields(storeId, category, fields);
+    }
+
+    @Override
+    public List<Product> listAllProducts() {
+        // Bulk reads would only churn the cache
+        return delegate.listAllProducts();
+    }
+
+    @Override
+    public List<Product> getProductByCategory(String storeId, String category) {
+        long stamp = cache.stamp(storeId);
+        List<Product> products = delegate.getProductByCategory(storeId, category);
+        products.forEach(product -> cache.put(product, stamp));
+        return products;
+    }
+
+    @Override
+    public Product getProductByName(String storeId, String name) {
+        return productLookups.execute(LookupKey.byName(storeId, name), () -> {
+            long stamp = cache.stamp(storeId);
+            Product product = delegate.getProductByName(storeId, name);
+            cache.put(product, stamp);
+            return product;
+        });
+    }
+
+    @Override
+    public Product updateProductById(String storeId, String id, Product product) {
+        // Evict first so a failed update does not leave the old version cached as current; reads
+        // in flight cannot cache it again, and the updated product is cached once it is written
+        cache.invalidate(storeId, id);
+        try {
+            Product updated = delegate.updateProductById(storeId, id, product);
+            cache.put(updated);
+            return updated;
+        } finally {
+            forgetLookups(storeId);
+        }
+    }
+
+    @Override
+    public void deleteProductById(String storeId, String id) {
+        cache.invalidate(storeId, id);
+        try {
+            delegate.deleteProductById(storeId, id);
+        } finally {
+            forgetLookups(storeId);
+        }
+    }
+
+    /**
+     * Called once a write to a store is over, failed writes included as they may have been applied:
+     * makes later lookups of the store read it again, instead of joining lookups that may have read
+     * it before the write.
+     */
+    private void forgetLookups(String storeId) {
+        productLookups.forget(key -> Objects.equals(key.storeId(), storeId));
+        storeLookups.forget(key -> Objects.equals(key.storeId(), storeId));
+    }
+
+    /**
+     * Loads a batch of lookups by ID with one lookup of several IDs per store and read routing.
+     */
+    private Map<LookupKey, Product> loadBatch(List<LookupKey> keys) {
+        Map<LookupKey, List<String>> idsByStore = new HashMap<>();
+        for (LookupKey key : keys) {
+            idsByStore.computeIfAbsent(LookupKey.ofStore(key), store -> new ArrayList<>()).add(key.id());
+        }
+        Map<LookupKey, Product> products = new HashMap<>();
+        idsByStore.forEach((store, ids) -> {
+            try (ThreadScope routing = store.primary() ? ReadRouting.pinToPrimary() : ThreadScope.NONE) {
+                for (Product product : delegate.getProductsByIds(store.storeId(), ids)) {
+                    products.put(new LookupKey(store.storeId(), product.id(), null, store.primary()), product);
+                }
+            }
+        });
+        return products;
+    }
+
+    private void refresh(Product stale) {
+        // Reloads run on the refresher, at background priority, where reads are never pinned to the primary
+        try (ThreadScope priority = AdaptiveConcurrencyLimiter.background()) {
+            productLookups.executeAsync(new LookupKey(stale.storeId(), stale.id(), null, false), () -> {
+                try {
+                    Product reloaded = delegate.getProductById(stale.storeId(), stale.id());
+                    cache.replace(stale, reloaded);
+                    return reloaded;
+                } catch (ProductNotFoundException e) {
+                    cache.invalidate(stale.storeId(), stale.id());
+                    throw e;
+                } catch (RuntimeException e) {
+                    // The stale product keeps being served until it expires
+                    logger.debug("Could not refresh product {} of store {}: {}", stale.id(), stale.storeId(), e.toString());
+                    throw e;
+                }
+            }, refresher);
+        }
+    }
+
+    /**
+     * Stops the background reloads on shutdown, waiting for the running ones.
+     */
+    @Override
+    public void close() {
+        if (refresher instanceof ExecutorService executor) {
+            executor.close();
+        }
+    }
+}
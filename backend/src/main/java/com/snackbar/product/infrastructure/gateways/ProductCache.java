@@ -0,0 +1,274 @@
+package com.snackbar.product.infrastructure.gateways;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.snackbar.product.domain.entity.Product;
+
+/**
+ * Bounded, time-limited cache of products, partitioned by store so one store's traffic neither
+ * evicts nor invalidates another store's products. Each store holds at most the given number of
+ * products, evicting the least recently used first, under a lock of its own. Entries older than
+ * the TTL are treated as missing, which bounds how long writes made by other nodes can go unseen.
+ * Entries older than the refresh-after time are still served, but flagged as stale, so callers
+ * can reload them in the background before they expire.
+ * <p>
+ * Products read from the database are cached with the {@link #stamp(String)} of their store taken
+ * before the read, and only if nothing was written or invalidated in the store since, so a read
+ * that started before a write cannot put the product as it was before the write back once the
+ * write is cached. Stores get a partition when a product of theirs is cached or invalidated, so
+ * lookups of unknown stores do not grow the cache.
+ */
+public class ProductCache {
+
+    private record Entry(Product product, long refreshAtNanos, long expiresAtNanos) {
+    }
+
+    /**
+     * A cached product.
+     *
+     * @param product The product
+     * @param stale Whether it is older than the refresh-after time, and should be reloaded
+     */
+    public record Hit(Product product, boolean stale) {
+    }
+
+    /**
+     * The products of one store, guarded by its own monitor.
+     */
+    private final class Partition {
+
+        private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntriesPerStore;
+            }
+        };
+        // Incremented by every write and invalidation of the store
+        private long generation;
+
+        Partition(long generation) {
+            this.generation = generation;
+        }
+
+        Hit lookup(String productId, long now) {
+            Entry entry = entries.get(productId);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAtNanos() >= 0) {
+                entries.remove(productId);
+                return null;
+            }
+            return new Hit(entry.product(), now - entry.refreshAtNanos() >= 0);
+        }
+    }
+
+    private final int maxEntriesPerStore;
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    // Stamp of the stores without a partition, which partitions start from; raised when the cache is
+    // cleared or a product is invalidated in every store, so reads of those stores in flight are superseded
+    private final AtomicLong baseGeneration = new AtomicLong();
+
+    public ProductCache(int maxEntriesPerStore, long ttlMillis) {
+        this(maxEntriesPerStore, ttlMillis, ttlMillis);
+    }
+
+    public ProductCache(int maxEntriesPerStore, long ttlMillis, long refreshAfterMillis) {
+        this(maxEntriesPerStore, ttlMillis, refreshAfterMillis, System::nanoTime);
+    }
+
+    ProductCache(int maxEntriesPerStore, long ttlMillis, LongSupplier nanoClock) {
+        this(maxEntriesPerStore, ttlMillis, ttlMillis, nanoClock);
+    }
+
+    ProductCache(int maxEntriesPerStore, long ttlMillis, long refreshAfterMillis, LongSupplier nanoClock) {
+        if (maxEntriesPerStore < 1) {
+            throw new IllegalArgumentException("Product cache size must be at least 1");
+        }
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("Product cache TTL must be positive");
+        }
+        if (refreshAfterMillis < 1 || refreshAfterMillis > ttlMillis) {
+            throw new IllegalArgumentException("Product cache refresh-after time must be positive and at most the TTL");
+        }
+        this.maxEntriesPerStore = maxEntriesPerStore;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.refreshAfterNanos = refreshAfterMillis * 1_000_000L;
+        this.nanoClock = nanoClock;
+    }
+
+    private Partition partition(String storeId) {
+        return partitions.computeIfAbsent(storeId, id -> new Partition(baseGeneration.get()));
+    }
+
+    /**
+     * @return The cached product, or null if it is not cached or has expired
+     */
+    public Product get(String storeId, String productId) {
+        Hit hit = lookup(storeId, productId);
+        return hit == null ? null : hit.product();
+    }
+
+    /**
+     * @return The cached product and whether it is stale, or null if it is not cached or has expired
+     */
+    public Hit lookup(String storeId, String productId) {
+        Partition partition = partitions.get(storeId);
+        if (partition == null) {
+            return null;
+        }
+        synchronized (partition) {
+            return partition.lookup(productId, nanoClock.getAsLong());
+        }
+    }
+
+    /**
+     * Looks up several products of one store under a single lock.
+     *
+     * @return The cached products by ID; IDs that are missing or expired are absent
+     */
+    public Map<String, Product> getAll(String storeId, Iterable<String> productIds) {
+        Map<String, Product> found = new HashMap<>();
+        Partition partition = partitions.get(storeId);
+        if (partition == null) {
+            return found;
+        }
+        synchronized (partition) {
+            long now = nanoClock.getAsLong();
+            for (String productId : productIds) {
+                Hit hit = partition.lookup(productId, now);
+                if (hit != null) {
+                    found.put(productId, hit.product());
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param storeId The ID of the store about to be read
+     * @return The stamp to cache the products of the read with
+     */
+    public long stamp(String storeId) {
+        Partition partition = partitions.get(storeId);
+        if (partition == null) {
+            return baseGeneration.get();
+        }
+        synchronized (partition) {
+            return partition.generation;
+        }
+    }
+
+    /**
+     * Caches a product as written, superseding the reads of its store in flight.
+     */
+    public void put(Product product) {
+        if (product == null || product.id() == null) {
+            return;
+        }
+        Partition partition = partition(product.storeId());
+        synchronized (partition) {
+            partition.generation++;
+            partition.entries.put(product.id(), entry(product));
+        }
+    }
+
+    /**
+     * Caches a product as read, unless a product of its store was written or invalidated since the read started.
+     *
+     * @param product The product as read
+     * @param stamp The {@link #stamp(String)} of its store taken before the read
+     * @return Whether the product was cached
+     */
+    public boolean put(Product product, long stamp) {
+        if (product == null || product.id() == null) {
+            return false;
+        }
+        Partition partition = partition(product.storeId());
+        synchronized (partition) {
+            if (stamp != partition.generation) {
+                return false;
+            }
+            partition.entries.put(product.id(), entry(product));
+            return true;
+        }
+    }
+
+    /**
+     * Replaces a product that was reloaded because it was stale, unless it was written, reloaded
+     * or invalidated meanwhile, so a reload that started before a write cannot undo it.
+     *
+     * @param stale The stale product that was reloaded
+     * @param reloaded The product as reloaded
+     * @return Whether the product was replaced
+     */
+    public boolean replace(Product stale, Product reloaded) {
+        Partition partition = partitions.get(stale.storeId());
+        if (partition == null) {
+            return false;
+        }
+        synchronized (partition) {
+            Entry entry = partition.entries.get(stale.id());
+            if (entry == null || entry.product() != stale) {
+                return false;
+            }
+            partition.entries.put(stale.id(), entry(reloaded));
+            return true;
+        }
+    }
+
+    private Entry entry(Product product) {
+        long now = nanoClock.getAsLong();
+        return new Entry(product, now + refreshAfterNanos, now + ttlNanos);
+    }
+
+    public void invalidate(String storeId, String productId) {
+        Partition partition = partition(storeId);
+        synchronized (partition) {
+            partition.generation++;
+            partition.entries.remove(productId);
+        }
+    }
+
+    /**
+     * Removes a product from every store it is cached under, for callers that only know its ID.
+     */
+    public void invalidate(String productId) {
+        // Reads of the product may be in flight in any store
+        baseGeneration.incrementAndGet();
+        for (Partition partition : partitions.values()) {
+            synchronized (partition) {
+                partition.generation++;
+                partition.entries.remove(productId);
+            }
+        }
+    }
+
+    public void clear() {
+        baseGeneration.incrementAndGet();
+        for (Partition partition : partitions.values()) {
+            synchronized (partition) {
+                partition.generation++;
+                partition.entries.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Partition partition : partitions.values()) {
+            synchronized (partition) {
+                size += partition.entries.size();
+            }
+        }
+        return size;
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.snackbar.product.application.ports.in.ProductProjection;
 import com.snackbar.product.domain.entity.Product;
 import com.snackbar.product.infrastructure.persistence.ProductEntity;
 
@@ -30,7 +31,8 @@ public class ProductEntityMapper {
             productDomainObj.category(), 
             productDomainObj.description(), 
             productDomainObj.price(), 
-            productDomainObj.cookingTime()
+            productDomainObj.cookingTime(),
+            productDomainObj.storeId()
         );
         
         logger.debug("Created entity: {}", entity);
@@ -45,13 +47,15 @@ public class ProductEntityMapper {
         
         logger.debug("Converting entity to domain object. Entity ID: {}", productEntity.getId());
         
-        Product product = new Product(
+        // Stored products were validated when they were written
+        Product product = Product.trusted(
             productEntity.getId(), 
             productEntity.getName(), 
             productEntity.getCategory(), 
             productEntity.getDescription(), 
             productEntity.getPrice(), 
-            productEntity.getCookingTime()
+            productEntity.getCookingTime(),
+            productEntity.getStoreId()
         );
         
         logger.debug("Created domain object: {}", product);
@@ -70,4 +74,15 @@ public class ProductEntityMapper {
             .map(this::toDomainObj)
             .toList();
     }
+
+    // Partially loaded entities skip domain validation, which would reject their missing fields
+    public List<ProductProjection> toProjectionList(List<ProductEntity> productEntityList) {
+        if (productEntityList == null) {
+            return List.of();
+        }
+        return productEntityList.stream()
+            .map(entity -> new ProductProjection(entity.getId(), entity.getName(), entity.getCategory(),
+                entity.getDescription(), entity.getPrice(), entity.getCookingTime()))
+            .toList();
+    }
 }
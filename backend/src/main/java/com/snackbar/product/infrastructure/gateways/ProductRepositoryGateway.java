@@ -2,11 +2,17 @@ package com.snackbar.product.infrastructure.gateways;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.ReadPreference;
+
+import com.snackbar.infrastructure.persistence.routing.ReadRouting;
 import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
 import com.snackbar.product.domain.entity.Product;
 import com.snackbar.product.domain.exceptions.ProductNotFoundException;
 import com.snackbar.product.infrastructure.persistence.ProductEntity;
@@ -18,10 +24,20 @@ public class ProductRepositoryGateway implements ProductGateway {
 
     private final ProductRepository productRepository;
     private final ProductEntityMapper productEntityMapper;
+    private final ReadRouting readRouting;
 
+    /**
+     * Creates a gateway that reads from the primary only.
+     */
     public ProductRepositoryGateway(ProductRepository productRepository, ProductEntityMapper productEntityMapper) {
+        this(productRepository, productEntityMapper, ReadRouting.primaryOnly());
+    }
+
+    public ProductRepositoryGateway(ProductRepository productRepository, ProductEntityMapper productEntityMapper,
+                                    ReadRouting readRouting) {
         this.productRepository = productRepository;
         this.productEntityMapper = productEntityMapper;
+        this.readRouting = readRouting;
     }
 
     @Override
@@ -34,6 +50,7 @@ public class ProductRepositoryGateway implements ProductGateway {
             
             // Let MongoDB generate an ObjectId if id is null
             logger.debug("Saving product entity to MongoDB");
+            readRouting.recordWrite(productEntity.getStoreId());
             ProductEntity savedObj = productRepository.save(productEntity);
             logger.debug("Saved entity: {}", savedObj);
             
@@ -47,54 +64,81 @@ public class ProductRepositoryGateway implements ProductGateway {
     }
     
     @Override
-    public Product getProductById(String productId) {
-        ProductEntity retrievedObj = productRepository.findById(productId)
+    public Product getProductById(String storeId, String productId) {
+        ProductEntity retrievedObj = productRepository.findByStoreIdAndId(storeId, productId, readRouting.catalogReads(storeId))
             .orElseThrow(() -> ProductNotFoundException.withId(productId));
         Product retrievedProduct = productEntityMapper.toDomainObj(retrievedObj);
         return retrievedProduct;
     }
 
     @Override
-    public List<Product> listProduct() {
-        List<ProductEntity> retrievedObjList = productRepository.findAll();
+    public List<Product> getProductsByIds(String storeId, List<String> ids) {
+        // One $in query regardless of how many IDs are requested
+        List<ProductEntity> retrievedObjList = productRepository.findByStoreIdAndIdIn(storeId, ids, readRouting.catalogReads(storeId));
+        return productEntityMapper.toDomainListObj(retrievedObjList);
+    }
+
+    @Override
+    public List<Product> listProduct(String storeId) {
+        List<ProductEntity> retrievedObjList = productRepository.findByStoreId(storeId, readRouting.catalogReads(storeId));
         List<Product> retrievedProductList = productEntityMapper.toDomainListObj(retrievedObjList);
         return retrievedProductList;
     }
 
     @Override
-    public List<Product> getProductByCategory(String productCategory) {
-        List<ProductEntity> retrievedObjList = productRepository.findByCategory(productCategory);
+    public List<ProductProjection> listProductFields(String storeId, String category, Set<ProductField> fields) {
+        // API field names match the ProductEntity properties
+        List<String> properties = fields.stream().map(ProductField::fieldName).toList();
+        List<ProductEntity> retrievedObjList = productRepository.findFieldsByStoreId(storeId, category, properties,
+            readRouting.catalogReads(storeId));
+        return productEntityMapper.toProjectionList(retrievedObjList);
+    }
+
+    @Override
+    public List<Product> listAllProducts() {
+        // Spans every store; only meant for bulk jobs such as rebuilding the search index, whose
+        // result replaces what they hold, so it reads from the primary to include the latest writes
+        List<ProductEntity> retrievedObjList = productRepository.findAll(ReadPreference.primary());
+        return productEntityMapper.toDomainListObj(retrievedObjList);
+    }
+
+    @Override
+    public List<Product> getProductByCategory(String storeId, String productCategory) {
+        List<ProductEntity> retrievedObjList = productRepository.findByStoreIdAndCategory(storeId, productCategory,
+            readRouting.catalogReads(storeId));
         List<Product> retrievedProductsList = productEntityMapper.toDomainListObj(retrievedObjList);
         return retrievedProductsList;
     }
 
     @Override
-    public Product getProductByName(String productName) {
-        ProductEntity retrievedObj = productRepository.findByName(productName)
+    public Product getProductByName(String storeId, String productName) {
+        ProductEntity retrievedObj = productRepository.findFirstByStoreIdAndName(storeId, productName, readRouting.catalogReads(storeId))
             .orElseThrow(() -> ProductNotFoundException.withName(productName));
         Product retrievedProduct = productEntityMapper.toDomainObj(retrievedObj);
         return retrievedProduct;
     }
 
     @Override
-    public Product updateProductById(String id, Product product) {
-        // Check if product exists
-        if (!productRepository.existsById(id)) {
+    public Product updateProductById(String storeId, String id, Product product) {
+        // Check if product exists in this store; IDs of other stores are treated as not found
+        if (!productRepository.existsByStoreIdAndId(storeId, id)) {
             throw ProductNotFoundException.withId(id);
         }
         
         ProductEntity productEntity = productEntityMapper.toEntity(product);
         productEntity.setId(id);
+        productEntity.setStoreId(storeId);
+        readRouting.recordWrite(storeId);
         ProductEntity savedObj = productRepository.save(productEntity);
         Product updatedProduct = productEntityMapper.toDomainObj(savedObj);
         return updatedProduct;
     }
 
     @Override
-    public void deleteProductById(String id) {
-        // Modified to match the test expectations
-        Optional<ProductEntity> productOpt = productRepository.findById(id);
+    public void deleteProductById(String storeId, String id) {
+        Optional<ProductEntity> productOpt = productRepository.findByStoreIdAndId(storeId, id);
         if (productOpt.isPresent()) {
+            readRouting.recordWrite(storeId);
             productRepository.delete(productOpt.get());
         } else {
             throw ProductNotFoundException.withId(id);
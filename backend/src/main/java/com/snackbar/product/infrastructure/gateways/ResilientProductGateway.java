@@ -0,0 +1,78 @@
+package com.snackbar.product.infrastructure.gateways;
+
+import java.util.List;
+import java.util.Set;
+
+import com.snackbar.infrastructure.resilience.OperationClass;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.domain.entity.Product;
+
+/**
+ * ProductGateway decorator guarding the database calls with the catalog read and catalog write
+ * {@link ResilienceGuards}. Rejected and failed calls are rethrown; reads are answered from the
+ * catalog snapshot by {@link SnapshotFallbackProductGateway}, above the cache, so snapshot
+ * answers are never cached as if the database had returned them.
+ */
+public class ResilientProductGateway implements ProductGateway {
+
+    private final ProductGateway delegate;
+    private final ResilienceGuards guards;
+
+    public ResilientProductGateway(ProductGateway delegate, ResilienceGuards guards) {
+        this.delegate = delegate;
+        this.guards = guards;
+    }
+
+    @Override
+    public Product createProduct(Product product) {
+        return guards.call(OperationClass.CATALOG_WRITE, () -> delegate.createProduct(product));
+    }
+
+    @Override
+    public Product getProductById(String storeId, String id) {
+        return guards.call(OperationClass.CATALOG_READ, () -> delegate.getProductById(storeId, id));
+    }
+
+    @Override
+    public List<Product> getProductsByIds(String storeId, List<String> ids) {
+        return guards.call(OperationClass.CATALOG_READ, () -> delegate.getProductsByIds(storeId, ids));
+    }
+
+    @Override
+    public List<Product> listProduct(String storeId) {
+        return guards.call(OperationClass.CATALOG_READ, () -> delegate.listProduct(storeId));
+    }
+
+    @Override
+    public List<ProductProjection> listProductFields(String storeId, String category, Set<ProductField> fields) {
+        return guards.call(OperationClass.CATALOG_READ, () -> delegate.listProductFields(storeId, category, fields));
+    }
+
+    @Override
+    public List<Product> listAllProducts() {
+        return guards.call(OperationClass.CATALOG_READ, delegate::listAllProducts);
+    }
+
+    @Override
+    public List<Product> getProductByCategory(String storeId, String category) {
+        return guards.call(OperationClass.CATALOG_READ, () -> delegate.getProductByCategory(storeId, category));
+    }
+
+    @Override
+    public Product getProductByName(String storeId, String name) {
+        return guards.call(OperationClass.CATALOG_READ, () -> delegate.getProductByName(storeId, name));
+    }
+
+    @Override
+    public Product updateProductById(String storeId, String id, Product product) {
+        return guards.call(OperationClass.CATALOG_WRITE, () -> delegate.updateProductById(storeId, id, product));
+    }
+
+    @Override
+    public void deleteProductById(String storeId, String id) {
+        guards.run(OperationClass.CATALOG_WRITE, () -> delegate.deleteProductById(storeId, id));
+    }
+}
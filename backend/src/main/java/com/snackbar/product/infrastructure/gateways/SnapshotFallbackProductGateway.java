@@ -0,0 +1,133 @@
+package com.snackbar.product.infrastructure.gateways;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.infrastructure.search.InMemoryProductSearchIndex;
+
+/**
+ * ProductGateway decorator answering store catalog reads the database cannot answer, because it
+ * is failing, out of time or guarded off, from the catalog snapshot kept by the search index, when
+ * it holds the store. Sits above the cache, so snapshot answers are never cached.
+ * <p>
+ * Products missing from the snapshot are not reported as not found: the snapshot may lag behind
+ * the database, so the unavailability is rethrown instead. Writes and reads spanning every store,
+ * which feed the snapshot itself, have no fallback.
+ */
+public class SnapshotFallbackProductGateway implements ProductGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotFallbackProductGateway.class);
+
+    private final ProductGateway delegate;
+    private final InMemoryProductSearchIndex snapshot;
+
+    public SnapshotFallbackProductGateway(ProductGateway delegate, InMemoryProductSearchIndex snapshot) {
+        this.delegate = delegate;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public Product createProduct(Product product) {
+        return delegate.createProduct(product);
+    }
+
+    @Override
+    public Product getProductById(String storeId, String id) {
+        return read(storeId, () -> delegate.getProductById(storeId, id), products -> products.stream()
+            .filter(product -> id.equals(product.id()))
+            .findFirst());
+    }
+
+    @Override
+    public List<Product> getProductsByIds(String storeId, List<String> ids) {
+        Set<String> wanted = new HashSet<>(ids);
+        return read(storeId, () -> delegate.getProductsByIds(storeId, ids), products -> {
+            List<Product> found = products.stream().filter(product -> wanted.contains(product.id())).toList();
+            return found.size() == wanted.size() ? Optional.of(found) : Optional.empty();
+        });
+    }
+
+    @Override
+    public List<Product> listProduct(String storeId) {
+        return read(storeId, () -> delegate.listProduct(storeId), Optional::of);
+    }
+
+    @Override
+    public List<ProductProjection> listProductFields(String storeId, String category, Set<ProductField> fields) {
+        return read(storeId, () -> delegate.listProductFields(storeId, category, fields), products -> Optional.of(products.stream()
+            .filter(product -> category == null || category.equals(product.category()))
+            .map(product -> project(product, fields))
+            .toList()));
+    }
+
+    @Override
+    public List<Product> listAllProducts() {
+        // Feeds the search index rebuild, which must never be fed from the index itself
+        return delegate.listAllProducts();
+    }
+
+    @Override
+    public List<Product> getProductByCategory(String storeId, String category) {
+        return read(storeId, () -> delegate.getProductByCategory(storeId, category), products -> Optional.of(products.stream()
+            .filter(product -> Objects.equals(category, product.category()))
+            .toList()));
+    }
+
+    @Override
+    public Product getProductByName(String storeId, String name) {
+        return read(storeId, () -> delegate.getProductByName(storeId, name), products -> products.stream()
+            .filter(product -> Objects.equals(name, product.name()))
+            .findFirst());
+    }
+
+    @Override
+    public Product updateProductById(String storeId, String id, Product product) {
+        return delegate.updateProductById(storeId, id, product);
+    }
+
+    @Override
+    public void deleteProductById(String storeId, String id) {
+        delegate.deleteProductById(storeId, id);
+    }
+
+    /**
+     * @param fallback Answers the read from the products of the store, or empty if they cannot answer it
+     */
+    private <T> T read(String storeId, Supplier<T> call, Function<List<Product>, Optional<T>> fallback) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            Optional<T> answer = ResilienceGuards.isUnavailable(e)
+                ? snapshot.snapshot(storeId).flatMap(fallback)
+                : Optional.empty();
+            if (answer.isEmpty()) {
+                throw e;
+            }
+            logger.debug("Catalog read of store {} answered from the snapshot: {}", storeId, e.toString());
+            return answer.get();
+        }
+    }
+
+    private static ProductProjection project(Product product, Set<ProductField> fields) {
+        return new ProductProjection(
+            fields.contains(ProductField.ID) ? product.id() : null,
+            fields.contains(ProductField.NAME) ? product.name() : null,
+            fields.contains(ProductField.CATEGORY) ? product.category() : null,
+            fields.contains(ProductField.DESCRIPTION) ? product.description() : null,
+            fields.contains(ProductField.PRICE) ? product.price() : null,
+            fields.contains(ProductField.COOKING_TIME) ? product.cookingTime() : null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.snackbar.product.infrastructure.messaging.event;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.deadline.Deadline;
+import com.snackbar.product.application.ports.out.DomainEventPublisher;
+import com.snackbar.product.domain.event.DomainEvent;
+
+/**
+ * DomainEventPublisher that hands every event to a list of publishers in order.
+ * A failing publisher is logged and does not stop the others, since the change
+ * that raised the event has already been stored. For the same reason, publishers get
+ * at least the given time even when the request deadline is about to pass.
+ */
+public class CompositeDomainEventPublisher implements DomainEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompositeDomainEventPublisher.class);
+
+    private final List<DomainEventPublisher> publishers;
+    private final Duration minPublishTime;
+
+    public CompositeDomainEventPublisher(List<DomainEventPublisher> publishers) {
+        this(publishers, Duration.ZERO);
+    }
+
+    public CompositeDomainEventPublisher(List<DomainEventPublisher> publishers, Duration minPublishTime) {
+        this.publishers = List.copyOf(publishers);
+        this.minPublishTime = minPublishTime;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        Objects.requireNonNull(event, "Event cannot be null");
+        try (ThreadScope scope = Deadline.atLeast(minPublishTime)) {
+            for (DomainEventPublisher publisher : publishers) {
+                try {
+                    publisher.publish(event);
+                } catch (Exception e) {
+                    logger.error("Failed to publish {} to {}", event.getClass().getSimpleName(),
+                            publisher.getClass().getSimpleName(), e);
+                }
+            }
+        }
+    }
+}
@@ -8,8 +8,8 @@ import org.springframework.stereotype.Component;
 import com.snackbar.infrastructure.messaging.sqs.producer.SQSMessageProducer;
 import com.snackbar.product.application.ports.out.DomainEventPublisher;
 import com.snackbar.product.domain.event.DomainEvent;
-import com.snackbar.infrastructure.messaging.sqs.model.SQSMessage;
 import com.snackbar.product.infrastructure.messaging.mapper.ProductMessageMapper;
+import com.snackbar.product.infrastructure.messaging.sqs.model.StandardProductMessage;
 
 /**
  * Implementation of DomainEventPublisher that publishes events to AWS SQS.
@@ -23,7 +23,7 @@ public class SQSDomainEventPublisher implements DomainEventPublisher {
     private final ProductMessageMapper messageMapper;
     private final SQSMessageProducer messageProducer;
     
-    @Value("${aws.sqs.product.events.queue.url}")
+    @Value("${aws.sqs.product.events.outbound.queue.url}")
     private String queueUrl;
     
     public SQSDomainEventPublisher(ProductMessageMapper messageMapper, SQSMessageProducer messageProducer) {
@@ -36,15 +36,16 @@ public class SQSDomainEventPublisher implements DomainEventPublisher {
         try {
             logger.debug("Publishing event: {}", event.getClass().getSimpleName());
             
-            SQSMessage message = messageMapper.toMessage(event);
+            StandardProductMessage message = messageMapper.toMessage(event);
             
             if (queueUrl == null || queueUrl.isEmpty()) {
                 throw new IllegalStateException("SQS queue URL is not configured");
             }
             
-            messageProducer.sendMessage(queueUrl, message);
+            // Partition by store so one store's events never queue behind another's
+            messageProducer.sendMessage(queueUrl, message, message.getStoreId());
             
-            logger.info("Event published to SQS: {}", event.getClass().getSimpleName());
+            logger.debug("Event published to SQS: {}", event.getClass().getSimpleName());
         } catch (IllegalStateException e) {
             // Rethrow IllegalStateException without logging as error
             // This allows tests to verify the exception without error logs
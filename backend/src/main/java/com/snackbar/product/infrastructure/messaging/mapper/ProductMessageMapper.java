@@ -27,7 +27,9 @@ public class ProductMessageMapper {
     public StandardProductMessage toMessage(DomainEvent event) {
         StandardProductMessage message = new StandardProductMessage();
         
-        // Set common fields
+        // Set common fields; the message ID is the FIFO deduplication ID, so publishing an event
+        // again, after a failed send, is not delivered twice
+        message.setMessageId(event.getEventId());
         message.setTimestamp(event.getOccurredOn().atZone(ZoneOffset.UTC).toInstant());
         
         // Set event-specific fields
@@ -40,6 +42,7 @@ public class ProductMessageMapper {
         } else if (event instanceof ProductDeletedEvent deletedEvent) {
             message.setEventType(StandardProductMessage.EVENT_TYPE_DELETED);
             message.setProductId(deletedEvent.getProductId());
+            message.setStoreId(deletedEvent.getStoreId());
         } else {
             throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
         }
@@ -60,6 +63,7 @@ public class ProductMessageMapper {
         message.setDescription(product.description());
         message.setPrice(product.price());
         message.setCookingTime(product.cookingTime());
+        message.setStoreId(product.storeId());
     }
     
     /**
@@ -79,7 +83,8 @@ public class ProductMessageMapper {
             message.getCategory(),
             message.getDescription(),
             message.getPrice(),
-            message.getCookingTime() != null ? message.getCookingTime() : 0
+            message.getCookingTime() != null ? message.getCookingTime() : 0,
+            message.getStoreId()
         );
     }
 }
@@ -0,0 +1,29 @@
+package com.snackbar.product.infrastructure.messaging.sqs.consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.snackbar.infrastructure.messaging.sqs.consumer.ErrorClassification;
+import com.snackbar.infrastructure.messaging.sqs.consumer.MessageErrorClassifier;
+import com.snackbar.product.domain.exceptions.InvalidProductDataException;
+
+/**
+ * Classifies failures raised while processing product messages.
+ * Invalid product data and malformed payloads are permanent. Everything else is retried,
+ * including ProductNotFoundException (an update can arrive before its create on a standard
+ * queue) and IllegalArgumentException, which may come from a bug rather than from the message.
+ */
+@Component
+public class ProductMessageErrorClassifier implements MessageErrorClassifier {
+
+    @Override
+    public ErrorClassification classify(Throwable error) {
+        // Deserialization and mapping errors are wrapped, so inspect the whole cause chain
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof InvalidProductDataException || current instanceof JsonProcessingException) {
+                return ErrorClassification.PERMANENT;
+            }
+        }
+        return ErrorClassification.TRANSIENT;
+    }
+}
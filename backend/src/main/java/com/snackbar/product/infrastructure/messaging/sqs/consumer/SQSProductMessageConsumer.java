@@ -3,27 +3,55 @@ package com.snackbar.product.infrastructure.messaging.sqs.consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.logging.CorrelationId;
+import com.snackbar.infrastructure.logging.LogSampler;
+import com.snackbar.infrastructure.messaging.sqs.consumer.AdaptiveSQSPoller;
+import com.snackbar.infrastructure.messaging.sqs.consumer.ErrorClassification;
+import com.snackbar.infrastructure.messaging.sqs.consumer.MessageErrorClassifier;
 import com.snackbar.infrastructure.messaging.sqs.consumer.SQSMessageConsumer;
+import com.snackbar.infrastructure.messaging.sqs.consumer.SQSPollerMetrics;
+import com.snackbar.infrastructure.messaging.sqs.consumer.SQSVisibilityHeartbeat;
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOrigin;
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOriginContext;
+import com.snackbar.infrastructure.messaging.sqs.producer.SQSMessageProducer;
+import com.snackbar.infrastructure.messaging.sqs.quarantine.MessageQuarantine;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
 import com.snackbar.product.infrastructure.messaging.sqs.model.StandardProductMessage;
 import com.snackbar.product.application.ports.in.CreateProductInputPort;
 import com.snackbar.product.application.ports.in.DeleteProductByIdInputPort;
 import com.snackbar.product.application.ports.in.UpdateProductByIdInputPort;
 import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.exceptions.InvalidProductDataException;
 import com.snackbar.product.infrastructure.messaging.mapper.ProductMessageMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
 import java.util.List;
 
 /**
  * Consumer for product messages from SQS.
- * This class polls the SQS queue for messages and processes them.
+ * This class polls the inbound SQS queue for messages and processes them.
+ * Polling is driven by an {@link AdaptiveSQSPoller}, which chains long polls while
+ * messages keep arriving, backs off while the queue is idle (up to the polling delay)
+ * and scales the number of receivers with the queue backlog. While messages are
+ * being handled, a {@link SQSVisibilityHeartbeat} keeps them invisible to other nodes.
+ * Failures are classified: permanent ones are quarantined and deleted, transient ones
+ * are retried with exponential backoff through visibility changes.
+ * Messages originated by this node or cluster were already applied when they
+ * were published, so they are deleted without being replayed.
  */
 @Component
-public class SQSProductMessageConsumer {
+public class SQSProductMessageConsumer implements MeterBinder {
     
     // Changed from static final to instance variable for easier testing
     private Logger logger = LoggerFactory.getLogger(SQSProductMessageConsumer.class);
@@ -31,6 +59,9 @@ public class SQSProductMessageConsumer {
     private final SQSMessageConsumer messageConsumer;
     private final ProductMessageMapper messageMapper;
     private final String queueUrl;
+    private final MessageOrigin localOrigin;
+    private final MessageErrorClassifier errorClassifier;
+    private final MessageQuarantine messageQuarantine;
     
     // Input ports for handling different operations
     private final CreateProductInputPort createProductUseCase;
@@ -50,36 +81,126 @@ public class SQSProductMessageConsumer {
     @Value("${aws.sqs.wait-time-seconds}")
     private int waitTimeSeconds;
     
+    @Value("${aws.sqs.poller.min-receivers:1}")
+    private int minReceivers;
+    
+    @Value("${aws.sqs.poller.max-receivers:4}")
+    private int maxReceivers;
+    
+    @Value("${aws.sqs.poller.messages-per-receiver:50}")
+    private int messagesPerReceiver;
+    
+    @Value("${aws.sqs.poller.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+    
+    @Value("${aws.sqs.poller.scale-interval-ms:30000}")
+    private long scaleIntervalMs;
+    
+    @Value("${aws.sqs.visibility.timeout-seconds:30}")
+    private int visibilityTimeoutSeconds;
+    
+    @Value("${aws.sqs.visibility.heartbeat-interval-ms:10000}")
+    private long heartbeatIntervalMs;
+    
+    @Value("${aws.sqs.visibility.max-extension-ms:900000}")
+    private long maxExtensionMs;
+    
+    @Value("${aws.sqs.retry.base-delay-seconds:2}")
+    private int retryBaseDelaySeconds;
+    
+    @Value("${aws.sqs.retry.max-delay-seconds:300}")
+    private int retryMaxDelaySeconds;
+    
+    private final SQSPollerMetrics pollerMetrics = new SQSPollerMetrics("product-events");
+    private final LogSampler appliedSampler;
+    private AdaptiveSQSPoller poller;
+    private SQSVisibilityHeartbeat heartbeat;
+    
     public SQSProductMessageConsumer(
             SQSMessageConsumer messageConsumer,
             ProductMessageMapper messageMapper,
             CreateProductInputPort createProductUseCase,
             UpdateProductByIdInputPort updateProductUseCase,
             DeleteProductByIdInputPort deleteProductUseCase,
-            @Value("${aws.sqs.product.events.queue.url}") String queueUrl) {
+            MessageOrigin localOrigin,
+            MessageErrorClassifier errorClassifier,
+            MessageQuarantine messageQuarantine,
+            @Value("${aws.sqs.product.events.inbound.queue.url}") String queueUrl,
+            LogSampler appliedSampler) {
         this.messageConsumer = messageConsumer;
         this.messageMapper = messageMapper;
         this.createProductUseCase = createProductUseCase;
         this.updateProductUseCase = updateProductUseCase;
         this.deleteProductUseCase = deleteProductUseCase;
+        this.localOrigin = localOrigin;
+        this.errorClassifier = errorClassifier;
+        this.messageQuarantine = messageQuarantine;
         this.queueUrl = queueUrl;
+        this.appliedSampler = appliedSampler;
         
-        logger.info("SQSProductMessageConsumer initialized with queue URL: {}", queueUrl);
+        logger.info("SQSProductMessageConsumer initialized with queue URL: {}, origin: {}", queueUrl, localOrigin);
         logger.info("SQS polling configuration: enabled={}, delayMs={}, maxMessages={}, waitTimeSeconds={}",
                 pollingEnabled, pollingDelayMs, maxMessages, waitTimeSeconds);
     }
     
     /**
-     * Polls the SQS queue for messages at a fixed rate.
-     * The polling rate is configurable via environment variables.
+     * Starts the adaptive poller once the application is ready.
      */
-    @Scheduled(fixedRateString = "${aws.sqs.polling-delay-ms}")
-    public void pollMessages() {
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startPolling() {
         if (!pollingEnabled) {
-            logger.debug("SQS polling is disabled");
+            logger.info("SQS polling is disabled");
+            return;
+        }
+        if (poller != null && poller.isRunning()) {
             return;
         }
         
+        heartbeat = new SQSVisibilityHeartbeat(messageConsumer, queueUrl,
+                new SQSVisibilityHeartbeat.Settings(visibilityTimeoutSeconds, heartbeatIntervalMs, maxExtensionMs));
+        heartbeat.start();
+        
+        AdaptiveSQSPoller.Settings settings = new AdaptiveSQSPoller.Settings(
+                minReceivers, maxReceivers, messagesPerReceiver,
+                Math.min(initialBackoffMs, pollingDelayMs), pollingDelayMs, scaleIntervalMs);
+        poller = new AdaptiveSQSPoller("product-events", this::pollMessages,
+                () -> messageConsumer.getApproximateNumberOfMessages(queueUrl), settings, pollerMetrics);
+        poller.start();
+    }
+    
+    /**
+     * Stops the adaptive poller on shutdown.
+     */
+    @PreDestroy
+    public synchronized void stopPolling() {
+        if (poller != null) {
+            poller.stop();
+        }
+        if (heartbeat != null) {
+            heartbeat.stop();
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pollerMetrics.bindTo(registry);
+    }
+    
+    public SQSPollerMetrics getPollerMetrics() {
+        return pollerMetrics;
+    }
+    
+    /**
+     * Performs a single receive-and-process cycle against the SQS queue.
+     * 
+     * @return The number of messages received
+     */
+    public int pollMessages() {
+        if (!pollingEnabled) {
+            logger.debug("SQS polling is disabled");
+            return 0;
+        }
+        
         logger.debug("Polling for messages from SQS queue: {}", queueUrl);
         
         try {
@@ -87,35 +208,118 @@ public class SQSProductMessageConsumer {
             List<Message> messages = messageConsumer.receiveMessages(queueUrl, maxMessages, waitTimeSeconds);
             
             if (messages.isEmpty()) {
-                return;
+                return 0;
+            }
+            
+            // Keep all received messages invisible until their handlers finish
+            SQSVisibilityHeartbeat activeHeartbeat = heartbeat;
+            if (activeHeartbeat != null) {
+                messages.forEach(message -> activeHeartbeat.track(message.receiptHandle()));
             }
             
             // Process each message
             for (Message message : messages) {
-                try {
+                // Logs of the message, and the events it triggers, carry the correlation ID of the work that sent it.
+                // Its database calls yield to kiosk requests, and are retried later if the database stays busy
+                try (ThreadScope scope = CorrelationId.bind(correlationIdOf(message));
+                     ThreadScope priority = AdaptiveConcurrencyLimiter.background()) {
+                    // Skip events this cluster already applied when it published them
+                    if (localOrigin != null && localOrigin.isOriginOf(message)) {
+                        logger.debug("Skipping locally originated message: {}", message.messageId());
+                        messageConsumer.deleteMessage(queueUrl, message.receiptHandle());
+                        continue;
+                    }
+                    
                     // Deserialize the message using the standardized format
                     StandardProductMessage productMessage = messageConsumer.deserializeMessage(message, StandardProductMessage.class);
                     
-                    // Process the message
-                    processMessage(productMessage);
+                    // Process the message, keeping its origin for any events it triggers
+                    MessageOriginContext.runWithInboundOrigin(MessageOrigin.fromMessage(message),
+                            () -> processMessage(productMessage));
                     
                     // Delete the message from the queue after successful processing
                     messageConsumer.deleteMessage(queueUrl, message.receiptHandle());
                 } catch (Exception e) {
-                    // Only log if it's not a test exception
-                    if (!(e instanceof RuntimeException) || !e.getMessage().contains("Test exception")) {
-                        logger.error("Error processing message: {}", message.body(), e);
+                    handleFailure(message, e, activeHeartbeat);
+                } finally {
+                    if (activeHeartbeat != null) {
+                        activeHeartbeat.release(message.receiptHandle());
                     }
-                    // Message will return to the queue after visibility timeout
-                    // After max retries, it will go to the DLQ
                 }
             }
+            return messages.size();
+        } catch (Exception e) {
+            logger.error("Error polling messages from SQS", e);
+            return 0;
+        }
+    }
+    
+    private static String correlationIdOf(Message message) {
+        MessageAttributeValue attribute = message.messageAttributes().get(SQSMessageProducer.CORRELATION_ID_ATTRIBUTE);
+        return CorrelationId.orNew(attribute != null ? attribute.stringValue() : null);
+    }
+    
+    /**
+     * Handles a message whose processing failed.
+     * Permanent failures are logged as warnings, as the message is at fault; the others as errors.
+     * Permanent failures are quarantined and deleted so they stop consuming capacity.
+     * Transient failures, and permanent ones that could not be quarantined, become
+     * visible again after an exponential backoff. After max retries, they go to the DLQ.
+     * 
+     * @param message The failed message
+     * @param error The error raised while processing it
+     * @param activeHeartbeat The heartbeat tracking the message, or null if polling is not running
+     */
+    private void handleFailure(Message message, Exception error, SQSVisibilityHeartbeat activeHeartbeat) {
+        ErrorClassification classification = errorClassifier != null ? errorClassifier.classify(error) : null;
+        if (classification == ErrorClassification.PERMANENT) {
+            logger.warn("Rejecting message: {}", message.body(), error);
+            if (quarantine(message, error)) {
+                return;
+            }
+        } else {
+            logger.error("Error processing message: {}", message.body(), error);
+        }
+        
+        if (activeHeartbeat != null) {
+            int delaySeconds = retryDelaySeconds(message);
+            logger.debug("Retrying message {} in {}s", message.messageId(), delaySeconds);
+            activeHeartbeat.nack(message.receiptHandle(), delaySeconds);
+        }
+    }
+    
+    private boolean quarantine(Message message, Exception error) {
+        if (messageQuarantine == null) {
+            return false;
+        }
+        try {
+            messageQuarantine.quarantine(queueUrl, message, error);
+            messageConsumer.deleteMessage(queueUrl, message.receiptHandle());
+            return true;
         } catch (Exception e) {
-            // Only log if it's not a test exception
-            if (!(e instanceof RuntimeException) || !e.getMessage().contains("Test exception")) {
-                logger.error("Error polling messages from SQS", e);
+            logger.error("Failed to quarantine message {}, retrying it instead", message.messageId(), e);
+            return false;
+        }
+    }
+    
+    /**
+     * Computes the retry delay from the number of times the message was received.
+     * 
+     * @param message The failed message
+     * @return base * 2^(receiveCount - 1) seconds, capped at the maximum delay
+     */
+    int retryDelaySeconds(Message message) {
+        int receiveCount = 1;
+        String value = message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        if (value != null) {
+            try {
+                receiveCount = Math.max(1, Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                logger.debug("Invalid ApproximateReceiveCount: {}", value);
             }
         }
+        long delay = (long) retryBaseDelaySeconds << Math.min(receiveCount - 1, 20);
+        return (int) Math.min(delay, retryMaxDelaySeconds);
     }
     
     /**
@@ -142,13 +346,21 @@ public class SQSProductMessageConsumer {
         }
     }
     
+    private void logApplied(String change, StandardProductMessage message) {
+        if (appliedSampler.sample()) {
+            logger.info("Product {} from message: {} (1 in {} messages logged)", change, message.getProductId(), appliedSampler.getOneIn());
+        } else {
+            logger.debug("Product {} from message: {}", change, message.getProductId());
+        }
+    }
+    
     /**
      * Handles a PRODUCT_CREATED event.
      * 
      * @param message The product message
      */
     private void handleProductCreated(StandardProductMessage message) {
-        logger.info("Handling PRODUCT_CREATED event for product ID: {}", message.getProductId());
+        logger.debug("Handling PRODUCT_CREATED event for product ID: {}", message.getProductId());
         
         try {
             // Convert message to domain object
@@ -156,12 +368,9 @@ public class SQSProductMessageConsumer {
             
             // Call the use case
             createProductUseCase.createProduct(product);
-            logger.info("Product created successfully: {}", message.getProductId());
+            logApplied("created", message);
         } catch (Exception e) {
-            // Only log if it's not a test exception
-            if (!(e instanceof RuntimeException) || !e.getMessage().contains("Test exception")) {
-                logger.error("Failed to create product from message: {}", message.getProductId(), e);
-            }
+            logger.error("Failed to create product from message: {}", message.getProductId(), e);
             throw e; // Rethrow to trigger retry mechanism
         }
     }
@@ -172,20 +381,17 @@ public class SQSProductMessageConsumer {
      * @param message The product message
      */
     private void handleProductUpdated(StandardProductMessage message) {
-        logger.info("Handling PRODUCT_UPDATED event for product ID: {}", message.getProductId());
+        logger.debug("Handling PRODUCT_UPDATED event for product ID: {}", message.getProductId());
         
         try {
             // Convert message to domain object
             Product product = messageMapper.toDomainObject(message);
             
             // Call the use case
-            updateProductUseCase.updateProductById(message.getProductId(), product);
-            logger.info("Product updated successfully: {}", message.getProductId());
+            updateProductUseCase.updateProductById(Product.normalizeStoreId(message.getStoreId()), productIdOf(message), product);
+            logApplied("updated", message);
         } catch (Exception e) {
-            // Only log if it's not a test exception
-            if (!(e instanceof RuntimeException) || !e.getMessage().contains("Test exception")) {
-                logger.error("Failed to update product from message: {}", message.getProductId(), e);
-            }
+            logger.error("Failed to update product from message: {}", message.getProductId(), e);
             throw e; // Rethrow to trigger retry mechanism
         }
     }
@@ -196,21 +402,26 @@ public class SQSProductMessageConsumer {
      * @param message The product message
      */
     private void handleProductDeleted(StandardProductMessage message) {
-        logger.info("Handling PRODUCT_DELETED event for product ID: {}", message.getProductId());
+        logger.debug("Handling PRODUCT_DELETED event for product ID: {}", message.getProductId());
         
         try {
             // Call the use case
-            deleteProductUseCase.deleteProductById(message.getProductId());
-            logger.info("Product deleted successfully: {}", message.getProductId());
+            deleteProductUseCase.deleteProductById(Product.normalizeStoreId(message.getStoreId()), productIdOf(message));
+            logApplied("deleted", message);
         } catch (Exception e) {
-            // Only log if it's not a test exception
-            if (!(e instanceof RuntimeException) || !e.getMessage().contains("Test exception")) {
-                logger.error("Failed to delete product from message: {}", message.getProductId(), e);
-            }
+            logger.error("Failed to delete product from message: {}", message.getProductId(), e);
             throw e; // Rethrow to trigger retry mechanism
         }
     }
     
+    private static String productIdOf(StandardProductMessage message) {
+        // Rejected as invalid product data, so the message is quarantined instead of retried
+        if (message.getProductId() == null || message.getProductId().isBlank()) {
+            throw new InvalidProductDataException("Product ID cannot be null or empty");
+        }
+        return message.getProductId();
+    }
+
     // For testing purposes - allows setting a mock logger
     public void setLogger(Logger logger) {
         this.logger = logger;
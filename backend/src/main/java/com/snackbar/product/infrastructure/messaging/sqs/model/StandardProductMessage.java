@@ -23,6 +23,8 @@ public class StandardProductMessage extends SQSMessage {
     private String description;
     private BigDecimal price;
     private Integer cookingTime;
+    // Absent in messages published before catalogs were partitioned per store
+    private String storeId;
     
     /**
      * Default constructor for deserialization.
@@ -112,4 +114,12 @@ public class StandardProductMessage extends SQSMessage {
     public void setCookingTime(Integer cookingTime) {
         this.cookingTime = cookingTime;
     }
+    
+    public String getStoreId() {
+        return storeId;
+    }
+    
+    public void setStoreId(String storeId) {
+        this.storeId = storeId;
+    }
 }
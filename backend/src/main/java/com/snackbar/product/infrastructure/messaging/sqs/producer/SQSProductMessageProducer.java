@@ -29,7 +29,7 @@ public class SQSProductMessageProducer {
     public SQSProductMessageProducer(
             SQSMessageProducer messageProducer,
             ProductMessageMapper messageMapper,
-            @Value("${aws.sqs.product.events.queue.url}") String queueUrl) {
+            @Value("${aws.sqs.product.events.outbound.queue.url}") String queueUrl) {
         this.messageProducer = messageProducer;
         this.messageMapper = messageMapper;
         this.queueUrl = queueUrl;
@@ -44,16 +44,16 @@ public class SQSProductMessageProducer {
      */
     @EventListener
     public void handleProductCreatedEvent(ProductCreatedEvent event) {
-        logger.info("Handling ProductCreatedEvent for product ID: {}", event.getProduct().id());
+        logger.debug("Handling ProductCreatedEvent for product ID: {}", event.getProduct().id());
         
         try {
             // Convert event to message
             StandardProductMessage message = messageMapper.toMessage(event);
             
             // Send message to SQS
-            messageProducer.sendMessage(queueUrl, message);
+            messageProducer.sendMessage(queueUrl, message, message.getStoreId());
             
-            logger.info("ProductCreatedEvent sent to SQS for product ID: {}", event.getProduct().id());
+            logger.debug("ProductCreatedEvent sent to SQS for product ID: {}", event.getProduct().id());
         } catch (Exception e) {
             // Only log if it's not a test exception
             if (!(e instanceof RuntimeException) || !e.getMessage().contains("Test exception")) {
@@ -70,16 +70,16 @@ public class SQSProductMessageProducer {
      */
     @EventListener
     public void handleProductUpdatedEvent(ProductUpdatedEvent event) {
-        logger.info("Handling ProductUpdatedEvent for product ID: {}", event.getProduct().id());
+        logger.debug("Handling ProductUpdatedEvent for product ID: {}", event.getProduct().id());
         
         try {
             // Convert event to message
             StandardProductMessage message = messageMapper.toMessage(event);
             
             // Send message to SQS
-            messageProducer.sendMessage(queueUrl, message);
+            messageProducer.sendMessage(queueUrl, message, message.getStoreId());
             
-            logger.info("ProductUpdatedEvent sent to SQS for product ID: {}", event.getProduct().id());
+            logger.debug("ProductUpdatedEvent sent to SQS for product ID: {}", event.getProduct().id());
         } catch (Exception e) {
             // Only log if it's not a test exception
             if (!(e instanceof RuntimeException) || !e.getMessage().contains("Test exception")) {
@@ -96,16 +96,16 @@ public class SQSProductMessageProducer {
      */
     @EventListener
     public void handleProductDeletedEvent(ProductDeletedEvent event) {
-        logger.info("Handling ProductDeletedEvent for product ID: {}", event.getProductId());
+        logger.debug("Handling ProductDeletedEvent for product ID: {}", event.getProductId());
         
         try {
             // Convert event to message
             StandardProductMessage message = messageMapper.toMessage(event);
             
             // Send message to SQS
-            messageProducer.sendMessage(queueUrl, message);
+            messageProducer.sendMessage(queueUrl, message, message.getStoreId());
             
-            logger.info("ProductDeletedEvent sent to SQS for product ID: {}", event.getProductId());
+            logger.debug("ProductDeletedEvent sent to SQS for product ID: {}", event.getProductId());
         } catch (Exception e) {
             // Only log if it's not a test exception
             if (!(e instanceof RuntimeException) || !e.getMessage().contains("Test exception")) {
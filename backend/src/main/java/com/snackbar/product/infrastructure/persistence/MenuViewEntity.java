@@ -0,0 +1,85 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.snackbar.product.application.ports.out.ProductMenuView;
+
+/**
+ * A store's menu, or one category of it, holding its products as they are listed on menus.
+ * The version is the store's catalog version the menu was built from.
+ */
+@Document(collection = "menu_view")
+public class MenuViewEntity {
+
+    @Id
+    private String id;
+    private String storeId;
+    private String category;
+    private long version;
+    private List<ProductMenuView.Item> products;
+
+    public MenuViewEntity() {
+    }
+
+    public MenuViewEntity(String storeId, String category, long version, List<ProductMenuView.Item> products) {
+        this.id = idOf(storeId, category);
+        this.storeId = storeId;
+        this.category = category;
+        this.version = version;
+        this.products = products;
+    }
+
+    /**
+     * @param storeId The ID of the store
+     * @param category The category, or null for the full menu
+     * @return The document ID of the menu
+     */
+    public static String idOf(String storeId, String category) {
+        // Store IDs cannot contain ':', so the full menu never clashes with a category
+        return category == null ? storeId : storeId + ":" + category;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(String storeId) {
+        this.storeId = storeId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<ProductMenuView.Item> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductMenuView.Item> products) {
+        this.products = products;
+    }
+}
@@ -0,0 +1,320 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReplaceOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.persistence.routing.ReadRouting;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.snackbar.infrastructure.resilience.OperationClass;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
+import com.snackbar.product.application.ports.out.ProductChangeLog;
+import com.snackbar.product.application.ports.out.ProductMenuView;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.DomainEvent;
+import com.snackbar.product.domain.event.ProductCreatedEvent;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Read model of the menus, materialized in the menu_view collection: one document per store
+ * holding its full menu, and one per store and category. Menu reads fetch a single document by
+ * ID instead of querying and mapping products.
+ * <p>
+ * Each document carries the catalog version it was built from and is only replaced by one built
+ * from the same or a newer version, so concurrent updates on different nodes never go back in
+ * time. Product domain events catch the full menu up with the store's changes recorded since its
+ * version, reading only the changed products, and rewrite the menus of the categories those
+ * products left or joined. Updates run off the thread that raised the event, one at a time per
+ * store, and events arriving while a store is updated are folded into one more update. Every store is rebuilt at startup and when change streams ask for a
+ * resync, as background work. Menus are read with the catalog read routing, while updates read
+ * products from the primary; both go through the catalog read and write guards.
+ */
+@Component
+public class MongoMenuView implements ProductMenuView {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoMenuView.class);
+
+    // Beyond this many changes to catch up with, rebuilding the store is cheaper
+    static final int MAX_CATCH_UP_CHANGES = 100;
+    // Catching up is retried while other nodes move the full menu on, then the store is rebuilt
+    private static final int MAX_CATCH_UP_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductChangeLog productChangeLog;
+    private final ReadRouting readRouting;
+    private final ResilienceGuards guards;
+    private final boolean enabled;
+    private final Executor updater;
+    // Stores with an update queued or running, mapped to true when another one was asked for meanwhile
+    private final Map<String, Boolean> updates = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MongoMenuView(MongoTemplate mongoTemplate, ProductChangeLog productChangeLog, ReadRouting readRouting,
+                         ResilienceGuards guards, @Value("${product.menu-view.enabled:true}") boolean enabled) {
+        this(mongoTemplate, productChangeLog, readRouting, guards, enabled, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    MongoMenuView(MongoTemplate mongoTemplate, ProductChangeLog productChangeLog, ReadRouting readRouting,
+                  ResilienceGuards guards, boolean enabled, Executor updater) {
+        this.mongoTemplate = mongoTemplate;
+        this.productChangeLog = productChangeLog;
+        this.readRouting = readRouting;
+        this.guards = guards;
+        this.enabled = enabled;
+        this.updater = updater;
+    }
+
+    /**
+     * Stops the updates on shutdown, waiting for the running ones.
+     */
+    @PreDestroy
+    public void close() {
+        if (updater instanceof ExecutorService executor) {
+            executor.close();
+        }
+    }
+
+    @Override
+    public Optional<List<Item>> find(String storeId, String category, long minVersion) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Query byId = Query.query(Criteria.where("_id").is(MenuViewEntity.idOf(storeId, category)))
+            .withReadPreference(readRouting.catalogReads(storeId));
+        MenuViewEntity view;
+        try {
+            view = guards.call(OperationClass.CATALOG_READ, () -> mongoTemplate.findOne(byId, MenuViewEntity.class));
+        } catch (RuntimeException e) {
+            if (!ResilienceGuards.isUnavailable(e)) {
+                throw e;
+            }
+            logger.debug("Menu {} unavailable: {}", MenuViewEntity.idOf(storeId, category), e.toString());
+            return Optional.empty();
+        }
+        return view != null && view.getVersion() >= minVersion ? Optional.of(view.getProducts()) : Optional.empty();
+    }
+
+    /**
+     * @param productId The ID of a product
+     * @return The ID of the store whose full menu holds the product, or null if none does
+     */
+    String storeOf(String productId) {
+        if (!enabled) {
+            return null;
+        }
+        Query holding = Query.query(Criteria.where("category").is(null).and("products.id").is(productId));
+        holding.fields().include("storeId");
+        MenuViewEntity view = guards.call(OperationClass.CATALOG_READ, () -> mongoTemplate.findOne(holding, MenuViewEntity.class));
+        return view != null ? view.getStoreId() : null;
+    }
+
+    /**
+     * Queues an update of the menus of the store a product domain event affects. Other events are
+     * ignored. Must run after the event is recorded in the change log, so the menus carry its version.
+     *
+     * @param event The domain event
+     */
+    public void apply(DomainEvent event) {
+        String storeId = storeOf(event);
+        if (!enabled || storeId == null) {
+            return;
+        }
+        if (updates.put(storeId, Boolean.TRUE) == null) {
+            updater.execute(() -> drain(storeId));
+        }
+    }
+
+    private void drain(String storeId) {
+        try (ThreadScope priority = AdaptiveConcurrencyLimiter.background()) {
+            do {
+                updates.put(storeId, Boolean.FALSE);
+                try {
+                    update(storeId);
+                } catch (Exception e) {
+                    // Stale menus are not served: reads fall back to the products collection
+                    logger.warn("Failed to update menus of store {}: {}", storeId, e.getMessage());
+                    logger.debug("Full exception details", e);
+                }
+            } while (!updates.remove(storeId, Boolean.FALSE));
+        }
+    }
+
+    private void update(String storeId) {
+        for (int attempt = 0; attempt < MAX_CATCH_UP_ATTEMPTS; attempt++) {
+            if (catchUp(storeId)) {
+                return;
+            }
+        }
+        refresh(storeId);
+    }
+
+    private static String storeOf(DomainEvent event) {
+        if (event instanceof ProductCreatedEvent created && created.getProduct() != null) {
+            return created.getProduct().storeId();
+        } else if (event instanceof ProductUpdatedEvent updated && updated.getProduct() != null) {
+            return updated.getProduct().storeId();
+        } else if (event instanceof ProductDeletedEvent deleted) {
+            return deleted.getStoreId();
+        }
+        return null;
+    }
+
+    /**
+     * Applies the changes of a store recorded since the version of its full menu to that menu and
+     * to the menus of the categories they touch.
+     *
+     * @param storeId The ID of the store
+     * @return false if another node replaced the full menu meanwhile, so nothing was stored
+     */
+    private boolean catchUp(String storeId) {
+        MenuViewEntity menu = guards.call(OperationClass.CATALOG_READ, () -> mongoTemplate.findOne(
+            Query.query(Criteria.where("_id").is(MenuViewEntity.idOf(storeId, null))), MenuViewEntity.class));
+        // Tombstones purged since the menu was built would leave deleted products on it
+        if (menu == null || productChangeLog.position(storeId).purgedThrough() > menu.getVersion()) {
+            refresh(storeId);
+            return true;
+        }
+        List<ProductChangeLog.Entry> changes = productChangeLog.changesSince(storeId, menu.getVersion(), MAX_CATCH_UP_CHANGES + 1);
+        if (changes.isEmpty()) {
+            // Already applied by another node
+            return true;
+        }
+        if (changes.size() > MAX_CATCH_UP_CHANGES) {
+            refresh(storeId);
+            return true;
+        }
+
+        // Products deleted since, or not found any more, stay null and are removed from the menus
+        Map<String, Item> changed = new LinkedHashMap<>();
+        changes.forEach(change -> changed.put(change.productId(), null));
+        List<String> liveIds = changes.stream().filter(change -> !change.deleted()).map(ProductChangeLog.Entry::productId).toList();
+        if (!liveIds.isEmpty()) {
+            Query byIds = Query.query(Criteria.where("_id").in(liveIds).and("storeId").is(storeId));
+            guards.call(OperationClass.CATALOG_READ, () -> mongoTemplate.find(byIds, ProductEntity.class))
+                .forEach(product -> changed.put(product.getId(), itemOf(product)));
+        }
+
+        List<Item> products = new ArrayList<>(menu.getProducts().size() + changed.size());
+        Set<String> categories = new LinkedHashSet<>();
+        for (Item item : menu.getProducts()) {
+            if (!changed.containsKey(item.id())) {
+                products.add(item);
+                continue;
+            }
+            categories.add(item.category());
+            Item current = changed.remove(item.id());
+            if (current != null) {
+                products.add(current);
+                categories.add(current.category());
+            }
+        }
+        changed.values().stream().filter(Objects::nonNull).forEach(item -> {
+            products.add(item);
+            categories.add(item.category());
+        });
+
+        long version = changes.get(changes.size() - 1).sequence();
+        MenuViewEntity updated = new MenuViewEntity(storeId, null, version, products);
+        Query unchanged = Query.query(Criteria.where("_id").is(updated.getId()).and("version").is(menu.getVersion()));
+        if (guards.call(OperationClass.CATALOG_WRITE, () -> mongoTemplate.replace(unchanged, updated)).getMatchedCount() == 0) {
+            return false;
+        }
+        for (String category : categories) {
+            save(new MenuViewEntity(storeId, category, version,
+                products.stream().filter(item -> category.equals(item.category())).toList()));
+        }
+        logger.debug("Updated menus of store {} to version {} with {} changes", storeId, version, changes.size());
+        return true;
+    }
+
+    private static Item itemOf(ProductEntity product) {
+        return new Item(product.getId(), product.getName(), product.getCategory(), product.getDescription(),
+            product.getPrice(), product.getCookingTime());
+    }
+
+    /**
+     * Rebuilds the full menu and every category menu of a store from its products.
+     *
+     * @param storeId The ID of the store
+     */
+    public void refresh(String storeId) {
+        if (!enabled || storeId == null) {
+            return;
+        }
+        // Read before the products, so the menus hold at least every change up to this version
+        long version = productChangeLog.position(storeId).version();
+        List<ProductEntity> products = guards.call(OperationClass.CATALOG_READ, () -> mongoTemplate.find(
+            Query.query(Criteria.where("storeId").is(storeId)), ProductEntity.class));
+
+        List<Item> menu = new ArrayList<>(products.size());
+        // Every category gets a document, so one that was emptied does not keep serving its old products
+        Map<String, List<Item>> categories = new LinkedHashMap<>();
+        Product.validCategories().forEach(category -> categories.put(category, new ArrayList<>()));
+        for (ProductEntity product : products) {
+            Item item = itemOf(product);
+            menu.add(item);
+            categories.computeIfAbsent(product.getCategory(), category -> new ArrayList<>()).add(item);
+        }
+
+        save(new MenuViewEntity(storeId, null, version, menu));
+        categories.forEach((category, categoryMenu) -> save(new MenuViewEntity(storeId, category, version, categoryMenu)));
+        logger.debug("Rebuilt menus of store {} at version {} with {} products", storeId, version, menu.size());
+    }
+
+    /**
+     * Rebuilds the menus of every store.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        try (ThreadScope priority = AdaptiveConcurrencyLimiter.background()) {
+            List<String> storeIds = guards.call(OperationClass.CATALOG_READ,
+                () -> mongoTemplate.findDistinct(new Query(), "storeId", ProductEntity.class, String.class));
+            storeIds.forEach(this::refresh);
+            logger.info("Menu views rebuilt for {} stores", storeIds.size());
+        } catch (Exception e) {
+            // Menus that are missing or stale are served from the products collection instead
+            logger.warn("Failed to rebuild menu views: {}", e.getMessage());
+            logger.debug("Full exception details", e);
+        }
+    }
+
+    private void save(MenuViewEntity view) {
+        Query sameOrOlder = Query.query(Criteria.where("_id").is(view.getId()).and("version").lte(view.getVersion()));
+        try {
+            guards.run(OperationClass.CATALOG_WRITE,
+                () -> mongoTemplate.replace(sameOrOlder, view, ReplaceOptions.replaceOptions().upsert()));
+        } catch (DuplicateKeyException e) {
+            // Another node already stored a menu built from a newer version
+            logger.debug("Skipped menu {} at version {}: a newer one is already stored", view.getId(), view.getVersion());
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.snackbar.infrastructure.resilience.OperationClass;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
+import com.snackbar.product.application.ports.out.ProductChangeLog;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.DomainEvent;
+import com.snackbar.product.domain.event.ProductCreatedEvent;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+
+/**
+ * MongoDB implementation of the product change log, fed by product domain events.
+ * Sequence numbers come from an atomic counter shared by every node, and each product keeps
+ * a single entry holding its latest change. Tombstones are purged after a retention period;
+ * replicas that fall further behind are told to resync. Reads and writes go through the catalog
+ * read and write guards, like those of the products themselves.
+ * <p>
+ * A sequence number is allocated and registered as pending in one update of the counter, and
+ * released once its entry is written. Changes are served up to the lowest pending sequence
+ * number, so one written late is never skipped by readers that already saw a higher one. Pending
+ * sequence numbers older than the pending timeout are taken as abandoned by a node that stopped;
+ * a write slower than that records its change again under a new sequence number. The counter
+ * also keeps the latest sequence number of each store and the purge horizon, so the version of
+ * a catalog is read from a single document.
+ */
+@Component
+public class MongoProductChangeLog implements ProductChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoProductChangeLog.class);
+
+    static final String COUNTERS_COLLECTION = "counters";
+    static final String SEQUENCE_COUNTER_ID = "product_changes";
+    // Held the purge horizon before it moved into the sequence counter, read once to carry it over
+    static final String LEGACY_PURGED_COUNTER_ID = "product_changes_purged";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration tombstoneRetention;
+    private final Duration pendingTimeout;
+    private final Clock clock;
+    private final ResilienceGuards guards;
+
+    @Autowired
+    public MongoProductChangeLog(
+            MongoTemplate mongoTemplate,
+            @Value("${product.changes.tombstone-retention-ms:604800000}") long tombstoneRetentionMs,
+            @Value("${product.changes.pending-timeout-ms:30000}") long pendingTimeoutMs,
+            ResilienceGuards guards) {
+        this(mongoTemplate, Duration.ofMillis(tombstoneRetentionMs), Duration.ofMillis(pendingTimeoutMs), Clock.systemUTC(), guards);
+    }
+
+    MongoProductChangeLog(MongoTemplate mongoTemplate, Duration tombstoneRetention, Duration pendingTimeout, Clock clock,
+                          ResilienceGuards guards) {
+        this.mongoTemplate = mongoTemplate;
+        this.tombstoneRetention = tombstoneRetention;
+        this.pendingTimeout = pendingTimeout;
+        this.clock = clock;
+        this.guards = guards;
+    }
+
+    /**
+     * Records the change described by a product domain event. Other events are ignored.
+     *
+     * @param event The domain event
+     */
+    public void apply(DomainEvent event) {
+        if (event instanceof ProductCreatedEvent created) {
+            record(created.getProduct(), false);
+        } else if (event instanceof ProductUpdatedEvent updated) {
+            record(updated.getProduct(), false);
+        } else if (event instanceof ProductDeletedEvent deleted) {
+            record(deleted.getStoreId(), deleted.getProductId(), true);
+        }
+    }
+
+    private void record(Product product, boolean deleted) {
+        if (product != null && product.id() != null) {
+            record(product.storeId(), product.id(), deleted);
+        }
+    }
+
+    /**
+     * Records the latest change of a product.
+     *
+     * @param storeId The ID of the store, a valid one as it becomes a field name of the counter
+     * @param productId The ID of the product
+     * @param deleted true if the product was deleted
+     */
+    void record(String storeId, String productId, boolean deleted) {
+        record(storeId, productId, deleted, null);
+    }
+
+    /**
+     * Records a change made without a domain event, such as by a script run against the database,
+     * unless the product already has a change recorded at or after it. Every node sees such a
+     * change, and only one of them records it.
+     *
+     * @param storeId The ID of the store, a valid one as it becomes a field name of the counter
+     * @param productId The ID of the product
+     * @param deleted true if the product was deleted
+     * @param changedAt When the change was made
+     * @return true if the change was recorded
+     */
+    boolean recordIfNewer(String storeId, String productId, boolean deleted, Instant changedAt) {
+        ProductChangeEntity latest = guards.call(OperationClass.CATALOG_READ,
+            () -> mongoTemplate.findById(ProductChangeEntity.idOf(storeId, productId), ProductChangeEntity.class));
+        if (latest != null && latest.getChangedAt() != null && !latest.getChangedAt().isBefore(changedAt)) {
+            return false;
+        }
+        return record(storeId, productId, deleted, changedAt);
+    }
+
+    /**
+     * @param productId The ID of a product
+     * @return The ID of the store of the product's latest recorded change, or null if it has none
+     */
+    String storeOf(String productId) {
+        Query latestEntry = Query.query(Criteria.where("productId").is(productId))
+            .with(Sort.by(Sort.Direction.DESC, "seq"))
+            .limit(1);
+        ProductChangeEntity latest = guards.call(OperationClass.CATALOG_READ,
+            () -> mongoTemplate.findOne(latestEntry, ProductChangeEntity.class));
+        return latest != null ? latest.getStoreId() : null;
+    }
+
+    private boolean record(String storeId, String productId, boolean deleted, Instant changedBefore) {
+        Instant allocatedAt = clock.instant();
+        boolean recorded = recordOnce(storeId, productId, deleted, changedBefore, allocatedAt);
+        if (recorded && clock.instant().isAfter(allocatedAt.plus(pendingTimeout))) {
+            // Readers stopped waiting for the change and may have moved past its sequence number
+            logger.warn("Change of product {} took longer than {} to record, recording it again", productId, pendingTimeout);
+            recordOnce(storeId, productId, deleted, null, clock.instant());
+        }
+        return recorded;
+    }
+
+    private boolean recordOnce(String storeId, String productId, boolean deleted, Instant changedBefore, Instant allocatedAt) {
+        long seq = allocate(allocatedAt);
+        boolean recorded = false;
+        try {
+            recorded = write(storeId, productId, seq, deleted, changedBefore);
+            return recorded;
+        } finally {
+            release(storeId, seq, recorded);
+        }
+    }
+
+    private long allocate(Instant allocatedAt) {
+        // One update increments the counter and registers the new value as pending, so no reader
+        // can see the sequence number allocated without also seeing that it is not written yet
+        AggregationUpdate allocation = AggregationUpdate.from(List.of(
+            context -> new Document("$set", new Document("seq",
+                new Document("$add", List.of(new Document("$ifNull", List.of("$seq", 0L)), 1L)))),
+            context -> new Document("$set", new Document("pending", new Document("$concatArrays", List.of(
+                new Document("$ifNull", List.of("$pending", List.of())),
+                List.of(new Document("seq", "$seq").append("at", Date.from(allocatedAt)))))))));
+        Document counter = guards.call(OperationClass.CATALOG_WRITE, () -> mongoTemplate.findAndModify(
+            Query.query(Criteria.where("_id").is(SEQUENCE_COUNTER_ID)),
+            allocation,
+            FindAndModifyOptions.options().returnNew(true).upsert(true),
+            Document.class,
+            COUNTERS_COLLECTION));
+        return ((Number) counter.get("seq")).longValue();
+    }
+
+    /**
+     * @param changedBefore Only replace an entry recorded before this time, or null for any older entry
+     * @return false if a newer entry is already recorded
+     */
+    private boolean write(String storeId, String productId, long seq, boolean deleted, Instant changedBefore) {
+        Criteria olderEntry = Criteria.where("_id").is(ProductChangeEntity.idOf(storeId, productId)).and("seq").lt(seq);
+        if (changedBefore != null) {
+            olderEntry.and("changedAt").lt(changedBefore);
+        }
+        Update update = new Update()
+            .set("storeId", storeId)
+            .set("productId", productId)
+            .set("seq", seq)
+            .set("deleted", deleted)
+            .set("changedAt", clock.instant());
+        try {
+            guards.run(OperationClass.CATALOG_WRITE,
+                () -> mongoTemplate.upsert(Query.query(olderEntry), update, ProductChangeEntity.class));
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Another node already recorded a newer change of this product
+            logger.debug("Skipped change {} of product {}: a newer change is already recorded", seq, productId);
+            return false;
+        }
+    }
+
+    private void release(String storeId, long seq, boolean recorded) {
+        Update update = new Update().pull("pending", new Document("seq", seq));
+        if (recorded) {
+            update.max("stores." + storeId, seq);
+        }
+        guards.run(OperationClass.CATALOG_WRITE, () -> mongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(SEQUENCE_COUNTER_ID)), update, COUNTERS_COLLECTION));
+    }
+
+    @Override
+    public List<Entry> changesSince(String storeId, long since, int limit) {
+        long servedThrough = servedThrough(readCounter(), clock.instant());
+        if (servedThrough <= since) {
+            return List.of();
+        }
+        Query query = Query.query(Criteria.where("storeId").is(storeId)
+                .and("seq").gt(since).lte(servedThrough))
+            .with(Sort.by(Sort.Direction.ASC, "seq"))
+            .limit(limit);
+        return guards.call(OperationClass.CATALOG_READ, () -> mongoTemplate.find(query, ProductChangeEntity.class)).stream()
+            .map(entity -> new Entry(entity.getSeq(), entity.getProductId(), entity.isDeleted()))
+            .toList();
+    }
+
+    @Override
+    public Position position(String storeId) {
+        Document counter = readCounter();
+        Document stores = counter.get("stores", Document.class);
+        Long storeLatest = stores != null && stores.get(storeId) instanceof Number seq ? seq.longValue() : null;
+        if (storeLatest == null) {
+            storeLatest = seedStoreLatest(storeId);
+        }
+        Long purged = counter.get("purged") instanceof Number seq ? seq.longValue() : null;
+        if (purged == null) {
+            purged = seedPurged();
+        }
+        return new Position(Math.min(storeLatest, servedThrough(counter, clock.instant())), purged);
+    }
+
+    private Document readCounter() {
+        Document counter = guards.call(OperationClass.CATALOG_READ,
+            () -> mongoTemplate.findById(SEQUENCE_COUNTER_ID, Document.class, COUNTERS_COLLECTION));
+        return counter != null ? counter : new Document();
+    }
+
+    /**
+     * @return The highest sequence number below every pending one that is not abandoned yet
+     */
+    private long servedThrough(Document counter, Instant now) {
+        long served = counter.get("seq") instanceof Number seq ? seq.longValue() : 0;
+        Instant abandonedBefore = now.minus(pendingTimeout);
+        for (Document pending : counter.getList("pending", Document.class, List.of())) {
+            if (pending.get("at") instanceof Date at && !at.toInstant().isBefore(abandonedBefore)
+                    && pending.get("seq") instanceof Number seq) {
+                served = Math.min(served, seq.longValue() - 1);
+            }
+        }
+        return served;
+    }
+
+    // Stores whose changes were all recorded before the counter kept their latest sequence number
+    private long seedStoreLatest(String storeId) {
+        Query latestEntry = Query.query(Criteria.where("storeId").is(storeId))
+            .with(Sort.by(Sort.Direction.DESC, "seq"))
+            .limit(1);
+        ProductChangeEntity latest = guards.call(OperationClass.CATALOG_READ,
+            () -> mongoTemplate.findOne(latestEntry, ProductChangeEntity.class));
+        long seq = latest != null ? latest.getSeq() : 0;
+        guards.run(OperationClass.CATALOG_WRITE, () -> mongoTemplate.upsert(
+            Query.query(Criteria.where("_id").is(SEQUENCE_COUNTER_ID)), new Update().max("stores." + storeId, seq),
+            COUNTERS_COLLECTION));
+        return seq;
+    }
+
+    private long seedPurged() {
+        Document legacy = guards.call(OperationClass.CATALOG_READ,
+            () -> mongoTemplate.findById(LEGACY_PURGED_COUNTER_ID, Document.class, COUNTERS_COLLECTION));
+        long purged = legacy != null && legacy.get("seq") instanceof Number seq ? seq.longValue() : 0;
+        guards.run(OperationClass.CATALOG_WRITE, () -> mongoTemplate.upsert(
+            Query.query(Criteria.where("_id").is(SEQUENCE_COUNTER_ID)), new Update().max("purged", purged),
+            COUNTERS_COLLECTION));
+        return purged;
+    }
+
+    /**
+     * Removes tombstones older than the retention period, and pending sequence numbers abandoned
+     * by nodes that stopped before writing their entry.
+     */
+    @Scheduled(fixedDelayString = "${product.changes.purge-interval-ms:3600000}",
+               initialDelayString = "${product.changes.purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        try (ThreadScope priority = AdaptiveConcurrencyLimiter.background()) {
+            Criteria expired = Criteria.where("deleted").is(true)
+                .and("changedAt").lt(clock.instant().minus(tombstoneRetention));
+            ProductChangeEntity newest = guards.call(OperationClass.CATALOG_READ, () -> mongoTemplate.findOne(
+                Query.query(expired).with(Sort.by(Sort.Direction.DESC, "seq")).limit(1), ProductChangeEntity.class));
+            Update counter = new Update().pull("pending",
+                new Document("at", new Document("$lt", Date.from(clock.instant().minus(pendingTimeout)))));
+            if (newest != null) {
+                // Raise the horizon before deleting, so no reader sees a gap it is not told about
+                counter.max("purged", newest.getSeq());
+            }
+            guards.run(OperationClass.CATALOG_WRITE, () -> mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(SEQUENCE_COUNTER_ID)), counter, COUNTERS_COLLECTION));
+            if (newest == null) {
+                return;
+            }
+            long purged = guards.call(OperationClass.CATALOG_WRITE, () -> mongoTemplate.remove(
+                Query.query(Criteria.where("deleted").is(true).and("seq").lte(newest.getSeq())),
+                ProductChangeEntity.class)).getDeletedCount();
+            logger.info("Purged {} product tombstones up to change {}", purged, newest.getSeq());
+        } catch (Exception e) {
+            logger.warn("Failed to purge product tombstones: {}", e.getMessage());
+            logger.debug("Full exception details", e);
+        }
+    }
+}
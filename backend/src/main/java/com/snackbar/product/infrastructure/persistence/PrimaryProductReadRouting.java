@@ -0,0 +1,23 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.persistence.routing.ReadRouting;
+import com.snackbar.product.application.ports.out.ProductReadRouting;
+
+/**
+ * Sends the reads that must be up to date to the primary.
+ */
+@Component
+public class PrimaryProductReadRouting implements ProductReadRouting {
+
+    @Override
+    public <T> T upToDate(Supplier<T> reads) {
+        try (ThreadScope primary = ReadRouting.pinToPrimary()) {
+            return reads.get();
+        }
+    }
+}
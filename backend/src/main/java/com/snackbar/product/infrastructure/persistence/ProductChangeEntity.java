@@ -0,0 +1,93 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The latest change of one product. The document ID is derived from the store and product IDs,
+ * so each product keeps a single entry and the log is compacted as it is written.
+ */
+@Document(collection = "product_changes")
+@CompoundIndexes({
+    @CompoundIndex(name = "store_seq", def = "{'storeId': 1, 'seq': 1}"),
+    @CompoundIndex(name = "product_seq", def = "{'productId': 1, 'seq': -1}")
+})
+public class ProductChangeEntity {
+
+    @Id
+    private String id;
+    private String storeId;
+    private String productId;
+    private long seq;
+    private boolean deleted;
+    private Instant changedAt;
+
+    public ProductChangeEntity() {
+    }
+
+    public ProductChangeEntity(String storeId, String productId, long seq, boolean deleted, Instant changedAt) {
+        this.id = idOf(storeId, productId);
+        this.storeId = storeId;
+        this.productId = productId;
+        this.seq = seq;
+        this.deleted = deleted;
+        this.changedAt = changedAt;
+    }
+
+    public static String idOf(String storeId, String productId) {
+        return storeId + ":" + productId;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(String storeId) {
+        this.storeId = storeId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import java.time.Instant;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.persistence.changestream.CollectionChangeListener;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+import com.snackbar.product.infrastructure.gateways.ProductCache;
+import com.snackbar.product.infrastructure.gateways.ProductEntityMapper;
+import com.snackbar.product.infrastructure.search.InMemoryProductSearchIndex;
+import com.snackbar.product.infrastructure.search.ProductSearchIndexLoader;
+
+/**
+ * Keeps this node's product cache and search index coherent with the products collection,
+ * including writes made by other nodes and by scripts run directly against the database.
+ * The change log and the shared menu views are already updated by the node making each write
+ * through the application; changes the log has not recorded by the time they are seen here,
+ * such as those of a restore script, are recorded and applied to the menus of their store, so
+ * the catalog version moves on and cached responses are not served for them.
+ */
+@Component
+public class ProductChangeStreamListener implements CollectionChangeListener {
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductEntityMapper productEntityMapper;
+    private final ProductCache productCache;
+    private final InMemoryProductSearchIndex searchIndex;
+    private final ProductSearchIndexLoader searchIndexLoader;
+    private final MongoMenuView menuView;
+    private final MongoProductChangeLog changeLog;
+
+    public ProductChangeStreamListener(MongoTemplate mongoTemplate, ProductEntityMapper productEntityMapper,
+                                       ProductCache productCache, InMemoryProductSearchIndex searchIndex,
+                                       ProductSearchIndexLoader searchIndexLoader, MongoMenuView menuView,
+                                       MongoProductChangeLog changeLog) {
+        this.mongoTemplate = mongoTemplate;
+        this.productEntityMapper = productEntityMapper;
+        this.productCache = productCache;
+        this.searchIndex = searchIndex;
+        this.searchIndexLoader = searchIndexLoader;
+        this.menuView = menuView;
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public String collection() {
+        return mongoTemplate.getCollectionName(ProductEntity.class);
+    }
+
+    @Override
+    public void onUpsert(Document document, Instant changedAt) {
+        ProductEntity entity = mongoTemplate.getConverter().read(ProductEntity.class, document);
+        Product product = productEntityMapper.toDomainObj(entity);
+        // Invalidated rather than cached, so a stream lagging behind local reads never overwrites a newer copy
+        productCache.invalidate(product.storeId(), product.id());
+        searchIndex.index(product);
+        try (ThreadScope priority = AdaptiveConcurrencyLimiter.background()) {
+            if (changeLog.recordIfNewer(product.storeId(), product.id(), false, changedAt)) {
+                menuView.apply(new ProductUpdatedEvent(product));
+            }
+        }
+    }
+
+    @Override
+    public void onDelete(String id, Instant changedAt) {
+        // Only the ID of a deleted document is known, not its store
+        productCache.invalidate(id);
+        searchIndex.remove(id);
+        try (ThreadScope priority = AdaptiveConcurrencyLimiter.background()) {
+            String storeId = changeLog.storeOf(id);
+            if (storeId == null) {
+                // Products added before the change log existed are only known to the menus
+                storeId = menuView.storeOf(id);
+            }
+            if (storeId == null) {
+                return;
+            }
+            if (changeLog.recordIfNewer(storeId, id, true, changedAt)) {
+                menuView.apply(new ProductDeletedEvent(storeId, id));
+            }
+        }
+    }
+
+    @Override
+    public void onResync() {
+        productCache.clear();
+        searchIndexLoader.rebuild();
+        menuView.rebuild();
+    }
+}
@@ -3,11 +3,18 @@ package com.snackbar.product.infrastructure.persistence;
 // This should be the Product entity from the database perspective, not from the domain perspective.
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 
 @Document(collection = "products")
+@CompoundIndexes({
+    @CompoundIndex(name = "store_category_name", def = "{'storeId': 1, 'category': 1, 'name': 1}"),
+    @CompoundIndex(name = "store_name", def = "{'storeId': 1, 'name': 1}")
+})
 public class ProductEntity {
 
     @Id
@@ -17,14 +24,21 @@ public class ProductEntity {
     private String description;
     private BigDecimal price;
     private Integer cookingTime;
+    private String storeId;
 
     public ProductEntity(String id, String name, String category, String description, BigDecimal price, Integer cookingTime) {
+        this(id, name, category, description, price, cookingTime, null);
+    }
+
+    @PersistenceCreator
+    public ProductEntity(String id, String name, String category, String description, BigDecimal price, Integer cookingTime, String storeId) {
         this.id = id;
         this.name = name;
         this.category = category;
         this.description = description;
         this.price = price;
         this.cookingTime = cookingTime;
+        this.storeId = storeId;
     }
 
     // Getters and setters
@@ -75,6 +89,14 @@ public class ProductEntity {
     public void setCookingTime(Integer cookingTime) {
         this.cookingTime = cookingTime;
     }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(String storeId) {
+        this.storeId = storeId;
+    }
     
     @Override
     public String toString() {
@@ -85,6 +107,7 @@ public class ProductEntity {
                 ", description='" + description + '\'' +
                 ", price=" + price +
                 ", cookingTime=" + cookingTime +
+                ", storeId='" + storeId + '\'' +
                 '}';
     }
 }
\ No newline at end of file
@@ -5,10 +5,11 @@ package com.snackbar.product.infrastructure.persistence;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends MongoRepository<ProductEntity, String> {
-    List<ProductEntity> findByCategory(String category);
-    Optional<ProductEntity> findByName(String name);
+// Every catalog query is scoped to a store, so it can use the storeId-led compound indexes.
+// The queries below back writes and read from the primary; catalog reads are in ProductRepositoryCustom.
+public interface ProductRepository extends MongoRepository<ProductEntity, String>, ProductRepositoryCustom {
+    Optional<ProductEntity> findByStoreIdAndId(String storeId, String id);
+    boolean existsByStoreIdAndId(String storeId, String id);
 }
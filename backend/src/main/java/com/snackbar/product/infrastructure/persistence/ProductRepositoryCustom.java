@@ -0,0 +1,35 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.mongodb.ReadPreference;
+
+// Queries that Spring Data cannot derive from method names, implemented with MongoTemplate.
+// Catalog reads take the read preference to route them with; derived queries read from the primary.
+public interface ProductRepositoryCustom {
+
+    /**
+     * Reads a store's products with only the given fields; the others are left null.
+     *
+     * @param storeId The ID of the store
+     * @param category The category to filter by, or null for every category
+     * @param fields The ProductEntity properties to read
+     * @param readPreference The replica set members the read may be served by
+     * @return The partially loaded products
+     */
+    List<ProductEntity> findFieldsByStoreId(String storeId, String category, Collection<String> fields, ReadPreference readPreference);
+
+    Optional<ProductEntity> findByStoreIdAndId(String storeId, String id, ReadPreference readPreference);
+
+    List<ProductEntity> findByStoreIdAndIdIn(String storeId, Collection<String> ids, ReadPreference readPreference);
+
+    List<ProductEntity> findByStoreId(String storeId, ReadPreference readPreference);
+
+    List<ProductEntity> findByStoreIdAndCategory(String storeId, String category, ReadPreference readPreference);
+
+    Optional<ProductEntity> findFirstByStoreIdAndName(String storeId, String name, ReadPreference readPreference);
+
+    List<ProductEntity> findAll(ReadPreference readPreference);
+}
@@ -0,0 +1,75 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.mongodb.ReadPreference;
+
+// Picked up by Spring Data as the implementation of ProductRepositoryCustom
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String ID_FIELD = "id";
+
+    private final MongoTemplate mongoTemplate;
+
+    ProductRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<ProductEntity> findFieldsByStoreId(String storeId, String category, Collection<String> fields,
+                                                   ReadPreference readPreference) {
+        Criteria criteria = Criteria.where("storeId").is(storeId);
+        if (category != null) {
+            criteria = criteria.and("category").is(category);
+        }
+        Query query = new Query(criteria).withReadPreference(readPreference);
+        // The projection is applied by the server, so unselected fields never leave the database
+        query.fields().include(fields.toArray(String[]::new));
+        if (!fields.contains(ID_FIELD)) {
+            query.fields().exclude(ID_FIELD);
+        }
+        return mongoTemplate.find(query, ProductEntity.class);
+    }
+
+    @Override
+    public Optional<ProductEntity> findByStoreIdAndId(String storeId, String id, ReadPreference readPreference) {
+        Query query = new Query(Criteria.where("storeId").is(storeId).and(ID_FIELD).is(id));
+        return Optional.ofNullable(mongoTemplate.findOne(query.withReadPreference(readPreference), ProductEntity.class));
+    }
+
+    @Override
+    public List<ProductEntity> findByStoreIdAndIdIn(String storeId, Collection<String> ids, ReadPreference readPreference) {
+        return find(Criteria.where("storeId").is(storeId).and(ID_FIELD).in(ids), readPreference);
+    }
+
+    @Override
+    public List<ProductEntity> findByStoreId(String storeId, ReadPreference readPreference) {
+        return find(Criteria.where("storeId").is(storeId), readPreference);
+    }
+
+    @Override
+    public List<ProductEntity> findByStoreIdAndCategory(String storeId, String category, ReadPreference readPreference) {
+        return find(Criteria.where("storeId").is(storeId).and("category").is(category), readPreference);
+    }
+
+    @Override
+    public Optional<ProductEntity> findFirstByStoreIdAndName(String storeId, String name, ReadPreference readPreference) {
+        Query query = new Query(Criteria.where("storeId").is(storeId).and("name").is(name)).limit(1);
+        return Optional.ofNullable(mongoTemplate.findOne(query.withReadPreference(readPreference), ProductEntity.class));
+    }
+
+    @Override
+    public List<ProductEntity> findAll(ReadPreference readPreference) {
+        return mongoTemplate.find(new Query().withReadPreference(readPreference), ProductEntity.class);
+    }
+
+    private List<ProductEntity> find(Criteria criteria, ReadPreference readPreference) {
+        return mongoTemplate.find(new Query(criteria).withReadPreference(readPreference), ProductEntity.class);
+    }
+}
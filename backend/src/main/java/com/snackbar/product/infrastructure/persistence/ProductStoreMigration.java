@@ -0,0 +1,107 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.result.UpdateResult;
+import com.snackbar.product.domain.entity.Product;
+
+/**
+ * Prepares the products collection for catalogs partitioned per store: builds the store-scoped
+ * compound indexes declared on {@link ProductEntity} and assigns products created before the
+ * partitioning to the default store. Both steps are idempotent, so running them on every startup is safe.
+ * <p>
+ * Every product query filters on the store, so products without one are not served at all: a
+ * failed assignment is retried every product.store-migration.retry-interval-ms until it succeeds.
+ */
+@Component
+public class ProductStoreMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductStoreMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private volatile boolean storesAssigned;
+
+    public ProductStoreMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            ensureIndexes();
+        } catch (Exception e) {
+            // Queries still work without the indexes, only slower, so startup continues
+            logger.warn("Failed to create product indexes: {}", e.getMessage());
+            logger.debug("Full exception details", e);
+        }
+        
+        assignStores();
+    }
+
+    /**
+     * Retries assigning the default store, until it has succeeded once.
+     */
+    @Scheduled(fixedDelayString = "${product.store-migration.retry-interval-ms:60000}",
+               initialDelayString = "${product.store-migration.retry-interval-ms:60000}")
+    public void retryAssignStores() {
+        if (!storesAssigned) {
+            assignStores();
+        }
+    }
+
+    boolean isStoresAssigned() {
+        return storesAssigned;
+    }
+
+    private void assignStores() {
+        try {
+            long migrated = assignDefaultStore();
+            storesAssigned = true;
+            if (migrated > 0) {
+                logger.info("Assigned {} products without a store to store '{}'", migrated, Product.DEFAULT_STORE_ID);
+            }
+        } catch (Exception e) {
+            // Products without a store stay hidden until they get one, so startup continues and this is retried
+            logger.warn("Failed to assign products without a store to store '{}', will retry: {}",
+                Product.DEFAULT_STORE_ID, e.getMessage());
+            logger.debug("Full exception details", e);
+        }
+    }
+
+    /**
+     * Creates the indexes declared on the product and product change entities that do not exist yet.
+     */
+    void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> entityType : List.of(ProductEntity.class, ProductChangeEntity.class)) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(entityType);
+            resolver.resolveIndexFor(entityType).forEach(indexOperations::ensureIndex);
+        }
+    }
+
+    /**
+     * Sets the default store ID on every product that has none.
+     *
+     * @return The number of products updated
+     */
+    long assignDefaultStore() {
+        Query query = new Query(Criteria.where("storeId").exists(false));
+        Update update = new Update().set("storeId", Product.DEFAULT_STORE_ID);
+        UpdateResult result = mongoTemplate.updateMulti(query, update, ProductEntity.class);
+        return result.getModifiedCount();
+    }
+}
@@ -0,0 +1,319 @@
+package com.snackbar.product.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.snackbar.product.application.ports.out.ProductSearchIndex;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.DomainEvent;
+import com.snackbar.product.domain.event.ProductCreatedEvent;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+
+/**
+ * In-process search index over product names and descriptions, partitioned per store.
+ * Each store keeps an inverted index from term to products plus a prefix trie over its terms,
+ * so type-ahead queries never touch the database. The index is rebuilt in bulk with
+ * {@link #rebuild(Supplier)} and kept current by applying product domain events. Changes applied
+ * while a rebuild is loading its products are replayed onto the rebuilt index before it replaces
+ * the current one, so a rebuild never loses them.
+ */
+public class InMemoryProductSearchIndex implements ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryProductSearchIndex.class);
+
+    // A term in the name says more about the product than one in the description
+    static final int NAME_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+    // A fully typed word outranks words it is merely a prefix of
+    static final int EXACT_MATCH_BOOST = 2;
+
+    private volatile Map<String, StoreIndex> stores = new ConcurrentHashMap<>();
+
+    // Changes are applied and journaled under this lock, and the rebuilt index swapped in under it
+    private final Object changeLock = new Object();
+    private final Object rebuildLock = new Object();
+    // The changes applied since the running rebuild started loading, or null when none is running
+    private List<Consumer<Map<String, StoreIndex>>> journal;
+
+    @Override
+    public List<Product> search(String storeId, String query, int limit) {
+        StoreIndex store = stores.get(storeId);
+        List<String> terms = SearchTextNormalizer.tokenize(query);
+        if (store == null || terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        return store.search(terms, limit);
+    }
+
+    /**
+     * Applies a product domain event to the index. Other events are ignored.
+     *
+     * @param event The domain event
+     */
+    public void apply(DomainEvent event) {
+        if (event instanceof ProductCreatedEvent created) {
+            index(created.getProduct());
+        } else if (event instanceof ProductUpdatedEvent updated) {
+            index(updated.getProduct());
+        } else if (event instanceof ProductDeletedEvent deleted) {
+            remove(deleted.getStoreId(), deleted.getProductId());
+        }
+    }
+
+    /**
+     * Adds a product to the index, replacing any previous version with the same ID.
+     *
+     * @param product The product to index
+     */
+    public void index(Product product) {
+        if (product == null || product.id() == null) {
+            return;
+        }
+        change(target -> target.computeIfAbsent(product.storeId(), id -> new StoreIndex()).put(product));
+    }
+
+    /**
+     * Removes a product from the index.
+     *
+     * @param storeId The ID of the store the product belongs to
+     * @param productId The ID of the product
+     */
+    public void remove(String storeId, String productId) {
+        if (productId == null) {
+            return;
+        }
+        change(target -> {
+            StoreIndex store = target.get(storeId);
+            if (store != null) {
+                store.remove(productId);
+            }
+        });
+    }
+
+    /**
+     * Removes a product from whichever store it is indexed under, for callers that only know its ID.
+     *
+     * @param productId The ID of the product
+     */
+    public void remove(String productId) {
+        if (productId != null) {
+            change(target -> target.values().forEach(store -> store.remove(productId)));
+        }
+    }
+
+    private void change(Consumer<Map<String, StoreIndex>> change) {
+        synchronized (changeLock) {
+            change.accept(stores);
+            if (journal != null) {
+                journal.add(change);
+            }
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given products. Searches keep using the previous
+     * index until the new one is complete.
+     *
+     * @param products Every product of every store
+     */
+    public void rebuild(Collection<Product> products) {
+        rebuild(() -> products);
+    }
+
+    /**
+     * Replaces the whole index with the products loaded, then with the changes applied while they
+     * were loading. Searches keep using the previous index until the new one is complete; if
+     * loading fails, the previous index is kept.
+     *
+     * @param loader Loads every product of every store
+     */
+    public void rebuild(Supplier<? extends Collection<Product>> loader) {
+        synchronized (rebuildLock) {
+            synchronized (changeLock) {
+                journal = new ArrayList<>();
+            }
+            try {
+                Collection<Product> products = loader.get();
+                Map<String, StoreIndex> rebuilt = new ConcurrentHashMap<>();
+                for (Product product : products) {
+                    if (product.id() != null) {
+                        rebuilt.computeIfAbsent(product.storeId(), id -> new StoreIndex()).put(product);
+                    }
+                }
+                int replayed;
+                synchronized (changeLock) {
+                    // The products may have been read before some of these changes were made
+                    journal.forEach(change -> change.accept(rebuilt));
+                    replayed = journal.size();
+                    stores = rebuilt;
+                }
+                logger.info("Product search index rebuilt with {} products in {} stores, {} changes replayed",
+                    products.size(), rebuilt.size(), replayed);
+            } finally {
+                synchronized (changeLock) {
+                    journal = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed products of a store: a snapshot of its catalog as of the last event
+     * applied, for answering catalog reads while the database cannot.
+     *
+     * @param storeId The ID of the store
+     * @return The products of the store, or empty if the store was never indexed
+     */
+    public Optional<List<Product>> snapshot(String storeId) {
+        StoreIndex store = stores.get(storeId);
+        return store != null ? Optional.of(store.products()) : Optional.empty();
+    }
+
+    /**
+     * @param storeId The ID of the store
+     * @return The number of indexed products of the store
+     */
+    public int size(String storeId) {
+        StoreIndex store = stores.get(storeId);
+        return store != null ? store.size() : 0;
+    }
+
+    private static final class StoreIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Product> products = new HashMap<>();
+        // term -> product ID -> weight of the term in that product
+        private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+        private final Map<String, Map<String, Integer>> termsByProduct = new HashMap<>();
+        private final PrefixTrie terms = new PrefixTrie();
+
+        void put(Product product) {
+            Map<String, Integer> weights = new HashMap<>();
+            addTerms(weights, product.name(), NAME_WEIGHT);
+            addTerms(weights, product.description(), DESCRIPTION_WEIGHT);
+
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(product.id());
+                products.put(product.id(), product);
+                termsByProduct.put(product.id(), weights);
+                for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                    Map<String, Integer> posting = postings.get(entry.getKey());
+                    if (posting == null) {
+                        posting = new HashMap<>();
+                        postings.put(entry.getKey(), posting);
+                        terms.add(entry.getKey());
+                    }
+                    posting.put(product.id(), entry.getValue());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String productId) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Product> products() {
+            lock.readLock().lock();
+            try {
+                return new ArrayList<>(products.values());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return products.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Product> search(List<String> queryTerms, int limit) {
+            lock.readLock().lock();
+            try {
+                // Every query word must match; a product's score sums the weights of the terms it matched
+                Map<String, Integer> scores = null;
+                for (String queryTerm : queryTerms) {
+                    Map<String, Integer> termScores = scoreTerm(queryTerm);
+                    if (scores == null) {
+                        scores = termScores;
+                    } else {
+                        scores.keySet().retainAll(termScores.keySet());
+                        scores.replaceAll((id, score) -> score + termScores.get(id));
+                    }
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+
+                Map<String, Integer> finalScores = scores;
+                return finalScores.keySet().stream()
+                    .map(products::get)
+                    .sorted(Comparator.<Product>comparingInt(p -> finalScores.get(p.id())).reversed()
+                        .thenComparing(Product::name, String.CASE_INSENSITIVE_ORDER))
+                    .limit(limit)
+                    .toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Map<String, Integer> scoreTerm(String queryTerm) {
+            List<String> matchedTerms = new ArrayList<>();
+            terms.collect(queryTerm, matchedTerms);
+
+            Map<String, Integer> termScores = new HashMap<>();
+            for (String term : matchedTerms) {
+                int boost = term.equals(queryTerm) ? EXACT_MATCH_BOOST : 1;
+                postings.get(term).forEach((id, weight) -> termScores.merge(id, weight * boost, Math::max));
+            }
+            return termScores;
+        }
+
+        private void removeUnlocked(String productId) {
+            products.remove(productId);
+            Map<String, Integer> previous = termsByProduct.remove(productId);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.keySet()) {
+                Map<String, Integer> posting = postings.get(term);
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                    terms.remove(term);
+                }
+            }
+        }
+
+        private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+            for (String term : SearchTextNormalizer.tokenize(text)) {
+                weights.merge(term, weight, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.snackbar.product.infrastructure.search;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set of terms that can be enumerated by prefix. Not thread-safe; callers guard access.
+ */
+class PrefixTrie {
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private String term;
+    }
+
+    private final Node root = new Node();
+
+    void add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+        }
+        node.term = term;
+    }
+
+    void remove(String term) {
+        Deque<Node> path = new ArrayDeque<>(term.length() + 1);
+        Node node = root;
+        path.push(node);
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.get(term.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path.push(node);
+        }
+        node.term = null;
+
+        // Prune the branch back to the last node still in use
+        for (int i = term.length() - 1; i >= 0; i--) {
+            Node child = path.pop();
+            if (child.term != null || !child.children.isEmpty()) {
+                return;
+            }
+            path.peek().children.remove(term.charAt(i));
+        }
+    }
+
+    /**
+     * Adds every term starting with the prefix, including the prefix itself, to the target list.
+     */
+    void collect(String prefix, List<String> target) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            Node current = pending.pop();
+            if (current.term != null) {
+                target.add(current.term);
+            }
+            for (Node child : current.children.values()) {
+                pending.push(child);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.snackbar.product.infrastructure.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+
+import com.snackbar.product.application.gateways.ProductGateway;
+
+/**
+ * Loads the product search index at startup and rebuilds it periodically.
+ * Domain events keep the index current for writes made through this node; the periodic
+ * rebuild picks up writes made by other nodes sharing the same database. When MongoDB change
+ * streams are enabled they deliver those writes instead, and the periodic rebuild is skipped.
+ * Events applied while a rebuild reads the products are replayed onto it, so none is lost.
+ */
+@Component
+public class ProductSearchIndexLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndexLoader.class);
+
+    private final ProductGateway productGateway;
+    private final InMemoryProductSearchIndex searchIndex;
+    private final boolean changeStreamsEnabled;
+
+    public ProductSearchIndexLoader(ProductGateway productGateway, InMemoryProductSearchIndex searchIndex,
+                                    @Value("${mongodb.change-streams.enabled:false}") boolean changeStreamsEnabled) {
+        this.productGateway = productGateway;
+        this.searchIndex = searchIndex;
+        this.changeStreamsEnabled = changeStreamsEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${product.search.rebuild-interval-ms:300000}",
+               fixedDelayString = "${product.search.rebuild-interval-ms:300000}")
+    public void rebuildPeriodically() {
+        if (!changeStreamsEnabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        try (ThreadScope priority = AdaptiveConcurrencyLimiter.background()) {
+            searchIndex.rebuild(productGateway::listAllProducts);
+        } catch (Exception e) {
+            // Keep serving the previous index; the next rebuild retries
+            logger.warn("Failed to rebuild product search index: {}", e.getMessage());
+            logger.debug("Full exception details", e);
+        }
+    }
+}
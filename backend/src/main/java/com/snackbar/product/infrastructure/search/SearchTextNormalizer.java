@@ -0,0 +1,58 @@
+package com.snackbar.product.infrastructure.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns Portuguese catalog text into search terms: accents and case are folded,
+ * punctuation splits words, common stop words are dropped and plurals ending in "s" are folded.
+ */
+public final class SearchTextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "o", "e", "as", "os", "ao", "aos", "um", "uma", "de", "da", "do", "das", "dos",
+        "em", "na", "no", "nas", "nos", "com", "sem", "para", "por", "ou");
+
+    // Shorter words are kept as typed so prefixes like "gas" are not shortened further
+    private static final int MIN_PLURAL_LENGTH = 4;
+
+    private SearchTextNormalizer() {
+    }
+
+    /**
+     * Splits text into normalized terms, keeping their order and duplicates.
+     *
+     * @param text The text to tokenize, may be null
+     * @return The normalized terms
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+
+        List<String> terms = new ArrayList<>();
+        for (String word : WORD_SEPARATORS.split(folded)) {
+            if (!word.isEmpty() && !STOP_WORDS.contains(word)) {
+                terms.add(foldPlural(word));
+            }
+        }
+        return terms;
+    }
+
+    private static String foldPlural(String word) {
+        if (word.length() >= MIN_PLURAL_LENGTH && word.endsWith("s")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
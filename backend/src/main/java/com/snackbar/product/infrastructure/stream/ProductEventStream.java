@@ -0,0 +1,257 @@
+package com.snackbar.product.infrastructure.stream;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.DomainEvent;
+import com.snackbar.product.domain.event.ProductCreatedEvent;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+
+/**
+ * Pushes product domain events to Server-Sent Events subscribers, scoped per store.
+ * A single fan-out thread hands each event and the periodic heartbeats to the connections'
+ * bounded buffers; buffers are written on virtual threads that exist only while there is
+ * something to send, so idle connections cost no thread. Recent events are kept in a
+ * replay buffer: a client reconnecting with the ID of the last event it saw receives what
+ * it missed, or a resync event when that is no longer available.
+ */
+public class ProductEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductEventStream.class);
+
+    public static final String RESYNC_EVENT = "resync";
+
+    /**
+     * Stream settings.
+     *
+     * @param bufferSize Events queued per connection before it is dropped as too slow
+     * @param replaySize Recent events kept for reconnecting clients
+     * @param heartbeatIntervalMs Interval between heartbeat comments, which keep proxies from closing idle connections
+     * @param timeoutMs Lifetime of a connection; clients reconnect transparently when it ends
+     * @param maxConnections Connections accepted at the same time
+     */
+    public record Settings(int bufferSize, int replaySize, long heartbeatIntervalMs, long timeoutMs, int maxConnections) {
+    }
+
+    // Distinguishes this node's event IDs from those of other nodes and of earlier runs
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Settings settings;
+    private final LongFunction<SseEmitter> emitterFactory;
+    private final Map<String, Set<SseConnection>> connectionsByStore = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final BlockingQueue<ProductStreamEvent> pending;
+    private final Deque<ProductStreamEvent> replay = new ArrayDeque<>();
+    private final Object replayLock = new Object();
+
+    private long sequence;
+    private volatile boolean running;
+    private Thread fanOut;
+    private ExecutorService writers;
+
+    public ProductEventStream(Settings settings) {
+        this(settings, SseEmitter::new);
+    }
+
+    ProductEventStream(Settings settings, LongFunction<SseEmitter> emitterFactory) {
+        this.settings = settings;
+        this.emitterFactory = emitterFactory;
+        this.pending = new ArrayBlockingQueue<>(Math.max(settings.replaySize(), 1));
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writers = Executors.newVirtualThreadPerTaskExecutor();
+        fanOut = new Thread(this::fanOut, "product-stream-fanout");
+        fanOut.setDaemon(true);
+        fanOut.start();
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        fanOut.interrupt();
+        forEachConnection(SseConnection::close);
+        writers.shutdown();
+    }
+
+    /**
+     * Opens a stream of the changes to a store's products.
+     *
+     * @param storeId The ID of the store
+     * @param lastEventId The Last-Event-ID sent by a reconnecting client, or null
+     * @return The emitter to return from the controller, or empty if the connection limit was reached
+     */
+    public Optional<SseEmitter> subscribe(String storeId, String lastEventId) {
+        if (connectionCount.incrementAndGet() > settings.maxConnections()) {
+            connectionCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = emitterFactory.apply(settings.timeoutMs());
+        SseConnection connection = new SseConnection(emitter, storeId, settings.bufferSize(), writers, this::remove);
+        emitter.onCompletion(connection::discard);
+        emitter.onError(error -> connection.discard());
+        emitter.onTimeout(connection::close);
+
+        connection.offer(SseEmitter.event().reconnectTime(settings.heartbeatIntervalMs()).comment("connected"));
+        synchronized (replayLock) {
+            // Replaying and registering under the lock taken by publish, so no event falls in between
+            replayTo(connection, lastEventId);
+            Set<SseConnection> subscribers = connectionsByStore.computeIfAbsent(storeId, id -> ConcurrentHashMap.newKeySet());
+            subscribers.add(connection);
+            if (connection.isClosed()) {
+                // It closed before it was registered, so its removal found nothing to remove
+                subscribers.remove(connection);
+            }
+        }
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Publishes a product domain event to the subscribers of its store. Other events are ignored.
+     *
+     * @param event The domain event
+     */
+    public void apply(DomainEvent event) {
+        boolean queued;
+        synchronized (replayLock) {
+            ProductStreamEvent streamEvent = toStreamEvent(event, sequence + 1);
+            if (streamEvent == null) {
+                return;
+            }
+            sequence = streamEvent.sequence();
+            replay.addLast(streamEvent);
+            if (replay.size() > settings.replaySize()) {
+                replay.removeFirst();
+            }
+            // Queued under the lock, so the fan-out receives events in sequence order: connections
+            // drop events older than the last one they queued
+            queued = pending.offer(streamEvent);
+        }
+        if (!queued) {
+            // The fan-out thread is far behind; subscribers reconnect and catch up from the replay buffer
+            logger.warn("Product stream fan-out is behind; disconnecting {} subscribers", connectionCount.get());
+            forEachConnection(SseConnection::close);
+        }
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    String eventId(long eventSequence) {
+        return epoch + "-" + eventSequence;
+    }
+
+    private void fanOut() {
+        long nextHeartbeat = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.heartbeatIntervalMs());
+        while (running) {
+            try {
+                long wait = Math.max(nextHeartbeat - System.nanoTime(), 0);
+                ProductStreamEvent event = pending.poll(wait, TimeUnit.NANOSECONDS);
+                if (event != null) {
+                    Set<SseConnection> subscribers = connectionsByStore.get(event.storeId());
+                    if (subscribers != null) {
+                        String id = eventId(event.sequence());
+                        subscribers.forEach(connection -> connection.offer(event, id));
+                    }
+                }
+                if (System.nanoTime() - nextHeartbeat >= 0) {
+                    forEachConnection(connection -> connection.offer(SseEmitter.event().comment("heartbeat")));
+                    nextHeartbeat = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.heartbeatIntervalMs());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error in product stream fan-out", e);
+            }
+        }
+    }
+
+    private void replayTo(SseConnection connection, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+        long lastSeen = parseSequence(lastEventId);
+        ProductStreamEvent oldest = replay.peekFirst();
+        long oldestAvailable = oldest != null ? oldest.sequence() : sequence + 1;
+        if (lastSeen < 0 || lastSeen > sequence || lastSeen + 1 < oldestAvailable) {
+            // Events the client missed are gone (or it saw another node's stream); it must reload the catalog
+            connection.offer(SseEmitter.event().id(eventId(sequence)).name(RESYNC_EVENT).data(""), sequence);
+            return;
+        }
+        List<ProductStreamEvent> missed = new ArrayList<>();
+        for (ProductStreamEvent event : replay) {
+            if (event.sequence() > lastSeen && event.storeId().equals(connection.storeId())) {
+                missed.add(event);
+            }
+        }
+        missed.forEach(event -> connection.offer(event, eventId(event.sequence())));
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Called once per connection, when it closes
+    private void remove(SseConnection connection) {
+        Set<SseConnection> subscribers = connectionsByStore.get(connection.storeId());
+        if (subscribers != null) {
+            subscribers.remove(connection);
+        }
+        connectionCount.decrementAndGet();
+    }
+
+    private void forEachConnection(Consumer<SseConnection> action) {
+        connectionsByStore.values().forEach(subscribers -> subscribers.forEach(action));
+    }
+
+    private static ProductStreamEvent toStreamEvent(DomainEvent event, long sequence) {
+        if (event instanceof ProductCreatedEvent created && created.getProduct() != null) {
+            Product product = created.getProduct();
+            return new ProductStreamEvent(sequence, ProductStreamEvent.CREATED, product.storeId(), product.id(), product);
+        }
+        if (event instanceof ProductUpdatedEvent updated && updated.getProduct() != null) {
+            Product product = updated.getProduct();
+            return new ProductStreamEvent(sequence, ProductStreamEvent.UPDATED, product.storeId(), product.id(), product);
+        }
+        if (event instanceof ProductDeletedEvent deleted) {
+            return new ProductStreamEvent(sequence, ProductStreamEvent.DELETED, deleted.getStoreId(), deleted.getProductId(), null);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.snackbar.product.infrastructure.stream;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.StdConverter;
+
+import com.snackbar.product.domain.entity.Product;
+
+/**
+ * A product change pushed to stream subscribers.
+ *
+ * @param sequence Position of the event in this node's stream
+ * @param type The SSE event name: product-created, product-updated or product-deleted
+ * @param storeId The ID of the store the product belongs to
+ * @param productId The ID of the product
+ * @param product The product after the change, or null if it was deleted
+ */
+public record ProductStreamEvent(long sequence, String type, String storeId, String productId,
+                                 @JsonSerialize(converter = ProductStreamEvent.ProductJson.class) Product product) {
+
+    public static final String CREATED = "product-created";
+    public static final String UPDATED = "product-updated";
+    public static final String DELETED = "product-deleted";
+
+    /**
+     * Writes a product with all of its fields, as the domain class carries no JSON mapping of its own.
+     */
+    static final class ProductJson extends StdConverter<Product, ProductJson.Fields> {
+
+        record Fields(String id, String name, String category, String description, BigDecimal price,
+                      Integer cookingTime, String storeId) {
+        }
+
+        @Override
+        public Fields convert(Product product) {
+            return new Fields(product.id(), product.name(), product.category(), product.description(),
+                product.price(), product.cookingTime(), product.storeId());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.snackbar.product.infrastructure.stream;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * One subscriber of the product stream. Events are queued in a bounded buffer and written by
+ * a task that only exists while the buffer has something to send, so an idle connection holds
+ * no thread. A subscriber that falls a full buffer behind is disconnected; it reconnects with
+ * its last event ID and catches up from the replay buffer.
+ */
+final class SseConnection {
+
+    private final SseEmitter emitter;
+    private final String storeId;
+    private final int capacity;
+    private final Executor writer;
+    private final Consumer<SseConnection> onClose;
+    private final Queue<SseEventBuilder> buffer = new ArrayDeque<>();
+
+    private long lastQueuedSequence;
+    private boolean writing;
+    private boolean closed;
+
+    SseConnection(SseEmitter emitter, String storeId, int capacity, Executor writer, Consumer<SseConnection> onClose) {
+        this.emitter = emitter;
+        this.storeId = storeId;
+        this.capacity = capacity;
+        this.writer = writer;
+        this.onClose = onClose;
+    }
+
+    String storeId() {
+        return storeId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Queues a product event unless an event at or after its position was already queued,
+     * which happens when a replayed event is also delivered live.
+     *
+     * @return false if the connection is closed or was closed because its buffer is full
+     */
+    synchronized boolean offer(ProductStreamEvent event, String eventId) {
+        if (event.sequence() <= lastQueuedSequence) {
+            return !closed;
+        }
+        lastQueuedSequence = event.sequence();
+        return enqueue(SseEmitter.event().id(eventId).name(event.type()).data(event));
+    }
+
+    /**
+     * Queues an event that stands for everything up to a position, such as a resync,
+     * so events at or before it still on their way are not delivered afterwards.
+     */
+    synchronized boolean offer(SseEventBuilder event, long coversSequence) {
+        lastQueuedSequence = Math.max(lastQueuedSequence, coversSequence);
+        return enqueue(event);
+    }
+
+    synchronized boolean offer(SseEventBuilder event) {
+        return enqueue(event);
+    }
+
+    private boolean enqueue(SseEventBuilder event) {
+        if (closed) {
+            return false;
+        }
+        if (buffer.size() >= capacity) {
+            close();
+            return false;
+        }
+        buffer.add(event);
+        if (!writing) {
+            writing = true;
+            writer.execute(this::write);
+        }
+        return true;
+    }
+
+    private void write() {
+        while (true) {
+            SseEventBuilder event;
+            synchronized (this) {
+                event = buffer.poll();
+                if (event == null || closed) {
+                    writing = false;
+                    return;
+                }
+            }
+            try {
+                emitter.send(event);
+            } catch (Exception e) {
+                // The client went away; the container reports it through the emitter callbacks too
+                discard();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Completes the response and forgets the connection.
+     */
+    void close() {
+        if (discard()) {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Forgets the connection without touching the response, for when it has already ended.
+     *
+     * @return true if the connection was still open
+     */
+    boolean discard() {
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            buffer.clear();
+        }
+        onClose.accept(this);
+        return true;
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+}
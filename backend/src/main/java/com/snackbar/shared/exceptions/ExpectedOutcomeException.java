@@ -0,0 +1,13 @@
+package com.snackbar.shared.exceptions;
+
+/**
+ * Base of the exceptions reporting an expected outcome, such as a lookup that finds nothing or
+ * a failed login, which are answered with an error response rather than traced as bugs.
+ * They skip the stack trace, so bursts of them stay cheap.
+ */
+public abstract class ExpectedOutcomeException extends RuntimeException {
+
+    protected ExpectedOutcomeException(String message) {
+        super(message, null, false, false);
+    }
+}
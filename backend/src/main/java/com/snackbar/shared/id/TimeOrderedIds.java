@@ -0,0 +1,68 @@
+package com.snackbar.shared.id;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generator of time-ordered UUIDs, version 7 of RFC 9562, for event and message IDs.
+ * <p>
+ * IDs start with their creation time in milliseconds, followed by a 12-bit counter that keeps
+ * IDs of this process strictly increasing within a millisecond and when the clock steps back:
+ * they sort in creation order, and are appended at the end of indexes instead of anywhere in
+ * them like random UUIDs. The rest is a 16-bit node number drawn once per process, so IDs of
+ * different nodes differ even when their time and counter match, and 46 random bits from the
+ * thread's own generator, where {@link UUID#randomUUID()} shares one SecureRandom between threads.
+ * <p>
+ * Framework-free, so that domain classes can use it as they use {@link UUID}.
+ */
+public final class TimeOrderedIds {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long RANDOM_MASK = (1L << 46) - 1;
+
+    private static final TimeOrderedIds SHARED = new TimeOrderedIds(new SecureRandom().nextInt(1 << 16),
+        System::currentTimeMillis);
+
+    private final long node;
+    private final LongSupplier clock;
+    // Millisecond time shifted left by COUNTER_BITS, plus the counter
+    private final AtomicLong last = new AtomicLong();
+
+    TimeOrderedIds(int node, LongSupplier clock) {
+        this.node = (long) (node & 0xFFFF) << 46;
+        this.clock = clock;
+    }
+
+    /**
+     * @return A new ID, greater than every ID generated before by this process
+     */
+    public static UUID next() {
+        return SHARED.nextId();
+    }
+
+    /**
+     * @param id A version 7 UUID
+     * @return The time the ID was generated at, to the millisecond
+     */
+    public static Instant timeOf(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("Not a time-ordered UUID: " + id);
+        }
+        return Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16);
+    }
+
+    UUID nextId() {
+        long floor = clock.getAsLong() << COUNTER_BITS;
+        // Once the counter of a millisecond runs out, the next IDs borrow from the following millisecond
+        long timeAndCounter = last.accumulateAndGet(floor, (previous, now) -> Math.max(previous + 1, now));
+        long millis = timeAndCounter >>> COUNTER_BITS;
+        long counter = timeAndCounter & ((1L << COUNTER_BITS) - 1);
+        long mostSignificant = millis << 16 | 0x7000L | counter;
+        long leastSignificant = 0x8000_0000_0000_0000L | node | ThreadLocalRandom.current().nextLong() & RANDOM_MASK;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
@@ -24,4 +24,13 @@ class InvalidCredentialsExceptionTest {
         // Then
         assertTrue(exception instanceof RuntimeException);
     }
+
+    @Test
+    void shouldNotCaptureStackTrace() {
+        // When
+        InvalidCredentialsException exception = new InvalidCredentialsException(ERROR_MESSAGE);
+        
+        // Then
+        assertEquals(0, exception.getStackTrace().length);
+    }
 }
@@ -24,4 +24,13 @@ class UserNotFoundExceptionTest {
         // Then
         assertTrue(exception instanceof RuntimeException);
     }
+
+    @Test
+    void shouldNotCaptureStackTrace() {
+        // When
+        UserNotFoundException exception = new UserNotFoundException(ERROR_MESSAGE);
+        
+        // Then
+        assertEquals(0, exception.getStackTrace().length);
+    }
 }
@@ -5,6 +5,7 @@ import com.snackbar.iam.application.ports.in.*;
 import com.snackbar.iam.application.ports.out.IamDomainEventPublisher;
 import com.snackbar.iam.application.usecases.*;
 import com.snackbar.iam.infrastructure.persistence.UserRepository;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,7 +35,7 @@ class IamConfigTest {
     @DisplayName("Should create UserGateway bean")
     void shouldCreateUserGatewayBean() {
         // When
-        UserGateway userGateway = iamConfig.userGateway(userRepository);
+        UserGateway userGateway = iamConfig.userGateway(userRepository, ResilienceGuards.unguarded());
         
         // Then
         assertNotNull(userGateway);
@@ -44,7 +45,7 @@ class IamConfigTest {
     @DisplayName("Should create RegisterUserInputPort bean")
     void shouldCreateRegisterUserInputPortBean() {
         // Given
-        UserGateway userGateway = iamConfig.userGateway(userRepository);
+        UserGateway userGateway = iamConfig.userGateway(userRepository, ResilienceGuards.unguarded());
         
         // When
         RegisterUserInputPort registerUserInputPort = iamConfig.registerUserUseCase(userGateway, passwordEncoder, eventPublisher);
@@ -58,7 +59,7 @@ class IamConfigTest {
     @DisplayName("Should create AuthenticateUserInputPort bean")
     void shouldCreateAuthenticateUserInputPortBean() {
         // Given
-        UserGateway userGateway = iamConfig.userGateway(userRepository);
+        UserGateway userGateway = iamConfig.userGateway(userRepository, ResilienceGuards.unguarded());
         
         // When
         AuthenticateUserInputPort authenticateUserInputPort = iamConfig.authenticateUserUseCase(userGateway, passwordEncoder);
@@ -72,7 +73,7 @@ class IamConfigTest {
     @DisplayName("Should create GetAllUsersInputPort bean")
     void shouldCreateGetAllUsersInputPortBean() {
         // Given
-        UserGateway userGateway = iamConfig.userGateway(userRepository);
+        UserGateway userGateway = iamConfig.userGateway(userRepository, ResilienceGuards.unguarded());
         
         // When
         GetAllUsersInputPort getAllUsersInputPort = iamConfig.getAllUsersUseCase(userGateway);
@@ -86,7 +87,7 @@ class IamConfigTest {
     @DisplayName("Should create GetUserByCpfInputPort bean")
     void shouldCreateGetUserByCpfInputPortBean() {
         // Given
-        UserGateway userGateway = iamConfig.userGateway(userRepository);
+        UserGateway userGateway = iamConfig.userGateway(userRepository, ResilienceGuards.unguarded());
         
         // When
         GetUserByCpfInputPort getUserByCpfInputPort = iamConfig.getUserByCpfUseCase(userGateway);
@@ -100,7 +101,7 @@ class IamConfigTest {
     @DisplayName("Should create UpdateUserInputPort bean")
     void shouldCreateUpdateUserInputPortBean() {
         // Given
-        UserGateway userGateway = iamConfig.userGateway(userRepository);
+        UserGateway userGateway = iamConfig.userGateway(userRepository, ResilienceGuards.unguarded());
         
         // When
         UpdateUserInputPort updateUserInputPort = iamConfig.updateUserUseCase(userGateway, passwordEncoder, eventPublisher);
@@ -114,7 +115,7 @@ class IamConfigTest {
     @DisplayName("Should create DeleteUserInputPort bean")
     void shouldCreateDeleteUserInputPortBean() {
         // Given
-        UserGateway userGateway = iamConfig.userGateway(userRepository);
+        UserGateway userGateway = iamConfig.userGateway(userRepository, ResilienceGuards.unguarded());
         
         // When
         DeleteUserInputPort deleteUserInputPort = iamConfig.deleteUserUseCase(userGateway, eventPublisher);
@@ -1,5 +1,6 @@
 package com.snackbar.iam.infrastructure.config;
 
+import com.snackbar.iam.infrastructure.security.AuthRateLimitFilter;
 import com.snackbar.iam.infrastructure.security.IamJwtAuthenticationFilter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,9 @@ class IamSecurityConfigTest {
     @Mock
     private IamJwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Mock
+    private AuthRateLimitFilter authRateLimitFilter;
+
     @Mock
     private UserDetailsService userDetailsService;
 
@@ -25,7 +29,7 @@ class IamSecurityConfigTest {
     @DisplayName("Should create IamSecurityConfig with required dependencies")
     void shouldCreateIamSecurityConfigWithRequiredDependencies() {
         // When
-        IamSecurityConfig securityConfig = new IamSecurityConfig(jwtAuthenticationFilter, userDetailsService);
+        IamSecurityConfig securityConfig = new IamSecurityConfig(jwtAuthenticationFilter, authRateLimitFilter, userDetailsService);
         
         // Then
         assertNotNull(securityConfig);
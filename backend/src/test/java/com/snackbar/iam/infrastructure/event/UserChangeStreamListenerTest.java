@@ -0,0 +1,88 @@
+package com.snackbar.iam.infrastructure.event;
+
+import com.snackbar.iam.domain.IamRole;
+import com.snackbar.iam.infrastructure.persistence.UserEntity;
+import java.time.Instant;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserChangeStreamListenerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoConverter converter;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @InjectMocks
+    private UserChangeStreamListener listener;
+
+    @Test
+    @DisplayName("Should publish the ID and CPF of a changed user")
+    void shouldPublishUpsertedUser() {
+        // Given
+        Document document = new Document("_id", "user-1");
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(converter.read(UserEntity.class, document)).thenReturn(
+                new UserEntity("user-1", "Ana", "ana@example.com", "52998224725", IamRole.CONSUMER, "hash"));
+
+        // When
+        listener.onUpsert(document, Instant.now());
+
+        // Then
+        UserRecordChangedEvent event = captureEvent();
+        assertEquals("user-1", event.getUserId());
+        assertEquals("52998224725", event.getUserCpf());
+        assertFalse(event.isDeleted());
+    }
+
+    @Test
+    @DisplayName("Should publish the ID of a deleted user")
+    void shouldPublishDeletedUser() {
+        // When
+        listener.onDelete("user-1", Instant.now());
+
+        // Then
+        UserRecordChangedEvent event = captureEvent();
+        assertEquals("user-1", event.getUserId());
+        assertNull(event.getUserCpf());
+        assertTrue(event.isDeleted());
+    }
+
+    @Test
+    @DisplayName("Should publish a resync event for every user")
+    void shouldPublishResync() {
+        // When
+        listener.onResync();
+
+        // Then
+        assertTrue(captureEvent().isResync());
+    }
+
+    private UserRecordChangedEvent captureEvent() {
+        ArgumentCaptor<UserRecordChangedEvent> event = ArgumentCaptor.forClass(UserRecordChangedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+}
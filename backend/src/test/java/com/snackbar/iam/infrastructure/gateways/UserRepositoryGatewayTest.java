@@ -1,5 +1,6 @@
 package com.snackbar.iam.infrastructure.gateways;
 
+import com.snackbar.iam.domain.IamRole;
 import com.snackbar.iam.domain.entity.User;
 import com.snackbar.iam.infrastructure.persistence.UserEntity;
 import com.snackbar.iam.infrastructure.persistence.UserRepository;
@@ -16,6 +17,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -223,4 +227,73 @@ class UserRepositoryGatewayTest {
         // Then
         verify(userRepository).deleteById(id);
     }
+
+    @Test
+    @DisplayName("Should make one query for concurrent lookups of the same user, handing each caller its own user")
+    void shouldCollapseConcurrentLookups() throws Exception {
+        // Given
+        String cpf = "52998224725";
+        UserEntity entity = new UserEntity("1", "Ana", "ana@example.com", cpf, IamRole.CONSUMER, "password");
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByCpf(cpf)).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(entity);
+        });
+        CompletableFuture<Optional<User>> first = CompletableFuture.supplyAsync(() -> userRepositoryGateway.findByCpf(cpf));
+        querying.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Optional<User>> second = new CompletableFuture<>();
+        Thread waiter = Thread.ofPlatform().start(() -> second.complete(userRepositoryGateway.findByCpf(cpf)));
+        while (waiter.getState() != Thread.State.WAITING && waiter.isAlive()) {
+            Thread.onSpinWait();
+        }
+        
+        // When
+        release.countDown();
+        
+        // Then
+        User firstUser = first.get(5, TimeUnit.SECONDS).orElseThrow();
+        User secondUser = second.get(5, TimeUnit.SECONDS).orElseThrow();
+        assertEquals("1", firstUser.getId());
+        assertEquals("1", secondUser.getId());
+        assertNotSame(firstUser, secondUser);
+        verify(userRepository, times(1)).findByCpf(cpf);
+    }
+
+    @Test
+    @DisplayName("Should not hand lookups made after a write the result of a lookup started during it")
+    void shouldNotJoinLookupsStartedDuringWrite() throws Exception {
+        // Given
+        String cpf = "52998224725";
+        UserEntity entity = new UserEntity("1", "Ana", "ana@example.com", cpf, IamRole.CONSUMER, "password");
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByCpf(cpf)).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(entity);
+        }).thenReturn(Optional.empty());
+        CompletableFuture<Optional<User>> duringWrite = new CompletableFuture<>();
+        doAnswer(invocation -> {
+            // A lookup that reads the user before the delete reaches the database
+            Thread.ofPlatform().start(() -> duringWrite.complete(userRepositoryGateway.findByCpf(cpf)));
+            querying.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(userRepository).deleteById("1");
+        userRepositoryGateway.deleteById("1");
+        
+        // When
+        CompletableFuture<Optional<User>> afterWrite = new CompletableFuture<>();
+        Thread caller = Thread.ofPlatform().start(() -> afterWrite.complete(userRepositoryGateway.findByCpf(cpf)));
+        while (caller.getState() != Thread.State.WAITING && caller.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        
+        // Then
+        assertTrue(afterWrite.get(5, TimeUnit.SECONDS).isEmpty());
+        assertTrue(duringWrite.get(5, TimeUnit.SECONDS).isPresent());
+        verify(userRepository, times(2)).findByCpf(cpf);
+    }
 }
@@ -0,0 +1,167 @@
+package com.snackbar.iam.infrastructure.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong nanos = new AtomicLong();
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = newFilter(2);
+    }
+
+    private AuthRateLimitFilter newFilter(int maxConcurrent) {
+        return new AuthRateLimitFilter(objectMapper, true,
+                new TokenBucketRateLimiter(3, 60, 1024, nanos::get),
+                new TokenBucketRateLimiter(2, 1, 1024, nanos::get),
+                maxConcurrent);
+    }
+
+    private static MockHttpServletRequest login(String remoteAddr, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/user/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once an address exceeds its limit")
+    void shouldLimitPerAddress() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.OK.value(), perform(login("10.0.0.1", "{\"anonymous\":true}")).getStatus());
+        }
+
+        // When
+        MockHttpServletResponse response = perform(login("10.0.0.1", "{\"anonymous\":true}"));
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertFalse(objectMapper.readTree(response.getContentAsByteArray()).get("success").asBoolean());
+        assertEquals(1, filter.getRejectedByAddress());
+        assertEquals(HttpStatus.OK.value(), perform(login("10.0.0.2", "{\"anonymous\":true}")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should limit a CPF across addresses, ignoring its formatting")
+    void shouldLimitPerCpf() throws Exception {
+        // Given
+        perform(login("10.0.0.1", "{\"cpf\":\"529.982.247-25\",\"password\":\"x\"}"));
+        perform(login("10.0.0.2", "{\"cpf\":\"52998224725\",\"password\":\"y\"}"));
+
+        // When
+        MockHttpServletResponse response = perform(login("10.0.0.3", "{\"cpf\":\"52998224725\",\"password\":\"z\"}"));
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("60", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, filter.getRejectedByCpf());
+    }
+
+    @Test
+    @DisplayName("Should pass the full body on to the controller after inspecting it")
+    void shouldPreserveBody() throws Exception {
+        // Given
+        String body = "{\"cpf\":\"52998224725\",\"password\":\"secret\"}";
+        AtomicReference<String> forwarded = new AtomicReference<>();
+        FilterChain chain = (ServletRequest request, jakarta.servlet.ServletResponse response) ->
+                forwarded.set(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        // When
+        filter.doFilter(login("10.0.0.1", body), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(body, forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Should reject bodies too large to inspect with 413, so padding cannot skip the CPF limit")
+    void shouldRejectBodiesTooLargeToInspect() throws Exception {
+        // Given
+        String body = "{\"cpf\":\"52998224725\",\"padding\":\"" + "x".repeat(10_000) + "\"}";
+        AtomicReference<ServletRequest> forwarded = new AtomicReference<>();
+        FilterChain chain = (ServletRequest request, jakarta.servlet.ServletResponse response) -> forwarded.set(request);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.0.1", body), response, chain);
+
+        // Then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertFalse(objectMapper.readTree(response.getContentAsByteArray()).get("success").asBoolean());
+        assertNull(forwarded.get(), "Oversized body should not reach the controller");
+        assertEquals(1, filter.getRejectedAsTooLarge());
+    }
+
+    @Test
+    @DisplayName("Should shed requests beyond the concurrency cap with 503")
+    void shouldShedWhenSaturated() throws Exception {
+        // Given
+        filter = newFilter(1);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain slowChain = (request, response) -> nested.set(perform(login("10.0.0.2", "{}")));
+
+        // When - a second request arrives while the first is still in progress
+        filter.doFilter(login("10.0.0.1", "{}"), new MockHttpServletResponse(), slowChain);
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, filter.getShed());
+        assertEquals(HttpStatus.OK.value(), perform(login("10.0.0.2", "{}")).getStatus(), "Permit should be released");
+    }
+
+    @Test
+    @DisplayName("Should only filter POSTs to login and signup")
+    void shouldSkipOtherRequests() {
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/user/auth/login")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/product")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/user/auth/signup")));
+    }
+
+    @Test
+    @DisplayName("Should expose rejections as metrics")
+    void shouldRegisterMetrics() throws Exception {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        for (int i = 0; i < 4; i++) {
+            perform(login("10.0.0.1", "{}"));
+        }
+
+        // Then
+        assertEquals(1.0, registry.get("iam.auth.rejected").tag("reason", "address").functionCounter().count());
+        assertEquals(2.0, registry.get("iam.auth.permits.available").gauge().value());
+    }
+}
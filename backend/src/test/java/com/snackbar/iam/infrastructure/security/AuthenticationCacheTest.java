@@ -0,0 +1,193 @@
+package com.snackbar.iam.infrastructure.security;
+
+import com.snackbar.iam.domain.IamRole;
+import com.snackbar.iam.domain.entity.User;
+import com.snackbar.iam.domain.event.UserDeletedEvent;
+import com.snackbar.iam.domain.event.UserUpdatedEvent;
+import com.snackbar.iam.infrastructure.event.UserRecordChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthenticationCacheTest {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final String OTHER_TOKEN = "header.payload.other-signature";
+
+    private long now = 1_700_000_000_000L;
+    private AuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AuthenticationCache(true, 3, 30_000, () -> now);
+    }
+
+    private static Authentication authentication(String id, String cpf) {
+        UserDetailsAdapter user = new UserDetailsAdapter(
+                new User(id, "John Doe", "john@example.com", cpf, IamRole.CONSUMER, "password"));
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("Should return the cached authentication for the same token only")
+        void shouldReturnCachedAuthenticationForSameToken() {
+            // Given
+            Authentication authentication = authentication("1", "52998224725");
+            cache.put(TOKEN, now + 60_000, authentication);
+
+            // When / Then
+            assertSame(authentication, cache.get(TOKEN));
+            assertNull(cache.get(OTHER_TOKEN));
+        }
+
+        @Test
+        @DisplayName("Should stop serving an entry at the instant its token expires")
+        void shouldStopServingAtTokenExpiry() {
+            // Given
+            cache.put(TOKEN, now + 5_000, authentication("1", "52998224725"));
+
+            // When / Then
+            now += 4_999;
+            assertNotNull(cache.get(TOKEN));
+            now += 1;
+            assertNull(cache.get(TOKEN));
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        @DisplayName("Should stop serving an entry after the TTL even if its token is still valid")
+        void shouldStopServingAfterTtl() {
+            // Given
+            cache.put(TOKEN, now + 3_600_000, authentication("1", "52998224725"));
+
+            // When
+            now += 30_000;
+
+            // Then
+            assertNull(cache.get(TOKEN));
+        }
+
+        @Test
+        @DisplayName("Should not cache a token that has already expired")
+        void shouldNotCacheExpiredToken() {
+            // When
+            cache.put(TOKEN, now, authentication("1", "52998224725"));
+
+            // Then
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used entry when full")
+        void shouldEvictLeastRecentlyUsed() {
+            // Given
+            cache.put("token-1", now + 60_000, authentication("1", "52998224725"));
+            cache.put("token-2", now + 60_000, authentication("2", "40532176871"));
+            cache.put("token-3", now + 60_000, authentication("3", "11144477735"));
+            cache.get("token-1");
+
+            // When
+            cache.put("token-4", now + 60_000, authentication("4", "39053344705"));
+
+            // Then
+            assertEquals(3, cache.size());
+            assertNotNull(cache.get("token-1"));
+            assertNull(cache.get("token-2"));
+        }
+
+        @Test
+        @DisplayName("Should cache nothing when disabled")
+        void shouldCacheNothingWhenDisabled() {
+            // Given
+            AuthenticationCache disabled = new AuthenticationCache(false, 3, 30_000, () -> now);
+
+            // When
+            disabled.put(TOKEN, now + 60_000, authentication("1", "52998224725"));
+
+            // Then
+            assertNull(disabled.get(TOKEN));
+            assertEquals(0, disabled.size());
+        }
+
+        @Test
+        @DisplayName("Should reject invalid settings")
+        void shouldRejectInvalidSettings() {
+            assertThrows(IllegalArgumentException.class, () -> new AuthenticationCache(true, 0, 30_000));
+            assertThrows(IllegalArgumentException.class, () -> new AuthenticationCache(true, 10, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("User changes")
+    class UserChanges {
+
+        @BeforeEach
+        void setUp() {
+            cache.put("token-1", now + 60_000, authentication("1", "52998224725"));
+            cache.put("token-2", now + 60_000, authentication("2", "40532176871"));
+        }
+
+        @Test
+        @DisplayName("Should drop the entries of an updated user")
+        void shouldDropEntriesOfUpdatedUser() {
+            // When
+            cache.onUserRecordChanged(UserRecordChangedEvent.upserted("1", "52998224725"));
+
+            // Then
+            assertNull(cache.get("token-1"));
+            assertNotNull(cache.get("token-2"));
+        }
+
+        @Test
+        @DisplayName("Should drop the entries of a user whose CPF changed")
+        void shouldDropEntriesOfUserWhoseCpfChanged() {
+            // When
+            cache.onUserRecordChanged(UserRecordChangedEvent.upserted("1", "11144477735"));
+
+            // Then
+            assertNull(cache.get("token-1"));
+        }
+
+        @Test
+        @DisplayName("Should drop the entries of a deleted user")
+        void shouldDropEntriesOfDeletedUser() {
+            // When
+            cache.onUserRecordChanged(UserRecordChangedEvent.deleted("2"));
+
+            // Then
+            assertNotNull(cache.get("token-1"));
+            assertNull(cache.get("token-2"));
+        }
+
+        @Test
+        @DisplayName("Should drop the entries of users updated or deleted on this node, without change streams")
+        void shouldDropEntriesOfUsersChangedOnThisNode() {
+            // When
+            cache.onUserUpdated(new UserUpdatedEvent(
+                    new User("1", "John Doe", "john@example.com", "52998224725", IamRole.ADMIN, "password")));
+            cache.onUserDeleted(new UserDeletedEvent("2", "40532176871"));
+
+            // Then
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        @DisplayName("Should drop every entry on a resync")
+        void shouldDropEverythingOnResync() {
+            // When
+            cache.onUserRecordChanged(UserRecordChangedEvent.resync());
+
+            // Then
+            assertEquals(0, cache.size());
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.snackbar.iam.infrastructure.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.snackbar.iam.infrastructure.controllers.dto.IamErrorResponseDTO;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -14,8 +17,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -25,12 +30,17 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 
 import java.io.IOException;
+import java.util.Date;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,8 +52,7 @@ class IamJwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
-    @Mock
-    private ObjectMapper objectMapper;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Mock
     private HttpServletRequest request;
@@ -65,6 +74,10 @@ class IamJwtAuthenticationFilterTest {
 
     private IamJwtAuthenticationFilter filter;
 
+    private AuthenticationCache authenticationCache;
+
+    private long now = 1_700_000_000_000L;
+
     private static final String VALID_TOKEN = "valid.jwt.token";
     private static final String VALID_CPF = "12345678900";
     private static final String AUTHORIZATION_HEADER = "Authorization";
@@ -72,7 +85,9 @@ class IamJwtAuthenticationFilterTest {
 
     @BeforeEach
     void setUp() {
-        filter = new IamJwtAuthenticationFilter(jwtService, userDetailsService, objectMapper);
+        authenticationCache = new AuthenticationCache(true, 100, 30_000, () -> now);
+        filter = new IamJwtAuthenticationFilter(jwtService, userDetailsService, authenticationCache,
+                ResilienceGuards.unguarded(), objectMapper);
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -132,7 +147,7 @@ class IamJwtAuthenticationFilterTest {
         // Then
         verify(response).setStatus(HttpStatus.UNAUTHORIZED.value());
         verify(response).setContentType(MediaType.APPLICATION_JSON_VALUE);
-        verify(objectMapper).writeValue(eq(outputStream), any(IamErrorResponseDTO.class));
+        verify(outputStream).write(aryEq(errorBody("Authentication token has expired")));
         verify(filterChain, never()).doFilter(request, response);
     }
 
@@ -149,7 +164,7 @@ class IamJwtAuthenticationFilterTest {
         // Then
         verify(response).setStatus(HttpStatus.UNAUTHORIZED.value());
         verify(response).setContentType(MediaType.APPLICATION_JSON_VALUE);
-        verify(objectMapper).writeValue(eq(outputStream), any(IamErrorResponseDTO.class));
+        verify(outputStream).write(aryEq(errorBody("Invalid authentication token")));
         verify(filterChain, never()).doFilter(request, response);
     }
 
@@ -166,7 +181,7 @@ class IamJwtAuthenticationFilterTest {
         // Then
         verify(response).setStatus(HttpStatus.BAD_REQUEST.value());
         verify(response).setContentType(MediaType.APPLICATION_JSON_VALUE);
-        verify(objectMapper).writeValue(eq(outputStream), any(IamErrorResponseDTO.class));
+        verify(outputStream).write(aryEq(errorBody("Malformed authentication token")));
         verify(filterChain, never()).doFilter(request, response);
     }
 
@@ -183,7 +198,7 @@ class IamJwtAuthenticationFilterTest {
         // Then
         verify(response).setStatus(HttpStatus.UNAUTHORIZED.value());
         verify(response).setContentType(MediaType.APPLICATION_JSON_VALUE);
-        verify(objectMapper).writeValue(eq(outputStream), any(IamErrorResponseDTO.class));
+        verify(outputStream).write(aryEq(errorBody("Authentication failed")));
         verify(filterChain, never()).doFilter(request, response);
     }
 
@@ -201,7 +216,26 @@ class IamJwtAuthenticationFilterTest {
         // Then
         verify(response).setStatus(HttpStatus.UNAUTHORIZED.value());
         verify(response).setContentType(MediaType.APPLICATION_JSON_VALUE);
-        verify(objectMapper).writeValue(eq(outputStream), any(IamErrorResponseDTO.class));
+        verify(outputStream).write(aryEq(errorBody("Authentication failed")));
+        verify(filterChain, never()).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_userStoreUnavailable_shouldReturnServiceUnavailable() throws ServletException, IOException {
+        // Given
+        when(request.getHeader(AUTHORIZATION_HEADER)).thenReturn(BEARER_PREFIX + VALID_TOKEN);
+        when(jwtService.extractUsername(VALID_TOKEN)).thenReturn(VALID_CPF);
+        when(userDetailsService.loadUserByUsername(VALID_CPF)).thenThrow(
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("auth")));
+        when(response.getOutputStream()).thenReturn(outputStream);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(response).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        verify(response).setHeader(HttpHeaders.RETRY_AFTER, "60");
+        verify(outputStream).write(aryEq(errorBody("Authentication temporarily unavailable")));
         verify(filterChain, never()).doFilter(request, response);
     }
 
@@ -220,7 +254,7 @@ class IamJwtAuthenticationFilterTest {
         // Then
         verify(response).setStatus(HttpStatus.UNAUTHORIZED.value());
         verify(response).setContentType(MediaType.APPLICATION_JSON_VALUE);
-        verify(objectMapper).writeValue(eq(outputStream), any(IamErrorResponseDTO.class));
+        verify(outputStream).write(aryEq(errorBody("Invalid authentication token")));
         verify(filterChain, never()).doFilter(request, response);
     }
 
@@ -239,7 +273,7 @@ class IamJwtAuthenticationFilterTest {
         // Then
         verify(response).setStatus(HttpStatus.UNAUTHORIZED.value());
         verify(response).setContentType(MediaType.APPLICATION_JSON_VALUE);
-        verify(objectMapper).writeValue(eq(outputStream), any(IamErrorResponseDTO.class));
+        verify(outputStream).write(aryEq(errorBody("Invalid authentication token")));
         verify(filterChain, never()).doFilter(request, response);
     }
 
@@ -262,6 +296,74 @@ class IamJwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void doFilterInternal_repeatedFailures_shouldWriteSameBodyWithLength() throws ServletException, IOException {
+        // Given
+        when(request.getHeader(AUTHORIZATION_HEADER)).thenReturn(BEARER_PREFIX + VALID_TOKEN);
+        when(jwtService.extractUsername(VALID_TOKEN)).thenThrow(new ExpiredJwtException(null, null, "Token expired"));
+        when(response.getOutputStream()).thenReturn(outputStream);
+        byte[] expected = errorBody("Authentication token has expired");
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(response, times(2)).setContentLength(expected.length);
+        verify(outputStream, times(2)).write(aryEq(expected));
+    }
+
+    @Test
+    void doFilterInternal_sameTokenAgain_shouldReuseUserWithDetailsOfNewRequest() throws ServletException, IOException {
+        // Given
+        when(request.getHeader(AUTHORIZATION_HEADER)).thenReturn(BEARER_PREFIX + VALID_TOKEN);
+        when(jwtService.extractUsername(VALID_TOKEN)).thenReturn(VALID_CPF);
+        when(userDetailsService.loadUserByUsername(VALID_CPF)).thenReturn(userDetails);
+        when(jwtService.isTokenValid(VALID_TOKEN, userDetails)).thenReturn(true);
+        when(jwtService.extractExpiration(VALID_TOKEN)).thenReturn(new Date(now + 60_000));
+        when(securityContext.getAuthentication()).thenReturn(null);
+        filter.doFilterInternal(request, response, filterChain);
+        HttpServletRequest nextRequest = mock(HttpServletRequest.class);
+        when(nextRequest.getHeader(AUTHORIZATION_HEADER)).thenReturn(BEARER_PREFIX + VALID_TOKEN);
+        when(nextRequest.getRemoteAddr()).thenReturn("10.0.0.2");
+
+        // When
+        now += 10_000;
+        filter.doFilterInternal(nextRequest, response, filterChain);
+
+        // Then
+        verify(jwtService, times(1)).extractUsername(VALID_TOKEN);
+        verify(userDetailsService, times(1)).loadUserByUsername(VALID_CPF);
+        ArgumentCaptor<Authentication> built = ArgumentCaptor.forClass(Authentication.class);
+        verify(securityContext, times(2)).setAuthentication(built.capture());
+        Authentication first = built.getAllValues().get(0);
+        Authentication second = built.getAllValues().get(1);
+        assertNotSame(first, second);
+        assertSame(first.getPrincipal(), second.getPrincipal());
+        assertEquals("10.0.0.2", ((WebAuthenticationDetails) second.getDetails()).getRemoteAddress());
+        verify(filterChain).doFilter(nextRequest, response);
+    }
+
+    @Test
+    void doFilterInternal_cachedTokenExpired_shouldValidateAgain() throws ServletException, IOException {
+        // Given
+        when(request.getHeader(AUTHORIZATION_HEADER)).thenReturn(BEARER_PREFIX + VALID_TOKEN);
+        when(jwtService.extractUsername(VALID_TOKEN)).thenReturn(VALID_CPF);
+        when(userDetailsService.loadUserByUsername(VALID_CPF)).thenReturn(userDetails);
+        when(jwtService.isTokenValid(VALID_TOKEN, userDetails)).thenReturn(true);
+        when(jwtService.extractExpiration(VALID_TOKEN)).thenReturn(new Date(now + 5_000));
+        when(securityContext.getAuthentication()).thenReturn(null);
+        filter.doFilterInternal(request, response, filterChain);
+
+        // When
+        now += 5_000;
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(jwtService, times(2)).extractUsername(VALID_TOKEN);
+        verify(userDetailsService, times(2)).loadUserByUsername(VALID_CPF);
+    }
+
     @Test
     void doFilterInternal_nullUsername_shouldContinueFilterChain() throws ServletException, IOException {
         // Given
@@ -275,4 +377,8 @@ class IamJwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
         verify(userDetailsService, never()).loadUserByUsername(anyString());
     }
+
+    private byte[] errorBody(String message) throws IOException {
+        return objectMapper.writeValueAsBytes(IamErrorResponseDTO.error(message));
+    }
 }
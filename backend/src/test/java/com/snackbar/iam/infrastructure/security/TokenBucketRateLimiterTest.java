@@ -0,0 +1,127 @@
+package com.snackbar.iam.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private void advanceMillis(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to the capacity, then report the wait for the next token")
+    void shouldAllowBurstThenLimit() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60, 1024, nanos::get);
+
+        // When / Then
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        assertEquals(1000, limiter.tryAcquire("10.0.0.1"), "One token per second is refilled");
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time, including slow rates")
+    void shouldRefillOverTime() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 2, 1024, nanos::get);
+        assertEquals(0, limiter.tryAcquire("cpf"));
+        assertTrue(limiter.tryAcquire("cpf") > 0);
+
+        // When - a token every 30s, accrued across many short intervals
+        for (int i = 0; i < 299; i++) {
+            advanceMillis(100);
+            assertTrue(limiter.tryAcquire("cpf") > 0);
+        }
+        advanceMillis(100);
+
+        // Then
+        assertEquals(0, limiter.tryAcquire("cpf"));
+    }
+
+    @Test
+    @DisplayName("Should limit keys independently")
+    void shouldLimitKeysIndependently() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 1024, nanos::get);
+
+        // When
+        limiter.tryAcquire("10.0.0.1");
+
+        // Then
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Should keep admitting keys that share a bucket with an exhausted key")
+    void shouldNotLimitKeysCollidingWithExhaustedKey() {
+        // Given - one key exhausts its buckets
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 5, 1024, nanos::get);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("attacker");
+        }
+
+        // When
+        int allowed = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (limiter.tryAcquire("client-" + i) == 0) {
+                allowed++;
+            }
+        }
+
+        // Then - about one client in 1024 shares a bucket with it, but only sharing both would limit one
+        assertTrue(allowed >= 995, "Allowed " + allowed);
+        assertTrue(limiter.tryAcquire("attacker") > 0);
+    }
+
+    @Test
+    @DisplayName("Should not hand out more tokens than the capacity under contention")
+    void shouldNotOverAdmitConcurrently() throws Exception {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 0.001, 1024, nanos::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Then - each of the key's two buckets holds 100 tokens
+        assertTrue(allowed.get() >= 100 && allowed.get() <= 200, "Allowed " + allowed.get());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1, 16));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 1, 0));
+    }
+}
@@ -0,0 +1,191 @@
+package com.snackbar.iam.infrastructure.security;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.iam.domain.exceptions.UserNotFoundException;
+import com.snackbar.iam.infrastructure.controllers.dto.IamErrorResponseDTO;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
+import io.jsonwebtoken.ExpiredJwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of answering a storm of requests carrying expired tokens, and of the not-found exceptions
+ * behind 404s, before and after error bodies were pre-serialized, the failure handler's warning
+ * demoted to debug and those exceptions made stackless. The "before" benchmarks reproduce the
+ * previous code. Only the exception benchmarks depend on the stack depth; the others simply
+ * repeat for each.
+ * <p>
+ * Not run by the test suite; run {@link #main} from the IDE, or after {@code mvn test-compile}
+ * with {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main UnauthorizedResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnauthorizedResponseBenchmark {
+
+    private static final String CLIENT_MESSAGE = "Authentication token has expired";
+    private static final String NOT_FOUND_MESSAGE = "User not found with CPF: 12345678900";
+
+    @Param({"10", "150"})
+    public int stackDepth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FilterChain rejectingChain = (request, response) -> {
+        throw new IllegalStateException("A bad token must not reach the chain");
+    };
+    private IamJwtAuthenticationFilter filter;
+    private FilterBefore filterBefore;
+    private MockHttpServletRequest request;
+    private byte[] errorBody;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        // Warnings are built and filtered as in production but written nowhere, so the failure handler's
+        // warning, since demoted to debug, is measured without adding I/O noise
+        ch.qos.logback.classic.Logger filterLogger =
+                (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(IamJwtAuthenticationFilter.class);
+        filterLogger.setLevel(Level.WARN);
+        filterLogger.setAdditive(false);
+        JwtService jwtService = new JwtService() {
+            @Override
+            public String extractUsername(String token) {
+                throw new ExpiredJwtException(null, null, "Token expired");
+            }
+        };
+        UserDetailsService userDetailsService = username -> {
+            throw new IllegalStateException("A bad token must not reach the user lookup");
+        };
+        AuthenticationCache authenticationCache = new AuthenticationCache(true, 16, 30_000);
+        filter = new IamJwtAuthenticationFilter(jwtService, userDetailsService, authenticationCache,
+                ResilienceGuards.unguarded(), objectMapper);
+        filterBefore = new FilterBefore(jwtService, objectMapper);
+        request = new MockHttpServletRequest("GET", "/api/product");
+        request.addHeader("Authorization", "Bearer not-a-token");
+        errorBody = objectMapper.writeValueAsBytes(IamErrorResponseDTO.error(CLIENT_MESSAGE));
+    }
+
+    // Status and headers are set the same way before and after, so only the body is compared
+    @Benchmark
+    public byte[] errorBodyBefore() throws IOException {
+        body.reset();
+        objectMapper.writeValue(body, IamErrorResponseDTO.error(CLIENT_MESSAGE));
+        return body.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] errorBodyAfter() {
+        body.reset();
+        body.writeBytes(errorBody);
+        return body.toByteArray();
+    }
+
+    // The whole 401, from the header to the body; the filter now also looks the token up in the authentication cache
+    @Benchmark
+    public MockHttpServletResponse badTokenThroughFilterBefore() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterBefore.doFilter(request, response, rejectingChain);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse badTokenThroughFilterAfter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, rejectingChain);
+        return response;
+    }
+
+    @Benchmark
+    public Object notFoundBefore() {
+        return atDepth(stackDepth, () -> new RuntimeException(NOT_FOUND_MESSAGE));
+    }
+
+    @Benchmark
+    public Object notFoundAfter() {
+        return atDepth(stackDepth, () -> new UserNotFoundException(NOT_FOUND_MESSAGE));
+    }
+
+    // Exceptions are created under controllers, proxies and filters, so stack depth is what a trace costs
+    private static Object atDepth(int depth, Supplier<RuntimeException> exception) {
+        return depth == 0 ? exception.get() : atDepth(depth - 1, exception);
+    }
+
+    /**
+     * The expired-token path of IamJwtAuthenticationFilter as it was, warning again in the failure
+     * handler and serializing the body on every rejection.
+     */
+    private static final class FilterBefore extends OncePerRequestFilter {
+
+        private static final Logger logger = LoggerFactory.getLogger(IamJwtAuthenticationFilter.class);
+
+        private final JwtService jwtService;
+        private final ObjectMapper objectMapper;
+
+        FilterBefore(JwtService jwtService, ObjectMapper objectMapper) {
+            this.jwtService = jwtService;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            try {
+                jwtService.extractUsername(authHeader.substring(7));
+            } catch (ExpiredJwtException e) {
+                logger.warn("JWT token expired");
+                logger.warn("{}: {}", CLIENT_MESSAGE, "JWT token expired");
+                SecurityContextHolder.clearContext();
+                response.setStatus(HttpStatus.UNAUTHORIZED.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), IamErrorResponseDTO.error(CLIENT_MESSAGE));
+                return;
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UnauthorizedResponseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,240 @@
+package com.snackbar.infrastructure.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter.Priority;
+
+@DisplayName("Micro Batcher Tests")
+class MicroBatcherTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final Map<String, Object> outcomes = new ConcurrentHashMap<>();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    // Holds the load of the key "slow" until counted down
+    private final CountDownLatch slowLoad = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.interrupt();
+            thread.join(5_000);
+        }
+    }
+
+    private MicroBatcher<String, String> batcher(Duration window, int maxBatchSize) {
+        return batcher(window, maxBatchSize, keys -> {
+            Map<String, String> values = new ConcurrentHashMap<>();
+            keys.stream().filter(key -> !key.equals("404")).forEach(key -> values.put(key, "product-" + key));
+            return values;
+        });
+    }
+
+    private MicroBatcher<String, String> batcher(Duration window, int maxBatchSize,
+                                                Function<List<String>, Map<String, String>> loader) {
+        return new MicroBatcher<>(keys -> {
+            batches.add(keys);
+            if (keys.contains("slow")) {
+                try {
+                    slowLoad.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return loader.apply(keys);
+        }, window, maxBatchSize);
+    }
+
+    // Keeps a batch loading, so the callers that follow wait for the window and gather into batches
+    private void occupy(MicroBatcher<String, String> batcher) {
+        startCaller(batcher, "occupying", "slow");
+    }
+
+    // Starts a caller, and waits for it to be blocked waiting for its batch, unless it is already done
+    private Thread startCaller(MicroBatcher<String, String> batcher, String name, String key) {
+        Thread thread = new Thread(() -> {
+            try {
+                String value = batcher.load(key);
+                outcomes.put(name, value == null ? "null" : value);
+            } catch (RuntimeException e) {
+                outcomes.put(name, e);
+            }
+        });
+        threads.add(thread);
+        thread.start();
+        long giveUpAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING
+                && thread.isAlive() && System.nanoTime() < giveUpAt) {
+            Thread.onSpinWait();
+        }
+        return thread;
+    }
+
+    private void joinAll() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a full batch with one call without waiting for the window to end")
+    void shouldLoadFullBatchAtOnce() throws InterruptedException {
+        // Given
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMinutes(1), 3);
+        occupy(batcher);
+
+        // When
+        startCaller(batcher, "first", "1");
+        startCaller(batcher, "second", "2");
+        startCaller(batcher, "third", "3");
+        threads.get(3).join(5_000);
+        slowLoad.countDown();
+        joinAll();
+
+        // Then
+        assertEquals(List.of(List.of("slow"), List.of("1", "2", "3")), batches);
+        assertEquals(Map.of("occupying", "product-slow", "first", "product-1", "second", "product-2", "third", "product-3"), outcomes);
+    }
+
+    @Test
+    @DisplayName("Should load a batch once the window ends, with the keys gathered meanwhile")
+    void shouldLoadBatchAtEndOfWindow() {
+        // Given
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMillis(20), 100);
+        occupy(batcher);
+
+        // When
+        String value = batcher.load("1");
+
+        // Then
+        assertEquals("product-1", value);
+        assertEquals(List.of(List.of("slow"), List.of("1")), batches);
+        slowLoad.countDown();
+    }
+
+    @Test
+    @DisplayName("Should load a key right away when no other batch is loading")
+    void shouldNotWaitForWindowWhenIdle() {
+        // Given
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMinutes(1), 100);
+
+        // When
+        String first = batcher.load("1");
+        String second = batcher.load("2");
+
+        // Then
+        assertEquals("product-1", first);
+        assertEquals("product-2", second);
+        assertEquals(List.of(List.of("1"), List.of("2")), batches);
+    }
+
+    @Test
+    @DisplayName("Should load each key once per batch and answer keys the loader did not find with null")
+    void shouldShareKeysAndAnswerMissingKeysWithNull() throws InterruptedException {
+        // Given
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMinutes(1), 2);
+        occupy(batcher);
+
+        // When
+        startCaller(batcher, "first", "404");
+        startCaller(batcher, "second", "404");
+        startCaller(batcher, "third", "1");
+        threads.get(3).join(5_000);
+        slowLoad.countDown();
+        joinAll();
+
+        // Then
+        assertEquals(List.of(List.of("slow"), List.of("404", "1")), batches);
+        assertEquals(Map.of("occupying", "product-slow", "first", "null", "second", "null", "third", "product-1"), outcomes);
+    }
+
+    @Test
+    @DisplayName("Should hand a failure of the loader to every caller of the batch")
+    void shouldShareFailures() throws InterruptedException {
+        // Given
+        IllegalStateException failure = new IllegalStateException("Test exception");
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMinutes(1), 2, keys -> {
+            throw failure;
+        });
+        occupy(batcher);
+
+        // When
+        startCaller(batcher, "first", "1");
+        startCaller(batcher, "second", "2");
+        threads.get(2).join(5_000);
+        slowLoad.countDown();
+        joinAll();
+
+        // Then
+        assertSame(failure, outcomes.get("first"));
+        assertSame(failure, outcomes.get("second"));
+    }
+
+    @Test
+    @DisplayName("Should not load the keys of interactive callers in batches opened at background priority")
+    void shouldKeepBatchesPerPriority() throws InterruptedException {
+        // Given
+        Map<String, Priority> priorities = new ConcurrentHashMap<>();
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMillis(200), 100, keys -> {
+            keys.forEach(key -> priorities.put(key, AdaptiveConcurrencyLimiter.currentPriority()));
+            return Map.of();
+        });
+        occupy(batcher);
+        Thread background = Thread.ofPlatform().start(() -> {
+            try (ThreadScope scope = AdaptiveConcurrencyLimiter.background()) {
+                batcher.load("1");
+            }
+        });
+        threads.add(background);
+        while (background.getState() != Thread.State.TIMED_WAITING && background.isAlive()) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        batcher.load("2");
+        slowLoad.countDown();
+        joinAll();
+
+        // Then
+        assertEquals(3, batches.size());
+        assertEquals(Priority.BACKGROUND, priorities.get("1"));
+        assertEquals(Priority.INTERACTIVE, priorities.get("2"));
+    }
+
+    @Test
+    @DisplayName("Should load every key alone when batches hold a single key")
+    void shouldNotWaitForSingleKeyBatches() {
+        // Given
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMinutes(1), 1);
+
+        // When
+        batcher.load("1");
+        batcher.load("2");
+
+        // Then
+        assertEquals(List.of(List.of("1"), List.of("2")), batches);
+    }
+
+    @Test
+    @DisplayName("Should reject batches of no keys")
+    void shouldRejectInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> batcher(Duration.ofMillis(1), 0));
+        assertNull(batcher(Duration.ZERO, 1).load("404"));
+    }
+}
@@ -0,0 +1,265 @@
+package com.snackbar.infrastructure.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.snackbar.infrastructure.deadline.Deadline;
+import com.snackbar.infrastructure.deadline.DeadlineExceededException;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter.Priority;
+
+@DisplayName("Single Flight Tests")
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Object> outcomes = new CopyOnWriteArrayList<>();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+    }
+
+    // A call that blocks until released, then returns the result of the given supplier
+    private Supplier<String> blockingCall(Supplier<String> result) {
+        return () -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    // Starts a caller, and waits for it to be blocked, in the call or waiting for it
+    private Thread startCaller(Supplier<String> call) throws InterruptedException {
+        return startCaller(call, null);
+    }
+
+    private Thread startCaller(Supplier<String> call, Duration deadline) throws InterruptedException {
+        return startCaller(call, deadline, Priority.INTERACTIVE);
+    }
+
+    private Thread startCaller(Supplier<String> call, Duration deadline, Priority priority) throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            try (ThreadScope scope = deadline == null ? ThreadScope.NONE : Deadline.start(deadline);
+                 ThreadScope withPriority = AdaptiveConcurrencyLimiter.withPriority(priority)) {
+                outcomes.add(singleFlight.execute("menu", call));
+            } catch (RuntimeException e) {
+                outcomes.add(e);
+            }
+        });
+        threads.add(thread);
+        thread.start();
+        long giveUpAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING
+                && thread.isAlive() && System.nanoTime() < giveUpAt) {
+            Thread.onSpinWait();
+        }
+        return thread;
+    }
+
+    private void finish() throws InterruptedException {
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+    }
+
+    @Nested
+    @DisplayName("Collapsing calls")
+    class CollapsingCalls {
+
+        @Test
+        @DisplayName("Should make one call for concurrent callers of the same key")
+        void shouldCollapseConcurrentCalls() throws InterruptedException {
+            // Given
+            startCaller(blockingCall(() -> "burger"));
+            for (int i = 0; i < 3; i++) {
+                startCaller(blockingCall(() -> "fries"));
+            }
+
+            // When
+            finish();
+
+            // Then
+            assertEquals(1, calls.get());
+            assertEquals(List.of("burger", "burger", "burger", "burger"), outcomes);
+            assertEquals(0, singleFlight.inFlight());
+        }
+
+        @Test
+        @DisplayName("Should hand the exception of the call to every caller")
+        void shouldShareFailures() throws InterruptedException {
+            // Given
+            IllegalStateException failure = new IllegalStateException("Test exception");
+            startCaller(blockingCall(() -> {
+                throw failure;
+            }));
+            startCaller(blockingCall(() -> "fries"));
+
+            // When
+            finish();
+
+            // Then
+            assertEquals(1, calls.get());
+            assertSame(failure, outcomes.get(0));
+            assertSame(failure, outcomes.get(1));
+        }
+
+        @Test
+        @DisplayName("Should not keep results once the call is over")
+        void shouldNotCacheResults() {
+            // When
+            singleFlight.execute("menu", () -> "burger-" + calls.incrementAndGet());
+            String second = singleFlight.execute("menu", () -> "burger-" + calls.incrementAndGet());
+
+            // Then
+            assertEquals("burger-2", second);
+        }
+
+        @Test
+        @DisplayName("Should make a new call for callers arriving after the key was forgotten")
+        void shouldStartNewCallAfterForget() throws InterruptedException {
+            // Given
+            startCaller(blockingCall(() -> "burger"));
+
+            // When
+            singleFlight.forget(key -> key.equals("menu"));
+            String result = singleFlight.execute("menu", () -> "fries");
+
+            // Then
+            assertEquals("fries", result);
+            finish();
+            assertEquals(List.of("burger"), outcomes);
+        }
+    }
+
+    @Nested
+    @DisplayName("Priorities")
+    class Priorities {
+
+        @Test
+        @DisplayName("Should not make interactive callers wait for a call made at background priority")
+        void shouldNotJoinBackgroundCalls() throws InterruptedException {
+            // Given
+            startCaller(blockingCall(() -> "burger"), null, Priority.BACKGROUND);
+
+            // When
+            Thread caller = startCaller(() -> "fries" + calls.incrementAndGet());
+            caller.join(5_000);
+
+            // Then
+            assertTrue(outcomes.contains("fries2"));
+            finish();
+            assertEquals(2, calls.get());
+            assertTrue(outcomes.contains("burger"));
+        }
+
+        @Test
+        @DisplayName("Should let background callers join interactive calls")
+        void shouldJoinInteractiveCallsInBackground() throws InterruptedException {
+            // Given
+            startCaller(blockingCall(() -> "burger"));
+
+            // When
+            startCaller(blockingCall(() -> "fries"), null, Priority.BACKGROUND);
+            finish();
+
+            // Then
+            assertEquals(1, calls.get());
+            assertEquals(List.of("burger", "burger"), outcomes);
+        }
+
+        @Test
+        @DisplayName("Should make asynchronous calls at the priority of their caller")
+        void executeAsync_ShouldKeepPriorityOfCaller() throws Exception {
+            // When
+            CompletableFuture<Priority> priority;
+            try (ThreadScope background = AdaptiveConcurrencyLimiter.background()) {
+                priority = new SingleFlight<String, Priority>().executeAsync("menu", AdaptiveConcurrencyLimiter::currentPriority,
+                    task -> Thread.ofPlatform().start(task));
+            }
+
+            // Then
+            assertEquals(Priority.BACKGROUND, priority.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Nested
+    @DisplayName("Deadlines")
+    class Deadlines {
+
+        @Test
+        @DisplayName("Should stop waiting once the deadline of the waiter is over")
+        void shouldStopWaitingAtDeadline() throws InterruptedException {
+            // Given
+            startCaller(blockingCall(() -> "burger"));
+
+            // When
+            Thread waiter = startCaller(blockingCall(() -> "fries"), Duration.ofMillis(50));
+            waiter.join(5_000);
+
+            // Then
+            assertEquals(DeadlineExceededException.class, outcomes.get(0).getClass());
+            finish();
+            assertEquals(1, calls.get());
+        }
+
+        @Test
+        @DisplayName("Should make the call again when the shared call ran out of the time of its caller")
+        void shouldRetryWhenSharedCallTimedOut() throws InterruptedException {
+            // Given
+            startCaller(blockingCall(() -> {
+                throw new DeadlineExceededException("Request deadline exceeded");
+            }));
+            startCaller(blockingCall(() -> "fries"), Duration.ofSeconds(30));
+
+            // When
+            finish();
+
+            // Then
+            assertEquals(2, calls.get());
+            assertEquals(2, outcomes.size());
+            assertTrue(outcomes.stream().anyMatch(DeadlineExceededException.class::isInstance));
+            assertTrue(outcomes.contains("fries"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should make asynchronous calls on the executor, joining a call in flight")
+    void executeAsync_ShouldJoinCallInFlight() throws Exception {
+        // Given
+        startCaller(blockingCall(() -> "burger"));
+
+        // When
+        CompletableFuture<String> joined = singleFlight.executeAsync("menu", () -> "fries", Runnable::run);
+        finish();
+
+        // Then
+        assertEquals("burger", joined.get(5, TimeUnit.SECONDS));
+        assertEquals("fries", singleFlight.executeAsync("menu", () -> "fries", Runnable::run).get());
+    }
+}
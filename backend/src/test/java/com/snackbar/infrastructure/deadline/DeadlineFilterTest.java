@@ -0,0 +1,139 @@
+package com.snackbar.infrastructure.deadline;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+@DisplayName("Deadline Filter Tests")
+class DeadlineFilterTest {
+
+    private final DeadlineFilter filter = new DeadlineFilter(true, 5000, 30000);
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor(true, 30000);
+
+    private Optional<Duration> timeLeftDuring(MockHttpServletRequest request, DeadlineFilter deadlineFilter) throws Exception {
+        AtomicReference<Optional<Duration>> seen = new AtomicReference<>();
+        deadlineFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(Deadline.timeLeft()));
+        return seen.get();
+    }
+
+    private static boolean within(Optional<Duration> timeLeft, long lowerMs, long upperMs) {
+        Duration left = timeLeft.orElseThrow();
+        return left.compareTo(Duration.ofMillis(lowerMs)) > 0 && left.compareTo(Duration.ofMillis(upperMs)) <= 0;
+    }
+
+    @Nested
+    @DisplayName("Setting the deadline")
+    class SettingTheDeadline {
+
+        @Test
+        @DisplayName("Should use the default budget when the client sends none")
+        void shouldUseDefaultBudget() throws Exception {
+            assertTrue(within(timeLeftDuring(new MockHttpServletRequest("GET", "/api/product"), filter), 4000, 5000));
+            assertTrue(Deadline.timeLeft().isEmpty(), "The deadline should end with the request");
+        }
+
+        @Test
+        @DisplayName("Should use the client's budget, capped by the maximum")
+        void shouldUseClientBudget() throws Exception {
+            MockHttpServletRequest shortRequest = new MockHttpServletRequest("GET", "/api/product");
+            shortRequest.addHeader(Deadline.TIMEOUT_HEADER, "800");
+            MockHttpServletRequest longRequest = new MockHttpServletRequest("GET", "/api/product");
+            longRequest.addHeader(Deadline.TIMEOUT_HEADER, "600000");
+
+            assertTrue(within(timeLeftDuring(shortRequest, filter), 0, 800));
+            assertTrue(within(timeLeftDuring(longRequest, filter), 29000, 30000));
+        }
+
+        @Test
+        @DisplayName("Should ignore budgets that are not a positive number of milliseconds")
+        void shouldIgnoreInvalidBudgets() throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/product");
+            request.addHeader(Deadline.TIMEOUT_HEADER, "soon");
+
+            assertTrue(within(timeLeftDuring(request, filter), 4000, 5000));
+            assertNull(request.getAttribute(DeadlineFilter.CLIENT_DEADLINE_ATTRIBUTE));
+        }
+
+        @Test
+        @DisplayName("Should set no deadline when disabled")
+        void shouldSetNoDeadlineWhenDisabled() throws Exception {
+            assertFalse(timeLeftDuring(new MockHttpServletRequest("GET", "/api/product"),
+                    new DeadlineFilter(false, 5000, 30000)).isPresent());
+        }
+
+        @Test
+        @DisplayName("Should reject a default budget above the maximum")
+        void shouldRejectInvalidSettings() {
+            assertThrows(IllegalArgumentException.class, () -> new DeadlineFilter(true, 60000, 30000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Applying endpoint budgets")
+    class ApplyingEndpointBudgets {
+
+        @RequestTimeout(15000)
+        void slowEndpoint() {
+        }
+
+        private HandlerMethod handler() throws NoSuchMethodException {
+            Method method = ApplyingEndpointBudgets.class.getDeclaredMethod("slowEndpoint");
+            return new HandlerMethod(this, method);
+        }
+
+        @Test
+        @DisplayName("Should replace the default budget with the endpoint's until the request completes")
+        void shouldApplyEndpointBudget() throws Exception {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/product/batch");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            HandlerMethod handler = handler();
+            AtomicReference<Optional<Duration>> seen = new AtomicReference<>();
+
+            // When
+            filter.doFilter(request, response, (req, res) -> {
+                interceptor.preHandle(request, response, handler);
+                seen.set(Deadline.timeLeft());
+                interceptor.afterCompletion(request, response, handler, null);
+                assertTrue(within(Deadline.timeLeft(), 0, 5000), "The default budget should be restored");
+            });
+
+            // Then
+            assertTrue(within(seen.get(), 14000, 15000));
+        }
+
+        @Test
+        @DisplayName("Should keep the client's budget over the endpoint's")
+        void shouldKeepClientBudget() throws Exception {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/product/batch");
+            request.addHeader(Deadline.TIMEOUT_HEADER, "1000");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            HandlerMethod handler = handler();
+            AtomicReference<Optional<Duration>> seen = new AtomicReference<>();
+
+            // When
+            filter.doFilter(request, response, (req, res) -> {
+                interceptor.preHandle(request, response, handler);
+                seen.set(Deadline.timeLeft());
+                interceptor.afterCompletion(request, response, handler, null);
+            });
+
+            // Then
+            assertTrue(within(seen.get(), 0, 1000));
+        }
+    }
+}
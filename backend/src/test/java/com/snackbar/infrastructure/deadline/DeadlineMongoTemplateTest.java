@@ -0,0 +1,91 @@
+package com.snackbar.infrastructure.deadline;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.MongoOperationTimeoutException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+@DisplayName("Deadline Mongo Template Tests")
+class DeadlineMongoTemplateTest {
+
+    private final SimpleMongoClientDatabaseFactory factory =
+            new SimpleMongoClientDatabaseFactory(mock(MongoClient.class), "snackbar");
+    private final DeadlineMongoTemplate template = (DeadlineMongoTemplate) new DeadlineMongoConfig().mongoTemplate(factory,
+            new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+
+    @Test
+    @DisplayName("Should bound operations by the time left before the deadline")
+    @SuppressWarnings("unchecked")
+    void prepareCollection_ShouldApplyTimeLeft() {
+        // Given
+        MongoCollection<Document> bounded = mock(MongoCollection.class);
+        when(collection.withTimeout(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(bounded);
+
+        // When
+        MongoCollection<Document> prepared;
+        try (ThreadScope scope = Deadline.start(Duration.ofSeconds(3))) {
+            prepared = template.prepareCollection(collection);
+        }
+
+        // Then
+        assertSame(bounded, prepared);
+        ArgumentCaptor<Long> timeout = ArgumentCaptor.forClass(Long.class);
+        verify(collection).withTimeout(timeout.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(timeout.getValue() > 2000 && timeout.getValue() <= 3000);
+    }
+
+    @Test
+    @DisplayName("Should leave operations outside a deadline unbounded")
+    void prepareCollection_ShouldNotBoundWithoutDeadline() {
+        assertSame(collection, template.prepareCollection(collection));
+        verifyNoInteractions(collection);
+    }
+
+    @Test
+    @DisplayName("Should not start operations once the deadline has passed")
+    void prepareCollection_ShouldFailAfterDeadline() {
+        try (ThreadScope scope = Deadline.start(Duration.ZERO)) {
+            assertThrows(DeadlineExceededException.class, () -> template.prepareCollection(collection));
+        }
+    }
+
+    @Test
+    @DisplayName("Should translate MongoDB timeouts into query timeouts and keep other translations")
+    void exceptionTranslator_ShouldTranslateTimeouts() {
+        assertInstanceOf(QueryTimeoutException.class, template.getExceptionTranslator()
+                .translateExceptionIfPossible(new MongoOperationTimeoutException("Operation exceeded the timeout limit")));
+        assertInstanceOf(DataAccessResourceFailureException.class, template.getExceptionTranslator()
+                .translateExceptionIfPossible(new MongoSocketException("Connection refused", new ServerAddress())));
+    }
+}
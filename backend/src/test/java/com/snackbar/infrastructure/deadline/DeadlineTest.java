@@ -0,0 +1,61 @@
+package com.snackbar.infrastructure.deadline;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+@DisplayName("Deadline Tests")
+class DeadlineTest {
+
+    @Test
+    @DisplayName("Should have no time limit outside a deadline")
+    void shouldHaveNoLimitOutsideDeadline() {
+        assertTrue(Deadline.timeLeft().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the sooner deadline and restore the previous one when closed")
+    void shouldKeepSoonerDeadline() {
+        try (ThreadScope outer = Deadline.start(Duration.ofSeconds(5))) {
+            try (ThreadScope inner = Deadline.start(Duration.ofMinutes(5))) {
+                assertTrue(Deadline.timeLeft().orElseThrow().compareTo(Duration.ofSeconds(5)) <= 0);
+            }
+            try (ThreadScope inner = Deadline.start(Duration.ofSeconds(1))) {
+                assertTrue(Deadline.timeLeft().orElseThrow().compareTo(Duration.ofSeconds(1)) <= 0);
+            }
+            assertTrue(Deadline.timeLeft().orElseThrow().compareTo(Duration.ofSeconds(1)) > 0);
+        }
+        assertTrue(Deadline.timeLeft().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail once the deadline has passed")
+    void shouldFailAfterDeadline() {
+        try (ThreadScope scope = Deadline.start(Duration.ZERO)) {
+            assertThrows(DeadlineExceededException.class, Deadline::timeLeft);
+        }
+    }
+
+    @Test
+    @DisplayName("Should give work that must finish at least the minimum time")
+    void atLeast_ShouldExtendExpiringDeadline() {
+        try (ThreadScope scope = Deadline.start(Duration.ZERO);
+             ThreadScope publishing = Deadline.atLeast(Duration.ofSeconds(2))) {
+            assertTrue(Deadline.timeLeft().orElseThrow().compareTo(Duration.ofSeconds(1)) > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not set a deadline on threads without one")
+    void atLeast_ShouldNotSetDeadline() {
+        try (ThreadScope scope = Deadline.atLeast(Duration.ofSeconds(2))) {
+            assertTrue(Deadline.timeLeft().isEmpty());
+        }
+    }
+}
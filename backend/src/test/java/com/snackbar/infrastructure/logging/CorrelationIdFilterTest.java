@@ -0,0 +1,53 @@
+package com.snackbar.infrastructure.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@DisplayName("Correlation ID Filter Tests")
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    @DisplayName("Should bind the correlation ID sent by the client and echo it")
+    void shouldBindClientCorrelationId() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/product");
+        request.addHeader(CorrelationId.HEADER, "gateway-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> seen.set(CorrelationId.current()));
+
+        // Then
+        assertEquals("gateway-123", seen.get());
+        assertEquals("gateway-123", response.getHeader(CorrelationId.HEADER));
+        assertNull(CorrelationId.current());
+    }
+
+    @Test
+    @DisplayName("Should generate a correlation ID when the client sends none")
+    void shouldGenerateCorrelationId() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/product");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> seen.set(CorrelationId.current()));
+
+        // Then
+        assertNotNull(seen.get());
+        assertEquals(seen.get(), response.getHeader(CorrelationId.HEADER));
+        assertNull(CorrelationId.current());
+    }
+}
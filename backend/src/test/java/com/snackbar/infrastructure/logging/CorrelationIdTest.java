@@ -0,0 +1,63 @@
+package com.snackbar.infrastructure.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+@DisplayName("Correlation ID Tests")
+class CorrelationIdTest {
+
+    @Test
+    @DisplayName("Should expose a bound correlation ID until its scope closes")
+    void shouldExposeBoundIdUntilScopeCloses() {
+        // When
+        String seen;
+        try (ThreadScope scope = CorrelationId.bind("req-1")) {
+            seen = CorrelationId.current();
+        }
+
+        // Then
+        assertEquals("req-1", seen);
+        assertNull(CorrelationId.current());
+    }
+
+    @Test
+    @DisplayName("Should restore the outer correlation ID after a nested scope")
+    void shouldRestoreOuterIdAfterNestedScope() {
+        try (ThreadScope outer = CorrelationId.bind("req-1")) {
+            try (ThreadScope inner = CorrelationId.bind("msg-2")) {
+                assertEquals("msg-2", CorrelationId.current());
+            }
+            assertEquals("req-1", CorrelationId.current());
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate distinct version 4 UUIDs")
+    void shouldGenerateDistinctUuids() {
+        // When
+        UUID first = UUID.fromString(CorrelationId.newId());
+        UUID second = UUID.fromString(CorrelationId.newId());
+
+        // Then
+        assertEquals(4, first.version());
+        assertEquals(2, first.variant());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Should keep valid IDs received from outside and replace others")
+    void shouldKeepValidIdsAndReplaceOthers() {
+        assertEquals("gateway-7f3a:01", CorrelationId.orNew("gateway-7f3a:01"));
+        assertNotEquals("bad id\nforged log line", CorrelationId.orNew("bad id\nforged log line"));
+        assertNotEquals("x".repeat(65), CorrelationId.orNew("x".repeat(65)));
+        assertEquals(36, CorrelationId.orNew(null).length());
+    }
+}
@@ -0,0 +1,50 @@
+package com.snackbar.infrastructure.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Log Sampler Tests")
+class LogSamplerTest {
+
+    @Test
+    @DisplayName("Should sample the first occurrence and then one in N")
+    void shouldSampleFirstAndThenOneInN() {
+        // Given
+        LogSampler sampler = new LogSampler(10);
+
+        // When
+        int sampled = 0;
+        boolean firstSampled = sampler.sample();
+        for (int i = 1; i < 100; i++) {
+            if (sampler.sample()) {
+                sampled++;
+            }
+        }
+
+        // Then
+        assertTrue(firstSampled);
+        assertEquals(9, sampled);
+    }
+
+    @Test
+    @DisplayName("Should sample every occurrence at a rate of one")
+    void shouldSampleEverythingAtRateOne() {
+        // Given
+        LogSampler sampler = new LogSampler(1);
+
+        // When / Then
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sampler.sample());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject rates below one")
+    void shouldRejectRatesBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new LogSampler(0));
+    }
+}
@@ -0,0 +1,190 @@
+package com.snackbar.infrastructure.messaging.sqs.consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Adaptive SQS Poller Tests")
+class AdaptiveSQSPollerTest {
+
+    private final SQSPollerMetrics metrics = new SQSPollerMetrics("test");
+    private final AtomicLong backlog = new AtomicLong(0);
+    private AdaptiveSQSPoller poller;
+
+    private AdaptiveSQSPoller.Settings settings(long initialBackoffMs, long maxBackoffMs) {
+        // Long scale interval so tests drive scaling explicitly
+        return new AdaptiveSQSPoller.Settings(1, 4, 50, initialBackoffMs, maxBackoffMs, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (poller != null) {
+            poller.stop();
+        }
+    }
+
+    @Nested
+    @DisplayName("Settings validation")
+    class SettingsValidation {
+
+        @Test
+        @DisplayName("Should reject max receivers below min receivers")
+        void shouldRejectInvalidReceivers() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new AdaptiveSQSPoller.Settings(3, 2, 50, 100, 1000, 1000));
+        }
+
+        @Test
+        @DisplayName("Should reject max backoff below initial backoff")
+        void shouldRejectInvalidBackoff() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new AdaptiveSQSPoller.Settings(1, 2, 50, 1000, 100, 1000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Backoff and scaling decisions")
+    class Decisions {
+
+        @Test
+        @DisplayName("Should double the backoff up to the maximum")
+        void shouldBackOffExponentially() {
+            // Given
+            poller = new AdaptiveSQSPoller("test", () -> 0, backlog::get, settings(100, 500), metrics);
+
+            // Then
+            assertEquals(100, poller.nextBackoff(0));
+            assertEquals(200, poller.nextBackoff(100));
+            assertEquals(400, poller.nextBackoff(200));
+            assertEquals(500, poller.nextBackoff(400));
+            assertEquals(500, poller.nextBackoff(500));
+        }
+
+        @Test
+        @DisplayName("Should size receivers from the backlog within bounds")
+        void shouldSizeReceiversFromBacklog() {
+            // Given
+            poller = new AdaptiveSQSPoller("test", () -> 0, backlog::get, settings(100, 500), metrics);
+
+            // Then
+            assertEquals(1, poller.desiredReceivers(0));
+            assertEquals(1, poller.desiredReceivers(50));
+            assertEquals(2, poller.desiredReceivers(51));
+            assertEquals(4, poller.desiredReceivers(10_000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Running poller")
+    class RunningPoller {
+
+        @Test
+        @DisplayName("Should chain receives while messages keep arriving")
+        void shouldChainReceivesWhileBusy() throws InterruptedException {
+            // Given
+            CountDownLatch fiveCycles = new CountDownLatch(5);
+            poller = new AdaptiveSQSPoller("test", () -> {
+                fiveCycles.countDown();
+                return 10;
+            }, backlog::get, settings(10_000, 10_000), metrics);
+
+            // When
+            poller.start();
+
+            // Then: a 10s backoff would make this time out if receives were not chained
+            assertTrue(fiveCycles.await(2, TimeUnit.SECONDS));
+            assertEquals(0, metrics.getCurrentBackoffMs());
+        }
+
+        @Test
+        @DisplayName("Should back off while the queue is idle")
+        void shouldBackOffWhileIdle() throws InterruptedException {
+            // Given
+            AtomicInteger cycles = new AtomicInteger();
+            poller = new AdaptiveSQSPoller("test", () -> {
+                cycles.incrementAndGet();
+                return 0;
+            }, backlog::get, settings(50, 200), metrics);
+
+            // When
+            poller.start();
+            Thread.sleep(600);
+
+            // Then: 50 + 100 + 200 + 200 ms of backoff allows only a handful of cycles
+            assertTrue(cycles.get() >= 2 && cycles.get() <= 6, "cycles=" + cycles.get());
+            assertTrue(metrics.getCurrentBackoffMs() >= 100);
+        }
+
+        @Test
+        @DisplayName("Should scale receivers with the backlog")
+        void shouldScaleWithBacklog() {
+            // Given
+            poller = new AdaptiveSQSPoller("test", () -> 0, backlog::get, settings(10, 100), metrics);
+            poller.start();
+
+            // When
+            backlog.set(180);
+            poller.adjustReceivers();
+
+            // Then
+            assertEquals(4, poller.getTargetReceivers());
+            assertEquals(4, metrics.getActiveReceivers());
+            assertEquals(180, metrics.getApproximateBacklog());
+
+            // When
+            backlog.set(0);
+            poller.adjustReceivers();
+
+            // Then
+            assertEquals(1, poller.getTargetReceivers());
+        }
+
+        @Test
+        @DisplayName("Should keep receivers when the backlog is unknown")
+        void shouldKeepReceiversWhenBacklogUnknown() {
+            // Given
+            poller = new AdaptiveSQSPoller("test", () -> 0, backlog::get, settings(10, 100), metrics);
+            poller.start();
+            backlog.set(200);
+            poller.adjustReceivers();
+
+            // When
+            backlog.set(-1);
+            poller.adjustReceivers();
+
+            // Then
+            assertEquals(4, poller.getTargetReceivers());
+        }
+
+        @Test
+        @DisplayName("Should survive failing poll cycles and stop cleanly")
+        void shouldSurviveFailingCycles() throws InterruptedException {
+            // Given
+            CountDownLatch twoCycles = new CountDownLatch(2);
+            poller = new AdaptiveSQSPoller("test", () -> {
+                twoCycles.countDown();
+                throw new IllegalStateException("boom");
+            }, backlog::get, settings(10, 20), metrics);
+
+            // When
+            poller.start();
+
+            // Then
+            assertTrue(twoCycles.await(2, TimeUnit.SECONDS));
+            poller.stop();
+            assertFalse(poller.isRunning());
+            assertEquals(0, metrics.getActiveReceivers());
+        }
+    }
+}
@@ -128,6 +128,114 @@ class SQSMessageConsumerImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("When reading the queue backlog")
+    class WhenReadingQueueBacklog {
+
+        @Test
+        @DisplayName("Should return ApproximateNumberOfMessages")
+        void getApproximateNumberOfMessages_shouldReturnAttribute() {
+            // Arrange
+            GetQueueAttributesResponse response = GetQueueAttributesResponse.builder()
+                    .attributes(java.util.Map.of(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "42"))
+                    .build();
+            when(sqsClient.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(response);
+
+            // Act
+            long backlog = consumer.getApproximateNumberOfMessages(queueUrl);
+
+            // Assert
+            assertEquals(42, backlog);
+            ArgumentCaptor<GetQueueAttributesRequest> captor = ArgumentCaptor.forClass(GetQueueAttributesRequest.class);
+            verify(sqsClient).getQueueAttributes(captor.capture());
+            assertEquals(queueUrl, captor.getValue().queueUrl());
+            assertTrue(captor.getValue().attributeNames().contains(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES));
+        }
+
+        @Test
+        @DisplayName("Should return -1 when the attributes cannot be read")
+        void getApproximateNumberOfMessages_shouldReturnMinusOne_whenCallFails() {
+            // Arrange
+            when(sqsClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                    .thenThrow(SqsException.builder().message("Access denied").build());
+
+            // Act & Assert
+            assertEquals(-1, consumer.getApproximateNumberOfMessages(queueUrl));
+        }
+    }
+
+    @Nested
+    @DisplayName("When changing message visibility")
+    class WhenChangingMessageVisibility {
+
+        @Test
+        @DisplayName("Should change the visibility of a single message")
+        void changeMessageVisibility_shouldSendRequest() {
+            // Act
+            consumer.changeMessageVisibility(queueUrl, receiptHandle, 0);
+
+            // Assert
+            ArgumentCaptor<ChangeMessageVisibilityRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityRequest.class);
+            verify(sqsClient).changeMessageVisibility(captor.capture());
+            assertEquals(queueUrl, captor.getValue().queueUrl());
+            assertEquals(receiptHandle, captor.getValue().receiptHandle());
+            assertEquals(0, captor.getValue().visibilityTimeout());
+        }
+
+        @Test
+        @DisplayName("Should throw when the visibility change fails")
+        void changeMessageVisibility_shouldThrow_whenCallFails() {
+            // Arrange
+            when(sqsClient.changeMessageVisibility(any(ChangeMessageVisibilityRequest.class)))
+                    .thenThrow(SqsException.builder().message("Receipt handle expired").build());
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> consumer.changeMessageVisibility(queueUrl, receiptHandle, 0));
+        }
+
+        @Test
+        @DisplayName("Should return the receipt handles rejected by a batch change")
+        void changeMessageVisibilityBatch_shouldReturnRejectedHandles() {
+            // Arrange
+            ChangeMessageVisibilityBatchResponse response = ChangeMessageVisibilityBatchResponse.builder()
+                    .failed(BatchResultErrorEntry.builder().id("1").code("ReceiptHandleIsInvalid").message("gone").build())
+                    .build();
+            when(sqsClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class))).thenReturn(response);
+
+            // Act
+            List<String> rejected = consumer.changeMessageVisibilityBatch(queueUrl, List.of("h0", "h1", "h2"), 30);
+
+            // Assert
+            assertEquals(List.of("h1"), rejected);
+            ArgumentCaptor<ChangeMessageVisibilityBatchRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+            verify(sqsClient).changeMessageVisibilityBatch(captor.capture());
+            assertEquals(3, captor.getValue().entries().size());
+            assertEquals(30, captor.getValue().entries().get(0).visibilityTimeout());
+        }
+
+        @Test
+        @DisplayName("Should not call SQS for an empty batch")
+        void changeMessageVisibilityBatch_shouldSkipEmptyBatch() {
+            // Act
+            List<String> rejected = consumer.changeMessageVisibilityBatch(queueUrl, Collections.emptyList(), 30);
+
+            // Assert
+            assertTrue(rejected.isEmpty());
+            verify(sqsClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should reject no handles when the batch call fails")
+        void changeMessageVisibilityBatch_shouldReturnEmpty_whenCallFails() {
+            // Arrange
+            when(sqsClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                    .thenThrow(SqsException.builder().message("Throttled").build());
+
+            // Act & Assert
+            assertTrue(consumer.changeMessageVisibilityBatch(queueUrl, List.of("h0"), 30).isEmpty());
+        }
+    }
+
     @Nested
     @DisplayName("When deleting messages")
     class WhenDeletingMessages {
@@ -0,0 +1,56 @@
+package com.snackbar.infrastructure.messaging.sqs.consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("SQS Poller Metrics Tests")
+class SQSPollerMetricsTest {
+
+    private final SQSPollerMetrics metrics = new SQSPollerMetrics("test");
+
+    @Test
+    @DisplayName("Should report zero efficiency before any receive")
+    void shouldReportZeroBeforeAnyReceive() {
+        assertEquals(0.0, metrics.getMessagesPerReceive());
+        assertEquals(0.0, metrics.getEmptyReceiveRatio());
+    }
+
+    @Test
+    @DisplayName("Should compute messages per receive and empty ratio")
+    void shouldComputeEfficiency() {
+        // When
+        metrics.recordReceive(10);
+        metrics.recordReceive(4);
+        metrics.recordReceive(0);
+        metrics.recordReceive(0);
+
+        // Then
+        assertEquals(4, metrics.getReceiveCalls());
+        assertEquals(2, metrics.getEmptyReceives());
+        assertEquals(14, metrics.getMessagesReceived());
+        assertEquals(3.5, metrics.getMessagesPerReceive());
+        assertEquals(0.5, metrics.getEmptyReceiveRatio());
+    }
+
+    @Test
+    @DisplayName("Should register meters tagged with the poller name")
+    void shouldRegisterMeters() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.recordReceive(6);
+        metrics.recordBacklog(120);
+
+        // When
+        metrics.bindTo(registry);
+
+        // Then
+        assertEquals(6.0, registry.get("sqs.poller.messages.per.receive").tag("poller", "test").gauge().value());
+        assertEquals(120.0, registry.get("sqs.poller.backlog").tag("poller", "test").gauge().value());
+        assertNotNull(registry.get("sqs.poller.receive.calls").functionCounter());
+    }
+}
@@ -0,0 +1,155 @@
+package com.snackbar.infrastructure.messaging.sqs.consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SQS Visibility Heartbeat Tests")
+class SQSVisibilityHeartbeatTest {
+
+    @Mock
+    private SQSMessageConsumer messageConsumer;
+
+    private final String queueUrl = "https://sqs.us-east-1.amazonaws.com/123456789012/test-queue";
+    private final AtomicLong now = new AtomicLong(1_000);
+    private SQSVisibilityHeartbeat heartbeat;
+
+    @BeforeEach
+    void setUp() {
+        heartbeat = new SQSVisibilityHeartbeat(messageConsumer, queueUrl,
+                new SQSVisibilityHeartbeat.Settings(30, 10_000, 60_000), now::get);
+    }
+
+    @Nested
+    @DisplayName("Settings validation")
+    class SettingsValidation {
+
+        @Test
+        @DisplayName("Should reject a heartbeat interval not shorter than the visibility timeout")
+        void shouldRejectSlowHeartbeat() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new SQSVisibilityHeartbeat.Settings(10, 10_000, 60_000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Extending visibility")
+    class ExtendingVisibility {
+
+        @Test
+        @DisplayName("Should extend tracked messages in batches of ten")
+        @SuppressWarnings("unchecked")
+        void shouldExtendInBatchesOfTen() {
+            // Given
+            for (int i = 0; i < 23; i++) {
+                heartbeat.track("handle-" + i);
+            }
+            when(messageConsumer.changeMessageVisibilityBatch(eq(queueUrl), anyList(), eq(30)))
+                    .thenReturn(Collections.emptyList());
+
+            // When
+            heartbeat.extendVisibility();
+
+            // Then
+            ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+            verify(messageConsumer, times(3)).changeMessageVisibilityBatch(eq(queueUrl), captor.capture(), eq(30));
+            assertEquals(List.of(10, 10, 3), captor.getAllValues().stream().map(List::size).toList());
+            assertEquals(23, heartbeat.getInFlightCount());
+        }
+
+        @Test
+        @DisplayName("Should not call SQS when nothing is in flight")
+        void shouldSkipWhenIdle() {
+            // When
+            heartbeat.extendVisibility();
+
+            // Then
+            verify(messageConsumer, never()).changeMessageVisibilityBatch(anyString(), anyList(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should stop extending released and rejected messages")
+        void shouldDropReleasedAndRejected() {
+            // Given
+            heartbeat.track("done");
+            heartbeat.track("stale");
+            heartbeat.track("busy");
+            heartbeat.release("done");
+            when(messageConsumer.changeMessageVisibilityBatch(eq(queueUrl), anyList(), eq(30)))
+                    .thenReturn(List.of("stale"));
+
+            // When
+            heartbeat.extendVisibility();
+
+            // Then
+            assertEquals(1, heartbeat.getInFlightCount());
+        }
+
+        @Test
+        @DisplayName("Should give up on messages past the max extension")
+        void shouldGiveUpPastMaxExtension() {
+            // Given
+            heartbeat.track("stuck");
+            now.addAndGet(60_001);
+
+            // When
+            heartbeat.extendVisibility();
+
+            // Then
+            assertEquals(0, heartbeat.getInFlightCount());
+            verify(messageConsumer, never()).changeMessageVisibilityBatch(anyString(), anyList(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Nacking messages")
+    class NackingMessages {
+
+        @Test
+        @DisplayName("Should make a nacked message visible immediately")
+        void shouldNackWithZeroVisibility() {
+            // Given
+            heartbeat.track("failed");
+
+            // When
+            heartbeat.nack("failed");
+
+            // Then
+            verify(messageConsumer).changeMessageVisibility(queueUrl, "failed", 0);
+            assertEquals(0, heartbeat.getInFlightCount());
+        }
+
+        @Test
+        @DisplayName("Should swallow errors when the nack fails")
+        void shouldSwallowNackErrors() {
+            // Given
+            doThrow(new RuntimeException("Receipt handle expired"))
+                    .when(messageConsumer).changeMessageVisibility(queueUrl, "failed", 0);
+
+            // When & Then: the message simply waits out its current visibility timeout
+            heartbeat.nack("failed");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.snackbar.infrastructure.messaging.sqs.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Message Origin Context Tests")
+class MessageOriginContextTest {
+
+    private final MessageOrigin origin = new MessageOrigin("node-x", "cluster-2");
+
+    @Test
+    @DisplayName("Should expose inbound origin only while the task runs")
+    void shouldExposeInboundOriginWhileRunning() {
+        // When
+        MessageOrigin[] seen = new MessageOrigin[1];
+        MessageOriginContext.runWithInboundOrigin(origin, () -> seen[0] = MessageOriginContext.currentInboundOrigin());
+
+        // Then
+        assertEquals(origin, seen[0]);
+        assertNull(MessageOriginContext.currentInboundOrigin());
+    }
+
+    @Test
+    @DisplayName("Should clear inbound origin when the task fails")
+    void shouldClearInboundOriginWhenTaskFails() {
+        // When
+        assertThrows(IllegalStateException.class, () -> MessageOriginContext.runWithInboundOrigin(origin, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        // Then
+        assertNull(MessageOriginContext.currentInboundOrigin());
+    }
+
+    @Test
+    @DisplayName("Should restore the outer origin after a nested task")
+    void shouldRestoreOuterOrigin() {
+        // Given
+        MessageOrigin nested = new MessageOrigin("node-y", "cluster-3");
+        MessageOrigin[] seen = new MessageOrigin[1];
+
+        // When
+        MessageOriginContext.runWithInboundOrigin(origin, () -> {
+            MessageOriginContext.runWithInboundOrigin(nested, () -> { });
+            seen[0] = MessageOriginContext.currentInboundOrigin();
+        });
+
+        // Then
+        assertEquals(origin, seen[0]);
+    }
+}
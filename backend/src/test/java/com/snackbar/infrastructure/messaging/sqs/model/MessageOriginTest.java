@@ -0,0 +1,114 @@
+package com.snackbar.infrastructure.messaging.sqs.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+@DisplayName("Message Origin Tests")
+class MessageOriginTest {
+
+    private final MessageOrigin origin = new MessageOrigin("node-a", "cluster-1");
+
+    private Message messageFrom(MessageOrigin messageOrigin) {
+        return Message.builder()
+                .body("{}")
+                .messageAttributes(messageOrigin.toMessageAttributes())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Construction")
+    class Construction {
+
+        @Test
+        @DisplayName("Should default cluster ID to node ID")
+        void shouldDefaultClusterIdToNodeId() {
+            // When
+            MessageOrigin standalone = new MessageOrigin("node-a", " ");
+
+            // Then
+            assertEquals("node-a", standalone.getClusterId());
+        }
+
+        @Test
+        @DisplayName("Should reject blank node ID")
+        void shouldRejectBlankNodeId() {
+            assertThrows(IllegalArgumentException.class, () -> new MessageOrigin("", "cluster-1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Message attributes")
+    class MessageAttributes {
+
+        @Test
+        @DisplayName("Should round-trip through message attributes")
+        void shouldRoundTripThroughAttributes() {
+            // When
+            MessageOrigin parsed = MessageOrigin.fromMessage(messageFrom(origin));
+
+            // Then
+            assertEquals(origin, parsed);
+        }
+
+        @Test
+        @DisplayName("Should return null for untagged messages")
+        void shouldReturnNullForUntaggedMessages() {
+            assertNull(MessageOrigin.fromMessage(Message.builder().body("{}").build()));
+        }
+
+        @Test
+        @DisplayName("Should return null when only the cluster is tagged")
+        void shouldReturnNullWhenNodeMissing() {
+            // Given
+            Message message = Message.builder()
+                    .body("{}")
+                    .messageAttributes(Map.of(MessageOrigin.ATTRIBUTE_CLUSTER_ID,
+                            MessageAttributeValue.builder().dataType("String").stringValue("cluster-1").build()))
+                    .build();
+
+            // Then
+            assertNull(MessageOrigin.fromMessage(message));
+        }
+    }
+
+    @Nested
+    @DisplayName("Origin matching")
+    class OriginMatching {
+
+        @Test
+        @DisplayName("Should match messages from the same node")
+        void shouldMatchSameNode() {
+            assertTrue(origin.isOriginOf(messageFrom(new MessageOrigin("node-a", "cluster-2"))));
+        }
+
+        @Test
+        @DisplayName("Should match messages from another node of the same cluster")
+        void shouldMatchSameCluster() {
+            assertTrue(origin.isOriginOf(messageFrom(new MessageOrigin("node-b", "cluster-1"))));
+        }
+
+        @Test
+        @DisplayName("Should not match messages from another cluster")
+        void shouldNotMatchOtherCluster() {
+            assertFalse(origin.isOriginOf(messageFrom(new MessageOrigin("node-x", "cluster-2"))));
+        }
+
+        @Test
+        @DisplayName("Should not match untagged messages")
+        void shouldNotMatchUntaggedMessages() {
+            assertFalse(origin.isOriginOf(Message.builder().body("{}").build()));
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.snackbar.infrastructure.messaging.sqs.producer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.deadline.Deadline;
+import com.snackbar.infrastructure.logging.CorrelationId;
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOrigin;
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOriginContext;
 import com.snackbar.infrastructure.messaging.sqs.model.SQSMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +24,7 @@ import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 
+import java.time.Duration;
 import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -95,6 +101,160 @@ class SQSMessageProducerImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("When propagating the correlation ID")
+    class WhenPropagatingCorrelationId {
+
+        @BeforeEach
+        void setUpResponse() throws JsonProcessingException {
+            when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+            doReturn(SendMessageResponse.builder().messageId("msg-123").build())
+                    .when(sqsClient).sendMessage(sendRequestCaptor.capture());
+        }
+
+        @Test
+        @DisplayName("Should send the current correlation ID as a message attribute")
+        void sendMessage_shouldSendCurrentCorrelationId() {
+            // Act
+            try (ThreadScope scope = CorrelationId.bind("req-42")) {
+                producer.sendMessage(queueUrl, new TestSQSMessage("TEST_EVENT"));
+            }
+
+            // Assert
+            SendMessageRequest capturedRequest = sendRequestCaptor.getValue();
+            assertEquals("req-42", capturedRequest.messageAttributes()
+                    .get(SQSMessageProducer.CORRELATION_ID_ATTRIBUTE).stringValue());
+        }
+
+        @Test
+        @DisplayName("Should bound the send by what is left of the request deadline")
+        void sendMessage_shouldApplyRequestDeadline() {
+            // Act
+            try (ThreadScope scope = Deadline.start(Duration.ofSeconds(2))) {
+                producer.sendMessage(queueUrl, new TestSQSMessage("TEST_EVENT"));
+            }
+
+            // Assert
+            Duration timeout = sendRequestCaptor.getValue().overrideConfiguration().orElseThrow()
+                    .apiCallTimeout().orElseThrow();
+            assertTrue(timeout.compareTo(Duration.ZERO) > 0 && timeout.compareTo(Duration.ofSeconds(2)) <= 0);
+        }
+
+        @Test
+        @DisplayName("Should keep the client's timeouts outside a request")
+        void sendMessage_shouldNotOverrideTimeoutsWithoutDeadline() {
+            // Act
+            producer.sendMessage(queueUrl, new TestSQSMessage("TEST_EVENT"));
+
+            // Assert
+            assertTrue(sendRequestCaptor.getValue().overrideConfiguration().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should send no correlation ID when none is bound")
+        void sendMessage_shouldOmitCorrelationIdWhenNoneBound() {
+            // Act
+            producer.sendMessage(queueUrl, new TestSQSMessage("TEST_EVENT"));
+
+            // Assert
+            assertFalse(sendRequestCaptor.getValue().messageAttributes()
+                    .containsKey(SQSMessageProducer.CORRELATION_ID_ATTRIBUTE));
+        }
+    }
+
+    @Nested
+    @DisplayName("When tagging message origin")
+    class WhenTaggingMessageOrigin {
+
+        private final MessageOrigin localOrigin = new MessageOrigin("node-a", "cluster-1");
+
+        @BeforeEach
+        void setUpOriginAwareProducer() throws JsonProcessingException {
+            producer = new SQSMessageProducerImpl(objectMapper, sqsClient, localOrigin);
+            when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+            doReturn(SendMessageResponse.builder().messageId("msg-123").build())
+                    .when(sqsClient).sendMessage(sendRequestCaptor.capture());
+        }
+
+        @Test
+        @DisplayName("Should tag message with local origin")
+        void sendMessage_shouldTagMessageWithLocalOrigin() {
+            // Act
+            producer.sendMessage(queueUrl, new TestSQSMessage("TEST_EVENT"));
+
+            // Assert
+            SendMessageRequest capturedRequest = sendRequestCaptor.getValue();
+            assertEquals("node-a", capturedRequest.messageAttributes().get(MessageOrigin.ATTRIBUTE_NODE_ID).stringValue());
+            assertEquals("cluster-1", capturedRequest.messageAttributes().get(MessageOrigin.ATTRIBUTE_CLUSTER_ID).stringValue());
+        }
+
+        @Test
+        @DisplayName("Should keep inbound origin when publishing while applying a remote message")
+        void sendMessage_shouldKeepInboundOrigin() {
+            // Arrange
+            MessageOrigin remoteOrigin = new MessageOrigin("node-x", "cluster-2");
+
+            // Act
+            MessageOriginContext.runWithInboundOrigin(remoteOrigin,
+                    () -> producer.sendMessage(queueUrl, new TestSQSMessage("TEST_EVENT")));
+
+            // Assert
+            SendMessageRequest capturedRequest = sendRequestCaptor.getValue();
+            assertEquals("node-x", capturedRequest.messageAttributes().get(MessageOrigin.ATTRIBUTE_NODE_ID).stringValue());
+            assertEquals("cluster-2", capturedRequest.messageAttributes().get(MessageOrigin.ATTRIBUTE_CLUSTER_ID).stringValue());
+        }
+
+        @Test
+        @DisplayName("Should not tag message when no origin is configured")
+        void sendMessage_shouldNotTagMessage_whenNoOrigin() {
+            // Arrange
+            producer = new SQSMessageProducerImpl(objectMapper, sqsClient);
+
+            // Act
+            producer.sendMessage(queueUrl, new TestSQSMessage("TEST_EVENT"));
+
+            // Assert
+            assertFalse(sendRequestCaptor.getValue().hasMessageAttributes());
+        }
+    }
+
+    @Nested
+    @DisplayName("When routing by partition key")
+    class WhenRoutingByPartitionKey {
+
+        @BeforeEach
+        void setUpPartitionedProducer() throws JsonProcessingException {
+            when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+            doReturn(SendMessageResponse.builder().messageId("msg-123").build())
+                    .when(sqsClient).sendMessage(sendRequestCaptor.capture());
+        }
+
+        @Test
+        @DisplayName("Should send partition key as message attribute")
+        void sendMessage_shouldSendPartitionKeyAttribute() {
+            // Act
+            producer.sendMessage(queueUrl, new TestSQSMessage("TEST_EVENT"), "store-1");
+
+            // Assert
+            SendMessageRequest capturedRequest = sendRequestCaptor.getValue();
+            assertEquals("store-1", capturedRequest.messageAttributes()
+                    .get(SQSMessageProducer.PARTITION_KEY_ATTRIBUTE).stringValue());
+            assertNull(capturedRequest.messageGroupId());
+        }
+
+        @Test
+        @DisplayName("Should use partition key as message group on FIFO queues")
+        void sendMessage_shouldUsePartitionKeyAsMessageGroup_whenFifoQueue() {
+            // Act
+            producer.sendMessage(queueUrl + ".fifo", new TestSQSMessage("TEST_EVENT"), "store-1");
+
+            // Assert
+            SendMessageRequest capturedRequest = sendRequestCaptor.getValue();
+            assertEquals("store-1", capturedRequest.messageGroupId());
+            assertEquals("123", capturedRequest.messageDeduplicationId());
+        }
+    }
+
     @Nested
     @DisplayName("When handling error conditions")
     class WhenHandlingErrorConditions {
@@ -0,0 +1,79 @@
+package com.snackbar.infrastructure.messaging.sqs.quarantine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOrigin;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Mongo Message Quarantine Tests")
+class MongoMessageQuarantineTest {
+
+    @Mock
+    private QuarantinedMessageRepository repository;
+
+    @InjectMocks
+    private MongoMessageQuarantine quarantine;
+
+    private final String queueUrl = "https://sqs.us-east-1.amazonaws.com/123456789012/test-queue";
+
+    @Test
+    @DisplayName("Should store payload, attributes and reason")
+    void quarantine_ShouldStorePayloadAndReason() {
+        // Given
+        Message message = Message.builder()
+                .messageId("msg-1")
+                .body("{\"productId\":\"1\"}")
+                .messageAttributes(new MessageOrigin("node-x", "cluster-2").toMessageAttributes())
+                .attributes(Map.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, "3"))
+                .build();
+        IllegalArgumentException reason = new IllegalArgumentException("Invalid category");
+
+        // When
+        quarantine.quarantine(queueUrl, message, reason);
+
+        // Then
+        ArgumentCaptor<QuarantinedMessageEntity> captor = ArgumentCaptor.forClass(QuarantinedMessageEntity.class);
+        verify(repository).save(captor.capture());
+        QuarantinedMessageEntity saved = captor.getValue();
+        assertEquals("msg-1", saved.getMessageId());
+        assertEquals(queueUrl, saved.getQueueUrl());
+        assertEquals("{\"productId\":\"1\"}", saved.getBody());
+        assertEquals("cluster-2", saved.getMessageAttributes().get(MessageOrigin.ATTRIBUTE_CLUSTER_ID));
+        assertEquals(IllegalArgumentException.class.getName(), saved.getErrorType());
+        assertEquals("Invalid category", saved.getReason());
+        assertEquals(3, saved.getReceiveCount());
+        assertNotNull(saved.getQuarantinedAt());
+    }
+
+    @Test
+    @DisplayName("Should store messages without attributes")
+    void quarantine_ShouldHandleMessagesWithoutAttributes() {
+        // Given
+        Message message = Message.builder().messageId("msg-2").body("not json").build();
+
+        // When
+        quarantine.quarantine(queueUrl, message, new RuntimeException("Failed to deserialize message"));
+
+        // Then
+        ArgumentCaptor<QuarantinedMessageEntity> captor = ArgumentCaptor.forClass(QuarantinedMessageEntity.class);
+        verify(repository).save(captor.capture());
+        assertTrue(captor.getValue().getMessageAttributes().isEmpty());
+        assertEquals(0, captor.getValue().getReceiveCount());
+    }
+}
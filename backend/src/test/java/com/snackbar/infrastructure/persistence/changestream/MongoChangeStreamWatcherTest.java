@@ -0,0 +1,251 @@
+package com.snackbar.infrastructure.persistence.changestream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Mongo Change Stream Watcher Tests")
+class MongoChangeStreamWatcherTest {
+
+    private static final String COLLECTION = "products";
+    private static final BsonDocument TOKEN = new BsonDocument("_data", new BsonString("8263"));
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private ChangeStreamIterable<Document> changeStream;
+
+    @Mock
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    @Mock
+    private CollectionChangeListener listener;
+
+    private MongoChangeStreamWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        when(listener.collection()).thenReturn(COLLECTION);
+        when(mongoTemplate.getCollection(COLLECTION)).thenReturn(collection);
+        when(collection.watch()).thenReturn(changeStream);
+        when(changeStream.fullDocument(FullDocument.UPDATE_LOOKUP)).thenReturn(changeStream);
+        when(changeStream.resumeAfter(any(BsonDocument.class))).thenReturn(changeStream);
+        when(changeStream.cursor()).thenReturn(cursor);
+        when(cursor.getResumeToken()).thenReturn(TOKEN);
+        watcher = new MongoChangeStreamWatcher(mongoTemplate, List.of(listener), true, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.stop();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> change(OperationType type, Document fullDocument, BsonDocument documentKey) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationType()).thenReturn(type);
+        when(change.getFullDocument()).thenReturn(fullDocument);
+        when(change.getDocumentKey()).thenReturn(documentKey);
+        return change;
+    }
+
+    private ChangeStreamDocument<Document> idle() throws InterruptedException {
+        // The driver blocks while the server awaits new changes
+        Thread.sleep(5);
+        return null;
+    }
+
+    @Nested
+    @DisplayName("When streaming")
+    class WhenStreaming {
+
+        @Test
+        @DisplayName("Should resync listeners once the stream is open, then deliver changes")
+        void start_ShouldResyncThenDeliverChanges() throws Exception {
+            // Given
+            Document document = new Document("_id", "1").append("name", "Burger");
+            ChangeStreamDocument<Document> insert = change(OperationType.INSERT, document, null);
+            when(cursor.tryNext()).thenReturn(insert).thenAnswer(invocation -> idle());
+
+            // When
+            watcher.start();
+
+            // Then
+            verify(listener, timeout(1000)).onUpsert(eq(document), any());
+            verify(listener).onResync();
+            verify(changeStream, never()).resumeAfter(any(BsonDocument.class));
+            assertTrue(watcher.isRunning());
+        }
+
+        @Test
+        @DisplayName("Should resume after the last seen change when the stream fails")
+        void start_ShouldResumeAfterFailure() throws Exception {
+            // Given
+            ChangeStreamDocument<Document> update = change(OperationType.UPDATE, new Document("_id", "1"), null);
+            when(cursor.tryNext())
+                    .thenReturn(update)
+                    .thenThrow(new MongoException(6, "Host unreachable"))
+                    .thenAnswer(invocation -> idle());
+
+            // When
+            watcher.start();
+
+            // Then
+            verify(changeStream, timeout(1000)).resumeAfter(TOKEN);
+            verify(listener, times(1)).onResync();
+        }
+
+        @Test
+        @DisplayName("Should resync again when the resume token is no longer in the oplog")
+        void start_ShouldResyncWhenHistoryIsLost() throws Exception {
+            // Given
+            when(cursor.tryNext())
+                    .thenThrow(new MongoException(286, "Change stream history lost"))
+                    .thenAnswer(invocation -> idle());
+
+            // When
+            watcher.start();
+
+            // Then
+            verify(listener, timeout(1000).times(2)).onResync();
+        }
+
+        @Test
+        @DisplayName("Should not open streams when disabled")
+        void start_ShouldDoNothingWhenDisabled() {
+            // Given
+            MongoChangeStreamWatcher disabled = new MongoChangeStreamWatcher(mongoTemplate, List.of(listener), false, 1);
+
+            // When
+            disabled.start();
+
+            // Then
+            assertFalse(disabled.isRunning());
+            verify(mongoTemplate, never()).getCollection(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("When dispatching changes")
+    class WhenDispatching {
+
+        private MongoChangeStreamWatcher.StreamState state;
+
+        @BeforeEach
+        void setUp() {
+            state = new MongoChangeStreamWatcher.StreamState(COLLECTION, List.of(listener));
+        }
+
+        @Test
+        @DisplayName("Should pass the hex ID of deleted documents")
+        void dispatch_ShouldDeliverDeletes() {
+            // Given
+            ObjectId id = new ObjectId();
+
+            // When
+            boolean keepStreaming = watcher.dispatch(state,
+                    change(OperationType.DELETE, null, new BsonDocument("_id", new BsonObjectId(id))));
+
+            // Then
+            assertTrue(keepStreaming);
+            verify(listener).onDelete(eq(id.toHexString()), any());
+        }
+
+        @Test
+        @DisplayName("Should pass when the change was made, rounding cluster times up when the server has no wall time")
+        void dispatch_ShouldPassChangeTime() {
+            // Given
+            Document document = new Document("_id", "1");
+            ChangeStreamDocument<Document> withWallTime = change(OperationType.INSERT, document, null);
+            when(withWallTime.getWallTime()).thenReturn(new BsonDateTime(1_700_000_000_123L));
+            ChangeStreamDocument<Document> withClusterTime = change(OperationType.UPDATE, document, null);
+            when(withClusterTime.getClusterTime()).thenReturn(new BsonTimestamp(1_700_000_000, 7));
+
+            // When
+            watcher.dispatch(state, withWallTime);
+            watcher.dispatch(state, withClusterTime);
+
+            // Then
+            verify(listener).onUpsert(document, Instant.ofEpochMilli(1_700_000_000_123L));
+            verify(listener).onUpsert(document, Instant.ofEpochSecond(1_700_000_001L));
+        }
+
+        @Test
+        @DisplayName("Should skip updates of documents deleted before the lookup")
+        void dispatch_ShouldSkipUpdatesWithoutDocument() {
+            // When
+            watcher.dispatch(state, change(OperationType.UPDATE, null, null));
+
+            // Then
+            verify(listener, never()).onUpsert(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should end the stream when it is invalidated")
+        void dispatch_ShouldEndStreamOnInvalidate() {
+            assertFalse(watcher.dispatch(state, change(OperationType.INVALIDATE, null, null)));
+        }
+
+        @Test
+        @DisplayName("Should keep notifying listeners when one fails")
+        void dispatch_ShouldIsolateFailingListener() {
+            // Given
+            CollectionChangeListener other = mock(CollectionChangeListener.class);
+            Document document = new Document("_id", "1");
+            doThrow(new IllegalStateException("Listener failed")).when(listener).onUpsert(eq(document), any());
+            MongoChangeStreamWatcher.StreamState twoListeners =
+                    new MongoChangeStreamWatcher.StreamState(COLLECTION, List.of(listener, other));
+
+            // When
+            watcher.dispatch(twoListeners, change(OperationType.REPLACE, document, null));
+
+            // Then
+            verify(other).onUpsert(eq(document), any());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.snackbar.infrastructure.persistence.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Mongo Commands Endpoint Tests")
+class MongoCommandsEndpointTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private void record(String collection, String command, long millis) {
+        Timer.builder(MongoCommandsEndpoint.COMMANDS_TIMER)
+                .tags("collection", collection, "command", command, "status", "SUCCESS", "server.address", "db:27017")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry)
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @DisplayName("Should report command latencies busiest first, with the slow commands")
+    void report_ShouldListBusiestCommandsFirst() {
+        // Given
+        SlowCommandLog slowCommandLog = new SlowCommandLog(100, 10, 60_000);
+        MongoCommandsEndpoint endpoint = new MongoCommandsEndpoint(slowCommandLog, registry);
+        record("users", "find", 5);
+        record("products", "find", 40);
+        record("products", "find", 60);
+
+        // When
+        MongoCommandsEndpoint.Report report = endpoint.report();
+
+        // Then
+        assertEquals(100, report.slowThresholdMs());
+        assertEquals(List.of(), report.slowest());
+        MongoCommandsEndpoint.CommandLatency busiest = report.latencies().get(0);
+        assertEquals("products", busiest.collection());
+        assertEquals("find", busiest.command());
+        assertEquals(2, busiest.count());
+        assertEquals(50.0, busiest.meanMs());
+        assertEquals(List.of("p50", "p99"), List.copyOf(busiest.percentilesMs().keySet()));
+        assertEquals("users", report.latencies().get(1).collection());
+    }
+}
@@ -0,0 +1,44 @@
+package com.snackbar.infrastructure.persistence.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Pool Checkout Metrics Tests")
+class PoolCheckoutMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should time connection checkouts and count failed ones per server")
+    void shouldRecordCheckouts() {
+        // Given
+        PoolCheckoutMetrics poolCheckoutMetrics = new PoolCheckoutMetrics(registry);
+        ServerId server = new ServerId(new ClusterId(), new ServerAddress("db", 27017));
+
+        // When
+        poolCheckoutMetrics.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(server), 1,
+                TimeUnit.MILLISECONDS.toNanos(12)));
+        poolCheckoutMetrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(server, 2,
+                ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.SECONDS.toNanos(2)));
+
+        // Then
+        Timer checkout = registry.get("mongodb.driver.pool.checkout").tag("server.address", "db:27017").timer();
+        assertEquals(1, checkout.count());
+        assertEquals(12.0, checkout.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1.0, registry.get("mongodb.driver.pool.checkout.failures").tag("reason", "TIMEOUT").counter().count());
+    }
+}
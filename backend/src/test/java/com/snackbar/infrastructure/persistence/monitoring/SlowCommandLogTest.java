@@ -0,0 +1,182 @@
+package com.snackbar.infrastructure.persistence.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+@DisplayName("Slow Command Log Tests")
+class SlowCommandLogTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private long now = 1_000L;
+    private final SlowCommandLog slowCommandLog = new SlowCommandLog(100, 2, 60_000, () -> now);
+
+    private int nextRequestId;
+
+    private void run(String commandName, String command, long elapsedMs) {
+        int requestId = ++nextRequestId;
+        slowCommandLog.commandStarted(new CommandStartedEvent(null, requestId, requestId, CONNECTION, "snackbar",
+                commandName, BsonDocument.parse(command)));
+        slowCommandLog.commandSucceeded(new CommandSucceededEvent(null, requestId, requestId, CONNECTION, "snackbar",
+                commandName, new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(elapsedMs)));
+    }
+
+    @Nested
+    @DisplayName("Recording commands")
+    class RecordingCommands {
+
+        @Test
+        @DisplayName("Should keep commands at or above the threshold with their collection and filter shape")
+        void shouldKeepSlowCommands() {
+            // When
+            run("find", "{find: 'products', filter: {storeId: 'store-1', price: {$lt: 10}}}", 250);
+            run("find", "{find: 'products', filter: {storeId: 'store-1'}}", 99);
+
+            // Then
+            List<SlowCommand> slowest = slowCommandLog.getSlowest();
+            assertEquals(1, slowest.size());
+            assertEquals(new SlowCommand(Instant.ofEpochMilli(1_000L), "snackbar", "products", "find",
+                    "{\"storeId\": \"?\", \"price\": {\"$lt\": \"?\"}}", 250, false), slowest.get(0));
+        }
+
+        @Test
+        @DisplayName("Should keep only the latest commands, slowest first")
+        void shouldKeepLatestCommandsSlowestFirst() {
+            // When
+            run("find", "{find: 'products'}", 900);
+            run("find", "{find: 'users'}", 200);
+            run("count", "{count: 'products'}", 300);
+
+            // Then
+            List<SlowCommand> slowest = slowCommandLog.getSlowest();
+            assertEquals(List.of(300L, 200L), slowest.stream().map(SlowCommand::elapsedMs).toList());
+            assertEquals("count", slowest.get(0).command());
+        }
+
+        @Test
+        @DisplayName("Should keep slow failed commands")
+        void shouldKeepFailedCommands() {
+            // When
+            slowCommandLog.commandStarted(new CommandStartedEvent(null, 7, 7, CONNECTION, "snackbar", "insert",
+                    BsonDocument.parse("{insert: 'products', documents: [{name: 'Burger'}]}")));
+            slowCommandLog.commandFailed(new CommandFailedEvent(null, 7, 7, CONNECTION, "snackbar", "insert",
+                    TimeUnit.SECONDS.toNanos(2), new IllegalStateException("timeout")));
+
+            // Then
+            SlowCommand failed = slowCommandLog.getSlowest().get(0);
+            assertTrue(failed.failed());
+            assertEquals("products", failed.collection());
+            assertNull(failed.filter(), "Inserted documents should never be kept");
+        }
+
+        @Test
+        @DisplayName("Should reject an empty buffer")
+        void shouldRejectEmptyBuffer() {
+            assertThrows(IllegalArgumentException.class, () -> new SlowCommandLog(100, 0, 60_000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Logging commands")
+    class LoggingCommands {
+
+        private final Logger logger = (Logger) LoggerFactory.getLogger(SlowCommandLog.class);
+        private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+        @BeforeEach
+        void setUp() {
+            appender.start();
+            logger.addAppender(appender);
+        }
+
+        @AfterEach
+        void tearDown() {
+            logger.detachAppender(appender);
+        }
+
+        private List<String> warnings() {
+            return appender.list.stream().filter(event -> event.getLevel() == Level.WARN)
+                    .map(ILoggingEvent::getFormattedMessage).toList();
+        }
+
+        @Test
+        @DisplayName("Should warn about each shape at most once per interval, counting the others")
+        void shouldWarnOncePerShapeAndInterval() {
+            // When
+            run("find", "{find: 'products', filter: {storeId: 'store-1'}}", 250);
+            run("find", "{find: 'products', filter: {storeId: 'store-2'}}", 300);
+            run("find", "{find: 'products', filter: {storeId: 'store-3'}}", 350);
+            run("find", "{find: 'users', filter: {cpf: '1'}}", 400);
+            now += 60_000;
+            run("find", "{find: 'products', filter: {storeId: 'store-4'}}", 450);
+
+            // Then
+            List<String> warnings = warnings();
+            assertEquals(3, warnings.size());
+            assertTrue(warnings.get(0).contains("products took 250 ms"));
+            assertTrue(warnings.get(1).contains("users took 400 ms"));
+            assertTrue(warnings.get(2).endsWith("(2 more of this shape since the last warning)"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Sanitizing filters")
+    class SanitizingFilters {
+
+        @Test
+        @DisplayName("Should collapse value lists and keep nested operators")
+        void shouldCollapseValueLists() {
+            BsonDocument command = BsonDocument.parse(
+                    "{find: 'products', filter: {_id: {$in: ['1', '2', '3']}, $or: [{a: 1}, {b: {$gt: 2}}]}}");
+
+            assertEquals(BsonDocument.parse("{_id: {$in: ['?']}, $or: [{a: '?'}, {b: {$gt: '?'}}]}"),
+                    SlowCommandLog.filterOf("find", command));
+        }
+
+        @Test
+        @DisplayName("Should use the filter of the first update or delete statement")
+        void shouldUseFirstStatementFilter() {
+            BsonDocument command = BsonDocument.parse(
+                    "{update: 'products', updates: [{q: {_id: '1', storeId: 's'}, u: {name: 'secret'}}]}");
+
+            assertEquals(BsonDocument.parse("{_id: '?', storeId: '?'}"), SlowCommandLog.filterOf("update", command));
+        }
+
+        @Test
+        @DisplayName("Should read the collection of getMore commands from its own field")
+        void shouldReadGetMoreCollection() {
+            BsonDocument command = BsonDocument.parse("{getMore: {$numberLong: '42'}, collection: 'products'}");
+
+            assertEquals("products", SlowCommandLog.collectionOf("getMore", command));
+            assertNull(SlowCommandLog.filterOf("getMore", command));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.snackbar.infrastructure.persistence.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.ReadPreference;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+
+@DisplayName("Read Routing Tests")
+class ReadRoutingTest {
+
+    private static final ReadPreference SECONDARY = ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ReadRouting routing = new ReadRouting(true, 120, now::get);
+
+    @Nested
+    @DisplayName("Catalog reads")
+    class CatalogReads {
+
+        @Test
+        @DisplayName("Should send catalog reads to secondaries within the staleness bound")
+        void shouldPreferBoundedSecondaries() {
+            assertEquals(SECONDARY, routing.catalogReads("store-1"));
+        }
+
+        @Test
+        @DisplayName("Should keep reads of a store on the primary for the staleness bound after a write")
+        void shouldStayOnPrimaryAfterWrite() {
+            // Given
+            routing.recordWrite("store-1");
+
+            // When / Then
+            now.addAndGet(119_999);
+            assertEquals(ReadPreference.primary(), routing.catalogReads("store-1"));
+            assertEquals(ReadPreference.primary(), routing.catalogReads(null), "Reads spanning every store include it");
+            assertEquals(SECONDARY, routing.catalogReads("store-2"));
+            now.incrementAndGet();
+            assertEquals(SECONDARY, routing.catalogReads("store-1"));
+        }
+
+        @Test
+        @DisplayName("Should keep reads on the primary while pinned")
+        void shouldStayOnPrimaryWhilePinned() {
+            try (ThreadScope outer = ReadRouting.pinToPrimary()) {
+                try (ThreadScope inner = ReadRouting.pinToPrimary()) {
+                    assertEquals(ReadPreference.primary(), routing.catalogReads("store-1"));
+                }
+                assertEquals(ReadPreference.primary(), routing.catalogReads("store-1"), "Closing an inner scope keeps the outer one");
+            }
+            assertEquals(SECONDARY, routing.catalogReads("store-1"));
+        }
+
+        @Test
+        @DisplayName("Should read from the primary only when disabled")
+        void shouldUsePrimaryWhenDisabled() {
+            assertEquals(ReadPreference.primary(), ReadRouting.primaryOnly().catalogReads("store-1"));
+        }
+
+        @Test
+        @DisplayName("Should reject a staleness bound MongoDB does not accept")
+        void shouldRejectSmallStalenessBound() {
+            assertThrows(IllegalArgumentException.class, () -> new ReadRouting(true, 89));
+        }
+    }
+
+    @Nested
+    @DisplayName("Read-your-writes tokens")
+    class Tokens {
+
+        @Test
+        @DisplayName("Should treat a token as recent for the staleness bound")
+        void shouldAcceptRecentToken() {
+            // Given
+            String token = routing.issueToken();
+
+            // When / Then
+            now.addAndGet(119_999);
+            assertTrue(routing.isRecent(token));
+            now.incrementAndGet();
+            assertFalse(routing.isRecent(token));
+        }
+
+        @Test
+        @DisplayName("Should accept tokens from slightly ahead clocks but not from the far future")
+        void shouldBoundFutureTokens() {
+            assertTrue(routing.isRecent(Long.toString(now.get() + 5_000)));
+            assertFalse(routing.isRecent(Long.toString(now.get() + 120_000)));
+        }
+
+        @Test
+        @DisplayName("Should ignore missing and malformed tokens")
+        void shouldIgnoreInvalidTokens() {
+            assertFalse(routing.isRecent(null));
+            assertFalse(routing.isRecent("not-a-token"));
+            assertFalse(ReadRouting.primaryOnly().isRecent(routing.issueToken()));
+        }
+    }
+}
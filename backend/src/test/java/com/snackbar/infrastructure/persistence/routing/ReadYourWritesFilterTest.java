@@ -0,0 +1,74 @@
+package com.snackbar.infrastructure.persistence.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.mongodb.ReadPreference;
+
+@DisplayName("Read Your Writes Filter Tests")
+class ReadYourWritesFilterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ReadRouting routing = new ReadRouting(true, 90, now::get);
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(routing);
+
+    private ReadPreference filterAndRoute(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<ReadPreference> seen = new AtomicReference<>();
+        filter.doFilter(request, response, (req, res) -> seen.set(routing.catalogReads("store-1")));
+        return seen.get();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary during a write and issue a token")
+    void shouldPinWritesAndIssueToken() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        ReadPreference seen = filterAndRoute(new MockHttpServletRequest("PUT", "/api/product/id/1"), response);
+
+        // Then
+        assertEquals(ReadPreference.primary(), seen);
+        assertEquals("1000000", response.getHeader(ReadRouting.TOKEN_HEADER));
+        assertEquals(ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS), routing.catalogReads("store-1"),
+                "The pin should end with the request");
+    }
+
+    @Test
+    @DisplayName("Should read from the primary when the client sends a recent token")
+    void shouldPinReadsWithRecentToken() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/product");
+        request.addHeader(ReadRouting.TOKEN_HEADER, "995000");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When / Then
+        assertEquals(ReadPreference.primary(), filterAndRoute(request, response));
+        assertNull(response.getHeader(ReadRouting.TOKEN_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should leave reads without a recent token to the secondaries")
+    void shouldNotPinPlainReads() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/product");
+        request.addHeader(ReadRouting.TOKEN_HEADER, "800000");
+
+        // When
+        ReadPreference seen = filterAndRoute(request, new MockHttpServletResponse());
+
+        // Then
+        assertNotNull(seen);
+        assertEquals(ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS), seen);
+    }
+}
@@ -0,0 +1,245 @@
+package com.snackbar.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.resilience.AdaptiveConcurrencyLimiter.Priority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter("mongodb", initialLimit, minLimit, maxLimit, 0.5, 10,
+                Duration.ZERO, Duration.ZERO, nanos::get);
+    }
+
+    // Makes depth calls nested in each other, so they are all in flight together, each taking rttMs
+    private void nestedCalls(AdaptiveConcurrencyLimiter limiter, int depth, long rttMs) {
+        limiter.call(() -> {
+            if (depth > 1) {
+                nestedCalls(limiter, depth - 1, rttMs);
+            } else {
+                nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(rttMs));
+            }
+            return null;
+        });
+    }
+
+    @Nested
+    @DisplayName("Adjusting the limit")
+    class AdjustingTheLimit {
+
+        @Test
+        @DisplayName("Should grow the limit while latency stays flat and the limit is in use")
+        void shouldGrowWhileLatencyIsFlat() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+            // When
+            for (int i = 0; i < 5; i++) {
+                nestedCalls(limiter, 10, 10);
+            }
+
+            // Then
+            assertTrue(limiter.getLimit() > 10, "Limit should grow, was " + limiter.getLimit());
+            assertEquals(0, limiter.getInFlight());
+        }
+
+        @Test
+        @DisplayName("Should not grow a limit that is not in use")
+        void shouldNotGrowUnusedLimit() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+            // When
+            for (int i = 0; i < 50; i++) {
+                nestedCalls(limiter, 1, 10);
+            }
+
+            // Then
+            assertEquals(10, limiter.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should shrink the limit as latency rises, down to the minimum")
+        void shouldShrinkAsLatencyRises() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(40, 5, 100);
+            for (int i = 0; i < 20; i++) {
+                nestedCalls(limiter, 1, 10);
+            }
+
+            // When
+            nestedCalls(limiter, 1, 100);
+
+            // Then
+            int shrunk = limiter.getLimit();
+            assertTrue(shrunk < 40, "Limit should shrink, was " + shrunk);
+
+            // When
+            for (int i = 0; i < 50; i++) {
+                nestedCalls(limiter, 1, 100);
+            }
+
+            // Then
+            assertEquals(5, limiter.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should cut the limit by a tenth on dependency failures only")
+        void shouldCutLimitOnDependencyFailures() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(20, 1, 100);
+
+            // When
+            assertThrows(DataAccessResourceFailureException.class, () -> limiter.call(() -> {
+                throw new DataAccessResourceFailureException("Timed out selecting a server");
+            }));
+            assertThrows(LimitExceededException.class, () -> limiter.call(() -> {
+                throw new LimitExceededException("Rejected downstream");
+            }));
+
+            // Then
+            assertEquals(18, limiter.getLimit());
+        }
+    }
+
+    @Nested
+    @DisplayName("Admitting calls")
+    class AdmittingCalls {
+
+        @Test
+        @DisplayName("Should reject calls above the limit once the wait is over")
+        void shouldRejectCallsAboveLimit() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1);
+
+            // When / Then
+            assertThrows(LimitExceededException.class, () -> nestedCalls(limiter, 2, 1));
+            assertEquals(1, limiter.getRejected(Priority.INTERACTIVE));
+            assertEquals(0, limiter.getInFlight(), "The slot should be released");
+            assertEquals("menu", limiter.call(() -> "menu"));
+        }
+
+        @Test
+        @DisplayName("Should give background work only its share of the limit")
+        void shouldLimitBackgroundWorkToItsShare() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(4, 4, 4);
+
+            // When / Then
+            try (ThreadScope scope = AdaptiveConcurrencyLimiter.background()) {
+                assertThrows(LimitExceededException.class, () -> nestedCalls(limiter, 3, 1));
+            }
+            assertEquals(1, limiter.getRejected(Priority.BACKGROUND));
+            nestedCalls(limiter, 4, 1);
+            assertEquals(0, limiter.getRejected(Priority.INTERACTIVE), "Interactive calls should get the whole limit");
+        }
+
+        @Test
+        @DisplayName("Should hand freed slots to waiting interactive calls before background work")
+        void shouldServeInteractiveCallsFirst() throws InterruptedException {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("mongodb", 1, 1, 1, 1.0, 10,
+                    Duration.ofSeconds(5), Duration.ofSeconds(5));
+            CountDownLatch holding = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<String> served = new CopyOnWriteArrayList<>();
+            Thread holder = Thread.ofVirtual().start(() -> limiter.call(() -> {
+                holding.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            holding.await();
+            Thread background = Thread.ofVirtual().start(() -> {
+                try (ThreadScope scope = AdaptiveConcurrencyLimiter.background()) {
+                    limiter.call(() -> served.add("background"));
+                }
+            });
+            awaitQueued(limiter, 1);
+            Thread interactive = Thread.ofVirtual().start(() -> limiter.call(() -> served.add("interactive")));
+            awaitQueued(limiter, 2);
+
+            // When
+            release.countDown();
+            holder.join();
+            background.join();
+            interactive.join();
+
+            // Then
+            assertEquals(List.of("interactive", "background"), served);
+        }
+
+        @Test
+        @DisplayName("Should reject calls at once when too many are waiting")
+        void shouldRejectWhenQueueIsFull() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("mongodb", 1, 1, 1, 1.0, 0,
+                    Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+            // When / Then
+            assertThrows(LimitExceededException.class, () -> limiter.call(() -> limiter.call(() -> "menu")));
+            assertEquals(1, limiter.getRejected(Priority.INTERACTIVE));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent limits")
+    void shouldRejectInconsistentLimits() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(10, 20, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter("mongodb", 10, 1, 100, 0, 10,
+                Duration.ZERO, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should publish its limit, calls in flight and rejections")
+    void shouldPublishMetrics() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1);
+        assertThrows(LimitExceededException.class, () -> nestedCalls(limiter, 2, 1));
+
+        // When
+        limiter.bindTo(registry);
+
+        // Then
+        assertEquals(1.0, registry.get("resilience.limiter.limit").tag("name", "mongodb").gauge().value());
+        assertEquals(0.0, registry.get("resilience.limiter.inflight").gauge().value());
+        assertEquals(1.0, registry.get("resilience.limiter.rejected").tag("priority", "interactive").functionCounter().count());
+        assertEquals(0.0, registry.get("resilience.limiter.rejected").tag("priority", "background").functionCounter().count());
+    }
+
+    private static void awaitQueued(AdaptiveConcurrencyLimiter limiter, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getQueued() < queued && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(queued, limiter.getQueued());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.snackbar.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Resilience Guards Tests")
+class ResilienceGuardsTest {
+
+    private final ResilienceGuards guards = new ResilienceGuards(true,
+            CircuitBreakerConfig.custom()
+                    .slidingWindowSize(4)
+                    .minimumNumberOfCalls(4)
+                    .failureRateThreshold(50)
+                    .waitDurationInOpenState(Duration.ofSeconds(10))
+                    .recordException(ResilienceGuards::isDependencyFailure)
+                    .build(),
+            Duration.ZERO,
+            Map.of(OperationClass.CATALOG_READ, 1, OperationClass.CATALOG_WRITE, 1,
+                    OperationClass.AUTH, 1, OperationClass.EVENT_PUBLISH, 1),
+            new AdaptiveConcurrencyLimiter("mongodb", 1, 1, 1, 1.0, 0, Duration.ZERO, Duration.ZERO));
+
+    private void fail(OperationClass operationClass, RuntimeException failure, int times) {
+        for (int i = 0; i < times; i++) {
+            assertThrows(failure.getClass(), () -> guards.call(operationClass, () -> {
+                throw failure;
+            }));
+        }
+    }
+
+    @Nested
+    @DisplayName("Circuit breakers")
+    class CircuitBreakers {
+
+        @Test
+        @DisplayName("Should open on dependency failures and reject calls of that class only")
+        void shouldOpenOnDependencyFailures() {
+            // When
+            fail(OperationClass.CATALOG_READ, new DataAccessResourceFailureException("Timed out selecting a server"), 4);
+
+            // Then
+            assertEquals(CircuitBreaker.State.OPEN, guards.state(OperationClass.CATALOG_READ));
+            CallNotPermittedException rejection = assertThrows(CallNotPermittedException.class,
+                    () -> guards.call(OperationClass.CATALOG_READ, () -> "menu"));
+            assertTrue(ResilienceGuards.isRejection(rejection));
+            assertEquals("token", guards.call(OperationClass.AUTH, () -> "token"), "Other classes should be isolated");
+            assertEquals(Duration.ofSeconds(10), guards.getOpenDuration());
+        }
+
+        @Test
+        @DisplayName("Should not count caller errors or timeouts as dependency failures")
+        void shouldIgnoreCallerErrorsAndTimeouts() {
+            // When
+            fail(OperationClass.CATALOG_WRITE, new DuplicateKeyException("E11000"), 2);
+            fail(OperationClass.CATALOG_WRITE, new QueryTimeoutException("Operation exceeded the timeout limit"), 2);
+
+            // Then
+            assertEquals(CircuitBreaker.State.CLOSED, guards.state(OperationClass.CATALOG_WRITE));
+            assertTrue(ResilienceGuards.isUnavailable(new QueryTimeoutException("Operation exceeded the timeout limit")));
+            assertFalse(ResilienceGuards.isUnavailable(new DuplicateKeyException("E11000")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulkheads")
+    class Bulkheads {
+
+        @Test
+        @DisplayName("Should reject calls above the concurrency limit of their class")
+        void shouldRejectCallsAboveLimit() {
+            // When / Then
+            assertThrows(BulkheadFullException.class, () -> guards.call(OperationClass.EVENT_PUBLISH,
+                    () -> guards.call(OperationClass.EVENT_PUBLISH, () -> "sent")));
+            assertEquals("sent", guards.call(OperationClass.EVENT_PUBLISH, () -> "sent"), "The slot should be released");
+            assertEquals(CircuitBreaker.State.CLOSED, guards.state(OperationClass.EVENT_PUBLISH));
+        }
+
+        @Test
+        @DisplayName("Should share the concurrency limiter across MongoDB classes only")
+        void shouldShareLimiterAcrossMongoClasses() {
+            // When / Then
+            LimitExceededException rejection = assertThrows(LimitExceededException.class, () -> guards.call(OperationClass.AUTH,
+                    () -> guards.call(OperationClass.CATALOG_READ, () -> "menu")));
+            assertTrue(ResilienceGuards.isRejection(rejection));
+            assertEquals("sent", guards.call(OperationClass.AUTH, () -> guards.call(OperationClass.EVENT_PUBLISH, () -> "sent")),
+                    "SQS calls should not take MongoDB slots");
+            assertEquals(CircuitBreaker.State.CLOSED, guards.state(OperationClass.CATALOG_READ));
+        }
+
+        @Test
+        @DisplayName("Should let every call through when unguarded")
+        void unguarded_ShouldNotLimitCalls() {
+            ResilienceGuards unguarded = ResilienceGuards.unguarded();
+
+            assertEquals("sent", unguarded.call(OperationClass.EVENT_PUBLISH,
+                    () -> unguarded.call(OperationClass.EVENT_PUBLISH, () -> "sent")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish the state of every breaker")
+    void shouldPublishBreakerStates() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        fail(OperationClass.AUTH, new DataAccessResourceFailureException("Connection refused"), 4);
+
+        // When
+        guards.bindTo(registry);
+
+        // Then
+        assertEquals(1.0, registry.get("resilience4j.circuitbreaker.state")
+                .tag("name", "mongodb.auth").tag("state", "open").gauge().value());
+        assertEquals(1.0, registry.get("resilience4j.circuitbreaker.state")
+                .tag("name", "sqs.event-publish").tag("state", "closed").gauge().value());
+    }
+}
@@ -1,5 +1,7 @@
 package com.snackbar.product.application.ports.in;
 
+import com.snackbar.product.domain.entity.Product;
+
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,7 +15,7 @@ class DeleteProductByIdInputPortTest {
         private final List<String> deletedIds = new ArrayList<>();
         
         @Override
-        public void deleteProductById(String id) {
+        public void deleteProductById(String storeId, String id) {
             if (id == null || id.trim().isEmpty()) {
                 throw new IllegalArgumentException("Product ID cannot be null or empty");
             }
@@ -33,7 +35,7 @@ class DeleteProductByIdInputPortTest {
         String productId = "test-product-id";
         
         // Act
-        port.deleteProductById(productId);
+        port.deleteProductById(Product.DEFAULT_STORE_ID, productId);
         
         // Assert
         assertEquals(1, port.getDeletedIds().size());
@@ -48,7 +50,7 @@ class DeleteProductByIdInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.deleteProductById(null)
+            () -> port.deleteProductById(Product.DEFAULT_STORE_ID, null)
         );
         
         assertEquals("Product ID cannot be null or empty", exception.getMessage());
@@ -62,7 +64,7 @@ class DeleteProductByIdInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.deleteProductById("  ")
+            () -> port.deleteProductById(Product.DEFAULT_STORE_ID, "  ")
         );
         
         assertEquals("Product ID cannot be null or empty", exception.getMessage());
@@ -1,10 +1,12 @@
 package com.snackbar.product.application.ports.in;
 
+import com.snackbar.product.application.ports.out.ProductMenuView;
 import com.snackbar.product.domain.entity.Product;
 import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,7 +17,7 @@ class GetProductByCategoryInputPortTest {
         private String lastRequestedCategory;
         
         @Override
-        public List<Product> getProductByCategory(String category) {
+        public List<Product> getProductByCategory(String storeId, String category) {
             if (category == null || category.trim().isEmpty()) {
                 throw new IllegalArgumentException("Category cannot be null or empty");
             }
@@ -30,6 +32,18 @@ class GetProductByCategoryInputPortTest {
             return products;
         }
         
+        @Override
+        public List<ProductMenuView.Item> getMenuByCategory(String storeId, String category) {
+            this.lastRequestedCategory = category;
+            return List.of(new ProductMenuView.Item("1", "Product 1", category, null, null, null));
+        }
+
+        @Override
+        public List<ProductProjection> getProductByCategory(String storeId, String category, Set<ProductField> fields) {
+            this.lastRequestedCategory = category;
+            return List.of(new ProductProjection("1", "Product 1", category, null, null, null));
+        }
+        
         public String getLastRequestedCategory() {
             return lastRequestedCategory;
         }
@@ -42,7 +56,7 @@ class GetProductByCategoryInputPortTest {
         String category = "Lanche";
         
         // Act
-        List<Product> products = port.getProductByCategory(category);
+        List<Product> products = port.getProductByCategory(Product.DEFAULT_STORE_ID, category);
         
         // Assert
         assertEquals(category, port.getLastRequestedCategory());
@@ -59,7 +73,7 @@ class GetProductByCategoryInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.getProductByCategory(null)
+            () -> port.getProductByCategory(Product.DEFAULT_STORE_ID, null)
         );
         
         assertEquals("Category cannot be null or empty", exception.getMessage());
@@ -73,7 +87,7 @@ class GetProductByCategoryInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.getProductByCategory("  ")
+            () -> port.getProductByCategory(Product.DEFAULT_STORE_ID, "  ")
         );
         
         assertEquals("Category cannot be null or empty", exception.getMessage());
@@ -13,7 +13,7 @@ class GetProductByIdInputPortTest {
         private String lastRequestedId;
         
         @Override
-        public Product getProductById(String id) {
+        public Product getProductById(String storeId, String id) {
             if (id == null || id.trim().isEmpty()) {
                 throw new IllegalArgumentException("Product ID cannot be null or empty");
             }
@@ -43,7 +43,7 @@ class GetProductByIdInputPortTest {
         String productId = "test-product-id";
         
         // Act
-        Product product = port.getProductById(productId);
+        Product product = port.getProductById(Product.DEFAULT_STORE_ID, productId);
         
         // Assert
         assertEquals(productId, port.getLastRequestedId());
@@ -64,7 +64,7 @@ class GetProductByIdInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.getProductById(null)
+            () -> port.getProductById(Product.DEFAULT_STORE_ID, null)
         );
         
         assertEquals("Product ID cannot be null or empty", exception.getMessage());
@@ -78,7 +78,7 @@ class GetProductByIdInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.getProductById("  ")
+            () -> port.getProductById(Product.DEFAULT_STORE_ID, "  ")
         );
         
         assertEquals("Product ID cannot be null or empty", exception.getMessage());
@@ -13,7 +13,7 @@ class GetProductByNameInputPortTest {
         private String lastRequestedName;
         
         @Override
-        public Product getProductByName(String name) {
+        public Product getProductByName(String storeId, String name) {
             if (name == null || name.trim().isEmpty()) {
                 throw new IllegalArgumentException("Product name cannot be null or empty");
             }
@@ -43,7 +43,7 @@ class GetProductByNameInputPortTest {
         String productName = "Test Product";
         
         // Act
-        Product product = port.getProductByName(productName);
+        Product product = port.getProductByName(Product.DEFAULT_STORE_ID, productName);
         
         // Assert
         assertEquals(productName, port.getLastRequestedName());
@@ -64,7 +64,7 @@ class GetProductByNameInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.getProductByName(null)
+            () -> port.getProductByName(Product.DEFAULT_STORE_ID, null)
         );
         
         assertEquals("Product name cannot be null or empty", exception.getMessage());
@@ -78,7 +78,7 @@ class GetProductByNameInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.getProductByName("  ")
+            () -> port.getProductByName(Product.DEFAULT_STORE_ID, "  ")
         );
         
         assertEquals("Product name cannot be null or empty", exception.getMessage());
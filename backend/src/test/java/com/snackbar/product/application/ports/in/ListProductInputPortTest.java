@@ -1,10 +1,12 @@
 package com.snackbar.product.application.ports.in;
 
+import com.snackbar.product.application.ports.out.ProductMenuView;
 import com.snackbar.product.domain.entity.Product;
 import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,7 +17,7 @@ class ListProductInputPortTest {
         private boolean wasCalled = false;
         
         @Override
-        public List<Product> listProduct() {
+        public List<Product> listProduct(String storeId) {
             this.wasCalled = true;
             
             // Return mock products
@@ -27,6 +29,18 @@ class ListProductInputPortTest {
             return products;
         }
         
+        @Override
+        public List<ProductProjection> listProduct(String storeId, Set<ProductField> fields) {
+            this.wasCalled = true;
+            return List.of(new ProductProjection("1", "Product 1", null, null, null, null));
+        }
+        
+        @Override
+        public List<ProductMenuView.Item> listMenu(String storeId, long catalogVersion) {
+            this.wasCalled = true;
+            return List.of(new ProductMenuView.Item("1", "Product 1", "Lanche", "Description 1", new BigDecimal("10.0"), 5));
+        }
+        
         public boolean wasCalled() {
             return wasCalled;
         }
@@ -38,7 +52,7 @@ class ListProductInputPortTest {
         TestListProductInputPort port = new TestListProductInputPort();
         
         // Act
-        List<Product> products = port.listProduct();
+        List<Product> products = port.listProduct(Product.DEFAULT_STORE_ID);
         
         // Assert
         assertTrue(port.wasCalled());
@@ -14,7 +14,7 @@ class UpdateProductByIdInputPortTest {
         private Product lastUpdatedProduct;
         
         @Override
-        public Product updateProductById(String id, Product product) {
+        public Product updateProductById(String storeId, String id, Product product) {
             if (id == null || id.trim().isEmpty()) {
                 throw new IllegalArgumentException("Product ID cannot be null or empty");
             }
@@ -61,7 +61,7 @@ class UpdateProductByIdInputPortTest {
         );
         
         // Act
-        Product updatedProduct = port.updateProductById(productId, product);
+        Product updatedProduct = port.updateProductById(Product.DEFAULT_STORE_ID, productId, product);
         
         // Assert
         assertEquals(productId, port.getLastRequestedId());
@@ -92,7 +92,7 @@ class UpdateProductByIdInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.updateProductById(null, product)
+            () -> port.updateProductById(Product.DEFAULT_STORE_ID, null, product)
         );
         
         assertEquals("Product ID cannot be null or empty", exception.getMessage());
@@ -114,7 +114,7 @@ class UpdateProductByIdInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.updateProductById("  ", product)
+            () -> port.updateProductById(Product.DEFAULT_STORE_ID, "  ", product)
         );
         
         assertEquals("Product ID cannot be null or empty", exception.getMessage());
@@ -129,7 +129,7 @@ class UpdateProductByIdInputPortTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> port.updateProductById(productId, null)
+            () -> port.updateProductById(Product.DEFAULT_STORE_ID, productId, null)
         );
         
         assertEquals("Product cannot be null", exception.getMessage());
@@ -1,5 +1,7 @@
 package com.snackbar.product.application.usecases;
 
+import com.snackbar.product.domain.entity.Product;
+
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,13 +29,13 @@ class DeleteProductByIdUseCaseTest {
     void shouldDeleteProductSuccessfully() {
         // Arrange
         String productId = "1";
-        doNothing().when(productGateway).deleteProductById(productId);
+        doNothing().when(productGateway).deleteProductById(Product.DEFAULT_STORE_ID, productId);
 
         // Act
-        deleteProductByIdUseCase.deleteProductById(productId);
+        deleteProductByIdUseCase.deleteProductById(Product.DEFAULT_STORE_ID, productId);
 
         // Assert
-        verify(productGateway, times(1)).deleteProductById(productId);
+        verify(productGateway, times(1)).deleteProductById(Product.DEFAULT_STORE_ID, productId);
         verify(eventPublisher, times(1)).publish(any(ProductDeletedEvent.class));
     }
 
@@ -41,13 +43,13 @@ class DeleteProductByIdUseCaseTest {
     void shouldPropagateExceptionWhenProductNotFound() {
         // Arrange
         String nonExistentId = "999";
-        doThrow(ProductNotFoundException.withId(nonExistentId)).when(productGateway).deleteProductById(nonExistentId);
+        doThrow(ProductNotFoundException.withId(nonExistentId)).when(productGateway).deleteProductById(Product.DEFAULT_STORE_ID, nonExistentId);
 
         // Act & Assert
         ProductNotFoundException exception = assertThrows(ProductNotFoundException.class, 
-            () -> deleteProductByIdUseCase.deleteProductById(nonExistentId));
+            () -> deleteProductByIdUseCase.deleteProductById(Product.DEFAULT_STORE_ID, nonExistentId));
         assertEquals("Product not found with id: " + nonExistentId, exception.getMessage());
-        verify(productGateway, times(1)).deleteProductById(nonExistentId);
+        verify(productGateway, times(1)).deleteProductById(Product.DEFAULT_STORE_ID, nonExistentId);
         verify(eventPublisher, never()).publish(any());
     }
     
@@ -55,13 +57,13 @@ class DeleteProductByIdUseCaseTest {
     void shouldThrowExceptionWhenGatewayFails() {
         // Arrange
         String productId = "1";
-        doThrow(new RuntimeException("Database error")).when(productGateway).deleteProductById(productId);
+        doThrow(new RuntimeException("Database error")).when(productGateway).deleteProductById(Product.DEFAULT_STORE_ID, productId);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, 
-            () -> deleteProductByIdUseCase.deleteProductById(productId));
+            () -> deleteProductByIdUseCase.deleteProductById(Product.DEFAULT_STORE_ID, productId));
         assertEquals("Database error", exception.getMessage());
-        verify(productGateway, times(1)).deleteProductById(productId);
+        verify(productGateway, times(1)).deleteProductById(Product.DEFAULT_STORE_ID, productId);
         verify(eventPublisher, never()).publish(any());
         
         // Verify no further actions are taken after exception
@@ -72,9 +74,9 @@ class DeleteProductByIdUseCaseTest {
     void shouldThrowExceptionWhenIdIsNull() {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-            () -> deleteProductByIdUseCase.deleteProductById(null));
+            () -> deleteProductByIdUseCase.deleteProductById(Product.DEFAULT_STORE_ID, null));
         assertEquals("Product ID cannot be null or empty", exception.getMessage());
-        verify(productGateway, never()).deleteProductById(anyString());
+        verify(productGateway, never()).deleteProductById(anyString(), anyString());
         verify(eventPublisher, never()).publish(any());
     }
 
@@ -82,9 +84,9 @@ class DeleteProductByIdUseCaseTest {
     void shouldThrowExceptionWhenIdIsEmpty() {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-            () -> deleteProductByIdUseCase.deleteProductById("  "));
+            () -> deleteProductByIdUseCase.deleteProductById(Product.DEFAULT_STORE_ID, "  "));
         assertEquals("Product ID cannot be null or empty", exception.getMessage());
-        verify(productGateway, never()).deleteProductById(anyString());
+        verify(productGateway, never()).deleteProductById(anyString(), anyString());
         verify(eventPublisher, never()).publish(any());
     }
 }
@@ -4,6 +4,8 @@ import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.out.ProductChangeLog;
+import com.snackbar.product.application.ports.out.ProductMenuView;
 import com.snackbar.product.domain.entity.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,16 +19,21 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 class GetProductByCategoryUseCaseTest {
 
     private ProductGateway productGateway;
+    private ProductMenuView menuView;
+    private ProductChangeLog productChangeLog;
     private GetProductByCategoryUseCase getProductByCategoryUseCase;
 
     @BeforeEach
     void setUp() {
         productGateway = mock(ProductGateway.class);
-        getProductByCategoryUseCase = new GetProductByCategoryUseCase(productGateway);
+        menuView = mock(ProductMenuView.class);
+        productChangeLog = mock(ProductChangeLog.class);
+        getProductByCategoryUseCase = new GetProductByCategoryUseCase(productGateway, menuView, productChangeLog);
     }
 
     @Nested
@@ -42,10 +49,10 @@ class GetProductByCategoryUseCaseTest {
                 new Product("2", "Cheeseburger", category, "Delicious cheeseburger", BigDecimal.valueOf(12.99), 18)
             );
             
-            when(productGateway.getProductByCategory(category)).thenReturn(expectedProducts);
+            when(productGateway.getProductByCategory(Product.DEFAULT_STORE_ID, category)).thenReturn(expectedProducts);
 
             // Act
-            List<Product> result = getProductByCategoryUseCase.getProductByCategory(category);
+            List<Product> result = getProductByCategoryUseCase.getProductByCategory(Product.DEFAULT_STORE_ID, category);
 
             // Assert
             assertNotNull(result);
@@ -67,7 +74,7 @@ class GetProductByCategoryUseCaseTest {
             assertEquals(BigDecimal.valueOf(12.99), result.get(1).price());
             assertEquals(18, result.get(1).cookingTime());
             
-            verify(productGateway, times(1)).getProductByCategory(category);
+            verify(productGateway, times(1)).getProductByCategory(Product.DEFAULT_STORE_ID, category);
         }
     }
 
@@ -79,15 +86,15 @@ class GetProductByCategoryUseCaseTest {
         void shouldReturnEmptyListWhenNoCategoryMatches() {
             // Arrange
             String category = "NonExistentCategory";
-            when(productGateway.getProductByCategory(category)).thenReturn(Collections.emptyList());
+            when(productGateway.getProductByCategory(Product.DEFAULT_STORE_ID, category)).thenReturn(Collections.emptyList());
 
             // Act
-            List<Product> result = getProductByCategoryUseCase.getProductByCategory(category);
+            List<Product> result = getProductByCategoryUseCase.getProductByCategory(Product.DEFAULT_STORE_ID, category);
 
             // Assert
             assertNotNull(result);
             assertTrue(result.isEmpty());
-            verify(productGateway, times(1)).getProductByCategory(category);
+            verify(productGateway, times(1)).getProductByCategory(Product.DEFAULT_STORE_ID, category);
         }
     }
     
@@ -99,13 +106,13 @@ class GetProductByCategoryUseCaseTest {
         void shouldThrowExceptionWhenGatewayFails() {
             // Arrange
             String category = "Lanche";
-            when(productGateway.getProductByCategory(category)).thenThrow(new RuntimeException("Database error"));
+            when(productGateway.getProductByCategory(Product.DEFAULT_STORE_ID, category)).thenThrow(new RuntimeException("Database error"));
 
             // Act & Assert
             RuntimeException exception = assertThrows(RuntimeException.class, 
-                () -> getProductByCategoryUseCase.getProductByCategory(category));
+                () -> getProductByCategoryUseCase.getProductByCategory(Product.DEFAULT_STORE_ID, category));
             assertEquals("Database error", exception.getMessage());
-            verify(productGateway, times(1)).getProductByCategory(category);
+            verify(productGateway, times(1)).getProductByCategory(Product.DEFAULT_STORE_ID, category);
         }
     }
     
@@ -119,11 +126,48 @@ class GetProductByCategoryUseCaseTest {
         void shouldThrowExceptionWhenCategoryIsNullOrEmpty(String invalidCategory) {
             // Act & Assert
             IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
-                () -> getProductByCategoryUseCase.getProductByCategory(invalidCategory));
+                () -> getProductByCategoryUseCase.getProductByCategory(Product.DEFAULT_STORE_ID, invalidCategory));
             assertEquals("Product category cannot be null or empty", exception.getMessage());
             
             // Verify gateway was never called
-            verify(productGateway, never()).getProductByCategory(any());
+            verify(productGateway, never()).getProductByCategory(anyString(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("When the menu of a category is requested")
+    class WhenMenuIsRequested {
+        @Test
+        @DisplayName("Should serve the materialized menu when it reflects the catalog version")
+        void shouldServeMaterializedMenuWhenCurrent() {
+            // Arrange
+            List<ProductMenuView.Item> menu = List.of(
+                new ProductMenuView.Item("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15));
+            when(productChangeLog.position(Product.DEFAULT_STORE_ID)).thenReturn(new ProductChangeLog.Position(42, 0));
+            when(menuView.find(Product.DEFAULT_STORE_ID, "Lanche", 42L)).thenReturn(Optional.of(menu));
+
+            // Act
+            List<ProductMenuView.Item> result = getProductByCategoryUseCase.getMenuByCategory(Product.DEFAULT_STORE_ID, "Lanche");
+
+            // Assert
+            assertEquals(menu, result);
+            verifyNoInteractions(productGateway);
+        }
+
+        @Test
+        @DisplayName("Should read the products when the materialized menu is behind")
+        void shouldReadProductsWhenMenuIsBehind() {
+            // Arrange
+            when(productChangeLog.position(Product.DEFAULT_STORE_ID)).thenReturn(new ProductChangeLog.Position(42, 0));
+            when(menuView.find(Product.DEFAULT_STORE_ID, "Lanche", 42L)).thenReturn(Optional.empty());
+            when(productGateway.getProductByCategory(Product.DEFAULT_STORE_ID, "Lanche")).thenReturn(List.of(
+                new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15)));
+
+            // Act
+            List<ProductMenuView.Item> result = getProductByCategoryUseCase.getMenuByCategory(Product.DEFAULT_STORE_ID, "Lanche");
+
+            // Assert
+            assertEquals(List.of(new ProductMenuView.Item("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15)), result);
         }
     }
 }
@@ -37,10 +37,10 @@ class GetProductByIdUseCaseTest {
             String productId = "1";
             Product expectedProduct = new Product(productId, "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15);
             
-            when(productGateway.getProductById(productId)).thenReturn(expectedProduct);
+            when(productGateway.getProductById(Product.DEFAULT_STORE_ID, productId)).thenReturn(expectedProduct);
 
             // Act
-            Product result = getProductByIdUseCase.getProductById(productId);
+            Product result = getProductByIdUseCase.getProductById(Product.DEFAULT_STORE_ID, productId);
 
             // Assert
             assertNotNull(result);
@@ -50,7 +50,7 @@ class GetProductByIdUseCaseTest {
             assertEquals("Delicious burger", result.description());
             assertEquals(BigDecimal.valueOf(10.99), result.price());
             assertEquals(15, result.cookingTime());
-            verify(productGateway, times(1)).getProductById(productId);
+            verify(productGateway, times(1)).getProductById(Product.DEFAULT_STORE_ID, productId);
         }
     }
 
@@ -62,13 +62,13 @@ class GetProductByIdUseCaseTest {
         void shouldThrowExceptionWhenProductNotFound() {
             // Arrange
             String nonExistentId = "999";
-            when(productGateway.getProductById(nonExistentId)).thenThrow(ProductNotFoundException.withId(nonExistentId));
+            when(productGateway.getProductById(Product.DEFAULT_STORE_ID, nonExistentId)).thenThrow(ProductNotFoundException.withId(nonExistentId));
 
             // Act & Assert
             ProductNotFoundException exception = assertThrows(ProductNotFoundException.class, 
-                () -> getProductByIdUseCase.getProductById(nonExistentId));
+                () -> getProductByIdUseCase.getProductById(Product.DEFAULT_STORE_ID, nonExistentId));
             assertEquals("Product not found with id: " + nonExistentId, exception.getMessage());
-            verify(productGateway, times(1)).getProductById(nonExistentId);
+            verify(productGateway, times(1)).getProductById(Product.DEFAULT_STORE_ID, nonExistentId);
             
             // Verify no further actions are taken after exception
             verifyNoMoreInteractions(productGateway);
@@ -83,13 +83,13 @@ class GetProductByIdUseCaseTest {
         void shouldThrowExceptionWhenGatewayFails() {
             // Arrange
             String productId = "1";
-            when(productGateway.getProductById(productId)).thenThrow(new RuntimeException("Database error"));
+            when(productGateway.getProductById(Product.DEFAULT_STORE_ID, productId)).thenThrow(new RuntimeException("Database error"));
 
             // Act & Assert
             RuntimeException exception = assertThrows(RuntimeException.class, 
-                () -> getProductByIdUseCase.getProductById(productId));
+                () -> getProductByIdUseCase.getProductById(Product.DEFAULT_STORE_ID, productId));
             assertEquals("Database error", exception.getMessage());
-            verify(productGateway, times(1)).getProductById(productId);
+            verify(productGateway, times(1)).getProductById(Product.DEFAULT_STORE_ID, productId);
         }
     }
     
@@ -103,11 +103,11 @@ class GetProductByIdUseCaseTest {
         void shouldThrowExceptionWhenIdIsNullOrEmpty(String invalidId) {
             // Act & Assert
             IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
-                () -> getProductByIdUseCase.getProductById(invalidId));
+                () -> getProductByIdUseCase.getProductById(Product.DEFAULT_STORE_ID, invalidId));
             assertEquals("Product ID cannot be null or empty", exception.getMessage());
             
             // Verify gateway was never called
-            verify(productGateway, never()).getProductById(any());
+            verify(productGateway, never()).getProductById(anyString(), any());
         }
     }
 }
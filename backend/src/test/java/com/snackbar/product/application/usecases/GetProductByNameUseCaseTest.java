@@ -37,10 +37,10 @@ class GetProductByNameUseCaseTest {
             String productName = "Burger";
             Product expectedProduct = new Product("1", productName, "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15);
             
-            when(productGateway.getProductByName(productName)).thenReturn(expectedProduct);
+            when(productGateway.getProductByName(Product.DEFAULT_STORE_ID, productName)).thenReturn(expectedProduct);
 
             // Act
-            Product result = getProductByNameUseCase.getProductByName(productName);
+            Product result = getProductByNameUseCase.getProductByName(Product.DEFAULT_STORE_ID, productName);
 
             // Assert
             assertNotNull(result);
@@ -50,7 +50,7 @@ class GetProductByNameUseCaseTest {
             assertEquals("Delicious burger", result.description());
             assertEquals(BigDecimal.valueOf(10.99), result.price());
             assertEquals(15, result.cookingTime());
-            verify(productGateway, times(1)).getProductByName(productName);
+            verify(productGateway, times(1)).getProductByName(Product.DEFAULT_STORE_ID, productName);
         }
     }
 
@@ -62,13 +62,13 @@ class GetProductByNameUseCaseTest {
         void shouldPropagateExceptionWhenProductNameNotFound() {
             // Arrange
             String nonExistentName = "NonExistentBurger";
-            when(productGateway.getProductByName(nonExistentName)).thenThrow(ProductNotFoundException.withName(nonExistentName));
+            when(productGateway.getProductByName(Product.DEFAULT_STORE_ID, nonExistentName)).thenThrow(ProductNotFoundException.withName(nonExistentName));
 
             // Act & Assert
             ProductNotFoundException exception = assertThrows(ProductNotFoundException.class, 
-                () -> getProductByNameUseCase.getProductByName(nonExistentName));
+                () -> getProductByNameUseCase.getProductByName(Product.DEFAULT_STORE_ID, nonExistentName));
             assertEquals("Product not found with name: " + nonExistentName, exception.getMessage());
-            verify(productGateway, times(1)).getProductByName(nonExistentName);
+            verify(productGateway, times(1)).getProductByName(Product.DEFAULT_STORE_ID, nonExistentName);
             
             // Verify no further actions are taken after exception
             verifyNoMoreInteractions(productGateway);
@@ -83,13 +83,13 @@ class GetProductByNameUseCaseTest {
         void shouldThrowExceptionWhenGatewayFails() {
             // Arrange
             String productName = "Burger";
-            when(productGateway.getProductByName(productName)).thenThrow(new RuntimeException("Database error"));
+            when(productGateway.getProductByName(Product.DEFAULT_STORE_ID, productName)).thenThrow(new RuntimeException("Database error"));
 
             // Act & Assert
             RuntimeException exception = assertThrows(RuntimeException.class, 
-                () -> getProductByNameUseCase.getProductByName(productName));
+                () -> getProductByNameUseCase.getProductByName(Product.DEFAULT_STORE_ID, productName));
             assertEquals("Database error", exception.getMessage());
-            verify(productGateway, times(1)).getProductByName(productName);
+            verify(productGateway, times(1)).getProductByName(Product.DEFAULT_STORE_ID, productName);
         }
     }
     
@@ -103,11 +103,11 @@ class GetProductByNameUseCaseTest {
         void shouldThrowExceptionWhenNameIsNullOrEmpty(String invalidName) {
             // Act & Assert
             IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
-                () -> getProductByNameUseCase.getProductByName(invalidName));
+                () -> getProductByNameUseCase.getProductByName(Product.DEFAULT_STORE_ID, invalidName));
             assertEquals("Product name cannot be null or empty", exception.getMessage());
             
             // Verify gateway was never called
-            verify(productGateway, never()).getProductByName(any());
+            verify(productGateway, never()).getProductByName(anyString(), any());
         }
     }
 }
@@ -0,0 +1,159 @@
+package com.snackbar.product.application.usecases;
+
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.ProductChangeFeed;
+import com.snackbar.product.application.ports.out.ProductChangeLog;
+import com.snackbar.product.application.ports.out.ProductReadRouting;
+import com.snackbar.product.domain.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class GetProductChangesUseCaseTest {
+
+    private ProductChangeLog productChangeLog;
+    private ProductGateway productGateway;
+    private GetProductChangesUseCase getProductChangesUseCase;
+
+    private final Product burger = new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15);
+
+    @BeforeEach
+    void setUp() {
+        productChangeLog = mock(ProductChangeLog.class);
+        productGateway = mock(ProductGateway.class);
+        ProductReadRouting readRouting = new ProductReadRouting() {
+            @Override
+            public <T> T upToDate(Supplier<T> reads) {
+                return reads.get();
+            }
+        };
+        getProductChangesUseCase = new GetProductChangesUseCase(productChangeLog, productGateway, readRouting);
+        when(productChangeLog.position(Product.DEFAULT_STORE_ID)).thenReturn(new ProductChangeLog.Position(0, 0));
+    }
+
+    @Test
+    void shouldReturnUpsertsAndTombstonesInSequenceOrder() {
+        // Arrange
+        when(productChangeLog.changesSince(Product.DEFAULT_STORE_ID, 10, 500)).thenReturn(List.of(
+            new ProductChangeLog.Entry(11, "1", false),
+            new ProductChangeLog.Entry(13, "2", true)));
+        when(productGateway.getProductsByIds(Product.DEFAULT_STORE_ID, List.of("1"))).thenReturn(List.of(burger));
+
+        // Act
+        ProductChangeFeed feed = getProductChangesUseCase.getChanges(Product.DEFAULT_STORE_ID, 10, 0);
+
+        // Assert
+        assertEquals(List.of(
+            new ProductChangeFeed.Change(11, "1", burger),
+            new ProductChangeFeed.Change(13, "2", null)), feed.changes());
+        assertEquals(13, feed.nextSince());
+        assertFalse(feed.hasMore());
+        assertFalse(feed.resyncRequired());
+    }
+
+    @Test
+    void shouldReportProductMissingFromStoreAsDeleted() {
+        // Arrange
+        when(productChangeLog.changesSince(Product.DEFAULT_STORE_ID, 10, 1)).thenReturn(List.of(
+            new ProductChangeLog.Entry(11, "1", false)));
+        when(productGateway.getProductsByIds(Product.DEFAULT_STORE_ID, List.of("1"))).thenReturn(List.of());
+
+        // Act
+        ProductChangeFeed feed = getProductChangesUseCase.getChanges(Product.DEFAULT_STORE_ID, 10, 1);
+
+        // Assert
+        assertTrue(feed.changes().get(0).deleted());
+        assertTrue(feed.hasMore());
+    }
+
+    @Test
+    void shouldKeepSequenceWhenNothingChanged() {
+        // Arrange
+        when(productChangeLog.changesSince(Product.DEFAULT_STORE_ID, 10, GetProductChangesUseCase.MAX_LIMIT)).thenReturn(List.of());
+
+        // Act
+        ProductChangeFeed feed = getProductChangesUseCase.getChanges(Product.DEFAULT_STORE_ID, 10, 5000);
+
+        // Assert
+        assertTrue(feed.changes().isEmpty());
+        assertEquals(10, feed.nextSince());
+        verify(productGateway, never()).getProductsByIds(anyString(), any());
+    }
+
+    @Test
+    void shouldRequireResyncOnFirstSync() {
+        // Arrange
+        when(productChangeLog.position(Product.DEFAULT_STORE_ID)).thenReturn(new ProductChangeLog.Position(42, 0));
+
+        // Act
+        ProductChangeFeed feed = getProductChangesUseCase.getChanges(Product.DEFAULT_STORE_ID, 0, 0);
+
+        // Assert
+        assertTrue(feed.resyncRequired());
+        assertEquals(42, feed.nextSince());
+        verify(productChangeLog, never()).changesSince(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldRequireResyncWhenMissedTombstonesWerePurged() {
+        // Arrange
+        when(productChangeLog.position(Product.DEFAULT_STORE_ID)).thenReturn(new ProductChangeLog.Position(42, 20));
+
+        // Act
+        ProductChangeFeed feed = getProductChangesUseCase.getChanges(Product.DEFAULT_STORE_ID, 10, 0);
+
+        // Assert
+        assertTrue(feed.resyncRequired());
+        assertEquals(42, feed.nextSince());
+    }
+
+    @Test
+    void shouldResumeAfterPurgeHorizonWhenStoreHasNoLaterChanges() {
+        // Arrange
+        when(productChangeLog.position(Product.DEFAULT_STORE_ID)).thenReturn(new ProductChangeLog.Position(15, 20));
+
+        // Act
+        ProductChangeFeed feed = getProductChangesUseCase.getChanges(Product.DEFAULT_STORE_ID, 10, 0);
+
+        // Assert
+        assertTrue(feed.resyncRequired());
+        assertEquals(20, feed.nextSince());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenSinceIsNegative() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> getProductChangesUseCase.getChanges(Product.DEFAULT_STORE_ID, -1, 0));
+        assertEquals("Change sequence cannot be negative", exception.getMessage());
+    }
+
+    @Test
+    void shouldReturnLatestSequenceAsCatalogVersion() {
+        // Arrange
+        when(productChangeLog.position(Product.DEFAULT_STORE_ID)).thenReturn(new ProductChangeLog.Position(7, 3));
+
+        // Act & Assert
+        assertEquals(7, getProductChangesUseCase.getCatalogVersion(Product.DEFAULT_STORE_ID));
+    }
+
+    @Test
+    void shouldNotRollCatalogVersionBackWhenLatestTombstoneIsPurged() {
+        // Arrange
+        when(productChangeLog.position(Product.DEFAULT_STORE_ID)).thenReturn(new ProductChangeLog.Position(7, 9));
+
+        // Act & Assert
+        assertEquals(9, getProductChangesUseCase.getCatalogVersion(Product.DEFAULT_STORE_ID));
+        verify(productChangeLog, times(1)).position(Product.DEFAULT_STORE_ID);
+    }
+}
@@ -0,0 +1,99 @@
+package com.snackbar.product.application.usecases;
+
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.ProductBatchResult;
+import com.snackbar.product.domain.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class GetProductsByIdsUseCaseTest {
+
+    private ProductGateway productGateway;
+    private GetProductsByIdsUseCase getProductsByIdsUseCase;
+
+    private final Product burger = new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15);
+    private final Product fries = new Product("2", "Fries", "Acompanhamento", "Crispy fries", BigDecimal.valueOf(5.99), 10);
+
+    @BeforeEach
+    void setUp() {
+        productGateway = mock(ProductGateway.class);
+        getProductsByIdsUseCase = new GetProductsByIdsUseCase(productGateway);
+    }
+
+    @Test
+    void shouldPreserveRequestOrderAndListMissingIds() {
+        // Arrange
+        when(productGateway.getProductsByIds(Product.DEFAULT_STORE_ID, List.of("2", "404", "1")))
+            .thenReturn(List.of(burger, fries));
+
+        // Act
+        ProductBatchResult result = getProductsByIdsUseCase.getProductsByIds(Product.DEFAULT_STORE_ID, List.of("2", "404", "1"));
+
+        // Assert
+        assertEquals(List.of(fries, burger), result.products());
+        assertEquals(List.of("404"), result.missingIds());
+    }
+
+    @Test
+    void shouldResolveRepeatedIdsOnce() {
+        // Arrange
+        when(productGateway.getProductsByIds(Product.DEFAULT_STORE_ID, List.of("1"))).thenReturn(List.of(burger));
+
+        // Act
+        ProductBatchResult result = getProductsByIdsUseCase.getProductsByIds(Product.DEFAULT_STORE_ID, List.of("1", "1"));
+
+        // Assert
+        assertEquals(List.of(burger), result.products());
+        assertTrue(result.missingIds().isEmpty());
+        verify(productGateway, times(1)).getProductsByIds(Product.DEFAULT_STORE_ID, List.of("1"));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenIdsAreEmpty() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> getProductsByIdsUseCase.getProductsByIds(Product.DEFAULT_STORE_ID, List.of()));
+        assertEquals("Product IDs cannot be null or empty", exception.getMessage());
+        verify(productGateway, never()).getProductsByIds(anyString(), any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenAnIdIsBlank() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> getProductsByIdsUseCase.getProductsByIds(Product.DEFAULT_STORE_ID, List.of("1", " ")));
+        assertEquals("Product ID cannot be null or empty", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBatchIsTooLarge() {
+        // Arrange
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= GetProductsByIdsUseCase.MAX_BATCH_SIZE; i++) {
+            ids.add(String.valueOf(i));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> getProductsByIdsUseCase.getProductsByIds(Product.DEFAULT_STORE_ID, ids));
+        verify(productGateway, never()).getProductsByIds(anyString(), any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenStoreIdIsNull() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> getProductsByIdsUseCase.getProductsByIds(null, Collections.singletonList("1")));
+        assertEquals("Store ID cannot be null or empty", exception.getMessage());
+    }
+}
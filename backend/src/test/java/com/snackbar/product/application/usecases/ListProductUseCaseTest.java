@@ -1,6 +1,10 @@
 package com.snackbar.product.application.usecases;
 
 import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.application.ports.out.ProductMenuView;
+import com.snackbar.product.application.ports.out.ProductReadRouting;
 import com.snackbar.product.domain.entity.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,20 +12,37 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 class ListProductUseCaseTest {
 
     private ProductGateway productGateway;
+    private ProductMenuView menuView;
     private ListProductUseCase listProductUseCase;
+    // Reads run up to date, counted so tests can tell which reads were
+    private int upToDateReads;
 
     @BeforeEach
     void setUp() {
         productGateway = mock(ProductGateway.class);
-        listProductUseCase = new ListProductUseCase(productGateway);
+        menuView = mock(ProductMenuView.class);
+        upToDateReads = 0;
+        ProductReadRouting readRouting = new ProductReadRouting() {
+            @Override
+            public <T> T upToDate(Supplier<T> reads) {
+                upToDateReads++;
+                return reads.get();
+            }
+        };
+        listProductUseCase = new ListProductUseCase(productGateway, menuView, readRouting);
     }
 
     @Test
@@ -31,41 +52,106 @@ class ListProductUseCaseTest {
             new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15),
             new Product("2", "Fries", "Acompanhamento", "Crispy fries", BigDecimal.valueOf(5.99), 10)
         );
-        when(productGateway.listProduct()).thenReturn(products);
+        when(productGateway.listProduct(Product.DEFAULT_STORE_ID)).thenReturn(products);
 
         // Act
-        List<Product> result = listProductUseCase.listProduct();
+        List<Product> result = listProductUseCase.listProduct(Product.DEFAULT_STORE_ID);
 
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals("Burger", result.get(0).name());
         assertEquals("Fries", result.get(1).name());
-        verify(productGateway, times(1)).listProduct();
+        verify(productGateway, times(1)).listProduct(Product.DEFAULT_STORE_ID);
     }
 
     @Test
     void shouldReturnEmptyListWhenNoProductsAvailable() {
         // Arrange
-        when(productGateway.listProduct()).thenReturn(Collections.emptyList());
+        when(productGateway.listProduct(Product.DEFAULT_STORE_ID)).thenReturn(Collections.emptyList());
 
         // Act
-        List<Product> result = listProductUseCase.listProduct();
+        List<Product> result = listProductUseCase.listProduct(Product.DEFAULT_STORE_ID);
 
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(productGateway, times(1)).listProduct();
+        verify(productGateway, times(1)).listProduct(Product.DEFAULT_STORE_ID);
     }
 
     @Test
     void shouldThrowExceptionWhenGatewayFails() {
         // Arrange
-        when(productGateway.listProduct()).thenThrow(new RuntimeException("Database error"));
+        when(productGateway.listProduct(Product.DEFAULT_STORE_ID)).thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> listProductUseCase.listProduct());
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> listProductUseCase.listProduct(Product.DEFAULT_STORE_ID));
         assertEquals("Database error", exception.getMessage());
-        verify(productGateway, times(1)).listProduct();
+        verify(productGateway, times(1)).listProduct(Product.DEFAULT_STORE_ID);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldListSelectedFieldsOfProducts() {
+        // Arrange
+        Set<ProductField> fields = EnumSet.of(ProductField.ID, ProductField.NAME);
+        List<ProductProjection> projections = List.of(new ProductProjection("1", "Product 1", null, null, null, null));
+        when(productGateway.listProductFields(Product.DEFAULT_STORE_ID, null, fields)).thenReturn(projections);
+
+        // Act
+        List<ProductProjection> result = listProductUseCase.listProduct(Product.DEFAULT_STORE_ID, fields);
+
+        // Assert
+        assertEquals(projections, result);
+        verify(productGateway, never()).listProduct(anyString());
+    }
+
+    @Test
+    void shouldRejectEmptyFieldSelection() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> listProductUseCase.listProduct(Product.DEFAULT_STORE_ID, EnumSet.noneOf(ProductField.class)));
+        verifyNoInteractions(productGateway);
+    }
+
+    @Test
+    void shouldListProductsUpToDate() {
+        // Arrange
+        when(productGateway.listProduct(Product.DEFAULT_STORE_ID)).thenReturn(List.of());
+
+        // Act
+        listProductUseCase.listProduct(Product.DEFAULT_STORE_ID);
+
+        // Assert
+        assertEquals(1, upToDateReads);
+    }
+
+    @Test
+    void shouldListMenuFromMaterializedMenuWhenItIsCurrent() {
+        // Arrange
+        List<ProductMenuView.Item> menu = List.of(
+            new ProductMenuView.Item("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15));
+        when(menuView.find(Product.DEFAULT_STORE_ID, null, 42L)).thenReturn(Optional.of(menu));
+
+        // Act
+        List<ProductMenuView.Item> result = listProductUseCase.listMenu(Product.DEFAULT_STORE_ID, 42L);
+
+        // Assert
+        assertEquals(menu, result);
+        verifyNoInteractions(productGateway);
+    }
+
+    @Test
+    void shouldListMenuFromProductsUpToDateWhenMaterializedMenuIsBehind() {
+        // Arrange
+        when(menuView.find(Product.DEFAULT_STORE_ID, null, 42L)).thenReturn(Optional.empty());
+        when(productGateway.listProduct(Product.DEFAULT_STORE_ID)).thenReturn(List.of(
+            new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15)));
+
+        // Act
+        List<ProductMenuView.Item> result = listProductUseCase.listMenu(Product.DEFAULT_STORE_ID, 42L);
+
+        // Assert
+        assertEquals(List.of(new ProductMenuView.Item("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15)), result);
+        assertEquals(1, upToDateReads);
+    }
+}
@@ -0,0 +1,76 @@
+package com.snackbar.product.application.usecases;
+
+import com.snackbar.product.application.ports.out.ProductSearchIndex;
+import com.snackbar.product.domain.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SearchProductsUseCaseTest {
+
+    private ProductSearchIndex productSearchIndex;
+    private SearchProductsUseCase searchProductsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = mock(ProductSearchIndex.class);
+        searchProductsUseCase = new SearchProductsUseCase(productSearchIndex);
+    }
+
+    @Test
+    void shouldReturnProductsFromSearchIndex() {
+        // Arrange
+        List<Product> products = List.of(
+            new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15));
+        when(productSearchIndex.search(Product.DEFAULT_STORE_ID, "bur", 10)).thenReturn(products);
+
+        // Act
+        List<Product> result = searchProductsUseCase.searchProducts(Product.DEFAULT_STORE_ID, "bur", 10);
+
+        // Assert
+        assertEquals(products, result);
+        verify(productSearchIndex, times(1)).search(Product.DEFAULT_STORE_ID, "bur", 10);
+    }
+
+    @Test
+    void shouldUseDefaultLimitWhenLimitIsNotPositive() {
+        // Act
+        searchProductsUseCase.searchProducts(Product.DEFAULT_STORE_ID, "bur", 0);
+
+        // Assert
+        verify(productSearchIndex).search(Product.DEFAULT_STORE_ID, "bur", SearchProductsUseCase.DEFAULT_LIMIT);
+    }
+
+    @Test
+    void shouldCapLimit() {
+        // Act
+        searchProductsUseCase.searchProducts(Product.DEFAULT_STORE_ID, "bur", 1000);
+
+        // Assert
+        verify(productSearchIndex).search(Product.DEFAULT_STORE_ID, "bur", SearchProductsUseCase.MAX_LIMIT);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenQueryIsEmpty() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> searchProductsUseCase.searchProducts(Product.DEFAULT_STORE_ID, "  ", 10));
+        assertEquals("Search query cannot be null or empty", exception.getMessage());
+        verify(productSearchIndex, never()).search(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenStoreIdIsNull() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> searchProductsUseCase.searchProducts(null, "bur", 10));
+        assertEquals("Store ID cannot be null or empty", exception.getMessage());
+    }
+}
@@ -36,18 +36,18 @@ class UpdateProductByIdUseCaseTest {
         Product updatedProductData = new Product(null, "Burger Deluxe", "Lanche", "Delicious burger with extras", BigDecimal.valueOf(12.99), 20);
         Product updatedProduct = new Product(productId, "Burger Deluxe", "Lanche", "Delicious burger with extras", BigDecimal.valueOf(12.99), 20);
 
-        when(getProductByIdUseCase.getProductById(productId)).thenReturn(existingProduct);
-        when(productGateway.updateProductById(productId, updatedProductData)).thenReturn(updatedProduct);
+        when(getProductByIdUseCase.getProductById(Product.DEFAULT_STORE_ID, productId)).thenReturn(existingProduct);
+        when(productGateway.updateProductById(Product.DEFAULT_STORE_ID, productId, updatedProductData)).thenReturn(updatedProduct);
 
         // Act
-        Product result = updateProductByIdUseCase.updateProductById(productId, updatedProductData);
+        Product result = updateProductByIdUseCase.updateProductById(Product.DEFAULT_STORE_ID, productId, updatedProductData);
 
         // Assert
         assertNotNull(result);
         assertEquals("Burger Deluxe", result.name());
         assertEquals(BigDecimal.valueOf(12.99), result.price());
-        verify(getProductByIdUseCase, times(1)).getProductById(productId);
-        verify(productGateway, times(1)).updateProductById(productId, updatedProductData);
+        verify(getProductByIdUseCase, times(1)).getProductById(Product.DEFAULT_STORE_ID, productId);
+        verify(productGateway, times(1)).updateProductById(Product.DEFAULT_STORE_ID, productId, updatedProductData);
         verify(eventPublisher, times(1)).publish(any(ProductUpdatedEvent.class));
     }
 
@@ -56,14 +56,14 @@ class UpdateProductByIdUseCaseTest {
         // Arrange
         String productId = "1";
         Product product = new Product(null, "Test", "Lanche", "Test description for product", BigDecimal.valueOf(10.0), 5);
-        when(getProductByIdUseCase.getProductById(productId)).thenThrow(ProductNotFoundException.withId(productId));
+        when(getProductByIdUseCase.getProductById(Product.DEFAULT_STORE_ID, productId)).thenThrow(ProductNotFoundException.withId(productId));
 
         // Act & Assert
         ProductNotFoundException exception = assertThrows(ProductNotFoundException.class,
-            () -> updateProductByIdUseCase.updateProductById(productId, product));
+            () -> updateProductByIdUseCase.updateProductById(Product.DEFAULT_STORE_ID, productId, product));
         assertEquals("Product not found with id: " + productId, exception.getMessage());
-        verify(getProductByIdUseCase, times(1)).getProductById(productId);
-        verify(productGateway, never()).updateProductById(anyString(), any());
+        verify(getProductByIdUseCase, times(1)).getProductById(Product.DEFAULT_STORE_ID, productId);
+        verify(productGateway, never()).updateProductById(anyString(), anyString(), any());
         verify(eventPublisher, never()).publish(any());
     }
 
@@ -74,9 +74,9 @@ class UpdateProductByIdUseCaseTest {
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-            () -> updateProductByIdUseCase.updateProductById(null, product));
+            () -> updateProductByIdUseCase.updateProductById(Product.DEFAULT_STORE_ID, null, product));
         assertEquals("Product ID cannot be null or empty", exception.getMessage());
-        verify(getProductByIdUseCase, never()).getProductById(anyString());
+        verify(getProductByIdUseCase, never()).getProductById(anyString(), anyString());
         verify(eventPublisher, never()).publish(any());
     }
 
@@ -84,9 +84,9 @@ class UpdateProductByIdUseCaseTest {
     void shouldThrowExceptionWhenProductIsNull() {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-            () -> updateProductByIdUseCase.updateProductById("1", null));
+            () -> updateProductByIdUseCase.updateProductById(Product.DEFAULT_STORE_ID, "1", null));
         assertEquals("Product cannot be null", exception.getMessage());
-        verify(getProductByIdUseCase, never()).getProductById(anyString());
+        verify(getProductByIdUseCase, never()).getProductById(anyString(), anyString());
         verify(eventPublisher, never()).publish(any());
     }
 
@@ -98,13 +98,13 @@ class UpdateProductByIdUseCaseTest {
         Product updatedProductData = new Product(null, "Burger Deluxe", "Lanche", "Delicious burger with extras", BigDecimal.valueOf(12.99), 20);
         Product updatedProduct = new Product(productId, "Burger Deluxe", "Lanche", "Delicious burger with extras", BigDecimal.valueOf(12.99), 20);
 
-        when(getProductByIdUseCase.getProductById(productId)).thenReturn(existingProduct);
-        when(productGateway.updateProductById(productId, updatedProductData)).thenReturn(updatedProduct);
+        when(getProductByIdUseCase.getProductById(Product.DEFAULT_STORE_ID, productId)).thenReturn(existingProduct);
+        when(productGateway.updateProductById(Product.DEFAULT_STORE_ID, productId, updatedProductData)).thenReturn(updatedProduct);
 
         // Act
-        updateProductByIdUseCase.updateProductById(productId, updatedProductData);
+        updateProductByIdUseCase.updateProductById(Product.DEFAULT_STORE_ID, productId, updatedProductData);
 
         // Assert
-        verify(productGateway, times(1)).updateProductById(productId, updatedProductData);
+        verify(productGateway, times(1)).updateProductById(Product.DEFAULT_STORE_ID, productId, updatedProductData);
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.snackbar.product.domain.exceptions.InvalidProductDataException;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -154,4 +155,99 @@ class ProductTest {
         
         assertEquals(0, product.cookingTime());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAssignDefaultStoreWhenStoreIdIsMissing() {
+        Product product = new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 10);
+        
+        assertEquals(Product.DEFAULT_STORE_ID, product.storeId());
+    }
+    
+    @Test
+    void shouldKeepProductDataWhenMovedToAnotherStore() {
+        // Arrange
+        Product product = new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 10);
+        
+        // Act
+        Product storeProduct = product.withStoreId(" store-42 ");
+        
+        // Assert
+        assertEquals("store-42", storeProduct.storeId());
+        assertEquals(product.id(), storeProduct.id());
+        assertEquals(product.name(), storeProduct.name());
+        assertEquals(product.price(), storeProduct.price());
+    }
+    
+    @Test
+    void shouldThrowExceptionWhenStoreIdHasInvalidCharacters() {
+        // Act & Assert
+        assertThrows(InvalidProductDataException.class,
+            () -> new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 10, "store/42"));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenStoreIdIsTooLong() {
+        // Act & Assert
+        assertThrows(InvalidProductDataException.class,
+            () -> new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 10, "s".repeat(65)));
+    }
+    
+    @Test
+    void shouldMeasureNameAndDescriptionWithoutSurroundingWhitespace() {
+        // Act & Assert
+        InvalidProductDataException exception = assertThrows(InvalidProductDataException.class,
+            () -> new Product("1", "  Bu\t", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15));
+        assertEquals("Product name must be at least 3 characters long", exception.getMessage());
+        exception = assertThrows(InvalidProductDataException.class,
+            () -> new Product("1", "Burger", "Lanche", "  Too short  ", BigDecimal.valueOf(10.99), 15));
+        assertEquals("Product description must be at least 10 characters long", exception.getMessage());
+    }
+    
+    @Test
+    void shouldCreateTrustedProductWithoutValidation() {
+        // Act
+        Product product = Product.trusted("1", "Bu", "Legacy", "Short", BigDecimal.ZERO, 5, null);
+        
+        // Assert
+        assertEquals("Bu", product.name());
+        assertEquals("Legacy", product.category());
+        assertEquals(Product.DEFAULT_STORE_ID, product.storeId());
+    }
+    
+    @Test
+    void shouldValidateAgainAfterTrustedProductIsCreated() {
+        // Arrange
+        Product.trusted("1", "Bu", "Legacy", "Short", BigDecimal.ZERO, 5, "store-1");
+        
+        // Act & Assert
+        assertThrows(InvalidProductDataException.class,
+            () -> new Product("1", "Bu", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 15));
+    }
+    
+    @Test
+    void shouldCompareProductsByAllFields() {
+        // Arrange
+        Product product = new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 10);
+        
+        // Act & Assert
+        assertEquals(product, Product.trusted("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 10, null));
+        assertEquals(product.hashCode(), Product.trusted("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 10, null).hashCode());
+        assertNotEquals(product, product.withStoreId("store-1"));
+    }
+    
+    @Test
+    void shouldNotAllowChangingValidCategories() {
+        // Act & Assert
+        assertEquals(List.of("Lanche", "Acompanhamento", "Bebida", "Sobremesa"), Product.validCategories());
+        assertThrows(UnsupportedOperationException.class, () -> Product.validCategories().add("Pizza"));
+    }
+    
+    @Test
+    void shouldValidateStoreIdWhenMovedToAnotherStore() {
+        // Arrange
+        Product product = new Product("1", "Burger", "Lanche", "Delicious burger", BigDecimal.valueOf(10.99), 10);
+        
+        // Act & Assert
+        assertThrows(InvalidProductDataException.class, () -> product.withStoreId("store/42"));
+    }
+}
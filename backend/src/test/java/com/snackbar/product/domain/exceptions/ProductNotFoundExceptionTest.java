@@ -47,4 +47,14 @@ class ProductNotFoundExceptionTest {
         // Then
         assertEquals(expectedMessage, exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Should not capture a stack trace")
+    void constructor_ShouldNotCaptureStackTrace() {
+        // When
+        ProductNotFoundException exception = ProductNotFoundException.withId("123");
+
+        // Then
+        assertEquals(0, exception.getStackTrace().length);
+    }
 }
@@ -1,15 +1,30 @@
 package com.snackbar.product.infrastructure.config;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Optional;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.unit.DataSize;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ReadPreference;
+import com.snackbar.infrastructure.persistence.routing.ReadRouting;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
 import com.snackbar.product.application.gateways.ProductGateway;
 import com.snackbar.product.application.ports.out.DomainEventPublisher;
 import com.snackbar.product.application.usecases.CreateProductUseCase;
@@ -17,11 +32,22 @@ import com.snackbar.product.application.usecases.DeleteProductByIdUseCase;
 import com.snackbar.product.application.usecases.GetProductByCategoryUseCase;
 import com.snackbar.product.application.usecases.GetProductByIdUseCase;
 import com.snackbar.product.application.usecases.GetProductByNameUseCase;
+import com.snackbar.product.application.usecases.GetProductChangesUseCase;
 import com.snackbar.product.application.usecases.ListProductUseCase;
+import com.snackbar.product.application.usecases.SearchProductsUseCase;
 import com.snackbar.product.application.usecases.UpdateProductByIdUseCase;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.ProductCreatedEvent;
+import com.snackbar.product.infrastructure.controllers.CatalogResponseCache;
 import com.snackbar.product.infrastructure.controllers.ProductDTOMapper;
 import com.snackbar.product.infrastructure.gateways.ProductEntityMapper;
+import com.snackbar.product.infrastructure.gateways.SnapshotFallbackProductGateway;
+import com.snackbar.product.infrastructure.persistence.MongoMenuView;
+import com.snackbar.product.infrastructure.persistence.MongoProductChangeLog;
+import com.snackbar.product.infrastructure.persistence.PrimaryProductReadRouting;
 import com.snackbar.product.infrastructure.persistence.ProductRepository;
+import com.snackbar.product.infrastructure.search.InMemoryProductSearchIndex;
+import com.snackbar.product.infrastructure.stream.ProductEventStream;
 
 @ExtendWith(MockitoExtension.class)
 class ProductConfigTest {
@@ -62,7 +88,7 @@ class ProductConfigTest {
     @DisplayName("Should create ListProductUseCase bean")
     void listProductUseCase_ShouldCreateBean() {
         // When
-        ListProductUseCase useCase = productConfig.listProductUseCase(productGateway);
+        ListProductUseCase useCase = productConfig.listProductUseCase(productGateway, mock(MongoMenuView.class), new PrimaryProductReadRouting());
 
         // Then
         assertNotNull(useCase);
@@ -72,7 +98,8 @@ class ProductConfigTest {
     @DisplayName("Should create GetProductByCategoryUseCase bean")
     void getProductByCategoryUseCase_ShouldCreateBean() {
         // When
-        GetProductByCategoryUseCase useCase = productConfig.getProductByCategoryUseCase(productGateway);
+        GetProductByCategoryUseCase useCase = productConfig.getProductByCategoryUseCase(productGateway, mock(MongoMenuView.class),
+            mock(MongoProductChangeLog.class));
 
         // Then
         assertNotNull(useCase);
@@ -118,10 +145,38 @@ class ProductConfigTest {
         ProductEntityMapper productEntityMapper = mock(ProductEntityMapper.class);
 
         // When
-        ProductGateway gateway = productConfig.productGateway(productRepository, productEntityMapper);
+        ProductGateway gateway = productConfig.productGateway(productConfig.cachingProductGateway(
+            productConfig.resilientProductGateway(productRepository, productEntityMapper, ReadRouting.primaryOnly(), ResilienceGuards.unguarded()),
+            productConfig.productCache(100, 1000, 1000), true, 2, 100), productConfig.productSearchIndex());
 
         // Then
         assertNotNull(gateway);
+        assertTrue(gateway instanceof SnapshotFallbackProductGateway);
+    }
+
+    @Test
+    @DisplayName("Should not cache products answered from the snapshot while the database is unavailable")
+    void productGateway_ShouldNotCacheSnapshotAnswers() {
+        // Given
+        InMemoryProductSearchIndex snapshot = productConfig.productSearchIndex();
+        Product burger = new Product("1", "Burger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15);
+        Product renamed = new Product("1", "Cheeseburger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15);
+        snapshot.index(burger);
+        ProductEntityMapper productEntityMapper = new ProductEntityMapper();
+        ProductGateway gateway = productConfig.productGateway(productConfig.cachingProductGateway(
+            productConfig.resilientProductGateway(productRepository, productEntityMapper, ReadRouting.primaryOnly(), ResilienceGuards.unguarded()),
+            productConfig.productCache(100, 60_000, 60_000), false, 2, 100), snapshot);
+        when(productRepository.findByStoreIdAndId(Product.DEFAULT_STORE_ID, "1", ReadPreference.primary()))
+            .thenThrow(new DataAccessResourceFailureException("Timed out selecting a server"))
+            .thenReturn(Optional.of(productEntityMapper.toEntity(renamed)));
+
+        // When
+        Product whileUnavailable = gateway.getProductById(Product.DEFAULT_STORE_ID, "1");
+        Product onceAvailable = gateway.getProductById(Product.DEFAULT_STORE_ID, "1");
+
+        // Then
+        assertEquals("Burger", whileUnavailable.name());
+        assertEquals("Cheeseburger", onceAvailable.name());
     }
 
     @Test
@@ -143,14 +198,60 @@ class ProductConfigTest {
         // Then
         assertNotNull(mapper);
     }
+
+    @Test
+    @DisplayName("Should create CatalogResponseCache bean")
+    void catalogResponseCache_ShouldCreateBean() {
+        // When
+        CatalogResponseCache cache = productConfig.catalogResponseCache(new ObjectMapper(), 64, DataSize.ofKilobytes(1));
+
+        // Then
+        assertNotNull(cache);
+    }
     
     @Test
-    @DisplayName("Should create NoOpDomainEventPublisher bean")
-    void noOpDomainEventPublisher_ShouldCreateBean() {
+    @DisplayName("Should create DomainEventPublisher bean that feeds the search index, change log, menu views and product stream")
+    void domainEventPublisher_ShouldUpdateSearchIndexAndChangeLog() {
+        // Given
+        InMemoryProductSearchIndex searchIndex = productConfig.productSearchIndex();
+        MongoProductChangeLog changeLog = mock(MongoProductChangeLog.class);
+        MongoMenuView menuView = mock(MongoMenuView.class);
+        ProductEventStream eventStream = mock(ProductEventStream.class);
+        Product product = new Product("1", "Hambúrguer", "Lanche", "Hambúrguer artesanal", new BigDecimal("22.00"), 10);
+        ProductCreatedEvent event = new ProductCreatedEvent(product);
+
         // When
-        DomainEventPublisher publisher = productConfig.noOpDomainEventPublisher();
+        DomainEventPublisher publisher = productConfig.domainEventPublisher(searchIndex, changeLog, menuView, eventStream, 2000);
+        publisher.publish(event);
 
         // Then
         assertNotNull(publisher);
+        assertEquals(1, searchIndex.search(Product.DEFAULT_STORE_ID, "hamburguer", 10).size());
+        InOrder inOrder = inOrder(changeLog, menuView);
+        inOrder.verify(changeLog).apply(event);
+        inOrder.verify(menuView).apply(event);
+        verify(eventStream).apply(event);
+    }
+
+    @Test
+    @DisplayName("Should create GetProductChangesUseCase bean")
+    void getProductChangesUseCase_ShouldCreateBean() {
+        // When
+        GetProductChangesUseCase useCase = productConfig.getProductChangesUseCase(mock(MongoProductChangeLog.class),
+            productConfig.resilientProductGateway(productRepository, productConfig.productEntityMapper(),
+                ReadRouting.primaryOnly(), ResilienceGuards.unguarded()), new PrimaryProductReadRouting());
+
+        // Then
+        assertNotNull(useCase);
+    }
+
+    @Test
+    @DisplayName("Should create SearchProductsUseCase bean")
+    void searchProductsUseCase_ShouldCreateBean() {
+        // When
+        SearchProductsUseCase useCase = productConfig.searchProductsUseCase(productConfig.productSearchIndex());
+
+        // Then
+        assertNotNull(useCase);
     }
 }
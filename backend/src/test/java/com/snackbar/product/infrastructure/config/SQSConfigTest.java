@@ -1,5 +1,7 @@
 package com.snackbar.product.infrastructure.config;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -14,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOrigin;
 
 import software.amazon.awssdk.services.sqs.SqsClient;
 
@@ -83,4 +86,34 @@ class SQSConfigTest {
             assertTrue(true);
         }
     }
+
+    @Test
+    @DisplayName("Should create message origin from configured IDs")
+    void messageOrigin_ShouldUseConfiguredIds() {
+        // Given
+        ReflectionTestUtils.setField(sqsConfig, "originNodeId", "node-a");
+        ReflectionTestUtils.setField(sqsConfig, "originClusterId", "cluster-1");
+
+        // When
+        MessageOrigin origin = sqsConfig.messageOrigin();
+
+        // Then
+        assertEquals("node-a", origin.getNodeId());
+        assertEquals("cluster-1", origin.getClusterId());
+    }
+
+    @Test
+    @DisplayName("Should generate node ID when not configured")
+    void messageOrigin_ShouldGenerateNodeIdWhenNotConfigured() {
+        // Given
+        ReflectionTestUtils.setField(sqsConfig, "originNodeId", "");
+        ReflectionTestUtils.setField(sqsConfig, "originClusterId", "cluster-1");
+
+        // When
+        MessageOrigin origin = sqsConfig.messageOrigin();
+
+        // Then
+        assertFalse(origin.getNodeId().isBlank());
+        assertEquals("cluster-1", origin.getClusterId());
+    }
 }
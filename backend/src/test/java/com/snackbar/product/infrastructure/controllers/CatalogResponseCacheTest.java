@@ -0,0 +1,133 @@
+package com.snackbar.product.infrastructure.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.product.infrastructure.controllers.dto.ResponseDTO;
+
+@DisplayName("Catalog Response Cache Tests")
+class CatalogResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CatalogResponseCache cache = new CatalogResponseCache(objectMapper, 2, 100);
+
+    private final ResponseDTO largeBody = new ResponseDTO(true, "Products retrieved successfully",
+        Collections.nCopies(50, "Delicious burger with cheese"));
+
+    @Nested
+    @DisplayName("When serving responses")
+    class WhenServing {
+
+        @Test
+        @DisplayName("Should gzip bodies above the threshold")
+        void get_ShouldGzipLargeBodies() throws Exception {
+            // When
+            CatalogResponseCache.Entry entry = cache.get("default-1", () -> largeBody);
+
+            // Then
+            assertTrue(entry.gzipped());
+            byte[] json = objectMapper.writeValueAsBytes(largeBody);
+            assertTrue(entry.body().length < json.length / 4, "Repetitive catalog should compress well");
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(entry.body()))) {
+                assertArrayEquals(json, gzip.readAllBytes());
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep small bodies uncompressed")
+        void get_ShouldNotGzipSmallBodies() throws Exception {
+            // Given
+            ResponseDTO body = new ResponseDTO(true, "ok", List.of());
+
+            // When
+            CatalogResponseCache.Entry entry = cache.get("default-1", () -> body);
+
+            // Then
+            assertFalse(entry.gzipped());
+            assertArrayEquals(objectMapper.writeValueAsBytes(body), entry.body());
+        }
+
+        @Test
+        @DisplayName("Should build a body once per key")
+        void get_ShouldReuseCachedBody() {
+            // Given
+            AtomicInteger builds = new AtomicInteger();
+
+            // When
+            CatalogResponseCache.Entry first = cache.get("default-1", () -> {
+                builds.incrementAndGet();
+                return largeBody;
+            });
+            CatalogResponseCache.Entry second = cache.get("default-1", () -> {
+                builds.incrementAndGet();
+                return largeBody;
+            });
+
+            // Then
+            assertSame(first, second);
+            assertEquals(1, builds.get());
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used body when full")
+        void get_ShouldEvictLeastRecentlyUsed() {
+            // Given
+            AtomicInteger builds = new AtomicInteger();
+            cache.get("default-1", () -> largeBody);
+            cache.get("default-2", () -> largeBody);
+            cache.get("default-1", () -> largeBody);
+
+            // When
+            cache.get("default-3", () -> largeBody);
+            cache.get("default-2", () -> {
+                builds.incrementAndGet();
+                return largeBody;
+            });
+
+            // Then
+            assertEquals(1, builds.get(), "Evicted body should be rebuilt");
+            assertEquals(2, cache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("When reading Accept-Encoding")
+    class WhenReadingAcceptEncoding {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"gzip", "gzip, deflate, br", "br;q=1.0, GZIP;q=0.5", "*"})
+        @DisplayName("Should accept gzip when listed")
+        void acceptsGzip_ShouldAcceptListedGzip(String acceptEncoding) {
+            assertTrue(CatalogResponseCache.acceptsGzip(acceptEncoding));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "identity", "br, deflate", "gzip;q=0", "*, gzip;q=0.0", "*;q=0"})
+        @DisplayName("Should not accept gzip when absent or refused")
+        void acceptsGzip_ShouldRejectMissingOrRefusedGzip(String acceptEncoding) {
+            assertFalse(CatalogResponseCache.acceptsGzip(acceptEncoding));
+        }
+
+        @Test
+        @DisplayName("Should not accept gzip without the header")
+        void acceptsGzip_ShouldRejectMissingHeader() {
+            assertFalse(CatalogResponseCache.acceptsGzip(null));
+        }
+    }
+}
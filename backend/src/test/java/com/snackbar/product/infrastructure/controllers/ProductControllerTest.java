@@ -2,7 +2,10 @@ package com.snackbar.product.infrastructure.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -10,11 +13,17 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,15 +32,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import com.snackbar.infrastructure.logging.LogSampler;
+import com.snackbar.product.application.ports.in.ProductBatchResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.product.application.ports.in.ProductChangeFeed;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.application.ports.out.ProductMenuView;
 import com.snackbar.product.application.usecases.CreateProductUseCase;
 import com.snackbar.product.application.usecases.DeleteProductByIdUseCase;
 import com.snackbar.product.application.usecases.GetProductByCategoryUseCase;
 import com.snackbar.product.application.usecases.GetProductByIdUseCase;
 import com.snackbar.product.application.usecases.GetProductByNameUseCase;
+import com.snackbar.product.application.usecases.GetProductChangesUseCase;
+import com.snackbar.product.application.usecases.GetProductsByIdsUseCase;
 import com.snackbar.product.application.usecases.ListProductUseCase;
+import com.snackbar.product.application.usecases.SearchProductsUseCase;
 import com.snackbar.product.application.usecases.UpdateProductByIdUseCase;
 import com.snackbar.product.domain.entity.Product;
 import com.snackbar.product.infrastructure.controllers.dto.ResponseDTO;
@@ -60,9 +82,20 @@ class ProductControllerTest {
     @Mock
     private DeleteProductByIdUseCase deleteProductByIdUseCase;
 
+    @Mock
+    private SearchProductsUseCase searchProductsUseCase;
+
+    @Mock
+    private GetProductsByIdsUseCase getProductsByIdsUseCase;
+
+    @Mock
+    private GetProductChangesUseCase getProductChangesUseCase;
+
     @Mock
     private ProductDTOMapper productDTOMapper;
 
+    private final CatalogResponseCache catalogResponseCache = new CatalogResponseCache(new ObjectMapper(), 8, 64);
+
     // We'll create a new controller instance manually instead of using @InjectMocks
     private ProductController productController;
 
@@ -70,6 +103,7 @@ class ProductControllerTest {
     private CreateProductRequest createRequest;
     private CreateProductResponse createResponse;
     private GetProductResponse getResponse;
+    private ProductMenuView.Item menuItem;
 
     @BeforeEach
     void setUp() {
@@ -78,6 +112,7 @@ class ProductControllerTest {
         createRequest = new CreateProductRequest("Test Product", "Lanche", "Test description", new BigDecimal("10.99"), 5);
         createResponse = new CreateProductResponse("1", "Test Product", "Lanche", "Test description", new BigDecimal("10.99"), 5);
         getResponse = new GetProductResponse("1", "Test Product", "Lanche", "Test description", new BigDecimal("10.99"), 5);
+        menuItem = new ProductMenuView.Item("1", "Test Product", "Lanche", "Test description", new BigDecimal("10.99"), 5);
         
         // Create a new controller instance with mocked dependencies
         productController = new ProductController(
@@ -88,7 +123,12 @@ class ProductControllerTest {
             getProductByNameUseCase,
             updateProductByIdUseCase,
             deleteProductByIdUseCase,
-            productDTOMapper
+            searchProductsUseCase,
+            getProductsByIdsUseCase,
+            getProductChangesUseCase,
+            catalogResponseCache,
+            productDTOMapper,
+            new LogSampler(1)
         );
         
         // Create a mock logger
@@ -120,7 +160,7 @@ class ProductControllerTest {
         when(productDTOMapper.createToResponse(product)).thenReturn(createResponse);
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.createProduct(createRequest);
+        ResponseEntity<ResponseDTO> response = productController.createProduct(Product.DEFAULT_STORE_ID, createRequest);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -137,7 +177,7 @@ class ProductControllerTest {
     @DisplayName("Should return bad request when create product request is null")
     void createProduct_ShouldReturnBadRequestWhenRequestIsNull() {
         // When
-        ResponseEntity<ResponseDTO> response = productController.createProduct(null);
+        ResponseEntity<ResponseDTO> response = productController.createProduct(Product.DEFAULT_STORE_ID, null);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -158,7 +198,7 @@ class ProductControllerTest {
         when(createProductUseCase.createProduct(product)).thenThrow(testException);
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.createProduct(createRequest);
+        ResponseEntity<ResponseDTO> response = productController.createProduct(Product.DEFAULT_STORE_ID, createRequest);
 
         // Then
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
@@ -178,7 +218,7 @@ class ProductControllerTest {
         when(createProductUseCase.createProduct(product)).thenReturn(null);
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.createProduct(createRequest);
+        ResponseEntity<ResponseDTO> response = productController.createProduct(Product.DEFAULT_STORE_ID, createRequest);
 
         // Then
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
@@ -194,11 +234,11 @@ class ProductControllerTest {
     @DisplayName("Should get product by id")
     void getProductById_ShouldGetProductById() {
         // Given
-        when(getProductByIdUseCase.getProductById("1")).thenReturn(product);
+        when(getProductByIdUseCase.getProductById(Product.DEFAULT_STORE_ID, "1")).thenReturn(product);
         when(productDTOMapper.getToResponse(product)).thenReturn(getResponse);
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.getProductById("1");
+        ResponseEntity<ResponseDTO> response = productController.getProductById(Product.DEFAULT_STORE_ID, "1");
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -211,11 +251,41 @@ class ProductControllerTest {
         assertEquals(getResponse, responseBody.data(), "Response data should match");
     }
 
+    @Test
+    @DisplayName("Should get product from the store given in the store header")
+    void getProductById_ShouldUseStoreFromHeader() {
+        // Given
+        when(getProductByIdUseCase.getProductById("store-42", "1")).thenReturn(product);
+        when(productDTOMapper.getToResponse(product)).thenReturn(getResponse);
+
+        // When
+        ResponseEntity<ResponseDTO> response = productController.getProductById("store-42", "1");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(getProductByIdUseCase).getProductById("store-42", "1");
+    }
+
+    @Test
+    @DisplayName("Should get product from the default store when the store header is missing")
+    void getProductById_ShouldUseDefaultStoreWhenHeaderIsMissing() {
+        // Given
+        when(getProductByIdUseCase.getProductById(Product.DEFAULT_STORE_ID, "1")).thenReturn(product);
+        when(productDTOMapper.getToResponse(product)).thenReturn(getResponse);
+
+        // When
+        ResponseEntity<ResponseDTO> response = productController.getProductById(null, "1");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(getProductByIdUseCase).getProductById(Product.DEFAULT_STORE_ID, "1");
+    }
+
     @Test
     @DisplayName("Should return bad request when product id is null or empty")
     void getProductById_ShouldReturnBadRequestWhenIdIsNullOrEmpty() {
         // When
-        ResponseEntity<ResponseDTO> response = productController.getProductById("");
+        ResponseEntity<ResponseDTO> response = productController.getProductById(Product.DEFAULT_STORE_ID, "");
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -231,11 +301,11 @@ class ProductControllerTest {
     @DisplayName("Should get product by name")
     void getProductByName_ShouldGetProductByName() {
         // Given
-        when(getProductByNameUseCase.getProductByName("Test Product")).thenReturn(product);
+        when(getProductByNameUseCase.getProductByName(Product.DEFAULT_STORE_ID, "Test Product")).thenReturn(product);
         when(productDTOMapper.getToResponse(product)).thenReturn(getResponse);
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.getProductByName("Test Product");
+        ResponseEntity<ResponseDTO> response = productController.getProductByName(Product.DEFAULT_STORE_ID, "Test Product");
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -252,7 +322,7 @@ class ProductControllerTest {
     @DisplayName("Should return bad request when product name is null or empty")
     void getProductByName_ShouldReturnBadRequestWhenNameIsNullOrEmpty() {
         // When
-        ResponseEntity<ResponseDTO> response = productController.getProductByName(null);
+        ResponseEntity<ResponseDTO> response = productController.getProductByName(Product.DEFAULT_STORE_ID, null);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -268,14 +338,14 @@ class ProductControllerTest {
     @DisplayName("Should get products by category")
     void getProductByCategory_ShouldGetProductsByCategory() {
         // Given
-        List<Product> products = Arrays.asList(product);
+        List<ProductMenuView.Item> items = List.of(menuItem);
         List<GetProductResponse> responses = Arrays.asList(getResponse);
         
-        when(getProductByCategoryUseCase.getProductByCategory("Lanche")).thenReturn(products);
-        when(productDTOMapper.listToResponse(products)).thenReturn(responses);
+        when(getProductByCategoryUseCase.getMenuByCategory(Product.DEFAULT_STORE_ID, "Lanche")).thenReturn(items);
+        when(productDTOMapper.menuToResponse(items)).thenReturn(responses);
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.getProductByCategory("Lanche");
+        ResponseEntity<ResponseDTO> response = productController.getProductByCategory(Product.DEFAULT_STORE_ID, "Lanche", null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -288,11 +358,74 @@ class ProductControllerTest {
         assertEquals(responses, responseBody.data(), "Response data should match");
     }
 
+    @Test
+    @DisplayName("Should get products by ids in one call")
+    void getProductsByIds_ShouldReturnProductsAndMissingIds() {
+        // Given
+        List<String> ids = List.of("1", "404");
+        ProductBatchResult result = new ProductBatchResult(List.of(product), List.of("404"));
+        ProductBatchResponse batchResponse = new ProductBatchResponse(List.of(getResponse), List.of("404"));
+        when(getProductsByIdsUseCase.getProductsByIds(Product.DEFAULT_STORE_ID, ids)).thenReturn(result);
+        when(productDTOMapper.batchToResponse(result)).thenReturn(batchResponse);
+
+        // When
+        ResponseEntity<ResponseDTO> response = productController.getProductsByIds(null, new ProductBatchRequest(ids));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ResponseDTO responseBody = Objects.requireNonNull(response.getBody());
+        assertTrue(responseBody.success(), "Response should indicate success");
+        assertEquals(batchResponse, responseBody.data(), "Response data should match");
+    }
+
+    @Test
+    @DisplayName("Should return bad request when batch has no ids")
+    void getProductsByIds_ShouldReturnBadRequestWhenIdsAreEmpty() {
+        // When
+        ResponseEntity<ResponseDTO> response = productController.getProductsByIds(null, new ProductBatchRequest(List.of()));
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        ResponseDTO responseBody = Objects.requireNonNull(response.getBody());
+        assertEquals("Product IDs cannot be null or empty", responseBody.message(), "Response message should match");
+    }
+
+    @Test
+    @DisplayName("Should search products of the store")
+    void searchProducts_ShouldSearchProducts() {
+        // Given
+        List<Product> products = Arrays.asList(product);
+        List<GetProductResponse> responses = Arrays.asList(getResponse);
+        when(searchProductsUseCase.searchProducts("store-42", "test", SearchProductsUseCase.DEFAULT_LIMIT)).thenReturn(products);
+        when(productDTOMapper.listToResponse(products)).thenReturn(responses);
+
+        // When
+        ResponseEntity<ResponseDTO> response = productController.searchProducts("store-42", "test", null, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ResponseDTO responseBody = Objects.requireNonNull(response.getBody());
+        assertTrue(responseBody.success(), "Response should indicate success");
+        assertEquals(responses, responseBody.data(), "Response data should match");
+    }
+
+    @Test
+    @DisplayName("Should return bad request when search query is empty")
+    void searchProducts_ShouldReturnBadRequestWhenQueryIsEmpty() {
+        // When
+        ResponseEntity<ResponseDTO> response = productController.searchProducts(null, " ", 5, null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        ResponseDTO responseBody = Objects.requireNonNull(response.getBody());
+        assertEquals("Search query cannot be null or empty", responseBody.message(), "Response message should match");
+    }
+
     @Test
     @DisplayName("Should return bad request when product category is null or empty")
     void getProductByCategory_ShouldReturnBadRequestWhenCategoryIsNullOrEmpty() {
         // When
-        ResponseEntity<ResponseDTO> response = productController.getProductByCategory("  ");
+        ResponseEntity<ResponseDTO> response = productController.getProductByCategory(Product.DEFAULT_STORE_ID, "  ", null);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -308,26 +441,175 @@ class ProductControllerTest {
     @DisplayName("Should list all products")
     void listProduct_ShouldListAllProducts() {
         // Given
-        List<Product> products = Arrays.asList(product);
+        List<ProductMenuView.Item> items = List.of(menuItem);
         List<GetProductResponse> responses = Arrays.asList(getResponse);
         
-        when(listProductUseCase.listProduct()).thenReturn(products);
-        when(productDTOMapper.listToResponse(products)).thenReturn(responses);
+        when(getProductChangesUseCase.getCatalogVersion(Product.DEFAULT_STORE_ID)).thenReturn(42L);
+        when(listProductUseCase.listMenu(Product.DEFAULT_STORE_ID, 42L)).thenReturn(items);
+        when(productDTOMapper.menuToResponse(items)).thenReturn(responses);
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.listProduct();
+        ResponseEntity<?> response = productController.listProduct(Product.DEFAULT_STORE_ID, null, null, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"default-42\"", response.getHeaders().getETag());
         assertNotNull(response.getBody(), "Response body should not be null");
         
         // Using Objects.requireNonNull to ensure the IDE knows responseBody is not null
-        ResponseDTO responseBody = Objects.requireNonNull(response.getBody());
+        ResponseDTO responseBody = (ResponseDTO) Objects.requireNonNull(response.getBody());
         assertTrue(responseBody.success(), "Response should indicate success");
         assertEquals("Products retrieved successfully", responseBody.message(), "Response message should match");
         assertEquals(responses, responseBody.data(), "Response data should match");
     }
 
+    @Test
+    @DisplayName("Should return not modified when the catalog version matches the ETag")
+    void listProduct_ShouldReturnNotModifiedWhenETagMatches() {
+        // Given
+        when(getProductChangesUseCase.getCatalogVersion(Product.DEFAULT_STORE_ID)).thenReturn(42L);
+
+        // When
+        ResponseEntity<?> response = productController.listProduct(null, "\"default-42\"", null, null);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"default-42\"", response.getHeaders().getETag());
+        assertEquals(null, response.getBody(), "Response body should be empty");
+        verify(listProductUseCase, times(0)).listMenu(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should list only the selected fields")
+    void listProduct_ShouldListSelectedFields() {
+        // Given
+        Set<ProductField> fields = EnumSet.of(ProductField.ID, ProductField.PRICE);
+        List<ProductProjection> projections = List.of(new ProductProjection("1", null, null, null, new BigDecimal("10.99"), null));
+        List<Map<String, Object>> responses = List.of(Map.of("id", "1", "price", new BigDecimal("10.99")));
+        when(getProductChangesUseCase.getCatalogVersion(Product.DEFAULT_STORE_ID)).thenReturn(42L);
+        when(listProductUseCase.listProduct(Product.DEFAULT_STORE_ID, fields)).thenReturn(projections);
+        when(productDTOMapper.projectionListToResponse(projections, fields)).thenReturn(responses);
+
+        // When
+        ResponseEntity<?> response = productController.listProduct(null, null, null, "price, id");
+
+        // Then
+        ResponseDTO responseBody = (ResponseDTO) Objects.requireNonNull(response.getBody());
+        assertEquals(responses, responseBody.data(), "Response data should match");
+        verify(listProductUseCase, times(0)).listMenu(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields")
+    void listProduct_ShouldRejectUnknownFields() {
+        assertThrows(IllegalArgumentException.class,
+            () -> productController.listProduct(null, null, null, "id,secret"));
+    }
+
+    @Test
+    @DisplayName("Should serve a gzipped catalog built once per catalog version")
+    void listProduct_ShouldServeCachedGzipBody() throws Exception {
+        // Given
+        List<ProductMenuView.Item> items = List.of(menuItem);
+        List<GetProductResponse> responses = Collections.nCopies(20, getResponse);
+        when(getProductChangesUseCase.getCatalogVersion(Product.DEFAULT_STORE_ID)).thenReturn(42L);
+        when(listProductUseCase.listMenu(Product.DEFAULT_STORE_ID, 42L)).thenReturn(items);
+        when(productDTOMapper.menuToResponse(items)).thenReturn(responses);
+
+        // When
+        ResponseEntity<?> first = productController.listProduct(null, null, "gzip, deflate, br", null);
+        ResponseEntity<?> second = productController.listProduct(null, null, "gzip", null);
+
+        // Then
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("gzip", first.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"default-42-gzip\"", first.getHeaders().getETag());
+        assertEquals(MediaType.APPLICATION_JSON, first.getHeaders().getContentType());
+        byte[] body = (byte[]) Objects.requireNonNull(first.getBody());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            JsonNode json = new ObjectMapper().readTree(gzip);
+            assertEquals("Products retrieved successfully", json.get("message").asText());
+            assertEquals(20, json.get("data").size());
+        }
+        assertSame(first.getBody(), second.getBody(), "Unchanged catalog should not be rebuilt");
+        verify(listProductUseCase, times(1)).listMenu(Product.DEFAULT_STORE_ID, 42L);
+    }
+
+    @Test
+    @DisplayName("Should return not modified for the ETag of the gzipped catalog")
+    void listProduct_ShouldReturnNotModifiedForGzipETag() {
+        // Given
+        when(getProductChangesUseCase.getCatalogVersion(Product.DEFAULT_STORE_ID)).thenReturn(42L);
+
+        // When
+        ResponseEntity<?> response = productController.listProduct(null, "\"default-42-gzip\"", "gzip", null);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"default-42-gzip\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Should get only the selected fields of products by category")
+    void getProductByCategory_ShouldGetSelectedFields() {
+        // Given
+        Set<ProductField> fields = EnumSet.of(ProductField.NAME);
+        List<ProductProjection> projections = List.of(new ProductProjection(null, "Test Product", null, null, null, null));
+        List<Map<String, Object>> responses = List.of(Map.of("name", "Test Product"));
+        when(getProductByCategoryUseCase.getProductByCategory(Product.DEFAULT_STORE_ID, "Lanche", fields)).thenReturn(projections);
+        when(productDTOMapper.projectionListToResponse(projections, fields)).thenReturn(responses);
+
+        // When
+        ResponseEntity<ResponseDTO> response = productController.getProductByCategory(null, "Lanche", "name");
+
+        // Then
+        ResponseDTO responseBody = Objects.requireNonNull(response.getBody());
+        assertEquals(responses, responseBody.data(), "Response data should match");
+    }
+
+    @Test
+    @DisplayName("Should return the product changes since a sequence number")
+    void getProductChanges_ShouldReturnChanges() {
+        // Given
+        ProductChangeFeed feed = new ProductChangeFeed(List.of(
+                new ProductChangeFeed.Change(7, "1", product),
+                new ProductChangeFeed.Change(8, "2", null)),
+            8, false, false);
+        when(getProductChangesUseCase.getChanges(Product.DEFAULT_STORE_ID, 5L, GetProductChangesUseCase.DEFAULT_LIMIT)).thenReturn(feed);
+        when(productDTOMapper.changesToResponse(feed)).thenCallRealMethod();
+        when(productDTOMapper.getToResponse(product)).thenReturn(getResponse);
+
+        // When
+        ResponseEntity<ResponseDTO> response = productController.getProductChanges(null, 5L, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ResponseDTO responseBody = Objects.requireNonNull(response.getBody());
+        assertTrue(responseBody.success(), "Response should indicate success");
+        ProductChangesResponse changes = (ProductChangesResponse) responseBody.data();
+        assertEquals(8, changes.nextSince());
+        assertEquals(new ProductChangeResponse(7, "1", false, getResponse), changes.changes().get(0));
+        assertEquals(new ProductChangeResponse(8, "2", true, null), changes.changes().get(1));
+    }
+
+    @Test
+    @DisplayName("Should ask for a resync on first sync")
+    void getProductChanges_ShouldRequireResyncWithoutSince() {
+        // Given
+        ProductChangeFeed feed = ProductChangeFeed.resync(12);
+        when(getProductChangesUseCase.getChanges(Product.DEFAULT_STORE_ID, 0L, 100)).thenReturn(feed);
+        when(productDTOMapper.changesToResponse(feed)).thenCallRealMethod();
+
+        // When
+        ResponseEntity<ResponseDTO> response = productController.getProductChanges(null, null, 100);
+
+        // Then
+        ProductChangesResponse changes = (ProductChangesResponse) Objects.requireNonNull(response.getBody()).data();
+        assertTrue(changes.resyncRequired(), "Replica should be told to resync");
+        assertEquals(12, changes.nextSince());
+        assertTrue(changes.changes().isEmpty(), "No changes should be returned");
+    }
+
     @Test
     @DisplayName("Should update product")
     void updateProductById_ShouldUpdateProduct() {
@@ -337,11 +619,11 @@ class ProductControllerTest {
         CreateProductResponse updatedResponse = new CreateProductResponse("1", "Updated Product", "Bebida", "Updated description", new BigDecimal("15.99"), 10);
         
         when(productDTOMapper.createRequestToDomain(updateRequest)).thenReturn(updatedProduct);
-        when(updateProductByIdUseCase.updateProductById("1", updatedProduct)).thenReturn(updatedProduct);
+        when(updateProductByIdUseCase.updateProductById(Product.DEFAULT_STORE_ID, "1", updatedProduct)).thenReturn(updatedProduct);
         when(productDTOMapper.createToResponse(updatedProduct)).thenReturn(updatedResponse);
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.updateProductById("1", updateRequest);
+        ResponseEntity<ResponseDTO> response = productController.updateProductById(Product.DEFAULT_STORE_ID, "1", updateRequest);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -358,7 +640,7 @@ class ProductControllerTest {
     @DisplayName("Should return bad request when update product id is null or empty")
     void updateProductById_ShouldReturnBadRequestWhenIdIsNullOrEmpty() {
         // When
-        ResponseEntity<ResponseDTO> response = productController.updateProductById("", createRequest);
+        ResponseEntity<ResponseDTO> response = productController.updateProductById(Product.DEFAULT_STORE_ID, "", createRequest);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -374,7 +656,7 @@ class ProductControllerTest {
     @DisplayName("Should return bad request when update product request is null")
     void updateProductById_ShouldReturnBadRequestWhenRequestIsNull() {
         // When
-        ResponseEntity<ResponseDTO> response = productController.updateProductById("1", null);
+        ResponseEntity<ResponseDTO> response = productController.updateProductById(Product.DEFAULT_STORE_ID, "1", null);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -391,10 +673,10 @@ class ProductControllerTest {
     void updateProductById_ShouldHandleNullResult() {
         // Given
         when(productDTOMapper.createRequestToDomain(createRequest)).thenReturn(product);
-        when(updateProductByIdUseCase.updateProductById("1", product)).thenReturn(null);
+        when(updateProductByIdUseCase.updateProductById(Product.DEFAULT_STORE_ID, "1", product)).thenReturn(null);
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.updateProductById("1", createRequest);
+        ResponseEntity<ResponseDTO> response = productController.updateProductById(Product.DEFAULT_STORE_ID, "1", createRequest);
 
         // Then
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
@@ -410,10 +692,10 @@ class ProductControllerTest {
     @DisplayName("Should delete product")
     void deleteProduct_ShouldDeleteProduct() {
         // Given
-        doNothing().when(deleteProductByIdUseCase).deleteProductById(anyString());
+        doNothing().when(deleteProductByIdUseCase).deleteProductById(anyString(), anyString());
 
         // When
-        ResponseEntity<ResponseDTO> response = productController.deleteProduct("1");
+        ResponseEntity<ResponseDTO> response = productController.deleteProduct(Product.DEFAULT_STORE_ID, "1");
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -423,14 +705,14 @@ class ProductControllerTest {
         ResponseDTO responseBody = Objects.requireNonNull(response.getBody());
         assertTrue(responseBody.success(), "Response should indicate success");
         assertEquals("Product deleted successfully", responseBody.message(), "Response message should match");
-        verify(deleteProductByIdUseCase, times(1)).deleteProductById("1");
+        verify(deleteProductByIdUseCase, times(1)).deleteProductById(Product.DEFAULT_STORE_ID, "1");
     }
 
     @Test
     @DisplayName("Should return bad request when delete product id is null or empty")
     void deleteProduct_ShouldReturnBadRequestWhenIdIsNullOrEmpty() {
         // When
-        ResponseEntity<ResponseDTO> response = productController.deleteProduct(null);
+        ResponseEntity<ResponseDTO> response = productController.deleteProduct(Product.DEFAULT_STORE_ID, null);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
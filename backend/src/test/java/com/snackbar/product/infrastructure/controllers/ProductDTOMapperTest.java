@@ -8,12 +8,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.application.ports.out.ProductMenuView;
 import com.snackbar.product.domain.entity.Product;
 
 class ProductDTOMapperTest {
@@ -167,4 +172,44 @@ class ProductDTOMapperTest {
         // Then
         assertTrue(responses.isEmpty());
     }
+
+    @Test
+    @DisplayName("Should convert menu items to product responses")
+    void menuToResponse_ShouldConvertItems() {
+        // Given
+        List<ProductMenuView.Item> menu = List.of(
+            new ProductMenuView.Item("1", "Test Product", "Lanche", "Test description", new BigDecimal("10.99"), 5));
+
+        // When
+        List<GetProductResponse> responses = mapper.menuToResponse(menu);
+
+        // Then
+        assertEquals(List.of(new GetProductResponse("1", "Test Product", "Lanche", "Test description", new BigDecimal("10.99"), 5)),
+            responses);
+    }
+
+    @Test
+    @DisplayName("Should write only the selected fields, in declaration order")
+    void projectionListToResponse_ShouldWriteSelectedFields() {
+        // Given
+        ProductProjection projection = new ProductProjection("1", "Test Product", null, null, new BigDecimal("10.99"), null);
+
+        // When
+        List<Map<String, Object>> responses = mapper.projectionListToResponse(List.of(projection),
+            EnumSet.of(ProductField.PRICE, ProductField.ID, ProductField.NAME));
+
+        // Then
+        assertEquals(List.of("id", "name", "price"), List.copyOf(responses.get(0).keySet()));
+        assertEquals(new BigDecimal("10.99"), responses.get(0).get("price"));
+    }
+
+    @Test
+    @DisplayName("Should drop unselected fields from full products")
+    void projectListToResponse_ShouldDropUnselectedFields() {
+        // When
+        List<Map<String, Object>> responses = mapper.projectListToResponse(List.of(product), EnumSet.of(ProductField.NAME));
+
+        // Then
+        assertEquals(List.of(Map.of("name", "Test Product")), responses);
+    }
 }
@@ -0,0 +1,58 @@
+package com.snackbar.product.infrastructure.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.infrastructure.stream.ProductEventStream;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStreamControllerTest {
+
+    @Mock
+    private ProductEventStream productEventStream;
+
+    @InjectMocks
+    private ProductStreamController productStreamController;
+
+    @Test
+    @DisplayName("Should open a stream of the store's product changes")
+    void streamProducts_ShouldSubscribeToStore() {
+        // Given
+        SseEmitter emitter = new SseEmitter();
+        when(productEventStream.subscribe(Product.DEFAULT_STORE_ID, "abc-3")).thenReturn(Optional.of(emitter));
+
+        // When
+        ResponseEntity<SseEmitter> response = productStreamController.streamProducts(null, "abc-3");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(emitter, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should return service unavailable when the connection limit is reached")
+    void streamProducts_ShouldRejectWhenFull() {
+        // Given
+        when(productEventStream.subscribe("store-1", null)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<SseEmitter> response = productStreamController.streamProducts("store-1", null);
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+}
@@ -0,0 +1,302 @@
+package com.snackbar.product.infrastructure.gateways;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.exceptions.ProductNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class CachingProductGatewayTest {
+
+    private static final String STORE_ID = "store-1";
+
+    @Mock
+    private ProductGateway delegate;
+
+    private CachingProductGateway gateway;
+
+    private final Product burger = product("1", "Burger");
+    private final Product fries = product("2", "Fries");
+
+    @BeforeEach
+    void setUp() {
+        gateway = new CachingProductGateway(delegate, new ProductCache(100, 60_000), Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups by id from the cache")
+    void getProductById_ShouldUseCache() {
+        // Given
+        when(delegate.getProductById(STORE_ID, "1")).thenReturn(burger);
+
+        // When
+        gateway.getProductById(STORE_ID, "1");
+        Product result = gateway.getProductById(STORE_ID, "1");
+
+        // Then
+        assertEquals(burger, result);
+        verify(delegate, times(1)).getProductById(STORE_ID, "1");
+    }
+
+    @Test
+    @DisplayName("Should only load ids missing from the cache in a batch")
+    void getProductsByIds_ShouldLoadOnlyCacheMisses() {
+        // Given
+        when(delegate.getProductById(STORE_ID, "1")).thenReturn(burger);
+        when(delegate.getProductsByIds(STORE_ID, List.of("2", "404"))).thenReturn(List.of(fries));
+        gateway.getProductById(STORE_ID, "1");
+
+        // When
+        List<Product> result = gateway.getProductsByIds(STORE_ID, List.of("1", "2", "404"));
+
+        // Then
+        assertEquals(2, result.size());
+        verify(delegate, times(1)).getProductsByIds(STORE_ID, List.of("2", "404"));
+    }
+
+    @Test
+    @DisplayName("Should evict deleted products")
+    void deleteProductById_ShouldEvictProduct() {
+        // Given
+        when(delegate.getProductById(STORE_ID, "1")).thenReturn(burger)
+            .thenThrow(ProductNotFoundException.withId("1"));
+        gateway.getProductById(STORE_ID, "1");
+
+        // When
+        gateway.deleteProductById(STORE_ID, "1");
+
+        // Then
+        assertThrows(ProductNotFoundException.class, () -> gateway.getProductById(STORE_ID, "1"));
+    }
+
+    @Test
+    @DisplayName("Should not keep the old version cached when an update fails")
+    void updateProductById_ShouldEvictBeforeUpdating() {
+        // Given
+        Product renamed = product("1", "Burger Deluxe");
+        when(delegate.getProductById(STORE_ID, "1")).thenReturn(burger).thenReturn(renamed);
+        doThrow(new RuntimeException("Test exception")).when(delegate).updateProductById(STORE_ID, "1", renamed);
+        gateway.getProductById(STORE_ID, "1");
+
+        // When
+        assertThrows(RuntimeException.class, () -> gateway.updateProductById(STORE_ID, "1", renamed));
+
+        // Then
+        assertEquals(renamed, gateway.getProductById(STORE_ID, "1"));
+    }
+
+    @Test
+    @DisplayName("Should not cache a product read before an update over the updated product")
+    void updateProductById_ShouldNotBeUndoneByLookupInFlight() throws Exception {
+        // Given
+        Product renamed = product("1", "Burger Deluxe");
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getProductById(STORE_ID, "1")).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return burger;
+        });
+        when(delegate.updateProductById(STORE_ID, "1", renamed)).thenReturn(renamed);
+        CompletableFuture<Product> beforeUpdate = CompletableFuture.supplyAsync(() -> gateway.getProductById(STORE_ID, "1"));
+        reading.await(5, TimeUnit.SECONDS);
+
+        // When
+        gateway.updateProductById(STORE_ID, "1", renamed);
+        release.countDown();
+
+        // Then
+        assertEquals(burger, beforeUpdate.get(5, TimeUnit.SECONDS));
+        assertEquals(renamed, gateway.getProductById(STORE_ID, "1"));
+        verify(delegate, times(1)).getProductById(STORE_ID, "1");
+    }
+
+    @Test
+    @DisplayName("Should not hand listings made after an update the result of a listing started during it")
+    void listProduct_ShouldNotJoinListingsStartedDuringUpdate() throws Exception {
+        // Given
+        Product renamed = product("1", "Burger Deluxe");
+        CountDownLatch listing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.listProduct(STORE_ID)).thenAnswer(invocation -> {
+            listing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(burger);
+        }).thenReturn(List.of(renamed));
+        CompletableFuture<List<Product>> duringUpdate = new CompletableFuture<>();
+        when(delegate.updateProductById(STORE_ID, "1", renamed)).thenAnswer(invocation -> {
+            // A listing that reads the store before the update reaches the database
+            Thread.ofPlatform().start(() -> duringUpdate.complete(gateway.listProduct(STORE_ID)));
+            listing.await(5, TimeUnit.SECONDS);
+            return renamed;
+        });
+        gateway.updateProductById(STORE_ID, "1", renamed);
+
+        // When
+        CompletableFuture<List<Product>> afterUpdate = new CompletableFuture<>();
+        Thread caller = Thread.ofPlatform().start(() -> afterUpdate.complete(gateway.listProduct(STORE_ID)));
+        while (caller.getState() != Thread.State.WAITING && caller.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        assertEquals(List.of(renamed), afterUpdate.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(burger), duringUpdate.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(2)).listProduct(STORE_ID);
+    }
+
+    @Test
+    @DisplayName("Should serve stale products while reloading them in the background")
+    void getProductById_ShouldRefreshStaleProducts() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        gateway = new CachingProductGateway(delegate, new ProductCache(100, 1000, 500, clock::get), Runnable::run);
+        Product renamed = product("1", "Burger Deluxe");
+        when(delegate.getProductById(STORE_ID, "1")).thenReturn(burger).thenReturn(renamed);
+        gateway.getProductById(STORE_ID, "1");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // When
+        Product stale = gateway.getProductById(STORE_ID, "1");
+
+        // Then
+        assertEquals(burger, stale);
+        assertEquals(renamed, gateway.getProductById(STORE_ID, "1"));
+        verify(delegate, times(2)).getProductById(STORE_ID, "1");
+    }
+
+    @Test
+    @DisplayName("Should evict stale products that were deleted meanwhile")
+    void getProductById_ShouldEvictStaleProductsDeletedMeanwhile() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        gateway = new CachingProductGateway(delegate, new ProductCache(100, 1000, 500, clock::get), Runnable::run);
+        when(delegate.getProductById(STORE_ID, "1")).thenReturn(burger)
+            .thenThrow(ProductNotFoundException.withId("1"));
+        gateway.getProductById(STORE_ID, "1");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // When
+        assertEquals(burger, gateway.getProductById(STORE_ID, "1"));
+
+        // Then
+        assertThrows(ProductNotFoundException.class, () -> gateway.getProductById(STORE_ID, "1"));
+    }
+
+    @Test
+    @DisplayName("Should make one call for concurrent listings of the same store")
+    void listProduct_ShouldCollapseConcurrentListings() throws Exception {
+        // Given
+        CountDownLatch listing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.listProduct(STORE_ID)).thenAnswer(invocation -> {
+            listing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(burger, fries);
+        });
+        CompletableFuture<List<Product>> first = CompletableFuture.supplyAsync(() -> gateway.listProduct(STORE_ID));
+        listing.await(5, TimeUnit.SECONDS);
+        Thread waiter = Thread.ofPlatform().start(() -> gateway.listProduct(STORE_ID));
+        while (waiter.getState() != Thread.State.WAITING && waiter.isAlive()) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        release.countDown();
+        waiter.join(5_000);
+
+        // Then
+        assertEquals(List.of(burger, fries), first.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(1)).listProduct(STORE_ID);
+        assertEquals(fries, gateway.getProductById(STORE_ID, "2"), "Listed products should be cached");
+    }
+
+    @Test
+    @DisplayName("Should load concurrent lookups of different ids with one lookup of several ids")
+    void getProductById_ShouldBatchConcurrentMisses() throws Exception {
+        // Given
+        gateway = new CachingProductGateway(delegate, new ProductCache(100, 60_000), Runnable::run, Duration.ofMinutes(1), 2);
+        // A lookup still loading, so the lookups that follow gather into a batch
+        CountDownLatch slowLoad = new CountDownLatch(1);
+        when(delegate.getProductsByIds(STORE_ID, List.of("3"))).thenAnswer(invocation -> {
+            slowLoad.await();
+            return List.of(product("3", "Shake"));
+        });
+        when(delegate.getProductsByIds(STORE_ID, List.of("1", "2"))).thenReturn(List.of(fries, burger));
+        CompletableFuture<Product> loading = new CompletableFuture<>();
+        Thread slow = Thread.ofPlatform().start(() -> loading.complete(gateway.getProductById(STORE_ID, "3")));
+        while (slow.getState() != Thread.State.WAITING && slow.isAlive()) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<Product> first = new CompletableFuture<>();
+        Thread waiter = Thread.ofPlatform().start(() -> first.complete(gateway.getProductById(STORE_ID, "1")));
+        while (waiter.getState() != Thread.State.TIMED_WAITING && waiter.isAlive()) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        Product second = gateway.getProductById(STORE_ID, "2");
+        slowLoad.countDown();
+
+        // Then
+        assertEquals(fries, second);
+        assertEquals(burger, first.get(5, TimeUnit.SECONDS));
+        assertEquals("Shake", loading.get(5, TimeUnit.SECONDS).name());
+        assertEquals(burger, gateway.getProductById(STORE_ID, "1"), "Batched products should be cached");
+        verify(delegate, times(1)).getProductsByIds(STORE_ID, List.of("1", "2"));
+    }
+
+    @Test
+    @DisplayName("Should not find products a batch did not return")
+    void getProductById_ShouldNotFindProductsMissingFromBatch() {
+        // Given
+        gateway = new CachingProductGateway(delegate, new ProductCache(100, 60_000), Runnable::run, Duration.ZERO, 2);
+        when(delegate.getProductsByIds(STORE_ID, List.of("404"))).thenReturn(List.of());
+
+        // When / Then
+        assertThrows(ProductNotFoundException.class, () -> gateway.getProductById(STORE_ID, "404"));
+    }
+
+    @Test
+    @DisplayName("Should stop the background reloads when closed")
+    void close_ShouldStopRefresher() {
+        // Given
+        ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+        gateway = new CachingProductGateway(delegate, new ProductCache(100, 60_000), refresher);
+
+        // When
+        gateway.close();
+
+        // Then
+        assertTrue(refresher.isShutdown());
+    }
+
+    private static Product product(String id, String name) {
+        return new Product(id, name, "Lanche", "Tasty " + name, BigDecimal.TEN, 5, STORE_ID);
+    }
+}
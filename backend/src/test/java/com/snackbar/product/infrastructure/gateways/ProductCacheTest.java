@@ -0,0 +1,208 @@
+package com.snackbar.product.infrastructure.gateways;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.snackbar.product.domain.entity.Product;
+
+@DisplayName("Product Cache Tests")
+class ProductCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private ProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCache(2, 1000, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should key products by store and ID")
+    void get_ShouldKeyByStoreAndId() {
+        // Given
+        Product product = product("1", "store-1");
+        cache.put(product);
+
+        // Then
+        assertEquals(product, cache.get("store-1", "1"));
+        assertNull(cache.get("store-2", "1"));
+    }
+
+    @Test
+    @DisplayName("Should treat expired entries as missing")
+    void get_ShouldExpireEntries() {
+        // Given
+        cache.put(product("1", "store-1"));
+
+        // When
+        clock.addAndGet(1_000_000_000L);
+
+        // Then
+        assertNull(cache.get("store-1", "1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void put_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        cache.put(product("1", "store-1"));
+        cache.put(product("2", "store-1"));
+        cache.get("store-1", "1");
+
+        // When
+        cache.put(product("3", "store-1"));
+
+        // Then
+        assertNull(cache.get("store-1", "2"));
+        assertEquals(2, cache.getAll("store-1", List.of("1", "2", "3")).size());
+    }
+
+    @Test
+    @DisplayName("Should bound and evict each store on its own")
+    void put_ShouldEvictWithinStore() {
+        // Given
+        cache.put(product("1", "store-1"));
+        cache.put(product("2", "store-1"));
+
+        // When
+        cache.put(product("3", "store-2"));
+        cache.put(product("4", "store-2"));
+        cache.put(product("5", "store-2"));
+
+        // Then
+        assertEquals(2, cache.getAll("store-1", List.of("1", "2")).size());
+        assertNull(cache.get("store-2", "3"));
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not hold back reads of other stores when a store is written")
+    void put_ShouldOnlySupersedeReadsOfWrittenStore() {
+        // Given
+        long storeOneStamp = cache.stamp("store-1");
+        long storeTwoStamp = cache.stamp("store-2");
+
+        // When
+        cache.put(product("1", "store-1"));
+
+        // Then
+        assertFalse(cache.put(product("2", "store-1"), storeOneStamp));
+        assertTrue(cache.put(product("3", "store-2"), storeTwoStamp));
+    }
+
+    @Test
+    @DisplayName("Should cache the first read of a store, unless the cache was cleared meanwhile")
+    void put_ShouldCacheFirstReadOfStore() {
+        // Given
+        long beforeClear = cache.stamp("store-2");
+        cache.clear();
+        long afterClear = cache.stamp("store-2");
+
+        // When / Then
+        assertFalse(cache.put(product("1", "store-2"), beforeClear));
+        assertTrue(cache.put(product("1", "store-2"), afterClear));
+    }
+
+    @Test
+    @DisplayName("Should invalidate a product under every store when only its ID is known")
+    void invalidate_ShouldRemoveProductFromEveryStore() {
+        // Given
+        cache.put(product("1", "store-1"));
+        cache.put(product("2", "store-1"));
+        cache.put(product("1", "store-2"));
+        long beforeInvalidation = cache.stamp("store-3");
+
+        // When
+        cache.invalidate("1");
+
+        // Then
+        assertNull(cache.get("store-1", "1"));
+        assertNull(cache.get("store-2", "1"));
+        assertEquals(1, cache.size());
+        assertFalse(cache.put(product("1", "store-3"), beforeInvalidation), "A read of the product in flight should not be cached");
+    }
+
+    @Test
+    @DisplayName("Should flag entries older than the refresh-after time as stale until they expire")
+    void lookup_ShouldFlagStaleEntries() {
+        // Given
+        ProductCache refreshing = new ProductCache(2, 1000, 600, clock::get);
+        Product product = product("1", "store-1");
+        refreshing.put(product);
+
+        // When / Then
+        assertEquals(new ProductCache.Hit(product, false), refreshing.lookup("store-1", "1"));
+        clock.addAndGet(600_000_000L);
+        assertEquals(new ProductCache.Hit(product, true), refreshing.lookup("store-1", "1"));
+        clock.addAndGet(400_000_000L);
+        assertNull(refreshing.lookup("store-1", "1"));
+    }
+
+    @Test
+    @DisplayName("Should cache a product read only if nothing was written or invalidated since the read started")
+    void put_ShouldRejectProductsReadBeforeWrites() {
+        // Given
+        Product read = product("1", "store-1");
+        Product written = new Product("1", "Burger", "Lanche", "Written burger", BigDecimal.ONE, 5, "store-1");
+
+        // When / Then
+        long stamp = cache.stamp("store-1");
+        assertTrue(cache.put(read, stamp));
+
+        long beforeWrite = cache.stamp("store-1");
+        cache.put(written);
+        assertFalse(cache.put(read, beforeWrite));
+        assertEquals(written, cache.get("store-1", "1"));
+
+        long beforeInvalidation = cache.stamp("store-1");
+        cache.invalidate("store-1", "1");
+        assertFalse(cache.put(read, beforeInvalidation));
+        assertNull(cache.get("store-1", "1"));
+    }
+
+    @Test
+    @DisplayName("Should replace a reloaded product only if it was not written or invalidated meanwhile")
+    void replace_ShouldNotUndoWrites() {
+        // Given
+        Product stale = product("1", "store-1");
+        Product reloaded = new Product("1", "Burger", "Lanche", "Reloaded burger", BigDecimal.TEN, 5, "store-1");
+        Product written = new Product("1", "Burger", "Lanche", "Written burger", BigDecimal.ONE, 5, "store-1");
+        cache.put(stale);
+
+        // When / Then
+        assertTrue(cache.replace(stale, reloaded));
+        assertEquals(reloaded, cache.get("store-1", "1"));
+
+        cache.put(written);
+        assertFalse(cache.replace(reloaded, stale));
+        assertEquals(written, cache.get("store-1", "1"));
+
+        cache.invalidate("store-1", "1");
+        assertFalse(cache.replace(written, reloaded));
+        assertNull(cache.get("store-1", "1"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void constructor_ShouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductCache(0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new ProductCache(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ProductCache(10, 1000, 2000));
+    }
+
+    private static Product product(String id, String storeId) {
+        return new Product(id, "Burger", "Lanche", "Delicious burger", BigDecimal.TEN, 5, storeId);
+    }
+}
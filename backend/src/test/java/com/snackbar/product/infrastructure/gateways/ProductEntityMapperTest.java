@@ -70,6 +70,20 @@ class ProductEntityMapperTest {
         assertEquals(productEntity.getCookingTime(), result.cookingTime());
     }
 
+    @Test
+    @DisplayName("Should convert stored ProductEntity without validating it again")
+    void toDomainObj_ShouldTrustStoredProductEntity() {
+        // Given: a document written before the current validation rules
+        ProductEntity legacyEntity = new ProductEntity("3", "Tea", "Bebida", "Hot tea", new BigDecimal("3.50"), 2, null);
+
+        // When
+        Product result = mapper.toDomainObj(legacyEntity);
+
+        // Then
+        assertEquals("Hot tea", result.description());
+        assertEquals(Product.DEFAULT_STORE_ID, result.storeId());
+    }
+
     @Test
     @DisplayName("Should return null when ProductEntity is null")
     void toDomainObj_ShouldReturnNullWhenProductEntityIsNull() {
@@ -0,0 +1,134 @@
+package com.snackbar.product.infrastructure.gateways;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.exceptions.InvalidProductDataException;
+import com.snackbar.product.infrastructure.persistence.ProductEntity;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * Cost of mapping a 10k-product catalog loaded from MongoDB into domain products: with the
+ * validation the constructor used to run, with the current validation, and through the
+ * trusted path the entity mapper now takes. The previous validation is reproduced inline.
+ * <p>
+ * Not run by the test suite; run {@link #main} from the IDE, or after {@code mvn test-compile}
+ * with {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main ProductMapping}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+    private static final String[] CATEGORIES = {"Lanche", "Acompanhamento", "Bebida", "Sobremesa"};
+
+    private final ProductEntityMapper mapper = new ProductEntityMapper();
+    private List<ProductEntity> entities;
+
+    @Setup
+    public void setUp() {
+        // Per-row debug logs are off in production, and would only add I/O noise
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(ProductEntityMapper.class)).setLevel(Level.INFO);
+        entities = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            // Fresh strings, as the MongoDB driver decodes them
+            entities.add(new ProductEntity(Integer.toHexString(0x10000000 + i), new String("Product " + i),
+                    new String(CATEGORIES[i % CATEGORIES.length]), new String("Description of product " + i),
+                    BigDecimal.valueOf(500 + i % 3000, 2), i % 30, new String("store-" + i % 8)));
+        }
+    }
+
+    @Benchmark
+    public List<Product> validatedBefore() {
+        return entities.stream()
+                .map(entity -> {
+                    String storeId = LegacyValidation.validate(entity);
+                    return Product.trusted(entity.getId(), entity.getName(), entity.getCategory(), entity.getDescription(),
+                            entity.getPrice(), entity.getCookingTime(), storeId);
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<Product> validatedAfter() {
+        return entities.stream()
+                .map(entity -> new Product(entity.getId(), entity.getName(), entity.getCategory(), entity.getDescription(),
+                        entity.getPrice(), entity.getCookingTime(), entity.getStoreId()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Product> trusted() {
+        return mapper.toDomainListObj(entities);
+    }
+
+    /**
+     * The validation the Product constructor ran before it was optimized.
+     */
+    private static final class LegacyValidation {
+
+        private static final Pattern STORE_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+        private static final List<String> VALID_CATEGORIES = Arrays.asList("Lanche", "Acompanhamento", "Bebida", "Sobremesa");
+
+        static String validate(ProductEntity entity) {
+            String name = entity.getName();
+            if (name == null || name.trim().isEmpty() || name.trim().length() < 3) {
+                throw new InvalidProductDataException("Invalid name");
+            }
+            String category = entity.getCategory();
+            if (category == null || category.trim().isEmpty() || !VALID_CATEGORIES.contains(category)) {
+                throw new InvalidProductDataException("Invalid category");
+            }
+            String description = entity.getDescription();
+            if (description == null || description.trim().isEmpty() || description.trim().length() < 10) {
+                throw new InvalidProductDataException("Invalid description");
+            }
+            if (entity.getPrice() == null || entity.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new InvalidProductDataException("Invalid price");
+            }
+            if (entity.getCookingTime() == null || entity.getCookingTime() < 0) {
+                throw new InvalidProductDataException("Invalid cooking time");
+            }
+            String storeId = entity.getStoreId();
+            if (storeId == null || storeId.isBlank()) {
+                return Product.DEFAULT_STORE_ID;
+            }
+            String trimmed = storeId.trim();
+            if (!STORE_ID_PATTERN.matcher(trimmed).matches()) {
+                throw new InvalidProductDataException("Invalid store ID");
+            }
+            return trimmed;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductMappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -6,7 +6,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -14,17 +16,22 @@ import static org.mockito.Mockito.when;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.mongodb.ReadPreference;
+import com.snackbar.infrastructure.persistence.routing.ReadRouting;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
 import com.snackbar.product.domain.entity.Product;
 import com.snackbar.product.domain.exceptions.ProductNotFoundException;
 import com.snackbar.product.infrastructure.persistence.ProductEntity;
@@ -33,13 +40,14 @@ import com.snackbar.product.infrastructure.persistence.ProductRepository;
 @ExtendWith(MockitoExtension.class)
 class ProductRepositoryGatewayTest {
 
+    private static final String STORE_ID = "store-1";
+
     @Mock
     private ProductRepository productRepository;
 
     @Mock
     private ProductEntityMapper productEntityMapper;
 
-    @InjectMocks
     private ProductRepositoryGateway productRepositoryGateway;
 
     private Product product;
@@ -47,10 +55,28 @@ class ProductRepositoryGatewayTest {
 
     @BeforeEach
     void setUp() {
+        productRepositoryGateway = new ProductRepositoryGateway(productRepository, productEntityMapper);
         product = new Product("1", "Test Product", "Lanche", "Test description for product", new BigDecimal("10.99"), 5);
         productEntity = new ProductEntity("1", "Test Product", "Lanche", "Test description for product", new BigDecimal("10.99"), 5);
     }
 
+    @Test
+    @DisplayName("Should read only the selected fields from the repository")
+    void listProductFields_ShouldPushProjectionToRepository() {
+        // Given
+        List<ProductEntity> partialEntities = List.of(new ProductEntity("1", "Test Product", null, null, new BigDecimal("10.99"), null));
+        List<ProductProjection> projections = List.of(new ProductProjection("1", "Test Product", null, null, new BigDecimal("10.99"), null));
+        when(productRepository.findFieldsByStoreId(STORE_ID, "Lanche", List.of("id", "name", "price"), ReadPreference.primary())).thenReturn(partialEntities);
+        when(productEntityMapper.toProjectionList(partialEntities)).thenReturn(projections);
+
+        // When
+        List<ProductProjection> results = productRepositoryGateway.listProductFields(
+            STORE_ID, "Lanche", EnumSet.of(ProductField.ID, ProductField.NAME, ProductField.PRICE));
+
+        // Then
+        assertEquals(projections, results);
+    }
+
     @Test
     @DisplayName("Should create product")
     void createProduct_ShouldCreateProduct() {
@@ -73,11 +99,11 @@ class ProductRepositoryGatewayTest {
     @DisplayName("Should find product by id")
     void getProductById_ShouldFindProductById() {
         // Given
-        when(productRepository.findById("1")).thenReturn(Optional.of(productEntity));
+        when(productRepository.findByStoreIdAndId(STORE_ID, "1", ReadPreference.primary())).thenReturn(Optional.of(productEntity));
         when(productEntityMapper.toDomainObj(productEntity)).thenReturn(product);
 
         // When
-        Product result = productRepositoryGateway.getProductById("1");
+        Product result = productRepositoryGateway.getProductById(STORE_ID, "1");
 
         // Then
         assertNotNull(result);
@@ -89,21 +115,38 @@ class ProductRepositoryGatewayTest {
     @DisplayName("Should throw exception when product not found by id")
     void getProductById_ShouldThrowExceptionWhenProductNotFoundById() {
         // Given
-        when(productRepository.findById("999")).thenReturn(Optional.empty());
+        when(productRepository.findByStoreIdAndId(STORE_ID, "999", ReadPreference.primary())).thenReturn(Optional.empty());
 
         // When/Then
-        assertThrows(ProductNotFoundException.class, () -> productRepositoryGateway.getProductById("999"));
+        assertThrows(ProductNotFoundException.class, () -> productRepositoryGateway.getProductById(STORE_ID, "999"));
+    }
+
+    @Test
+    @DisplayName("Should find several products of the store in one query")
+    void getProductsByIds_ShouldUseSingleQuery() {
+        // Given
+        List<String> ids = List.of("1", "2");
+        List<ProductEntity> productEntities = Arrays.asList(productEntity);
+        when(productRepository.findByStoreIdAndIdIn(STORE_ID, ids, ReadPreference.primary())).thenReturn(productEntities);
+        when(productEntityMapper.toDomainListObj(productEntities)).thenReturn(Arrays.asList(product));
+
+        // When
+        List<Product> results = productRepositoryGateway.getProductsByIds(STORE_ID, ids);
+
+        // Then
+        assertEquals(1, results.size());
+        verify(productRepository, times(1)).findByStoreIdAndIdIn(STORE_ID, ids, ReadPreference.primary());
     }
 
     @Test
     @DisplayName("Should find product by name")
     void getProductByName_ShouldFindProductByName() {
         // Given
-        when(productRepository.findByName("Test Product")).thenReturn(Optional.of(productEntity));
+        when(productRepository.findFirstByStoreIdAndName(STORE_ID, "Test Product", ReadPreference.primary())).thenReturn(Optional.of(productEntity));
         when(productEntityMapper.toDomainObj(productEntity)).thenReturn(product);
 
         // When
-        Product result = productRepositoryGateway.getProductByName("Test Product");
+        Product result = productRepositoryGateway.getProductByName(STORE_ID, "Test Product");
 
         // Then
         assertNotNull(result);
@@ -115,10 +158,10 @@ class ProductRepositoryGatewayTest {
     @DisplayName("Should throw exception when product not found by name")
     void getProductByName_ShouldThrowExceptionWhenProductNotFoundByName() {
         // Given
-        when(productRepository.findByName("Nonexistent")).thenReturn(Optional.empty());
+        when(productRepository.findFirstByStoreIdAndName(STORE_ID, "Nonexistent", ReadPreference.primary())).thenReturn(Optional.empty());
 
         // When/Then
-        assertThrows(ProductNotFoundException.class, () -> productRepositoryGateway.getProductByName("Nonexistent"));
+        assertThrows(ProductNotFoundException.class, () -> productRepositoryGateway.getProductByName(STORE_ID, "Nonexistent"));
     }
 
     @Test
@@ -126,11 +169,11 @@ class ProductRepositoryGatewayTest {
     void getProductByCategory_ShouldFindProductsByCategory() {
         // Given
         List<ProductEntity> productEntities = Arrays.asList(productEntity);
-        when(productRepository.findByCategory("Lanche")).thenReturn(productEntities);
+        when(productRepository.findByStoreIdAndCategory(STORE_ID, "Lanche", ReadPreference.primary())).thenReturn(productEntities);
         when(productEntityMapper.toDomainListObj(productEntities)).thenReturn(Arrays.asList(product));
 
         // When
-        List<Product> results = productRepositoryGateway.getProductByCategory("Lanche");
+        List<Product> results = productRepositoryGateway.getProductByCategory(STORE_ID, "Lanche");
 
         // Then
         assertNotNull(results);
@@ -144,11 +187,11 @@ class ProductRepositoryGatewayTest {
     @DisplayName("Should return empty list when no products found by category")
     void getProductByCategory_ShouldReturnEmptyListWhenNoProductsFoundByCategory() {
         // Given
-        when(productRepository.findByCategory("NonexistentCategory")).thenReturn(Collections.emptyList());
+        when(productRepository.findByStoreIdAndCategory(STORE_ID, "NonexistentCategory", ReadPreference.primary())).thenReturn(Collections.emptyList());
         when(productEntityMapper.toDomainListObj(Collections.emptyList())).thenReturn(Collections.emptyList());
 
         // When
-        List<Product> results = productRepositoryGateway.getProductByCategory("NonexistentCategory");
+        List<Product> results = productRepositoryGateway.getProductByCategory(STORE_ID, "NonexistentCategory");
 
         // Then
         assertNotNull(results);
@@ -160,11 +203,11 @@ class ProductRepositoryGatewayTest {
     void listProduct_ShouldListAllProducts() {
         // Given
         List<ProductEntity> productEntities = Arrays.asList(productEntity);
-        when(productRepository.findAll()).thenReturn(productEntities);
+        when(productRepository.findByStoreId(STORE_ID, ReadPreference.primary())).thenReturn(productEntities);
         when(productEntityMapper.toDomainListObj(productEntities)).thenReturn(Arrays.asList(product));
 
         // When
-        List<Product> results = productRepositoryGateway.listProduct();
+        List<Product> results = productRepositoryGateway.listProduct(STORE_ID);
 
         // Then
         assertNotNull(results);
@@ -174,15 +217,32 @@ class ProductRepositoryGatewayTest {
         assertEquals(product.name(), results.get(0).name());
     }
 
+    @Test
+    @DisplayName("Should list the products of every store from the primary, even when catalog reads use secondaries")
+    void listAllProducts_ShouldReadFromPrimary() {
+        // Given
+        ProductRepositoryGateway routedGateway = new ProductRepositoryGateway(productRepository, productEntityMapper,
+            new ReadRouting(true, 90));
+        List<ProductEntity> productEntities = Arrays.asList(productEntity);
+        when(productRepository.findAll(ReadPreference.primary())).thenReturn(productEntities);
+        when(productEntityMapper.toDomainListObj(productEntities)).thenReturn(Arrays.asList(product));
+
+        // When
+        List<Product> results = routedGateway.listAllProducts();
+
+        // Then
+        assertEquals(List.of(product), results);
+    }
+
     @Test
     @DisplayName("Should return empty list when no products exist")
     void listProduct_ShouldReturnEmptyListWhenNoProductsExist() {
         // Given
-        when(productRepository.findAll()).thenReturn(Collections.emptyList());
+        when(productRepository.findByStoreId(STORE_ID, ReadPreference.primary())).thenReturn(Collections.emptyList());
         when(productEntityMapper.toDomainListObj(Collections.emptyList())).thenReturn(Collections.emptyList());
 
         // When
-        List<Product> results = productRepositoryGateway.listProduct();
+        List<Product> results = productRepositoryGateway.listProduct(STORE_ID);
 
         // Then
         assertNotNull(results);
@@ -196,13 +256,13 @@ class ProductRepositoryGatewayTest {
         Product updatedProduct = new Product("1", "Updated Product", "Bebida", "Updated description for product", new BigDecimal("15.99"), 10);
         ProductEntity updatedEntity = new ProductEntity("1", "Updated Product", "Bebida", "Updated description for product", new BigDecimal("15.99"), 10);
         
-        when(productRepository.existsById("1")).thenReturn(true);
+        when(productRepository.existsByStoreIdAndId(STORE_ID, "1")).thenReturn(true);
         when(productEntityMapper.toEntity(updatedProduct)).thenReturn(updatedEntity);
         when(productRepository.save(updatedEntity)).thenReturn(updatedEntity);
         when(productEntityMapper.toDomainObj(updatedEntity)).thenReturn(updatedProduct);
 
         // When
-        Product result = productRepositoryGateway.updateProductById("1", updatedProduct);
+        Product result = productRepositoryGateway.updateProductById(STORE_ID, "1", updatedProduct);
 
         // Then
         assertNotNull(result);
@@ -213,6 +273,18 @@ class ProductRepositoryGatewayTest {
         assertEquals(updatedProduct.price(), result.price());
         assertEquals(updatedProduct.cookingTime(), result.cookingTime());
         verify(productRepository, times(1)).save(updatedEntity);
+        assertEquals(STORE_ID, updatedEntity.getStoreId());
+    }
+
+    @Test
+    @DisplayName("Should not find a product of another store by id")
+    void getProductById_ShouldNotFindProductOfAnotherStore() {
+        // Given
+        when(productRepository.findByStoreIdAndId("store-2", "1", ReadPreference.primary())).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThrows(ProductNotFoundException.class, () -> productRepositoryGateway.getProductById("store-2", "1"));
+        verify(productRepository, never()).findById(anyString());
     }
 
     @Test
@@ -220,24 +292,24 @@ class ProductRepositoryGatewayTest {
     void updateProductById_ShouldThrowExceptionWhenUpdatingNonExistentProduct() {
         // Given
         Product nonExistentProduct = new Product("999", "Non-existent", "Lanche", "Description for product test", BigDecimal.ONE, 1);
-        when(productRepository.existsById("999")).thenReturn(false);
+        when(productRepository.existsByStoreIdAndId(STORE_ID, "999")).thenReturn(false);
 
         // When/Then
-        assertThrows(ProductNotFoundException.class, () -> productRepositoryGateway.updateProductById("999", nonExistentProduct));
+        assertThrows(ProductNotFoundException.class, () -> productRepositoryGateway.updateProductById(STORE_ID, "999", nonExistentProduct));
     }
 
     @Test
     @DisplayName("Should delete product by id")
     void deleteProductById_ShouldDeleteProductById() {
         // Given
-        when(productRepository.findById("1")).thenReturn(Optional.of(productEntity));
+        when(productRepository.findByStoreIdAndId(STORE_ID, "1")).thenReturn(Optional.of(productEntity));
         doNothing().when(productRepository).delete(productEntity);
 
         // When
-        productRepositoryGateway.deleteProductById("1");
+        productRepositoryGateway.deleteProductById(STORE_ID, "1");
 
         // Then
-        verify(productRepository, times(1)).findById("1");
+        verify(productRepository, times(1)).findByStoreIdAndId(STORE_ID, "1");
         verify(productRepository, times(1)).delete(productEntity);
     }
 
@@ -245,11 +317,33 @@ class ProductRepositoryGatewayTest {
     @DisplayName("Should throw exception when deleting non-existent product")
     void deleteProductById_ShouldThrowExceptionWhenDeletingNonExistentProduct() {
         // Given
-        when(productRepository.findById("999")).thenReturn(Optional.empty());
+        when(productRepository.findByStoreIdAndId(STORE_ID, "999")).thenReturn(Optional.empty());
 
         // When/Then
-        assertThrows(ProductNotFoundException.class, () -> productRepositoryGateway.deleteProductById("999"));
-        verify(productRepository, times(1)).findById("999");
+        assertThrows(ProductNotFoundException.class, () -> productRepositoryGateway.deleteProductById(STORE_ID, "999"));
+        verify(productRepository, times(1)).findByStoreIdAndId(STORE_ID, "999");
         verify(productRepository, times(0)).delete(any(ProductEntity.class));
     }
+
+    @Test
+    @DisplayName("Should send catalog reads to secondaries until this node writes to the store")
+    void catalogReads_ShouldStayOnPrimaryAfterWrite() {
+        // Given
+        productRepositoryGateway = new ProductRepositoryGateway(productRepository, productEntityMapper, new ReadRouting(true, 90));
+        ReadPreference secondary = ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS);
+        when(productRepository.findByStoreId(STORE_ID, secondary)).thenReturn(List.of(productEntity));
+        when(productRepository.existsByStoreIdAndId(STORE_ID, "1")).thenReturn(true);
+        when(productEntityMapper.toEntity(product)).thenReturn(productEntity);
+        when(productRepository.save(productEntity)).thenReturn(productEntity);
+        when(productRepository.findByStoreId(STORE_ID, ReadPreference.primary())).thenReturn(List.of(productEntity));
+
+        // When
+        productRepositoryGateway.listProduct(STORE_ID);
+        productRepositoryGateway.updateProductById(STORE_ID, "1", product);
+        productRepositoryGateway.listProduct(STORE_ID);
+
+        // Then
+        verify(productRepository).findByStoreId(STORE_ID, secondary);
+        verify(productRepository).findByStoreId(STORE_ID, ReadPreference.primary());
+    }
 }
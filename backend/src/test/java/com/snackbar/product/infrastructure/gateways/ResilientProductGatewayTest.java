@@ -0,0 +1,65 @@
+package com.snackbar.product.infrastructure.gateways;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.domain.entity.Product;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Resilient Product Gateway Tests")
+class ResilientProductGatewayTest {
+
+    private static final String STORE_ID = "store-1";
+
+    @Mock
+    private ProductGateway delegate;
+
+    private ResilientProductGateway gateway;
+
+    private final Product burger = new Product("1", "Burger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15, STORE_ID);
+
+    @BeforeEach
+    void setUp() {
+        gateway = new ResilientProductGateway(delegate, ResilienceGuards.unguarded());
+    }
+
+    @Test
+    @DisplayName("Should pass reads and writes to the database")
+    void shouldDelegate() {
+        // Given
+        List<Product> products = List.of(burger);
+        when(delegate.listProduct(STORE_ID)).thenReturn(products);
+        when(delegate.createProduct(burger)).thenReturn(burger);
+
+        // When / Then
+        assertSame(products, gateway.listProduct(STORE_ID));
+        assertSame(burger, gateway.createProduct(burger));
+    }
+
+    @Test
+    @DisplayName("Should rethrow failures of the database, leaving fallbacks to the callers")
+    void shouldRethrowFailures() {
+        // Given
+        DataAccessResourceFailureException unavailable = new DataAccessResourceFailureException("Timed out selecting a server");
+        when(delegate.getProductById(STORE_ID, "1")).thenThrow(unavailable);
+
+        // When / Then
+        assertSame(unavailable, assertThrows(DataAccessResourceFailureException.class, () -> gateway.getProductById(STORE_ID, "1")));
+        verify(delegate).getProductById(STORE_ID, "1");
+    }
+}
@@ -0,0 +1,120 @@
+package com.snackbar.product.infrastructure.gateways;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.snackbar.product.application.gateways.ProductGateway;
+import com.snackbar.product.application.ports.in.ProductField;
+import com.snackbar.product.application.ports.in.ProductProjection;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.infrastructure.search.InMemoryProductSearchIndex;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Snapshot Fallback Product Gateway Tests")
+class SnapshotFallbackProductGatewayTest {
+
+    private static final String STORE_ID = "store-1";
+
+    @Mock
+    private ProductGateway delegate;
+
+    private final InMemoryProductSearchIndex snapshot = new InMemoryProductSearchIndex();
+
+    private SnapshotFallbackProductGateway gateway;
+
+    private final Product burger = new Product("1", "Burger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15, STORE_ID);
+    private final Product cola = new Product("2", "Cola", "Bebida", "Cold soft drink", new BigDecimal("5.50"), 0, STORE_ID);
+
+    private final DataAccessResourceFailureException unavailable =
+            new DataAccessResourceFailureException("Timed out selecting a server");
+
+    @BeforeEach
+    void setUp() {
+        gateway = new SnapshotFallbackProductGateway(delegate, snapshot);
+    }
+
+    @Test
+    @DisplayName("Should read from the database while it answers")
+    void shouldReadFromDatabase() {
+        // Given
+        snapshot.index(burger);
+        List<Product> products = List.of(burger, cola);
+        when(delegate.listProduct(STORE_ID)).thenReturn(products);
+
+        // When / Then
+        assertSame(products, gateway.listProduct(STORE_ID));
+    }
+
+    @Test
+    @DisplayName("Should answer catalog reads from the snapshot when the database is unavailable")
+    void shouldFallBackToSnapshot() {
+        // Given
+        snapshot.index(burger);
+        snapshot.index(cola);
+        when(delegate.getProductByCategory(STORE_ID, "Bebida")).thenThrow(unavailable);
+        when(delegate.getProductById(STORE_ID, "1")).thenThrow(unavailable);
+        when(delegate.listProductFields(STORE_ID, null, Set.of(ProductField.NAME))).thenThrow(unavailable);
+
+        // When / Then
+        assertEquals(List.of(cola), gateway.getProductByCategory(STORE_ID, "Bebida"));
+        assertEquals(burger, gateway.getProductById(STORE_ID, "1"));
+        List<ProductProjection> names = gateway.listProductFields(STORE_ID, null, Set.of(ProductField.NAME));
+        assertEquals(Set.of("Burger", "Cola"), Set.copyOf(names.stream().map(ProductProjection::name).toList()));
+        assertNull(names.get(0).price(), "Fields that were not selected should stay empty");
+    }
+
+    @Test
+    @DisplayName("Should rethrow the unavailability for products the snapshot does not hold, instead of not finding them")
+    void shouldNotReportMissingProductsAsNotFound() {
+        // Given
+        snapshot.index(burger);
+        when(delegate.getProductById(STORE_ID, "9")).thenThrow(unavailable);
+        when(delegate.getProductsByIds(STORE_ID, List.of("1", "9"))).thenThrow(unavailable);
+
+        // When / Then
+        assertSame(unavailable, assertThrows(DataAccessResourceFailureException.class, () -> gateway.getProductById(STORE_ID, "9")));
+        assertSame(unavailable, assertThrows(DataAccessResourceFailureException.class,
+                () -> gateway.getProductsByIds(STORE_ID, List.of("1", "9"))));
+    }
+
+    @Test
+    @DisplayName("Should fail when the snapshot does not hold the store")
+    void shouldFailWithoutSnapshot() {
+        // Given
+        when(delegate.listProduct(STORE_ID)).thenThrow(unavailable);
+
+        // When / Then
+        assertSame(unavailable, assertThrows(DataAccessResourceFailureException.class, () -> gateway.listProduct(STORE_ID)));
+    }
+
+    @Test
+    @DisplayName("Should not fall back on errors other than unavailability, nor for writes")
+    void shouldNotFallBackOnOtherErrors() {
+        // Given
+        snapshot.index(burger);
+        when(delegate.getProductByName(STORE_ID, "Burger")).thenThrow(new DuplicateKeyException("E11000"));
+        when(delegate.createProduct(cola)).thenThrow(unavailable);
+
+        // When / Then
+        assertThrows(DuplicateKeyException.class, () -> gateway.getProductByName(STORE_ID, "Burger"));
+        assertThrows(DataAccessResourceFailureException.class, () -> gateway.createProduct(cola));
+        verify(delegate).createProduct(cola);
+    }
+}
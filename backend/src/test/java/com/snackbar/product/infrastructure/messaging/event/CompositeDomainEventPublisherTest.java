@@ -0,0 +1,64 @@
+package com.snackbar.product.infrastructure.messaging.event;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.snackbar.infrastructure.concurrent.ThreadScope;
+import com.snackbar.infrastructure.deadline.Deadline;
+import com.snackbar.product.application.ports.out.DomainEventPublisher;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+
+class CompositeDomainEventPublisherTest {
+
+    @Test
+    void shouldPublishToEveryPublisherEvenWhenOneFails() {
+        // Arrange
+        DomainEventPublisher failing = mock(DomainEventPublisher.class);
+        DomainEventPublisher healthy = mock(DomainEventPublisher.class);
+        ProductDeletedEvent event = new ProductDeletedEvent("1");
+        doThrow(new RuntimeException("Test exception")).when(failing).publish(event);
+        CompositeDomainEventPublisher publisher = new CompositeDomainEventPublisher(List.of(failing, healthy));
+
+        // Act
+        publisher.publish(event);
+
+        // Assert
+        verify(failing).publish(event);
+        verify(healthy).publish(event);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenEventIsNull() {
+        // Arrange
+        CompositeDomainEventPublisher publisher = new CompositeDomainEventPublisher(List.of());
+
+        // Act & Assert
+        assertThrows(NullPointerException.class, () -> publisher.publish(null));
+    }
+
+    @Test
+    void shouldGivePublishersTheMinimumTimeWhenTheDeadlineHasPassed() {
+        // Arrange
+        ProductDeletedEvent event = new ProductDeletedEvent("1");
+        AtomicReference<Duration> timeLeft = new AtomicReference<>();
+        CompositeDomainEventPublisher publisher = new CompositeDomainEventPublisher(List.of(
+                published -> timeLeft.set(Deadline.timeLeft().orElseThrow())), Duration.ofSeconds(2));
+
+        // Act
+        try (ThreadScope scope = Deadline.start(Duration.ZERO)) {
+            publisher.publish(event);
+        }
+
+        // Assert
+        assertTrue(timeLeft.get().compareTo(Duration.ofSeconds(1)) > 0);
+    }
+}
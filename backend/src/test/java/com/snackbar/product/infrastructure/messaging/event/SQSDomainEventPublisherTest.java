@@ -30,6 +30,7 @@ class SQSDomainEventPublisherTest {
     private SQSMessageProducer messageProducer;
     
     private SQSDomainEventPublisher publisher;
+    private static final String STORE_ID = "store-1";
     private final String queueUrl = "https://sqs.us-east-1.amazonaws.com/123456789012/test-queue";
     
     @BeforeEach
@@ -49,6 +50,7 @@ class SQSDomainEventPublisherTest {
         StandardProductMessage message = new StandardProductMessage(StandardProductMessage.EVENT_TYPE_CREATED);
         message.setProductId("1");
         message.setName("Test Product");
+        message.setStoreId(STORE_ID);
         
         when(messageMapper.toMessage(event)).thenReturn(message);
         
@@ -57,7 +59,7 @@ class SQSDomainEventPublisherTest {
         
         // Verify
         verify(messageMapper).toMessage(event);
-        verify(messageProducer).sendMessage(eq(queueUrl), eq(message));
+        verify(messageProducer).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
     }
     
     @Test
@@ -80,6 +82,6 @@ class SQSDomainEventPublisherTest {
         assertEquals("SQS queue URL is not configured", exception.getMessage());
         
         // Verify messageProducer was never called
-        verify(messageProducer, never()).sendMessage(anyString(), any(SQSMessage.class));
+        verify(messageProducer, never()).sendMessage(anyString(), any(SQSMessage.class), any());
     }
 }
@@ -34,6 +34,7 @@ class ProductMessageMapperTest {
         // Assert
         assertNotNull(message);
         assertEquals(StandardProductMessage.EVENT_TYPE_CREATED, message.getEventType());
+        assertEquals(event.getEventId(), message.getMessageId());
         assertNotNull(message.getTimestamp());
         assertEquals("1", message.getProductId());
         assertEquals("Test Product", message.getName());
@@ -125,4 +126,28 @@ class ProductMessageMapperTest {
         assertEquals(BigDecimal.valueOf(10.99), product.price());
         assertEquals(5, product.cookingTime());
     }
+    
+    @Test
+    void shouldCarryStoreIdBetweenProductAndMessage() {
+        // Arrange
+        Product product = new Product("1", "Test Product", "Lanche", "Test description", BigDecimal.valueOf(10.99), 5, "store-42");
+        
+        // Act
+        StandardProductMessage message = mapper.toMessage(new ProductCreatedEvent(product));
+        Product mappedBack = mapper.toDomainObject(message);
+        
+        // Assert
+        assertEquals("store-42", message.getStoreId());
+        assertEquals("store-42", mappedBack.storeId());
+    }
+    
+    @Test
+    void shouldCarryStoreIdOfDeletedProduct() {
+        // Act
+        StandardProductMessage message = mapper.toMessage(new ProductDeletedEvent("store-42", "1"));
+        
+        // Assert
+        assertEquals("store-42", message.getStoreId());
+        assertEquals("1", message.getProductId());
+    }
 }
@@ -0,0 +1,52 @@
+package com.snackbar.product.infrastructure.messaging.sqs.consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.snackbar.infrastructure.messaging.sqs.consumer.ErrorClassification;
+import com.snackbar.product.domain.exceptions.InvalidProductDataException;
+import com.snackbar.product.domain.exceptions.ProductNotFoundException;
+
+@DisplayName("Product Message Error Classifier Tests")
+class ProductMessageErrorClassifierTest {
+
+    private final ProductMessageErrorClassifier classifier = new ProductMessageErrorClassifier();
+
+    @Test
+    @DisplayName("Should classify invalid product data as permanent")
+    void shouldClassifyInvalidProductDataAsPermanent() {
+        assertEquals(ErrorClassification.PERMANENT,
+                classifier.classify(new InvalidProductDataException("Invalid category")));
+    }
+
+    @Test
+    @DisplayName("Should classify invalid arguments as transient, as they may come from a bug")
+    void shouldClassifyIllegalArgumentAsTransient() {
+        assertEquals(ErrorClassification.TRANSIENT,
+                classifier.classify(new IllegalArgumentException("Product cache size must be at least 1")));
+    }
+
+    @Test
+    @DisplayName("Should classify wrapped deserialization errors as permanent")
+    void shouldClassifyWrappedDeserializationErrorAsPermanent() {
+        RuntimeException wrapped = new RuntimeException("Failed to deserialize message",
+                new JsonParseException(null, "Unexpected character"));
+
+        assertEquals(ErrorClassification.PERMANENT, classifier.classify(wrapped));
+    }
+
+    @Test
+    @DisplayName("Should classify missing products as transient")
+    void shouldClassifyProductNotFoundAsTransient() {
+        assertEquals(ErrorClassification.TRANSIENT, classifier.classify(ProductNotFoundException.withId("1")));
+    }
+
+    @Test
+    @DisplayName("Should classify unknown errors as transient")
+    void shouldClassifyUnknownErrorsAsTransient() {
+        assertEquals(ErrorClassification.TRANSIENT, classifier.classify(new RuntimeException("Socket timeout")));
+    }
+}
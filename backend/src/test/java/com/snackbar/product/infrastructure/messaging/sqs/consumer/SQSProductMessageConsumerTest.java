@@ -1,6 +1,8 @@
 package com.snackbar.product.infrastructure.messaging.sqs.consumer;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -16,6 +18,7 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,20 +27,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.snackbar.infrastructure.logging.CorrelationId;
+import com.snackbar.infrastructure.logging.LogSampler;
+import com.snackbar.infrastructure.messaging.sqs.consumer.ErrorClassification;
+import com.snackbar.infrastructure.messaging.sqs.consumer.MessageErrorClassifier;
 import com.snackbar.infrastructure.messaging.sqs.consumer.SQSMessageConsumer;
+import com.snackbar.infrastructure.messaging.sqs.consumer.SQSVisibilityHeartbeat;
+import com.snackbar.infrastructure.messaging.sqs.model.MessageOrigin;
+import com.snackbar.infrastructure.messaging.sqs.producer.SQSMessageProducer;
+import com.snackbar.infrastructure.messaging.sqs.quarantine.MessageQuarantine;
 import com.snackbar.product.application.ports.in.CreateProductInputPort;
 import com.snackbar.product.application.ports.in.DeleteProductByIdInputPort;
 import com.snackbar.product.application.ports.in.UpdateProductByIdInputPort;
 import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.exceptions.InvalidProductDataException;
 import com.snackbar.product.domain.exceptions.ProductNotFoundException;
 import com.snackbar.product.infrastructure.messaging.mapper.ProductMessageMapper;
 import com.snackbar.product.infrastructure.messaging.sqs.model.StandardProductMessage;
 
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
 @ExtendWith(MockitoExtension.class)
 class SQSProductMessageConsumerTest {
@@ -60,6 +75,9 @@ class SQSProductMessageConsumerTest {
     @Mock
     private Logger mockLogger;
 
+    @Spy
+    private LogSampler logSampler = new LogSampler(1);
+
     @InjectMocks
     private SQSProductMessageConsumer consumer;
 
@@ -126,7 +144,7 @@ class SQSProductMessageConsumerTest {
         @DisplayName("Should handle exception in polling")
         void pollMessages_ShouldHandleExceptionInPolling() {
             // Given
-            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenThrow(new RuntimeException("Test exception"));
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenThrow(new RuntimeException("Simulated failure"));
 
             // When
             consumer.pollMessages();
@@ -138,10 +156,10 @@ class SQSProductMessageConsumerTest {
         }
         
         @Test
-        @DisplayName("Should handle non-test exception in polling with logging")
-        void pollMessages_ShouldHandleNonTestExceptionInPollingWithLogging() {
+        @DisplayName("Should log exceptions in polling")
+        void pollMessages_ShouldLogExceptionInPolling() {
             // Given
-            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenThrow(new RuntimeException("Regular exception"));
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenThrow(new RuntimeException("Simulated failure"));
 
             // When
             consumer.pollMessages();
@@ -176,6 +194,33 @@ class SQSProductMessageConsumerTest {
             verify(messageConsumer, times(1)).deleteMessage(queueUrl, "receipt-handle");
         }
 
+        @Test
+        @DisplayName("Should apply message under the correlation ID it was sent with")
+        void pollMessages_ShouldBindMessageCorrelationId() {
+            // Given
+            Message correlatedMessage = message.toBuilder()
+                    .messageAttributes(java.util.Map.of(SQSMessageProducer.CORRELATION_ID_ATTRIBUTE,
+                            MessageAttributeValue.builder().dataType("String").stringValue("req-42").build()))
+                    .build();
+            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_CREATED);
+            AtomicReference<String> correlationIdSeen = new AtomicReference<>();
+            
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(correlatedMessage));
+            when(messageConsumer.deserializeMessage(correlatedMessage, StandardProductMessage.class)).thenReturn(productMessage);
+            when(messageMapper.toDomainObject(productMessage)).thenReturn(product);
+            when(createProductUseCase.createProduct(product)).thenAnswer(invocation -> {
+                correlationIdSeen.set(CorrelationId.current());
+                return product;
+            });
+
+            // When
+            consumer.pollMessages();
+
+            // Then
+            assertEquals("req-42", correlationIdSeen.get());
+            assertNull(CorrelationId.current());
+        }
+
         @Test
         @DisplayName("Should process PRODUCT_UPDATED message")
         void pollMessages_ShouldProcessProductUpdatedMessage() {
@@ -193,7 +238,7 @@ class SQSProductMessageConsumerTest {
             verify(messageConsumer, times(1)).receiveMessages(queueUrl, 10, 5);
             verify(messageConsumer, times(1)).deserializeMessage(message, StandardProductMessage.class);
             verify(messageMapper, times(1)).toDomainObject(productMessage);
-            verify(updateProductUseCase, times(1)).updateProductById("1", product);
+            verify(updateProductUseCase, times(1)).updateProductById(Product.DEFAULT_STORE_ID, "1", product);
             verify(messageConsumer, times(1)).deleteMessage(queueUrl, "receipt-handle");
         }
 
@@ -213,7 +258,25 @@ class SQSProductMessageConsumerTest {
             verify(messageConsumer, times(1)).receiveMessages(queueUrl, 10, 5);
             verify(messageConsumer, times(1)).deserializeMessage(message, StandardProductMessage.class);
             verify(messageMapper, never()).toDomainObject(productMessage); // No mapping needed for delete
-            verify(deleteProductUseCase, times(1)).deleteProductById("1");
+            verify(deleteProductUseCase, times(1)).deleteProductById(Product.DEFAULT_STORE_ID, "1");
+            verify(messageConsumer, times(1)).deleteMessage(queueUrl, "receipt-handle");
+        }
+
+        @Test
+        @DisplayName("Should delete product from the store carried by the message")
+        void pollMessages_ShouldDeleteProductFromMessageStore() {
+            // Given
+            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_DELETED);
+            productMessage.setStoreId("store-42");
+            
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
+            when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
+
+            // When
+            consumer.pollMessages();
+
+            // Then
+            verify(deleteProductUseCase, times(1)).deleteProductById("store-42", "1");
             verify(messageConsumer, times(1)).deleteMessage(queueUrl, "receipt-handle");
         }
 
@@ -234,8 +297,8 @@ class SQSProductMessageConsumerTest {
             verify(messageConsumer, times(1)).deserializeMessage(message, StandardProductMessage.class);
             verify(messageMapper, never()).toDomainObject(any());
             verify(createProductUseCase, never()).createProduct(any());
-            verify(updateProductUseCase, never()).updateProductById(anyString(), any());
-            verify(deleteProductUseCase, never()).deleteProductById(anyString());
+            verify(updateProductUseCase, never()).updateProductById(anyString(), anyString(), any());
+            verify(deleteProductUseCase, never()).deleteProductById(anyString(), anyString());
             verify(messageConsumer, times(1)).deleteMessage(queueUrl, "receipt-handle");
             verify(mockLogger).warn(eq("Unknown event type: {}"), eq("UNKNOWN_EVENT"));
         }
@@ -285,7 +348,7 @@ class SQSProductMessageConsumerTest {
             verify(messageMapper, times(1)).toDomainObject(productMessage1);
             verify(messageMapper, times(1)).toDomainObject(productMessage2);
             verify(createProductUseCase, times(1)).createProduct(product1);
-            verify(updateProductUseCase, times(1)).updateProductById("2", product2);
+            verify(updateProductUseCase, times(1)).updateProductById(Product.DEFAULT_STORE_ID, "2", product2);
             verify(messageConsumer, times(1)).deleteMessage(queueUrl, "receipt-handle-1");
             verify(messageConsumer, times(1)).deleteMessage(queueUrl, "receipt-handle-2");
         }
@@ -296,7 +359,7 @@ class SQSProductMessageConsumerTest {
             // Given
             when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
             when(messageConsumer.deserializeMessage(message, StandardProductMessage.class))
-                    .thenThrow(new RuntimeException("Test exception"));
+                    .thenThrow(new RuntimeException("Simulated failure"));
 
             // When
             consumer.pollMessages();
@@ -308,12 +371,12 @@ class SQSProductMessageConsumerTest {
         }
         
         @Test
-        @DisplayName("Should handle non-test exception in message deserialization with logging")
-        void pollMessages_ShouldHandleNonTestExceptionInMessageDeserializationWithLogging() {
+        @DisplayName("Should log exceptions in message deserialization")
+        void pollMessages_ShouldLogExceptionInMessageDeserialization() {
             // Given
             when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
             when(messageConsumer.deserializeMessage(message, StandardProductMessage.class))
-                    .thenThrow(new RuntimeException("Regular exception"));
+                    .thenThrow(new RuntimeException("Simulated failure"));
 
             // When
             consumer.pollMessages();
@@ -352,15 +415,15 @@ class SQSProductMessageConsumerTest {
         }
 
         @Test
-        @DisplayName("Should handle test exception in handleProductCreated without logging")
-        void handleProductCreated_ShouldHandleTestExceptionWithoutLogging() {
+        @DisplayName("Should handle exception in handleProductUpdated")
+        void handleProductUpdated_ShouldHandleException() {
             // Given
-            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_CREATED);
+            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_UPDATED);
             
             when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
             when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
             when(messageMapper.toDomainObject(productMessage)).thenReturn(product);
-            doThrow(new RuntimeException("Test exception")).when(createProductUseCase).createProduct(product);
+            doThrow(new RuntimeException("Error updating product")).when(updateProductUseCase).updateProductById(anyString(), anyString(), any(Product.class));
 
             // When
             consumer.pollMessages();
@@ -369,21 +432,20 @@ class SQSProductMessageConsumerTest {
             verify(messageConsumer, times(1)).receiveMessages(queueUrl, 10, 5);
             verify(messageConsumer, times(1)).deserializeMessage(message, StandardProductMessage.class);
             verify(messageMapper, times(1)).toDomainObject(productMessage);
-            verify(createProductUseCase, times(1)).createProduct(product);
+            verify(updateProductUseCase, times(1)).updateProductById(Product.DEFAULT_STORE_ID, "1", product);
             verify(messageConsumer, never()).deleteMessage(queueUrl, "receipt-handle");
-            verify(mockLogger, never()).error(eq("Failed to create product from message: {}"), eq("1"), any(RuntimeException.class));
+            verify(mockLogger).error(eq("Failed to update product from message: {}"), eq("1"), any(RuntimeException.class));
         }
 
         @Test
-        @DisplayName("Should handle exception in handleProductUpdated")
-        void handleProductUpdated_ShouldHandleException() {
+        @DisplayName("Should handle exception in handleProductDeleted")
+        void handleProductDeleted_ShouldHandleException() {
             // Given
-            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_UPDATED);
+            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_DELETED);
             
             when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
             when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
-            when(messageMapper.toDomainObject(productMessage)).thenReturn(product);
-            doThrow(new RuntimeException("Error updating product")).when(updateProductUseCase).updateProductById(anyString(), any(Product.class));
+            doThrow(new ProductNotFoundException("Product not found")).when(deleteProductUseCase).deleteProductById(anyString(), anyString());
 
             // When
             consumer.pollMessages();
@@ -391,77 +453,340 @@ class SQSProductMessageConsumerTest {
             // Then
             verify(messageConsumer, times(1)).receiveMessages(queueUrl, 10, 5);
             verify(messageConsumer, times(1)).deserializeMessage(message, StandardProductMessage.class);
-            verify(messageMapper, times(1)).toDomainObject(productMessage);
-            verify(updateProductUseCase, times(1)).updateProductById("1", product);
+            verify(messageMapper, never()).toDomainObject(productMessage); // No mapping needed for delete
+            verify(deleteProductUseCase, times(1)).deleteProductById(Product.DEFAULT_STORE_ID, "1");
             verify(messageConsumer, never()).deleteMessage(queueUrl, "receipt-handle");
-            verify(mockLogger).error(eq("Failed to update product from message: {}"), eq("1"), any(RuntimeException.class));
+            verify(mockLogger).error(eq("Failed to delete product from message: {}"), eq("1"), any(ProductNotFoundException.class));
         }
 
+    }
+
+    @Nested
+    @DisplayName("Adaptive Polling Tests")
+    class AdaptivePollingTests {
+
         @Test
-        @DisplayName("Should handle test exception in handleProductUpdated without logging")
-        void handleProductUpdated_ShouldHandleTestExceptionWithoutLogging() {
+        @DisplayName("Should return the number of messages received in a cycle")
+        void pollMessages_ShouldReturnReceivedCount() {
             // Given
-            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_UPDATED);
-            
+            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_DELETED);
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message, message));
+            when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
+
+            // When
+            int received = consumer.pollMessages();
+
+            // Then
+            assertEquals(2, received);
+        }
+
+        @Test
+        @DisplayName("Should return zero when polling is disabled")
+        void pollMessages_ShouldReturnZeroWhenDisabled() {
+            // Given
+            ReflectionTestUtils.setField(consumer, "pollingEnabled", false);
+
+            // When & Then
+            assertEquals(0, consumer.pollMessages());
+        }
+
+        @Test
+        @DisplayName("Should not start the poller when polling is disabled")
+        void startPolling_ShouldNotStartWhenDisabled() {
+            // Given
+            ReflectionTestUtils.setField(consumer, "pollingEnabled", false);
+
+            // When
+            consumer.startPolling();
+            consumer.stopPolling();
+
+            // Then
+            verify(messageConsumer, never()).receiveMessages(anyString(), anyInt(), anyInt());
+            verify(messageConsumer, never()).getApproximateNumberOfMessages(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Visibility Heartbeat Tests")
+    class VisibilityHeartbeatTests {
+
+        @Mock
+        private SQSVisibilityHeartbeat heartbeat;
+
+        @BeforeEach
+        void setUpHeartbeat() {
+            ReflectionTestUtils.setField(consumer, "heartbeat", heartbeat);
+        }
+
+        @Test
+        @DisplayName("Should track messages while processing and release them after deletion")
+        void pollMessages_ShouldTrackAndReleaseProcessedMessages() {
+            // Given
+            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_DELETED);
             when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
             when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
-            when(messageMapper.toDomainObject(productMessage)).thenReturn(product);
-            doThrow(new RuntimeException("Test exception")).when(updateProductUseCase).updateProductById(anyString(), any(Product.class));
 
             // When
             consumer.pollMessages();
 
             // Then
-            verify(messageConsumer, times(1)).receiveMessages(queueUrl, 10, 5);
-            verify(messageConsumer, times(1)).deserializeMessage(message, StandardProductMessage.class);
-            verify(messageMapper, times(1)).toDomainObject(productMessage);
-            verify(updateProductUseCase, times(1)).updateProductById("1", product);
-            verify(messageConsumer, never()).deleteMessage(queueUrl, "receipt-handle");
-            verify(mockLogger, never()).error(eq("Failed to update product from message: {}"), eq("1"), any(RuntimeException.class));
+            verify(heartbeat).track("receipt-handle");
+            verify(messageConsumer).deleteMessage(queueUrl, "receipt-handle");
+            verify(heartbeat).release("receipt-handle");
+            verify(heartbeat, never()).nack(anyString(), anyInt());
         }
 
         @Test
-        @DisplayName("Should handle exception in handleProductDeleted")
-        void handleProductDeleted_ShouldHandleException() {
+        @DisplayName("Should nack messages whose handler fails")
+        void pollMessages_ShouldNackFailedMessages() {
             // Given
             productMessage.setEventType(StandardProductMessage.EVENT_TYPE_DELETED);
-            
             when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
             when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
-            doThrow(new ProductNotFoundException("Product not found")).when(deleteProductUseCase).deleteProductById(anyString());
+            doThrow(new RuntimeException("Simulated failure")).when(deleteProductUseCase).deleteProductById(Product.DEFAULT_STORE_ID, "1");
 
             // When
             consumer.pollMessages();
 
             // Then
-            verify(messageConsumer, times(1)).receiveMessages(queueUrl, 10, 5);
-            verify(messageConsumer, times(1)).deserializeMessage(message, StandardProductMessage.class);
-            verify(messageMapper, never()).toDomainObject(productMessage); // No mapping needed for delete
-            verify(deleteProductUseCase, times(1)).deleteProductById("1");
+            verify(heartbeat).track("receipt-handle");
+            verify(heartbeat).nack("receipt-handle", 0);
             verify(messageConsumer, never()).deleteMessage(queueUrl, "receipt-handle");
-            verify(mockLogger).error(eq("Failed to delete product from message: {}"), eq("1"), any(ProductNotFoundException.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure Classification Tests")
+    class FailureClassificationTests {
+
+        @Mock
+        private MessageErrorClassifier errorClassifier;
+
+        @Mock
+        private MessageQuarantine messageQuarantine;
+
+        @Mock
+        private SQSVisibilityHeartbeat heartbeat;
+
+        private SQSProductMessageConsumer classifyingConsumer;
+
+        @BeforeEach
+        void setUpClassifyingConsumer() {
+            classifyingConsumer = new SQSProductMessageConsumer(messageConsumer, messageMapper,
+                    createProductUseCase, updateProductUseCase, deleteProductUseCase,
+                    null, errorClassifier, messageQuarantine, queueUrl, new LogSampler(1));
+            ReflectionTestUtils.setField(classifyingConsumer, "pollingEnabled", true);
+            ReflectionTestUtils.setField(classifyingConsumer, "maxMessages", 10);
+            ReflectionTestUtils.setField(classifyingConsumer, "waitTimeSeconds", 5);
+            ReflectionTestUtils.setField(classifyingConsumer, "retryBaseDelaySeconds", 2);
+            ReflectionTestUtils.setField(classifyingConsumer, "retryMaxDelaySeconds", 60);
+            ReflectionTestUtils.setField(classifyingConsumer, "heartbeat", heartbeat);
+            classifyingConsumer.setLogger(mockLogger);
+            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_CREATED);
+        }
+
+        private Message receivedTimes(int receiveCount) {
+            return message.toBuilder()
+                    .messageId("msg-1")
+                    .attributes(java.util.Map.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT,
+                            String.valueOf(receiveCount)))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should quarantine and delete permanently failing messages")
+        void pollMessages_ShouldQuarantinePermanentFailures() {
+            // Given
+            InvalidProductDataException error = new InvalidProductDataException("Invalid category");
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
+            when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
+            when(messageMapper.toDomainObject(productMessage)).thenThrow(error);
+            when(errorClassifier.classify(error)).thenReturn(ErrorClassification.PERMANENT);
+
+            // When
+            classifyingConsumer.pollMessages();
+
+            // Then
+            verify(messageQuarantine).quarantine(queueUrl, message, error);
+            verify(messageConsumer).deleteMessage(queueUrl, "receipt-handle");
+            verify(heartbeat, never()).nack(anyString(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should log permanent failures as warnings")
+        void pollMessages_ShouldLogPermanentFailuresAsWarnings() {
+            // Given
+            InvalidProductDataException error = new InvalidProductDataException("Invalid category");
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
+            when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
+            when(messageMapper.toDomainObject(productMessage)).thenThrow(error);
+            when(errorClassifier.classify(error)).thenReturn(ErrorClassification.PERMANENT);
+
+            // When
+            classifyingConsumer.pollMessages();
+
+            // Then
+            verify(mockLogger).warn("Rejecting message: {}", message.body(), error);
+            verify(mockLogger, never()).error(eq("Error processing message: {}"), any(), any(Throwable.class));
         }
 
         @Test
-        @DisplayName("Should handle test exception in handleProductDeleted without logging")
-        void handleProductDeleted_ShouldHandleTestExceptionWithoutLogging() {
+        @DisplayName("Should quarantine deletions without a product ID as invalid product data")
+        void pollMessages_ShouldQuarantineDeletionWithoutProductId() {
             // Given
             productMessage.setEventType(StandardProductMessage.EVENT_TYPE_DELETED);
-            
+            productMessage.setProductId(" ");
             when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
             when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
-            doThrow(new RuntimeException("Test exception")).when(deleteProductUseCase).deleteProductById(anyString());
+            when(errorClassifier.classify(any(InvalidProductDataException.class))).thenReturn(ErrorClassification.PERMANENT);
 
             // When
-            consumer.pollMessages();
+            classifyingConsumer.pollMessages();
 
             // Then
-            verify(messageConsumer, times(1)).receiveMessages(queueUrl, 10, 5);
-            verify(messageConsumer, times(1)).deserializeMessage(message, StandardProductMessage.class);
-            verify(messageMapper, never()).toDomainObject(productMessage); // No mapping needed for delete
-            verify(deleteProductUseCase, times(1)).deleteProductById("1");
+            verify(deleteProductUseCase, never()).deleteProductById(anyString(), anyString());
+            verify(messageQuarantine).quarantine(eq(queueUrl), eq(message), any(InvalidProductDataException.class));
+            verify(messageConsumer).deleteMessage(queueUrl, "receipt-handle");
+        }
+
+        @Test
+        @DisplayName("Should retry permanent failures when the quarantine store fails")
+        void pollMessages_ShouldRetryWhenQuarantineFails() {
+            // Given
+            InvalidProductDataException error = new InvalidProductDataException("Invalid category");
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
+            when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
+            when(messageMapper.toDomainObject(productMessage)).thenThrow(error);
+            when(errorClassifier.classify(error)).thenReturn(ErrorClassification.PERMANENT);
+            doThrow(new RuntimeException("Mongo unavailable")).when(messageQuarantine).quarantine(queueUrl, message, error);
+
+            // When
+            classifyingConsumer.pollMessages();
+
+            // Then
+            verify(messageConsumer, never()).deleteMessage(queueUrl, "receipt-handle");
+            verify(heartbeat).nack("receipt-handle", 2);
+        }
+
+        @Test
+        @DisplayName("Should back off transient failures exponentially by receive count")
+        void pollMessages_ShouldBackOffTransientFailures() {
+            // Given
+            Message redelivered = receivedTimes(3);
+            RuntimeException error = new RuntimeException("Socket timeout");
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(redelivered));
+            when(messageConsumer.deserializeMessage(redelivered, StandardProductMessage.class)).thenReturn(productMessage);
+            when(messageMapper.toDomainObject(productMessage)).thenReturn(product);
+            when(createProductUseCase.createProduct(product)).thenThrow(error);
+            when(errorClassifier.classify(error)).thenReturn(ErrorClassification.TRANSIENT);
+
+            // When
+            classifyingConsumer.pollMessages();
+
+            // Then
+            verify(messageQuarantine, never()).quarantine(anyString(), any(Message.class), any());
             verify(messageConsumer, never()).deleteMessage(queueUrl, "receipt-handle");
-            verify(mockLogger, never()).error(eq("Failed to delete product from message: {}"), eq("1"), any(RuntimeException.class));
+            verify(heartbeat).nack("receipt-handle", 8);
+        }
+
+        @Test
+        @DisplayName("Should cap the retry delay")
+        void retryDelaySeconds_ShouldCapDelay() {
+            assertEquals(2, classifyingConsumer.retryDelaySeconds(message));
+            assertEquals(4, classifyingConsumer.retryDelaySeconds(receivedTimes(2)));
+            assertEquals(60, classifyingConsumer.retryDelaySeconds(receivedTimes(50)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Origin Filtering Tests")
+    class OriginFilteringTests {
+
+        private SQSProductMessageConsumer originAwareConsumer;
+
+        @BeforeEach
+        void setUpOriginAwareConsumer() {
+            originAwareConsumer = new SQSProductMessageConsumer(messageConsumer, messageMapper,
+                    createProductUseCase, updateProductUseCase, deleteProductUseCase,
+                    new MessageOrigin("node-a", "cluster-1"), null, null, queueUrl, new LogSampler(1));
+            ReflectionTestUtils.setField(originAwareConsumer, "pollingEnabled", true);
+            ReflectionTestUtils.setField(originAwareConsumer, "maxMessages", 10);
+            ReflectionTestUtils.setField(originAwareConsumer, "waitTimeSeconds", 5);
+            originAwareConsumer.setLogger(mockLogger);
+        }
+
+        private Message taggedMessage(String nodeId, String clusterId) {
+            return message.toBuilder()
+                    .messageAttributes(new MessageOrigin(nodeId, clusterId).toMessageAttributes())
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should delete without replaying messages from the same cluster")
+        void pollMessages_ShouldSkipMessagesFromSameCluster() {
+            // Given
+            Message localMessage = taggedMessage("node-b", "cluster-1");
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(localMessage));
+
+            // When
+            originAwareConsumer.pollMessages();
+
+            // Then
+            verify(messageConsumer, never()).deserializeMessage(any(Message.class), any());
+            verify(createProductUseCase, never()).createProduct(any(Product.class));
+            verify(messageConsumer).deleteMessage(queueUrl, "receipt-handle");
+        }
+
+        @Test
+        @DisplayName("Should delete without replaying messages from the same node")
+        void pollMessages_ShouldSkipMessagesFromSameNode() {
+            // Given
+            Message localMessage = message.toBuilder()
+                    .messageAttributes(java.util.Map.of(MessageOrigin.ATTRIBUTE_NODE_ID,
+                            MessageAttributeValue.builder().dataType("String").stringValue("node-a").build()))
+                    .build();
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(localMessage));
+
+            // When
+            originAwareConsumer.pollMessages();
+
+            // Then
+            verify(messageConsumer, never()).deserializeMessage(any(Message.class), any());
+            verify(messageConsumer).deleteMessage(queueUrl, "receipt-handle");
+        }
+
+        @Test
+        @DisplayName("Should process messages from another cluster")
+        void pollMessages_ShouldProcessMessagesFromOtherCluster() {
+            // Given
+            Message remoteMessage = taggedMessage("node-x", "cluster-2");
+            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_CREATED);
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(remoteMessage));
+            when(messageConsumer.deserializeMessage(remoteMessage, StandardProductMessage.class)).thenReturn(productMessage);
+            when(messageMapper.toDomainObject(productMessage)).thenReturn(product);
+
+            // When
+            originAwareConsumer.pollMessages();
+
+            // Then
+            verify(createProductUseCase).createProduct(product);
+            verify(messageConsumer).deleteMessage(queueUrl, "receipt-handle");
+        }
+
+        @Test
+        @DisplayName("Should process untagged messages")
+        void pollMessages_ShouldProcessUntaggedMessages() {
+            // Given
+            productMessage.setEventType(StandardProductMessage.EVENT_TYPE_DELETED);
+            when(messageConsumer.receiveMessages(queueUrl, 10, 5)).thenReturn(List.of(message));
+            when(messageConsumer.deserializeMessage(message, StandardProductMessage.class)).thenReturn(productMessage);
+
+            // When
+            originAwareConsumer.pollMessages();
+
+            // Then
+            verify(deleteProductUseCase).deleteProductById(Product.DEFAULT_STORE_ID, "1");
+            verify(messageConsumer).deleteMessage(queueUrl, "receipt-handle");
         }
     }
 
@@ -41,6 +41,7 @@ class SQSProductMessageProducerTest {
     @InjectMocks
     private SQSProductMessageProducer producer;
 
+    private static final String STORE_ID = "store-1";
     private final String queueUrl = "https://sqs.us-east-1.amazonaws.com/123456789012/test-queue";
     private Product product;
     private StandardProductMessage message;
@@ -51,6 +52,7 @@ class SQSProductMessageProducerTest {
         message = new StandardProductMessage();
         message.setProductId("1");
         message.setEventType("TEST_EVENT");
+        message.setStoreId(STORE_ID);
         
         // Set the queue URL using reflection
         org.springframework.test.util.ReflectionTestUtils.setField(producer, "queueUrl", queueUrl);
@@ -71,7 +73,7 @@ class SQSProductMessageProducerTest {
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message));
+            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
         }
 
         @Test
@@ -80,14 +82,14 @@ class SQSProductMessageProducerTest {
             // Given
             ProductCreatedEvent event = new ProductCreatedEvent(product);
             when(messageMapper.toMessage(event)).thenReturn(message);
-            doThrow(new RuntimeException("Test exception")).when(messageProducer).sendMessage(eq(queueUrl), any());
+            doThrow(new RuntimeException("Test exception")).when(messageProducer).sendMessage(eq(queueUrl), any(), any());
 
             // When
             producer.handleProductCreatedEvent(event);
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message));
+            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
         }
         
         @Test
@@ -96,7 +98,7 @@ class SQSProductMessageProducerTest {
             // Given
             ProductCreatedEvent event = new ProductCreatedEvent(product);
             when(messageMapper.toMessage(event)).thenReturn(message);
-            doThrow(new RuntimeException("Database error")).when(messageProducer).sendMessage(eq(queueUrl), any());
+            doThrow(new RuntimeException("Database error")).when(messageProducer).sendMessage(eq(queueUrl), any(), any());
             
             // Replace logger with mock to verify error logging
             Logger mockLogger = mock(Logger.class);
@@ -107,7 +109,7 @@ class SQSProductMessageProducerTest {
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message));
+            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
             verify(mockLogger).error(eq("Failed to send ProductCreatedEvent to SQS for product ID: {}"), 
                     eq("1"), any(RuntimeException.class));
         }
@@ -128,7 +130,7 @@ class SQSProductMessageProducerTest {
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(0)).sendMessage(any(), any());
+            verify(messageProducer, times(0)).sendMessage(any(), any(), any());
             verify(mockLogger).error(eq("Failed to send ProductCreatedEvent to SQS for product ID: {}"), 
                     eq("1"), any(RuntimeException.class));
         }
@@ -149,7 +151,7 @@ class SQSProductMessageProducerTest {
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message));
+            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
         }
 
         @Test
@@ -158,14 +160,14 @@ class SQSProductMessageProducerTest {
             // Given
             ProductUpdatedEvent event = new ProductUpdatedEvent(product);
             when(messageMapper.toMessage(event)).thenReturn(message);
-            doThrow(new RuntimeException("Test exception")).when(messageProducer).sendMessage(eq(queueUrl), any());
+            doThrow(new RuntimeException("Test exception")).when(messageProducer).sendMessage(eq(queueUrl), any(), any());
 
             // When
             producer.handleProductUpdatedEvent(event);
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message));
+            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
         }
         
         @Test
@@ -174,7 +176,7 @@ class SQSProductMessageProducerTest {
             // Given
             ProductUpdatedEvent event = new ProductUpdatedEvent(product);
             when(messageMapper.toMessage(event)).thenReturn(message);
-            doThrow(new RuntimeException("Database error")).when(messageProducer).sendMessage(eq(queueUrl), any());
+            doThrow(new RuntimeException("Database error")).when(messageProducer).sendMessage(eq(queueUrl), any(), any());
             
             // Replace logger with mock to verify error logging
             Logger mockLogger = mock(Logger.class);
@@ -185,7 +187,7 @@ class SQSProductMessageProducerTest {
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message));
+            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
             verify(mockLogger).error(eq("Failed to send ProductUpdatedEvent to SQS for product ID: {}"), 
                     eq("1"), any(RuntimeException.class));
         }
@@ -206,7 +208,7 @@ class SQSProductMessageProducerTest {
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(0)).sendMessage(any(), any());
+            verify(messageProducer, times(0)).sendMessage(any(), any(), any());
             verify(mockLogger).error(eq("Failed to send ProductUpdatedEvent to SQS for product ID: {}"), 
                     eq("1"), any(RuntimeException.class));
         }
@@ -227,7 +229,7 @@ class SQSProductMessageProducerTest {
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message));
+            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
         }
 
         @Test
@@ -236,14 +238,14 @@ class SQSProductMessageProducerTest {
             // Given
             ProductDeletedEvent event = new ProductDeletedEvent("1");
             when(messageMapper.toMessage(event)).thenReturn(message);
-            doThrow(new RuntimeException("Test exception")).when(messageProducer).sendMessage(eq(queueUrl), any());
+            doThrow(new RuntimeException("Test exception")).when(messageProducer).sendMessage(eq(queueUrl), any(), any());
 
             // When
             producer.handleProductDeletedEvent(event);
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message));
+            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
         }
         
         @Test
@@ -252,7 +254,7 @@ class SQSProductMessageProducerTest {
             // Given
             ProductDeletedEvent event = new ProductDeletedEvent("1");
             when(messageMapper.toMessage(event)).thenReturn(message);
-            doThrow(new RuntimeException("Database error")).when(messageProducer).sendMessage(eq(queueUrl), any());
+            doThrow(new RuntimeException("Database error")).when(messageProducer).sendMessage(eq(queueUrl), any(), any());
             
             // Replace logger with mock to verify error logging
             Logger mockLogger = mock(Logger.class);
@@ -263,7 +265,7 @@ class SQSProductMessageProducerTest {
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message));
+            verify(messageProducer, times(1)).sendMessage(eq(queueUrl), eq(message), eq(STORE_ID));
             verify(mockLogger).error(eq("Failed to send ProductDeletedEvent to SQS for product ID: {}"), 
                     eq("1"), any(RuntimeException.class));
         }
@@ -284,7 +286,7 @@ class SQSProductMessageProducerTest {
 
             // Then
             verify(messageMapper, times(1)).toMessage(event);
-            verify(messageProducer, times(0)).sendMessage(any(), any());
+            verify(messageProducer, times(0)).sendMessage(any(), any(), any());
             verify(mockLogger).error(eq("Failed to send ProductDeletedEvent to SQS for product ID: {}"), 
                     eq("1"), any(RuntimeException.class));
         }
@@ -0,0 +1,497 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReplaceOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.result.UpdateResult;
+import com.snackbar.infrastructure.persistence.routing.ReadRouting;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
+import com.snackbar.product.application.ports.out.ProductChangeLog;
+import com.snackbar.product.application.ports.out.ProductMenuView;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Mongo Menu View Tests")
+class MongoMenuViewTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ProductChangeLog productChangeLog;
+
+    private MongoMenuView menuView;
+
+    private final ProductEntity burger = new ProductEntity("1", "Burger", "Lanche", "Delicious burger",
+            new BigDecimal("10.99"), 15, "store-1");
+    private final ProductEntity cola = new ProductEntity("2", "Cola", "Bebida", "Cold soft drink",
+            new BigDecimal("5.50"), 0, "store-1");
+
+    @BeforeEach
+    void setUp() {
+        menuView = new MongoMenuView(mongoTemplate, productChangeLog, ReadRouting.primaryOnly(), ResilienceGuards.unguarded(), true,
+                Runnable::run);
+    }
+
+    private static ProductMenuView.Item itemOf(ProductEntity entity) {
+        return new ProductMenuView.Item(entity.getId(), entity.getName(), entity.getCategory(), entity.getDescription(),
+                entity.getPrice(), entity.getCookingTime());
+    }
+
+    private Map<String, MenuViewEntity> savedViews(int count) {
+        ArgumentCaptor<MenuViewEntity> views = ArgumentCaptor.forClass(MenuViewEntity.class);
+        verify(mongoTemplate, times(count)).replace(any(Query.class), views.capture(), any(ReplaceOptions.class));
+        return views.getAllValues().stream().collect(Collectors.toMap(MenuViewEntity::getId, Function.identity()));
+    }
+
+    @Nested
+    @DisplayName("Building menus")
+    class BuildingMenus {
+
+        @Test
+        @DisplayName("Should rebuild the full menu and every category menu of a store without a full menu")
+        void apply_ShouldRebuildStoreMenus() {
+            // Given
+            when(productChangeLog.position("store-1")).thenReturn(new ProductChangeLog.Position(8, 3));
+            when(mongoTemplate.find(any(Query.class), eq(ProductEntity.class))).thenReturn(List.of(burger, cola));
+
+            // When
+            menuView.apply(new ProductUpdatedEvent(new Product("1", "Burger", "Lanche", "Delicious burger",
+                    new BigDecimal("10.99"), 15, "store-1")));
+
+            // Then
+            Map<String, MenuViewEntity> views = savedViews(1 + Product.validCategories().size());
+            assertEquals(List.of(itemOf(burger), itemOf(cola)), views.get("store-1").getProducts());
+            assertNull(views.get("store-1").getCategory());
+            assertEquals(List.of(itemOf(burger)), views.get("store-1:Lanche").getProducts());
+            assertEquals(List.of(itemOf(cola)), views.get("store-1:Bebida").getProducts());
+            assertEquals(List.of(), views.get("store-1:Sobremesa").getProducts(), "Emptied categories should be stored empty");
+            views.values().forEach(view -> assertEquals(8L, view.getVersion()));
+        }
+
+        @Test
+        @DisplayName("Should catch the full menu up with the changes since its version and rewrite only the touched categories")
+        void apply_ShouldCatchUpChangedProducts() {
+            // Given
+            ProductEntity movedBurger = new ProductEntity("1", "Burger", "Sobremesa", "Delicious burger",
+                    new BigDecimal("12.99"), 15, "store-1");
+            when(mongoTemplate.findOne(any(Query.class), eq(MenuViewEntity.class)))
+                    .thenReturn(new MenuViewEntity("store-1", null, 5, List.of(itemOf(burger), itemOf(cola))));
+            when(productChangeLog.position("store-1")).thenReturn(new ProductChangeLog.Position(7, 3));
+            when(productChangeLog.changesSince("store-1", 5, MongoMenuView.MAX_CATCH_UP_CHANGES + 1)).thenReturn(List.of(
+                    new ProductChangeLog.Entry(6, "1", false), new ProductChangeLog.Entry(7, "2", true)));
+            when(mongoTemplate.find(any(Query.class), eq(ProductEntity.class))).thenReturn(List.of(movedBurger));
+            when(mongoTemplate.replace(any(Query.class), any(MenuViewEntity.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+            // When
+            menuView.apply(new ProductDeletedEvent("store-1", "2"));
+
+            // Then
+            ArgumentCaptor<Query> fullMenuQuery = ArgumentCaptor.forClass(Query.class);
+            ArgumentCaptor<MenuViewEntity> fullMenu = ArgumentCaptor.forClass(MenuViewEntity.class);
+            verify(mongoTemplate).replace(fullMenuQuery.capture(), fullMenu.capture());
+            assertEquals(5L, fullMenuQuery.getValue().getQueryObject().get("version"), "Should only replace the menu it read");
+            assertEquals(List.of(itemOf(movedBurger)), fullMenu.getValue().getProducts());
+            assertEquals(7L, fullMenu.getValue().getVersion());
+
+            Map<String, MenuViewEntity> views = savedViews(3);
+            assertEquals(List.of(), views.get("store-1:Lanche").getProducts());
+            assertEquals(List.of(itemOf(movedBurger)), views.get("store-1:Sobremesa").getProducts());
+            assertEquals(List.of(), views.get("store-1:Bebida").getProducts());
+            views.values().forEach(view -> assertEquals(7L, view.getVersion()));
+            verify(productChangeLog, times(1)).position("store-1");
+        }
+
+        @Test
+        @DisplayName("Should catch up again from the newer full menu another node stored meanwhile")
+        void apply_ShouldRetryWhenMenuMovedOn() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(MenuViewEntity.class)))
+                    .thenReturn(new MenuViewEntity("store-1", null, 5, List.of(itemOf(burger), itemOf(cola))))
+                    .thenReturn(new MenuViewEntity("store-1", null, 6, List.of(itemOf(burger))));
+            when(productChangeLog.position("store-1")).thenReturn(new ProductChangeLog.Position(6, 0));
+            when(productChangeLog.changesSince("store-1", 5, MongoMenuView.MAX_CATCH_UP_CHANGES + 1))
+                    .thenReturn(List.of(new ProductChangeLog.Entry(6, "2", true)));
+            when(productChangeLog.changesSince("store-1", 6, MongoMenuView.MAX_CATCH_UP_CHANGES + 1)).thenReturn(List.of());
+            when(mongoTemplate.replace(any(Query.class), any(MenuViewEntity.class))).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+            // When
+            menuView.apply(new ProductDeletedEvent("store-1", "2"));
+
+            // Then
+            verify(mongoTemplate, never()).replace(any(Query.class), any(MenuViewEntity.class), any(ReplaceOptions.class));
+            verify(productChangeLog, times(2)).position("store-1");
+        }
+
+        @Test
+        @DisplayName("Should rebuild the store when tombstones the full menu has not seen may have been purged")
+        void apply_ShouldRebuildAfterPurge() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(MenuViewEntity.class)))
+                    .thenReturn(new MenuViewEntity("store-1", null, 5, List.of(itemOf(burger), itemOf(cola))));
+            when(productChangeLog.position("store-1")).thenReturn(new ProductChangeLog.Position(8, 9));
+            when(mongoTemplate.find(any(Query.class), eq(ProductEntity.class))).thenReturn(List.of(burger));
+
+            // When
+            menuView.apply(new ProductDeletedEvent("store-1", "2"));
+
+            // Then
+            Map<String, MenuViewEntity> views = savedViews(1 + Product.validCategories().size());
+            assertEquals(List.of(itemOf(burger)), views.get("store-1").getProducts());
+            views.values().forEach(view -> assertEquals(9L, view.getVersion()));
+        }
+
+        @Test
+        @DisplayName("Should only replace menus built from the same or an older version")
+        void apply_ShouldOnlyReplaceSameOrOlderMenus() {
+            // Given
+            when(productChangeLog.position("store-1")).thenReturn(new ProductChangeLog.Position(8, 0));
+            when(mongoTemplate.find(any(Query.class), eq(ProductEntity.class))).thenReturn(List.of());
+
+            // When
+            menuView.apply(new ProductDeletedEvent("store-1", "1"));
+
+            // Then
+            ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate, times(1 + Product.validCategories().size()))
+                    .replace(queries.capture(), any(MenuViewEntity.class), any(ReplaceOptions.class));
+            Document query = queries.getAllValues().get(0).getQueryObject();
+            assertEquals("store-1", query.get("_id"));
+            assertEquals(new Document("$lte", 8L), query.get("version"));
+        }
+
+        @Test
+        @DisplayName("Should keep a menu already built from a newer version")
+        void apply_ShouldKeepNewerMenu() {
+            // Given
+            when(productChangeLog.position("store-1")).thenReturn(new ProductChangeLog.Position(0, 0));
+            when(mongoTemplate.find(any(Query.class), eq(ProductEntity.class))).thenReturn(List.of(burger));
+            when(mongoTemplate.replace(any(Query.class), any(MenuViewEntity.class), any(ReplaceOptions.class)))
+                    .thenThrow(new DuplicateKeyException("E11000"));
+
+            // When / Then
+            assertDoesNotThrow(() -> menuView.apply(new ProductDeletedEvent("store-1", "2")));
+        }
+
+        @Test
+        @DisplayName("Should update the menus off the calling thread, folding events that arrive meanwhile into one more update")
+        void apply_ShouldCoalesceUpdatesPerStore() {
+            // Given
+            List<Runnable> queued = new ArrayList<>();
+            MongoMenuView queuing = new MongoMenuView(mongoTemplate, productChangeLog, ReadRouting.primaryOnly(),
+                    ResilienceGuards.unguarded(), true, queued::add);
+            when(productChangeLog.position("store-1")).thenReturn(new ProductChangeLog.Position(8, 0));
+            AtomicInteger reads = new AtomicInteger();
+            when(mongoTemplate.find(any(Query.class), eq(ProductEntity.class))).thenAnswer(invocation -> {
+                if (reads.getAndIncrement() == 0) {
+                    queuing.apply(new ProductDeletedEvent("store-1", "4"));
+                }
+                return List.of(burger);
+            });
+
+            // When
+            queuing.apply(new ProductDeletedEvent("store-1", "2"));
+            queuing.apply(new ProductDeletedEvent("store-1", "3"));
+
+            // Then
+            verifyNoInteractions(mongoTemplate);
+            assertEquals(1, queued.size());
+            queued.get(0).run();
+            assertEquals(1, queued.size(), "Events during the update should not queue another one");
+            verify(productChangeLog, times(2)).position("store-1");
+            queuing.apply(new ProductDeletedEvent("store-1", "5"));
+            assertEquals(2, queued.size(), "A store whose update finished should be queued again");
+        }
+
+        @Test
+        @DisplayName("Should not throw when the menus cannot be updated")
+        void apply_ShouldSwallowUpdateFailures() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(MenuViewEntity.class)))
+                    .thenThrow(new DataAccessResourceFailureException("Timed out selecting a server"));
+
+            // When / Then
+            assertDoesNotThrow(() -> menuView.apply(new ProductDeletedEvent("store-1", "2")));
+        }
+
+        @Test
+        @DisplayName("Should rebuild the menus of every store")
+        void rebuild_ShouldRefreshEveryStore() {
+            // Given
+            when(mongoTemplate.findDistinct(any(Query.class), eq("storeId"), eq(ProductEntity.class), eq(String.class)))
+                    .thenReturn(List.of("store-1", "store-2"));
+            when(productChangeLog.position(any())).thenReturn(new ProductChangeLog.Position(0, 0));
+
+            // When
+            menuView.rebuild();
+
+            // Then
+            verify(productChangeLog).position("store-1");
+            verify(productChangeLog).position("store-2");
+            verify(mongoTemplate, times(2)).find(any(Query.class), eq(ProductEntity.class));
+        }
+
+        @Test
+        @DisplayName("Should not fail startup when the menus cannot be rebuilt")
+        void rebuild_ShouldSwallowFailures() {
+            // Given
+            when(mongoTemplate.findDistinct(any(Query.class), eq("storeId"), eq(ProductEntity.class), eq(String.class)))
+                    .thenThrow(new IllegalStateException("Database unavailable"));
+
+            // When / Then
+            assertDoesNotThrow(() -> menuView.rebuild());
+        }
+    }
+
+    @Nested
+    @DisplayName("Following the change log")
+    class FollowingChangeLog {
+
+        // Stands in for the counters, product_changes, menu_view and products collections
+        private final Document counter = new Document();
+        private final Map<String, ProductChangeEntity> changes = new HashMap<>();
+        private final Map<String, MenuViewEntity> menus = new HashMap<>();
+        private final Map<String, ProductEntity> products = new LinkedHashMap<>();
+        private final MongoTemplate database = mock(MongoTemplate.class, withSettings().strictness(Strictness.LENIENT));
+
+        private MongoProductChangeLog changeLog;
+        private MongoMenuView followingMenuView;
+
+        @BeforeEach
+        void setUp() {
+            changeLog = new MongoProductChangeLog(database, Duration.ofDays(7), Duration.ofSeconds(30), Clock.systemUTC(),
+                    ResilienceGuards.unguarded());
+            followingMenuView = new MongoMenuView(database, changeLog, ReadRouting.primaryOnly(), ResilienceGuards.unguarded(), true,
+                    Runnable::run);
+            products.put(burger.getId(), burger);
+            products.put(cola.getId(), cola);
+
+            when(database.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+                    eq(Document.class), eq(MongoProductChangeLog.COUNTERS_COLLECTION))).thenAnswer(invocation -> {
+                        long seq = counter.get("seq", 0L) + 1;
+                        counter.put("seq", seq);
+                        List<Document> pending = new ArrayList<>(counter.getList("pending", Document.class, List.of()));
+                        pending.add(new Document("seq", seq).append("at", new Date()));
+                        counter.put("pending", pending);
+                        return new Document(counter);
+                    });
+            when(database.findById(any(), eq(Document.class), eq(MongoProductChangeLog.COUNTERS_COLLECTION)))
+                    .thenAnswer(invocation -> MongoProductChangeLog.SEQUENCE_COUNTER_ID.equals(invocation.getArgument(0))
+                            ? new Document(counter) : null);
+            when(database.updateFirst(any(Query.class), any(Update.class), eq(MongoProductChangeLog.COUNTERS_COLLECTION)))
+                    .thenAnswer(invocation -> updateCounter(invocation.getArgument(1)));
+            when(database.upsert(any(Query.class), any(Update.class), eq(MongoProductChangeLog.COUNTERS_COLLECTION)))
+                    .thenAnswer(invocation -> updateCounter(invocation.getArgument(1)));
+            when(database.upsert(any(Query.class), any(Update.class), eq(ProductChangeEntity.class))).thenAnswer(invocation -> {
+                Document set = invocation.<Update>getArgument(1).getUpdateObject().get("$set", Document.class);
+                ProductChangeEntity change = new ProductChangeEntity(set.getString("storeId"), set.getString("productId"),
+                        set.getLong("seq"), set.getBoolean("deleted"), (Instant) set.get("changedAt"));
+                changes.put(change.getId(), change);
+                return UpdateResult.acknowledged(1, 1L, null);
+            });
+            when(database.find(any(Query.class), eq(ProductChangeEntity.class))).thenAnswer(invocation -> {
+                Document seq = invocation.<Query>getArgument(0).getQueryObject().get("seq", Document.class);
+                return changes.values().stream()
+                        .filter(change -> change.getSeq() > seq.getLong("$gt") && change.getSeq() <= seq.getLong("$lte"))
+                        .sorted(Comparator.comparingLong(ProductChangeEntity::getSeq))
+                        .toList();
+            });
+            when(database.findOne(any(Query.class), eq(MenuViewEntity.class)))
+                    .thenAnswer(invocation -> menus.get(idOf(invocation.getArgument(0))));
+            when(database.replace(any(Query.class), any(MenuViewEntity.class), any(ReplaceOptions.class))).thenAnswer(invocation -> {
+                MenuViewEntity view = invocation.getArgument(1);
+                menus.put(view.getId(), view);
+                return UpdateResult.acknowledged(1, 1L, null);
+            });
+            when(database.replace(any(Query.class), any(MenuViewEntity.class))).thenAnswer(invocation -> {
+                MenuViewEntity view = invocation.getArgument(1);
+                MenuViewEntity stored = menus.get(view.getId());
+                long expected = invocation.<Query>getArgument(0).getQueryObject().getLong("version");
+                if (stored == null || stored.getVersion() != expected) {
+                    return UpdateResult.acknowledged(0, 0L, null);
+                }
+                menus.put(view.getId(), view);
+                return UpdateResult.acknowledged(1, 1L, null);
+            });
+            when(database.find(any(Query.class), eq(ProductEntity.class)))
+                    .thenAnswer(invocation -> List.copyOf(products.values()));
+        }
+
+        private UpdateResult updateCounter(Update update) {
+            Document pull = update.getUpdateObject().get("$pull", Document.class);
+            if (pull != null && pull.get("pending") instanceof Document released && released.get("seq") != null) {
+                counter.put("pending", counter.getList("pending", Document.class, List.of()).stream()
+                        .filter(pending -> !pending.get("seq").equals(released.get("seq")))
+                        .toList());
+            }
+            Document max = update.getUpdateObject().get("$max", Document.class);
+            if (max != null) {
+                max.forEach((field, value) -> {
+                    String[] path = field.split("\\.");
+                    Document parent = path.length == 1 ? counter : (Document) counter.computeIfAbsent(path[0], key -> new Document());
+                    String key = path[path.length - 1];
+                    parent.put(key, Math.max(parent.get(key) instanceof Long current ? current : 0L, (Long) value));
+                });
+            }
+            return UpdateResult.acknowledged(1, 1L, null);
+        }
+
+        private static String idOf(Query query) {
+            return query.getQueryObject().getString("_id");
+        }
+
+        @Test
+        @DisplayName("Should serve the menu at the catalog version right after a product is written")
+        void find_ShouldServeMenuRightAfterWrite() {
+            // Given
+            followingMenuView.refresh("store-1");
+            ProductEntity pricier = new ProductEntity("1", "Burger", "Lanche", "Delicious burger",
+                    new BigDecimal("12.99"), 15, "store-1");
+            products.put(pricier.getId(), pricier);
+            ProductUpdatedEvent written = new ProductUpdatedEvent(new Product("1", "Burger", "Lanche", "Delicious burger",
+                    new BigDecimal("12.99"), 15, "store-1"));
+
+            // When
+            changeLog.apply(written);
+            followingMenuView.apply(written);
+
+            // Then
+            long catalogVersion = changeLog.position("store-1").version();
+            assertEquals(1, catalogVersion);
+            assertEquals(List.of(itemOf(pricier), itemOf(cola)),
+                    followingMenuView.find("store-1", null, catalogVersion).orElseThrow());
+            assertEquals(List.of(itemOf(pricier)), followingMenuView.find("store-1", "Lanche", catalogVersion).orElseThrow());
+            verify(database).replace(any(Query.class), any(MenuViewEntity.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Reading menus")
+    class ReadingMenus {
+
+        @Test
+        @DisplayName("Should return a menu built from the requested version or a newer one")
+        void find_ShouldReturnCurrentMenu() {
+            // Given
+            List<ProductMenuView.Item> products = List.of(itemOf(burger));
+            when(mongoTemplate.findOne(any(Query.class), eq(MenuViewEntity.class)))
+                    .thenReturn(new MenuViewEntity("store-1", "Lanche", 9, products));
+
+            // When / Then
+            assertSame(products, menuView.find("store-1", "Lanche", 9).orElseThrow());
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).findOne(query.capture(), eq(MenuViewEntity.class));
+            assertEquals("store-1:Lanche", query.getValue().getQueryObject().get("_id"));
+            assertEquals(ReadPreference.primary(), query.getValue().getReadPreference());
+        }
+
+        @Test
+        @DisplayName("Should not return a menu older than the requested version")
+        void find_ShouldSkipOlderMenu() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(MenuViewEntity.class)))
+                    .thenReturn(new MenuViewEntity("store-1", null, 8, List.of(itemOf(burger))));
+
+            // When / Then
+            assertTrue(menuView.find("store-1", null, 9).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should return nothing when the menu is not materialized")
+        void find_ShouldReturnNullWhenMissing() {
+            assertTrue(menuView.find("store-1", "Lanche", 0).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should return nothing when the database is unavailable, so callers fall back")
+        void find_ShouldReturnNothingWhenUnavailable() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(MenuViewEntity.class)))
+                    .thenThrow(new DataAccessResourceFailureException("Timed out selecting a server"));
+
+            // When / Then
+            assertTrue(menuView.find("store-1", null, 0).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should find the store whose full menu holds a product")
+        void storeOf_ShouldReadFullMenus() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(MenuViewEntity.class)))
+                    .thenReturn(new MenuViewEntity("store-1", null, 9, null));
+
+            // When / Then
+            assertEquals("store-1", menuView.storeOf("1"));
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).findOne(query.capture(), eq(MenuViewEntity.class));
+            assertEquals("1", query.getValue().getQueryObject().get("products.id"));
+        }
+
+        @Test
+        @DisplayName("Should neither read nor build menus when disabled")
+        void disabled_ShouldNotTouchDatabase() {
+            // Given
+            MongoMenuView disabled = new MongoMenuView(mongoTemplate, productChangeLog, ReadRouting.primaryOnly(), ResilienceGuards.unguarded(), false,
+                    Runnable::run);
+
+            // When
+            Optional<List<ProductMenuView.Item>> menu = disabled.find("store-1", null, 0);
+            disabled.apply(new ProductDeletedEvent("store-1", "1"));
+            disabled.rebuild();
+
+            // Then
+            assertTrue(menu.isEmpty());
+            verifyNoInteractions(mongoTemplate, productChangeLog);
+        }
+    }
+}
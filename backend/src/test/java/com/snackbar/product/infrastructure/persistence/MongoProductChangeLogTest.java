@@ -0,0 +1,449 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.mongodb.client.result.DeleteResult;
+import com.snackbar.infrastructure.resilience.OperationClass;
+import com.snackbar.infrastructure.resilience.ResilienceGuards;
+import com.snackbar.product.application.ports.out.ProductChangeLog;
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Mongo Product Change Log Tests")
+class MongoProductChangeLogTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Duration PENDING_TIMEOUT = Duration.ofSeconds(30);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MongoProductChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new MongoProductChangeLog(mongoTemplate, Duration.ofDays(7), PENDING_TIMEOUT,
+                Clock.fixed(NOW, ZoneOffset.UTC), ResilienceGuards.unguarded());
+    }
+
+    private void givenNextSequence(long seq) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(MongoProductChangeLog.COUNTERS_COLLECTION)))
+                .thenReturn(new Document("_id", MongoProductChangeLog.SEQUENCE_COUNTER_ID).append("seq", seq));
+    }
+
+    private void givenCounter(Document counter) {
+        when(mongoTemplate.findById(MongoProductChangeLog.SEQUENCE_COUNTER_ID, Document.class, MongoProductChangeLog.COUNTERS_COLLECTION))
+                .thenReturn(counter.append("_id", MongoProductChangeLog.SEQUENCE_COUNTER_ID));
+    }
+
+    private static Document pending(long seq, Instant at) {
+        return new Document("seq", seq).append("at", Date.from(at));
+    }
+
+    private Update release() {
+        ArgumentCaptor<Update> release = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), release.capture(), eq(MongoProductChangeLog.COUNTERS_COLLECTION));
+        return release.getValue();
+    }
+
+    @Nested
+    @DisplayName("Recording changes")
+    class RecordingChanges {
+
+        @Test
+        @DisplayName("Should record an update with the next sequence number, replacing only older entries")
+        void apply_ShouldRecordUpdate() {
+            // Given
+            givenNextSequence(5);
+            Product product = new Product("1", "Burger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15, "store-1");
+
+            // When
+            changeLog.apply(new ProductUpdatedEvent(product));
+
+            // Then
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+            verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(ProductChangeEntity.class));
+            assertEquals("store-1:1", query.getValue().getQueryObject().get("_id"));
+            assertEquals(new Document("$lt", 5L), query.getValue().getQueryObject().get("seq"));
+            Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+            assertEquals(5L, set.get("seq"));
+            assertEquals(false, set.get("deleted"));
+            assertEquals(NOW, set.get("changedAt"));
+            Document released = release().getUpdateObject();
+            assertEquals(new Document("pending", new Document("seq", 5L)), released.get("$pull"));
+            assertEquals(new Document("stores.store-1", 5L), released.get("$max"));
+        }
+
+        @Test
+        @DisplayName("Should register the sequence number as pending in the same update that allocates it")
+        void apply_ShouldAllocateSequenceAsPending() {
+            // Given
+            givenNextSequence(5);
+
+            // When
+            changeLog.apply(new ProductDeletedEvent(Product.DEFAULT_STORE_ID, "1"));
+
+            // Then
+            ArgumentCaptor<UpdateDefinition> allocation = ArgumentCaptor.forClass(UpdateDefinition.class);
+            verify(mongoTemplate).findAndModify(any(Query.class), allocation.capture(), any(FindAndModifyOptions.class),
+                    eq(Document.class), eq(MongoProductChangeLog.COUNTERS_COLLECTION));
+            List<Document> pipeline = assertInstanceOf(AggregationUpdate.class, allocation.getValue())
+                    .toPipeline(Aggregation.DEFAULT_CONTEXT);
+            assertEquals(2, pipeline.size());
+            assertTrue(pipeline.get(1).get("$set", Document.class).containsKey("pending"));
+        }
+
+        @Test
+        @DisplayName("Should release the sequence number without raising the store's latest one when the write fails")
+        void apply_ShouldReleaseFailedWrite() {
+            // Given
+            givenNextSequence(8);
+            when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(ProductChangeEntity.class)))
+                    .thenThrow(new IllegalStateException("Database unavailable"));
+
+            // When / Then
+            assertThrows(IllegalStateException.class,
+                    () -> changeLog.apply(new ProductDeletedEvent(Product.DEFAULT_STORE_ID, "1")));
+            Document released = release().getUpdateObject();
+            assertEquals(new Document("pending", new Document("seq", 8L)), released.get("$pull"));
+            assertNull(released.get("$max"));
+        }
+
+        @Test
+        @DisplayName("Should record a change again when it took longer than the pending timeout")
+        void apply_ShouldRecordSlowChangeAgain() {
+            // Given
+            Clock clock = mock(Clock.class);
+            when(clock.instant()).thenReturn(NOW, NOW, NOW.plus(PENDING_TIMEOUT).plusSeconds(1));
+            MongoProductChangeLog slow = new MongoProductChangeLog(mongoTemplate, Duration.ofDays(7), PENDING_TIMEOUT,
+                    clock, ResilienceGuards.unguarded());
+            when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+                    eq(Document.class), eq(MongoProductChangeLog.COUNTERS_COLLECTION)))
+                    .thenReturn(new Document("seq", 5L), new Document("seq", 9L));
+
+            // When
+            slow.apply(new ProductDeletedEvent(Product.DEFAULT_STORE_ID, "1"));
+
+            // Then
+            ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+            verify(mongoTemplate, times(2)).upsert(any(Query.class), update.capture(), eq(ProductChangeEntity.class));
+            assertEquals(9L, update.getAllValues().get(1).getUpdateObject().get("$set", Document.class).get("seq"));
+        }
+
+        @Test
+        @DisplayName("Should record a deletion as a tombstone")
+        void apply_ShouldRecordTombstone() {
+            // Given
+            givenNextSequence(6);
+
+            // When
+            changeLog.apply(new ProductDeletedEvent(Product.DEFAULT_STORE_ID, "1"));
+
+            // Then
+            ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+            verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(ProductChangeEntity.class));
+            assertEquals(true, update.getValue().getUpdateObject().get("$set", Document.class).get("deleted"));
+        }
+
+        @Test
+        @DisplayName("Should ignore a change older than the recorded one")
+        void apply_ShouldIgnoreOlderChange() {
+            // Given
+            givenNextSequence(7);
+            when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(ProductChangeEntity.class)))
+                    .thenThrow(new DuplicateKeyException("E11000"));
+
+            // When / Then
+            assertDoesNotThrow(() -> changeLog.apply(new ProductDeletedEvent(Product.DEFAULT_STORE_ID, "1")));
+        }
+
+        @Test
+        @DisplayName("Should not reach the database when the catalog write guards reject the change")
+        void apply_ShouldGoThroughWriteGuards() {
+            // Given
+            ResilienceGuards guards = mock(ResilienceGuards.class);
+            CallNotPermittedException rejection = CallNotPermittedException.createCallNotPermittedException(
+                    CircuitBreaker.ofDefaults(OperationClass.CATALOG_WRITE.guardName()));
+            when(guards.call(eq(OperationClass.CATALOG_WRITE), any())).thenThrow(rejection);
+            MongoProductChangeLog guarded = new MongoProductChangeLog(mongoTemplate, Duration.ofDays(7), Duration.ofSeconds(1),
+                    Clock.fixed(NOW, ZoneOffset.UTC), guards);
+
+            // When / Then
+            assertThrows(CallNotPermittedException.class,
+                    () -> guarded.apply(new ProductDeletedEvent(Product.DEFAULT_STORE_ID, "1")));
+            verifyNoInteractions(mongoTemplate);
+        }
+    }
+
+    @Nested
+    @DisplayName("Recording changes made without domain events")
+    class RecordingUnseenChanges {
+
+        @Test
+        @DisplayName("Should not allocate a sequence number when the product has a change recorded at or after it")
+        void recordIfNewer_ShouldSkipRecordedChange() {
+            // Given
+            when(mongoTemplate.findById("store-1:1", ProductChangeEntity.class))
+                    .thenReturn(new ProductChangeEntity("store-1", "1", 4, false, NOW));
+
+            // When / Then
+            assertFalse(changeLog.recordIfNewer("store-1", "1", false, NOW.minusMillis(1)));
+            verify(mongoTemplate, never()).findAndModify(any(Query.class), any(UpdateDefinition.class),
+                    any(FindAndModifyOptions.class), eq(Document.class), any());
+        }
+
+        @Test
+        @DisplayName("Should only replace an entry recorded before the change")
+        void recordIfNewer_ShouldReplaceOlderEntryOnly() {
+            // Given
+            Instant changedAt = NOW.minusSeconds(1);
+            when(mongoTemplate.findById("store-1:1", ProductChangeEntity.class))
+                    .thenReturn(new ProductChangeEntity("store-1", "1", 4, false, NOW.minusSeconds(60)));
+            givenNextSequence(9);
+
+            // When / Then
+            assertTrue(changeLog.recordIfNewer("store-1", "1", false, changedAt));
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).upsert(query.capture(), any(Update.class), eq(ProductChangeEntity.class));
+            assertEquals(new Document("$lt", changedAt), query.getValue().getQueryObject().get("changedAt"));
+            assertEquals(new Document("stores.store-1", 9L), release().getUpdateObject().get("$max"));
+        }
+
+        @Test
+        @DisplayName("Should not raise the store's latest sequence number when another node recorded the change first")
+        void recordIfNewer_ShouldReleaseWhenAnotherNodeRecorded() {
+            // Given
+            givenNextSequence(9);
+            when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(ProductChangeEntity.class)))
+                    .thenThrow(new DuplicateKeyException("E11000"));
+
+            // When / Then
+            assertFalse(changeLog.recordIfNewer("store-1", "1", true, NOW));
+            assertNull(release().getUpdateObject().get("$max"));
+        }
+
+        @Test
+        @DisplayName("Should find the store of a product from its latest entry")
+        void storeOf_ShouldReadLatestEntry() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(ProductChangeEntity.class)))
+                    .thenReturn(new ProductChangeEntity("store-2", "1", 4, false, NOW));
+
+            // When / Then
+            assertEquals("store-2", changeLog.storeOf("1"));
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).findOne(query.capture(), eq(ProductChangeEntity.class));
+            assertEquals("1", query.getValue().getQueryObject().get("productId"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Reading changes")
+    class ReadingChanges {
+
+        @Test
+        @DisplayName("Should return the changes after the sequence number in order")
+        void changesSince_ShouldReturnChanges() {
+            // Given
+            givenCounter(new Document("seq", 12L));
+            when(mongoTemplate.find(any(Query.class), eq(ProductChangeEntity.class))).thenReturn(List.of(
+                    new ProductChangeEntity(Product.DEFAULT_STORE_ID, "1", 11, false, NOW.minusSeconds(10)),
+                    new ProductChangeEntity(Product.DEFAULT_STORE_ID, "2", 12, true, NOW.minusSeconds(5))));
+
+            // When
+            List<ProductChangeLog.Entry> entries = changeLog.changesSince(Product.DEFAULT_STORE_ID, 10, 100);
+
+            // Then
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).find(query.capture(), eq(ProductChangeEntity.class));
+            assertEquals(new Document("$gt", 10L).append("$lte", 12L), query.getValue().getQueryObject().get("seq"));
+            assertEquals(new Document("seq", 1), query.getValue().getSortObject());
+            assertEquals(100, query.getValue().getLimit());
+            assertEquals(List.of(
+                    new ProductChangeLog.Entry(11, "1", false),
+                    new ProductChangeLog.Entry(12, "2", true)), entries);
+        }
+
+        @Test
+        @DisplayName("Should only return changes below the lowest pending sequence number")
+        void changesSince_ShouldStopBelowPendingSequence() {
+            // Given
+            givenCounter(new Document("seq", 14L).append("pending", List.of(pending(14, NOW), pending(12, NOW.minusSeconds(5)))));
+
+            // When
+            changeLog.changesSince(Product.DEFAULT_STORE_ID, 10, 100);
+
+            // Then
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).find(query.capture(), eq(ProductChangeEntity.class));
+            assertEquals(new Document("$gt", 10L).append("$lte", 11L), query.getValue().getQueryObject().get("seq"));
+        }
+
+        @Test
+        @DisplayName("Should not wait for a pending sequence number older than the pending timeout")
+        void changesSince_ShouldIgnoreAbandonedSequence() {
+            // Given
+            givenCounter(new Document("seq", 14L).append("pending", List.of(pending(12, NOW.minus(PENDING_TIMEOUT).minusSeconds(1)))));
+
+            // When
+            changeLog.changesSince(Product.DEFAULT_STORE_ID, 10, 100);
+
+            // Then
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).find(query.capture(), eq(ProductChangeEntity.class));
+            assertEquals(new Document("$gt", 10L).append("$lte", 14L), query.getValue().getQueryObject().get("seq"));
+        }
+
+        @Test
+        @DisplayName("Should not query the entries when nothing after the sequence number is served yet")
+        void changesSince_ShouldSkipQueryWhenNothingIsServed() {
+            // Given
+            givenCounter(new Document("seq", 11L).append("pending", List.of(pending(11, NOW))));
+
+            // When / Then
+            assertEquals(List.of(), changeLog.changesSince(Product.DEFAULT_STORE_ID, 10, 100));
+            verify(mongoTemplate, never()).find(any(Query.class), eq(ProductChangeEntity.class));
+        }
+
+        @Test
+        @DisplayName("Should read the position of a store from the counter alone")
+        void position_ShouldReadCounter() {
+            // Given
+            givenCounter(new Document("seq", 20L).append("stores", new Document("store-1", 18L)).append("purged", 5L));
+
+            // When / Then
+            assertEquals(new ProductChangeLog.Position(18, 5), changeLog.position("store-1"));
+            verify(mongoTemplate, times(1)).findById(any(), eq(Document.class), any());
+            verify(mongoTemplate, never()).findOne(any(Query.class), eq(ProductChangeEntity.class));
+        }
+
+        @Test
+        @DisplayName("Should not serve the latest sequence number of a store while a lower one is pending")
+        void position_ShouldStopBelowPendingSequence() {
+            // Given
+            givenCounter(new Document("seq", 20L).append("stores", new Document("store-1", 18L)).append("purged", 5L)
+                    .append("pending", List.of(pending(16, NOW))));
+
+            // When / Then
+            assertEquals(15, changeLog.position("store-1").latestSequence());
+        }
+
+        @Test
+        @DisplayName("Should seed the counter from the entries and the former purge counter when it lacks them")
+        void position_ShouldSeedMissingFields() {
+            // Given
+            givenCounter(new Document("seq", 20L));
+            when(mongoTemplate.findOne(any(Query.class), eq(ProductChangeEntity.class)))
+                    .thenReturn(new ProductChangeEntity("store-1", "1", 7, false, NOW));
+            when(mongoTemplate.findById(MongoProductChangeLog.LEGACY_PURGED_COUNTER_ID, Document.class, MongoProductChangeLog.COUNTERS_COLLECTION))
+                    .thenReturn(new Document("seq", 3L));
+
+            // When / Then
+            assertEquals(new ProductChangeLog.Position(7, 3), changeLog.position("store-1"));
+            ArgumentCaptor<Update> seeds = ArgumentCaptor.forClass(Update.class);
+            verify(mongoTemplate, times(2)).upsert(any(Query.class), seeds.capture(), eq(MongoProductChangeLog.COUNTERS_COLLECTION));
+            assertEquals(new Document("stores.store-1", 7L), seeds.getAllValues().get(0).getUpdateObject().get("$max"));
+            assertEquals(new Document("purged", 3L), seeds.getAllValues().get(1).getUpdateObject().get("$max"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Purging tombstones")
+    class PurgingTombstones {
+
+        @Test
+        @DisplayName("Should raise the purge horizon before removing expired tombstones")
+        void purgeTombstones_ShouldRaiseHorizonAndRemove() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(ProductChangeEntity.class)))
+                    .thenReturn(new ProductChangeEntity(Product.DEFAULT_STORE_ID, "1", 25, true, NOW.minus(Duration.ofDays(8))));
+            when(mongoTemplate.remove(any(Query.class), eq(ProductChangeEntity.class)))
+                    .thenReturn(DeleteResult.acknowledged(3));
+
+            // When
+            changeLog.purgeTombstones();
+
+            // Then
+            ArgumentCaptor<Update> horizon = ArgumentCaptor.forClass(Update.class);
+            verify(mongoTemplate).upsert(any(Query.class), horizon.capture(), eq(MongoProductChangeLog.COUNTERS_COLLECTION));
+            assertEquals(new Document("purged", 25L), horizon.getValue().getUpdateObject().get("$max"));
+            assertEquals(new Document("pending", new Document("at", new Document("$lt", Date.from(NOW.minus(PENDING_TIMEOUT))))),
+                    horizon.getValue().getUpdateObject().get("$pull"));
+            ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).remove(removed.capture(), eq(ProductChangeEntity.class));
+            assertEquals(new Document("$lte", 25L), removed.getValue().getQueryObject().get("seq"));
+        }
+
+        @Test
+        @DisplayName("Should do nothing when no tombstone has expired")
+        void purgeTombstones_ShouldDoNothingWithoutExpiredTombstones() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(ProductChangeEntity.class))).thenReturn(null);
+
+            // When
+            changeLog.purgeTombstones();
+
+            // Then
+            verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(MongoProductChangeLog.COUNTERS_COLLECTION));
+            verify(mongoTemplate, never()).remove(any(Query.class), eq(ProductChangeEntity.class));
+        }
+
+        @Test
+        @DisplayName("Should not throw when the database is unavailable")
+        void purgeTombstones_ShouldNotThrowWhenDatabaseIsUnavailable() {
+            // Given
+            when(mongoTemplate.findOne(any(Query.class), eq(ProductChangeEntity.class)))
+                    .thenThrow(new IllegalStateException("Database unavailable"));
+
+            // When / Then
+            assertDoesNotThrow(() -> changeLog.purgeTombstones());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+import com.snackbar.product.infrastructure.gateways.ProductCache;
+import com.snackbar.product.infrastructure.gateways.ProductEntityMapper;
+import com.snackbar.product.infrastructure.search.InMemoryProductSearchIndex;
+import com.snackbar.product.infrastructure.search.ProductSearchIndexLoader;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Product Change Stream Listener Tests")
+class ProductChangeStreamListenerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoConverter converter;
+
+    @Mock
+    private ProductSearchIndexLoader searchIndexLoader;
+
+    @Mock
+    private MongoMenuView menuView;
+
+    @Mock
+    private MongoProductChangeLog changeLog;
+
+    private final ProductCache productCache = new ProductCache(100, 60000);
+    private final InMemoryProductSearchIndex searchIndex = new InMemoryProductSearchIndex();
+
+    private ProductChangeStreamListener listener;
+
+    private static final Instant CHANGED_AT = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final Product burger = new Product("1", "Burger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15, "store-1");
+
+    @BeforeEach
+    void setUp() {
+        listener = new ProductChangeStreamListener(mongoTemplate, new ProductEntityMapper(), productCache, searchIndex, searchIndexLoader, menuView,
+                changeLog);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the cached copy and reindex a changed product")
+    void onUpsert_ShouldInvalidateCacheAndReindex() {
+        // Given
+        Document document = new Document("_id", "1");
+        Product renamed = new Product("1", "Cheeseburger", "Lanche", "Burger with cheese", new BigDecimal("12.99"), 15, "store-1");
+        productCache.put(burger);
+        searchIndex.index(burger);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(converter.read(ProductEntity.class, document)).thenReturn(new ProductEntity(
+                "1", "Cheeseburger", "Lanche", "Burger with cheese", new BigDecimal("12.99"), 15, "store-1"));
+
+        // When
+        listener.onUpsert(document, CHANGED_AT);
+
+        // Then
+        assertNull(productCache.get("store-1", "1"));
+        assertEquals(List.of(renamed), searchIndex.search("store-1", "cheese", 10));
+    }
+
+    @Test
+    @DisplayName("Should record a change the log has not seen and update the menus of its store")
+    void onUpsert_ShouldRecordUnseenChange() {
+        // Given
+        Document document = new Document("_id", "1");
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(converter.read(ProductEntity.class, document)).thenReturn(new ProductEntity(
+                "1", "Burger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15, "store-1"));
+        when(changeLog.recordIfNewer("store-1", "1", false, CHANGED_AT)).thenReturn(true);
+
+        // When
+        listener.onUpsert(document, CHANGED_AT);
+
+        // Then
+        verify(menuView).apply(argThat(event -> event instanceof ProductUpdatedEvent updated && burger.equals(updated.getProduct())));
+    }
+
+    @Test
+    @DisplayName("Should leave the menus to the node that already recorded the change")
+    void onUpsert_ShouldSkipRecordedChange() {
+        // Given
+        Document document = new Document("_id", "1");
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(converter.read(ProductEntity.class, document)).thenReturn(new ProductEntity(
+                "1", "Burger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15, "store-1"));
+        when(changeLog.recordIfNewer("store-1", "1", false, CHANGED_AT)).thenReturn(false);
+
+        // When
+        listener.onUpsert(document, CHANGED_AT);
+
+        // Then
+        verify(menuView, never()).apply(any());
+    }
+
+    @Test
+    @DisplayName("Should remove a deleted product knowing only its ID")
+    void onDelete_ShouldRemoveFromCacheAndIndex() {
+        // Given
+        productCache.put(burger);
+        searchIndex.index(burger);
+
+        // When
+        listener.onDelete("1", CHANGED_AT);
+
+        // Then
+        assertNull(productCache.get("store-1", "1"));
+        assertTrue(searchIndex.search("store-1", "burger", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should record a tombstone in the store the log knows the product from")
+    void onDelete_ShouldRecordTombstone() {
+        // Given
+        when(changeLog.storeOf("1")).thenReturn("store-1");
+        when(changeLog.recordIfNewer("store-1", "1", true, CHANGED_AT)).thenReturn(true);
+
+        // When
+        listener.onDelete("1", CHANGED_AT);
+
+        // Then
+        verify(menuView).apply(argThat(event -> event instanceof ProductDeletedEvent deleted
+                && "store-1".equals(deleted.getStoreId()) && "1".equals(deleted.getProductId())));
+    }
+
+    @Test
+    @DisplayName("Should find the store in the menus when the log never recorded the product")
+    void onDelete_ShouldFindStoreInMenus() {
+        // Given
+        when(menuView.storeOf("1")).thenReturn("store-1");
+        when(changeLog.recordIfNewer("store-1", "1", true, CHANGED_AT)).thenReturn(true);
+
+        // When
+        listener.onDelete("1", CHANGED_AT);
+
+        // Then
+        verify(menuView).apply(argThat(event -> event instanceof ProductDeletedEvent deleted
+                && "store-1".equals(deleted.getStoreId()) && "1".equals(deleted.getProductId())));
+    }
+
+    @Test
+    @DisplayName("Should record nothing for a product no store is known to hold")
+    void onDelete_ShouldSkipUnknownProduct() {
+        // When
+        listener.onDelete("1", CHANGED_AT);
+
+        // Then
+        verify(changeLog, never()).recordIfNewer(anyString(), anyString(), anyBoolean(), any());
+        verify(menuView, never()).apply(any());
+    }
+
+    @Test
+    @DisplayName("Should clear the cache and rebuild the index and menu views on resync")
+    void onResync_ShouldClearCacheAndRebuildIndex() {
+        // Given
+        productCache.put(burger);
+
+        // When
+        listener.onResync();
+
+        // Then
+        assertEquals(0, productCache.size());
+        verify(searchIndexLoader).rebuild();
+        verify(menuView).rebuild();
+    }
+}
@@ -0,0 +1,105 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.mongodb.ReadPreference;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Product Repository Custom Queries Tests")
+class ProductRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private ProductRepositoryCustomImpl repository;
+
+    @Test
+    @DisplayName("Should project the selected fields in the database query")
+    void findFieldsByStoreId_ShouldProjectSelectedFields() {
+        // Given
+        List<ProductEntity> entities = List.of(new ProductEntity("1", "Burger", null, null, null, null));
+        when(mongoTemplate.find(any(Query.class), eq(ProductEntity.class))).thenReturn(entities);
+
+        // When
+        List<ProductEntity> result = repository.findFieldsByStoreId("store-1", "Lanche", List.of("id", "name"), ReadPreference.primary());
+
+        // Then
+        Query query = captureQuery();
+        assertEquals(entities, result);
+        assertEquals(new Document("storeId", "store-1").append("category", "Lanche"), query.getQueryObject());
+        assertEquals(new Document("id", 1).append("name", 1), query.getFieldsObject());
+    }
+
+    @Test
+    @DisplayName("Should exclude the ID when it is not selected")
+    void findFieldsByStoreId_ShouldExcludeUnselectedId() {
+        // When
+        repository.findFieldsByStoreId("store-1", null, List.of("price"), ReadPreference.primary());
+
+        // Then
+        Query query = captureQuery();
+        assertFalse(query.getQueryObject().containsKey("category"));
+        assertEquals(new Document("price", 1).append("id", 0), query.getFieldsObject());
+    }
+
+    @Test
+    @DisplayName("Should route catalog reads with the given read preference")
+    void findByStoreId_ShouldApplyReadPreference() {
+        // Given
+        ReadPreference secondary = ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS);
+
+        // When
+        repository.findByStoreId("store-1", secondary);
+
+        // Then
+        Query query = captureQuery();
+        assertEquals(new Document("storeId", "store-1"), query.getQueryObject());
+        assertEquals(secondary, query.getReadPreference());
+    }
+
+    @Test
+    @DisplayName("Should read the first product with the name from the given members")
+    void findFirstByStoreIdAndName_ShouldLimitToOne() {
+        // Given
+        ProductEntity burger = new ProductEntity("1", "Burger", "Lanche", null, null, null);
+        when(mongoTemplate.findOne(any(Query.class), eq(ProductEntity.class))).thenReturn(burger);
+
+        // When
+        Optional<ProductEntity> result = repository.findFirstByStoreIdAndName("store-1", "Burger", ReadPreference.nearest());
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(ProductEntity.class));
+        assertEquals(Optional.of(burger), result);
+        assertEquals(new Document("storeId", "store-1").append("name", "Burger"), query.getValue().getQueryObject());
+        assertEquals(1, query.getValue().getLimit());
+        assertEquals(ReadPreference.nearest(), query.getValue().getReadPreference());
+    }
+
+    private Query captureQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(ProductEntity.class));
+        return query.getValue();
+    }
+}
@@ -0,0 +1,87 @@
+package com.snackbar.product.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.client.result.UpdateResult;
+import com.snackbar.product.domain.entity.Product;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Product Store Migration Tests")
+class ProductStoreMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private ProductStoreMigration migration;
+
+    @Test
+    @DisplayName("Should assign the default store to products without a store")
+    void assignDefaultStore_ShouldUpdateProductsWithoutStore() {
+        // Given
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(ProductEntity.class)))
+                .thenReturn(UpdateResult.acknowledged(3, 3L, null));
+
+        // When
+        long migrated = migration.assignDefaultStore();
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(ProductEntity.class));
+        assertEquals(3, migrated);
+        assertEquals(new Document("$exists", false), query.getValue().getQueryObject().get("storeId"));
+        assertEquals(Product.DEFAULT_STORE_ID, update.getValue().getUpdateObject().get("$set", Document.class).get("storeId"));
+    }
+
+    @Test
+    @DisplayName("Should not fail startup when the database is unavailable")
+    void migrate_ShouldNotThrowWhenDatabaseIsUnavailable() {
+        // Given
+        when(mongoTemplate.getConverter()).thenThrow(new IllegalStateException("Database unavailable"));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(ProductEntity.class)))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+
+        // When / Then
+        assertDoesNotThrow(() -> migration.migrate());
+        assertFalse(migration.isStoresAssigned());
+    }
+
+    @Test
+    @DisplayName("Should retry assigning the default store until it succeeds, and then stop")
+    void retryAssignStores_ShouldRetryUntilAssigned() {
+        // Given
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(ProductEntity.class)))
+                .thenThrow(new IllegalStateException("Database unavailable"))
+                .thenReturn(UpdateResult.acknowledged(3, 3L, null));
+
+        // When
+        migration.retryAssignStores();
+        migration.retryAssignStores();
+        migration.retryAssignStores();
+
+        // Then
+        assertTrue(migration.isStoresAssigned());
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(ProductEntity.class));
+    }
+}
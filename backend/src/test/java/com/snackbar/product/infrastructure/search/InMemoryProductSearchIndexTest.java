@@ -0,0 +1,175 @@
+package com.snackbar.product.infrastructure.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.ProductCreatedEvent;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+
+@DisplayName("In-Memory Product Search Index Tests")
+class InMemoryProductSearchIndexTest {
+
+    private static final String STORE = Product.DEFAULT_STORE_ID;
+
+    private InMemoryProductSearchIndex index;
+
+    private final Product hamburger = product("1", "Hambúrguer", "Hambúrguer artesanal 160g com pão de brioche");
+    private final Product cheeseburger = product("2", "Cheesebúrguer", "Hambúrguer artesanal com queijo prato");
+    private final Product juice = product("3", "Suco de Laranja", "Suco natural, sem açúcar");
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryProductSearchIndex();
+        index.rebuild(List.of(hamburger, cheeseburger, juice));
+    }
+
+    @Nested
+    @DisplayName("When searching")
+    class WhenSearching {
+
+        @Test
+        @DisplayName("Should match words regardless of accents and case")
+        void search_ShouldIgnoreAccentsAndCase() {
+            assertEquals(List.of(juice), index.search(STORE, "ACUCAR", 10));
+        }
+
+        @Test
+        @DisplayName("Should match incomplete words for type-ahead")
+        void search_ShouldMatchPrefixes() {
+            assertEquals(List.of(juice), index.search(STORE, "lar", 10));
+        }
+
+        @Test
+        @DisplayName("Should rank name matches above description matches")
+        void search_ShouldRankNameMatchesFirst() {
+            assertEquals(List.of(hamburger, cheeseburger), index.search(STORE, "hamburguer", 10));
+        }
+
+        @Test
+        @DisplayName("Should require every word of the query to match")
+        void search_ShouldRequireAllWords() {
+            assertEquals(List.of(cheeseburger), index.search(STORE, "hamburguer queij", 10));
+            assertTrue(index.search(STORE, "hamburguer laranja", 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should honour the limit")
+        void search_ShouldHonourLimit() {
+            assertEquals(1, index.search(STORE, "artesanal", 1).size());
+        }
+
+        @Test
+        @DisplayName("Should not return products of other stores")
+        void search_ShouldBeScopedToStore() {
+            index.index(product("4", "Hambúrguer Vegano", "Grão-de-bico").withStoreId("store-2"));
+
+            assertEquals(2, index.search(STORE, "hamburguer", 10).size());
+            assertEquals(1, index.search("store-2", "hamburguer", 10).size());
+            assertTrue(index.search("store-3", "hamburguer", 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("When applying domain events")
+    class WhenApplyingDomainEvents {
+
+        @Test
+        @DisplayName("Should index created products")
+        void apply_ShouldIndexCreatedProduct() {
+            Product water = product("5", "Água Mineral", "Água sem gás");
+
+            index.apply(new ProductCreatedEvent(water));
+
+            assertEquals(List.of(water), index.search(STORE, "agua", 10));
+        }
+
+        @Test
+        @DisplayName("Should replace terms of updated products")
+        void apply_ShouldReplaceTermsOfUpdatedProduct() {
+            Product renamed = product("3", "Suco de Uva", "Suco natural");
+
+            index.apply(new ProductUpdatedEvent(renamed));
+
+            assertTrue(index.search(STORE, "laranja", 10).isEmpty());
+            assertEquals(List.of(renamed), index.search(STORE, "uva", 10));
+            assertEquals(3, index.size(STORE));
+        }
+
+        @Test
+        @DisplayName("Should remove deleted products")
+        void apply_ShouldRemoveDeletedProduct() {
+            index.apply(new ProductDeletedEvent(STORE, "1"));
+
+            assertEquals(List.of(cheeseburger), index.search(STORE, "hamburguer", 10));
+            assertTrue(index.search(STORE, "brioche", 10).isEmpty());
+            assertEquals(2, index.size(STORE));
+        }
+
+        @Test
+        @DisplayName("Should remove products by ID alone")
+        void remove_ShouldRemoveProductWithoutStore() {
+            index.remove("3");
+
+            assertTrue(index.search(STORE, "suco", 10).isEmpty());
+            assertEquals(2, index.size(STORE));
+        }
+    }
+
+    @Nested
+    @DisplayName("When rebuilding")
+    class WhenRebuilding {
+
+        @Test
+        @DisplayName("Should replace the index with the products loaded")
+        void rebuild_ShouldReplaceIndex() {
+            index.rebuild(() -> List.of(juice));
+
+            assertTrue(index.search(STORE, "hamburguer", 10).isEmpty());
+            assertEquals(1, index.size(STORE));
+        }
+
+        @Test
+        @DisplayName("Should keep changes applied while the products were loading")
+        void rebuild_ShouldReplayChangesMadeWhileLoading() {
+            Product water = product("5", "Água Mineral", "Água sem gás");
+
+            index.rebuild(() -> {
+                List<Product> loaded = List.of(hamburger, cheeseburger, juice);
+                index.apply(new ProductCreatedEvent(water));
+                index.apply(new ProductDeletedEvent(STORE, "1"));
+                return loaded;
+            });
+
+            assertEquals(List.of(water), index.search(STORE, "agua", 10));
+            assertEquals(List.of(cheeseburger), index.search(STORE, "hamburguer", 10));
+            assertEquals(3, index.size(STORE));
+        }
+
+        @Test
+        @DisplayName("Should keep the previous index when loading fails")
+        void rebuild_ShouldKeepIndexWhenLoadingFails() {
+            assertThrows(IllegalStateException.class, () -> index.rebuild(() -> {
+                throw new IllegalStateException("database unavailable");
+            }));
+
+            assertEquals(3, index.size(STORE));
+            index.index(product("5", "Água Mineral", "Água sem gás"));
+            assertEquals(4, index.size(STORE));
+        }
+    }
+
+    private static Product product(String id, String name, String description) {
+        return new Product(id, name, "Lanche", description, BigDecimal.TEN, 5);
+    }
+}
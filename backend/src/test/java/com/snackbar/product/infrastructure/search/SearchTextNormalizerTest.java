@@ -0,0 +1,39 @@
+package com.snackbar.product.infrastructure.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Search Text Normalizer Tests")
+class SearchTextNormalizerTest {
+
+    @Test
+    @DisplayName("Should fold accents and case")
+    void tokenize_ShouldFoldAccentsAndCase() {
+        assertEquals(List.of("pao", "queijo"), SearchTextNormalizer.tokenize("Pão QUEIJO"));
+        assertEquals(List.of("acai"), SearchTextNormalizer.tokenize("Açaí"));
+    }
+
+    @Test
+    @DisplayName("Should drop stop words and split on punctuation")
+    void tokenize_ShouldDropStopWordsAndSplitOnPunctuation() {
+        assertEquals(List.of("hot", "dog", "salsicha"), SearchTextNormalizer.tokenize("Hot-dog de salsicha"));
+    }
+
+    @Test
+    @DisplayName("Should fold plurals of longer words only")
+    void tokenize_ShouldFoldPlurals() {
+        assertEquals(List.of("lanche", "gas"), SearchTextNormalizer.tokenize("lanches gás"));
+    }
+
+    @Test
+    @DisplayName("Should return no terms for empty text")
+    void tokenize_ShouldReturnNoTermsForEmptyText() {
+        assertTrue(SearchTextNormalizer.tokenize(null).isEmpty());
+        assertTrue(SearchTextNormalizer.tokenize(" - ").isEmpty());
+    }
+}
@@ -0,0 +1,261 @@
+package com.snackbar.product.infrastructure.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.snackbar.product.domain.entity.Product;
+import com.snackbar.product.domain.event.ProductCreatedEvent;
+import com.snackbar.product.domain.event.ProductDeletedEvent;
+import com.snackbar.product.domain.event.ProductUpdatedEvent;
+
+@DisplayName("Product Event Stream Tests")
+class ProductEventStreamTest {
+
+    private static final String STORE = Product.DEFAULT_STORE_ID;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private ProductEventStream stream;
+
+    private final Product burger = new Product("1", "Burger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15);
+
+    @BeforeEach
+    void setUp() {
+        stream = newStream(new ProductEventStream.Settings(4, 3, 50, 60000, 2));
+        stream.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+    }
+
+    private ProductEventStream newStream(ProductEventStream.Settings settings) {
+        return new ProductEventStream(settings, timeout -> {
+            RecordingEmitter emitter = new RecordingEmitter(timeout);
+            emitters.add(emitter);
+            return emitter;
+        });
+    }
+
+    private RecordingEmitter subscribe(String storeId, String lastEventId) {
+        assertTrue(stream.subscribe(storeId, lastEventId).isPresent(), "Subscription should be accepted");
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    @Nested
+    @DisplayName("When delivering events")
+    class WhenDelivering {
+
+        @Test
+        @DisplayName("Should push product events to subscribers of the product's store")
+        void apply_ShouldPushToStoreSubscribers() throws Exception {
+            // Given
+            RecordingEmitter subscriber = subscribe(STORE, null);
+            RecordingEmitter otherStore = subscribe("store-2", null);
+
+            // When
+            stream.apply(new ProductCreatedEvent(burger));
+
+            // Then
+            await(() -> subscriber.contains("event:product-created"));
+            assertTrue(subscriber.contains("id:" + stream.eventId(1)));
+            assertFalse(otherStore.contains("event:product-created"));
+        }
+
+        @Test
+        @DisplayName("Should deliver every event when events are published concurrently")
+        void apply_ShouldDeliverConcurrentEvents() throws Exception {
+            // Given
+            stream.stop();
+            stream = newStream(new ProductEventStream.Settings(10_000, 10_000, 50, 60000, 2));
+            stream.start();
+            RecordingEmitter subscriber = subscribe(STORE, null);
+            List<Thread> publishers = new ArrayList<>();
+
+            // When
+            for (int t = 0; t < 16; t++) {
+                publishers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        stream.apply(new ProductCreatedEvent(burger));
+                    }
+                }));
+            }
+            for (Thread publisher : publishers) {
+                publisher.join(5_000);
+            }
+
+            // Then
+            await(() -> subscriber.count("event:product-created") == 8_000);
+            assertTrue(subscriber.contains("id:" + stream.eventId(8_000)));
+        }
+
+        @Test
+        @DisplayName("Should send heartbeats to idle subscribers")
+        void fanOut_ShouldSendHeartbeats() throws Exception {
+            // Given
+            RecordingEmitter subscriber = subscribe(STORE, null);
+
+            // Then
+            await(() -> subscriber.contains(":heartbeat"));
+        }
+
+        @Test
+        @DisplayName("Should reject subscribers beyond the connection limit")
+        void subscribe_ShouldRejectBeyondLimit() {
+            // Given
+            subscribe(STORE, null);
+            subscribe(STORE, null);
+
+            // When / Then
+            assertFalse(stream.subscribe(STORE, null).isPresent());
+            assertEquals(2, stream.connectionCount());
+        }
+
+        @Test
+        @DisplayName("Should forget subscribers whose connection completed")
+        void subscribe_ShouldForgetCompletedSubscribers() throws Exception {
+            // Given
+            RecordingEmitter subscriber = subscribe(STORE, null);
+
+            // When
+            subscriber.fail();
+            stream.apply(new ProductCreatedEvent(burger));
+
+            // Then
+            await(() -> stream.connectionCount() == 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("When a client reconnects")
+    class WhenReconnecting {
+
+        @Test
+        @DisplayName("Should replay the events of its store published after its last event")
+        void subscribe_ShouldReplayMissedEvents() throws Exception {
+            // Given
+            stream.apply(new ProductCreatedEvent(burger));
+            stream.apply(new ProductUpdatedEvent(burger.withStoreId("store-2")));
+            stream.apply(new ProductDeletedEvent(STORE, "1"));
+
+            // When
+            RecordingEmitter subscriber = subscribe(STORE, stream.eventId(1));
+
+            // Then
+            await(() -> subscriber.contains("event:product-deleted"));
+            assertFalse(subscriber.contains("event:product-created"));
+            assertFalse(subscriber.contains("event:product-updated"));
+        }
+
+        @Test
+        @DisplayName("Should ask for a resync when the missed events are no longer buffered")
+        void subscribe_ShouldResyncWhenEventsWereDropped() throws Exception {
+            // Given
+            for (int i = 0; i < 5; i++) {
+                stream.apply(new ProductCreatedEvent(burger));
+            }
+
+            // When
+            RecordingEmitter subscriber = subscribe(STORE, stream.eventId(1));
+
+            // Then
+            await(() -> subscriber.contains("event:resync"));
+            assertTrue(subscriber.contains("id:" + stream.eventId(5)));
+            stream.apply(new ProductDeletedEvent(STORE, "1"));
+            await(() -> subscriber.contains("event:product-deleted"));
+            assertFalse(subscriber.contains("event:product-created"), "Events covered by the resync should not follow it");
+        }
+
+        @Test
+        @DisplayName("Should ask for a resync when the event ID comes from another node")
+        void subscribe_ShouldResyncForForeignEventId() throws Exception {
+            // When
+            RecordingEmitter subscriber = subscribe(STORE, "other-node-7");
+
+            // Then
+            await(() -> subscriber.contains("event:resync"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose buffer is full")
+    void connection_ShouldCloseWhenBufferIsFull() {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter(60000L);
+        List<SseConnection> closed = new ArrayList<>();
+        SseConnection connection = new SseConnection(emitter, STORE, 2, task -> { }, closed::add);
+
+        // When
+        connection.offer(new ProductStreamEvent(1, ProductStreamEvent.CREATED, STORE, "1", burger), "e-1");
+        connection.offer(new ProductStreamEvent(2, ProductStreamEvent.UPDATED, STORE, "1", burger), "e-2");
+        boolean accepted = connection.offer(new ProductStreamEvent(3, ProductStreamEvent.UPDATED, STORE, "1", burger), "e-3");
+
+        // Then
+        assertFalse(accepted);
+        assertTrue(connection.isClosed());
+        assertEquals(List.of(connection), closed);
+        assertTrue(emitter.completed);
+    }
+
+    static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+        volatile boolean completed;
+
+        RecordingEmitter(Long timeout) {
+            super(timeout);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws java.io.IOException {
+            if (failing) {
+                throw new java.io.IOException("Broken pipe");
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        void fail() {
+            failing = true;
+        }
+
+        boolean contains(String text) {
+            return sent.stream().anyMatch(event -> event.contains(text));
+        }
+
+        long count(String text) {
+            return sent.stream().filter(event -> event.contains(text)).count();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.snackbar.product.infrastructure.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.snackbar.product.domain.entity.Product;
+
+class ProductStreamEventTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should write the product with all of its fields")
+    void shouldWriteProductFields() throws Exception {
+        // Given
+        Product burger = new Product("1", "Burger", "Lanche", "Delicious burger", new BigDecimal("10.99"), 15, "store-1");
+        ProductStreamEvent event = new ProductStreamEvent(7, ProductStreamEvent.UPDATED, "store-1", "1", burger);
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(event));
+
+        // Then
+        JsonNode product = json.get("product");
+        assertEquals("1", product.get("id").asText());
+        assertEquals("Burger", product.get("name").asText());
+        assertEquals("Lanche", product.get("category").asText());
+        assertEquals("Delicious burger", product.get("description").asText());
+        assertEquals(new BigDecimal("10.99"), product.get("price").decimalValue());
+        assertEquals(15, product.get("cookingTime").asInt());
+        assertEquals("store-1", product.get("storeId").asText());
+    }
+
+    @Test
+    @DisplayName("Should write a deleted product as null")
+    void shouldWriteDeletedProductAsNull() throws Exception {
+        // Given
+        ProductStreamEvent event = new ProductStreamEvent(8, ProductStreamEvent.DELETED, "store-1", "1", null);
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(event));
+
+        // Then
+        assertTrue(json.get("product").isNull());
+    }
+}
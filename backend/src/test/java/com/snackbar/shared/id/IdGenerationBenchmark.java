@@ -0,0 +1,55 @@
+package com.snackbar.shared.id;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of stamping an event with its ID and time, from 4 threads at once as events are published
+ * by concurrent requests: with a random UUID and a read of the clock, as events used to be, and
+ * with a time-ordered ID whose time is read back from it.
+ * <p>
+ * Not run by the test suite; run {@link #main} from the IDE, or after {@code mvn test-compile}
+ * with {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main IdGeneration}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    @Benchmark
+    public void randomIdBefore(Blackhole blackhole) {
+        blackhole.consume(UUID.randomUUID().toString());
+        blackhole.consume(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public void timeOrderedIdAfter(Blackhole blackhole) {
+        UUID id = TimeOrderedIds.next();
+        blackhole.consume(id.toString());
+        blackhole.consume(LocalDateTime.ofInstant(TimeOrderedIds.timeOf(id), ZoneId.systemDefault()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdGenerationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
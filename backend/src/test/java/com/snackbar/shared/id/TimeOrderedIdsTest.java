@@ -0,0 +1,156 @@
+package com.snackbar.shared.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Time-Ordered IDs Tests")
+class TimeOrderedIdsTest {
+
+    private static final long NOW = Instant.parse("2025-06-01T12:00:00Z").toEpochMilli();
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final TimeOrderedIds ids = new TimeOrderedIds(0xBEEF, clock::get);
+
+    @Nested
+    @DisplayName("Layout")
+    class Layout {
+
+        @Test
+        @DisplayName("Should generate version 7 UUIDs of the RFC 9562 variant")
+        void shouldGenerateVersion7() {
+            // When
+            UUID id = ids.nextId();
+
+            // Then
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+        }
+
+        @Test
+        @DisplayName("Should keep the time of the clock, to the millisecond")
+        void shouldKeepTime() {
+            // When
+            UUID id = ids.nextId();
+
+            // Then
+            assertEquals(Instant.ofEpochMilli(NOW), TimeOrderedIds.timeOf(id));
+        }
+
+        @Test
+        @DisplayName("Should keep the node number")
+        void shouldKeepNode() {
+            // When
+            UUID id = ids.nextId();
+
+            // Then
+            assertEquals(0xBEEF, id.getLeastSignificantBits() >>> 46 & 0xFFFF);
+        }
+
+        @Test
+        @DisplayName("Should differ between nodes at the same time")
+        void shouldDifferBetweenNodes() {
+            // Given
+            TimeOrderedIds otherNode = new TimeOrderedIds(0xCAFE, clock::get);
+
+            // When / Then
+            assertNotEquals(ids.nextId(), otherNode.nextId());
+        }
+
+        @Test
+        @DisplayName("Should reject the time of UUIDs that are not time-ordered")
+        void timeOf_ShouldRejectOtherVersions() {
+            assertThrows(IllegalArgumentException.class, () -> TimeOrderedIds.timeOf(UUID.randomUUID()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering")
+    class Ordering {
+
+        @Test
+        @DisplayName("Should increase strictly within the same millisecond")
+        void shouldIncreaseWithinMillisecond() {
+            // When
+            List<UUID> generated = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                generated.add(ids.nextId());
+            }
+
+            // Then
+            for (int i = 1; i < generated.size(); i++) {
+                assertTrue(generated.get(i - 1).compareTo(generated.get(i)) < 0);
+                assertTrue(generated.get(i - 1).toString().compareTo(generated.get(i).toString()) < 0);
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep increasing when the clock steps back")
+        void shouldIncreaseWhenClockStepsBack() {
+            // Given
+            UUID before = ids.nextId();
+            clock.addAndGet(-5_000);
+
+            // When
+            UUID after = ids.nextId();
+
+            // Then
+            assertTrue(before.compareTo(after) < 0);
+            assertEquals(Instant.ofEpochMilli(NOW), TimeOrderedIds.timeOf(after));
+        }
+
+        @Test
+        @DisplayName("Should borrow from the next millisecond once the counter runs out")
+        void shouldBorrowNextMillisecondOnCounterOverflow() {
+            // Given
+            UUID last = null;
+            for (int i = 0; i < 4096; i++) {
+                last = ids.nextId();
+            }
+
+            // When
+            UUID overflow = ids.nextId();
+
+            // Then
+            assertEquals(Instant.ofEpochMilli(NOW), TimeOrderedIds.timeOf(last));
+            assertEquals(Instant.ofEpochMilli(NOW + 1), TimeOrderedIds.timeOf(overflow));
+            assertTrue(last.compareTo(overflow) < 0);
+        }
+
+        @Test
+        @DisplayName("Should generate unique IDs across threads")
+        void shouldBeUniqueAcrossThreads() throws InterruptedException {
+            // Given
+            Set<UUID> generated = ConcurrentHashMap.newKeySet();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        generated.add(TimeOrderedIds.next());
+                    }
+                }));
+            }
+
+            // When
+            for (Thread thread : threads) {
+                thread.join(5_000);
+            }
+
+            // Then
+            assertEquals(40_000, generated.size());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+// Conectar ao MongoDB
+db = db.getSiblingDB('snackbar');
+
+// Atribuir a loja padrão aos produtos sem loja
+db.products.updateMany(
+  { storeId: { $exists: false } },
+  { $set: { storeId: 'default' } }
+);
+
+// Índices compostos iniciados pela loja
+db.products.createIndex({ storeId: 1, category: 1, name: 1 }, { name: 'store_category_name' });
+db.products.createIndex({ storeId: 1, name: 1 }, { name: 'store_name' });